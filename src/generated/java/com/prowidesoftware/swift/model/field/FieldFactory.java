@@ -0,0 +1,747 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.model.field;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.prowidesoftware.Generated;
+
+/**
+ * Factory to create field instances by name without reflection.
+ *
+ * <p>The field names are resolved once into a table and every creation is a map lookup plus a
+ * direct constructor call. Names not present in the table are answered with <code>null</code>.</p>
+ *
+ * <p>This class complies with standard release <strong>SRU2017</strong></p>
+ * <p>NOTE: this source code has been generated from template</p>
+ *
+ * @since 7.9.7
+ */
+@Generated
+public final class FieldFactory {
+
+	/**
+	 * Constant identifying the SRU to which this class belongs to.
+	 */
+	public static final int SRU = 2017;
+
+	/**
+	 * Names of all the fields supported by this factory
+	 */
+	private static final String[] NAMES = new String[] {
+		"101", "102", "103", "104", "105", "106", "107", "108", "109", "110",
+		"111", "113", "114", "115", "116", "117", "118", "119", "11A", "11R",
+		"11S", "12", "120", "121", "122", "123", "124", "125", "126", "127",
+		"128", "129", "12A", "12B", "12C", "12D", "12E", "12F", "12G", "130",
+		"132", "133", "134", "135", "136", "137", "13A", "13B", "13C", "13D",
+		"13J", "13K", "140", "141", "142", "143", "144", "14A", "14B", "14C",
+		"14D", "14E", "14F", "14G", "14J", "14S", "151", "152", "153", "15A",
+		"15B", "15C", "15D", "15E", "15F", "15G", "15H", "15I", "15J", "15K",
+		"15L", "15M", "15N", "15O", "15P", "165", "16A", "16C", "16R", "16S",
+		"171", "172", "173", "174", "175", "177", "179", "17A", "17B", "17E",
+		"17F", "17G", "17H", "17I", "17L", "17M", "17N", "17O", "17P", "17Q",
+		"17R", "17S", "17T", "17U", "17V", "17W", "17X", "17Y", "17Z", "18A",
+		"18B", "18C", "18D", "19", "199", "19A", "19B", "19C", "19Y", "19Z",
+		"20", "202", "203", "204", "206", "208", "209", "20C", "20D", "21",
+		"21A", "21B", "21C", "21D", "21E", "21F", "21G", "21N", "21P", "21R",
+		"22", "22A", "22B", "22C", "22D", "22E", "22F", "22G", "22H", "22J",
+		"22K", "22L", "22M", "22N", "22P", "22Q", "22R", "22S", "22T", "22U",
+		"22V", "22W", "22X", "22Y", "22Z", "23", "23A", "23B", "23C", "23D",
+		"23E", "23G", "242", "243", "24B", "24D", "25", "251", "252", "253",
+		"254", "255", "256", "257", "258", "259", "25A", "25D", "25P", "260",
+		"263", "264", "26A", "26B", "26C", "26D", "26E", "26F", "26H", "26T",
+		"27", "270", "271", "272", "28", "280", "281", "28C", "28D", "28E",
+		"29A", "29B", "29E", "29H", "29J", "29K", "29L", "29M", "29N", "30",
+		"301", "302", "303", "304", "305", "307", "30F", "30G", "30H", "30J",
+		"30M", "30N", "30P", "30Q", "30S", "30T", "30U", "30V", "30X", "30Y",
+		"30Z", "311", "312", "313", "31C", "31D", "31E", "31F", "31G", "31L",
+		"31P", "31S", "31X", "329", "32A", "32B", "32C", "32D", "32E", "32F",
+		"32G", "32H", "32K", "32M", "32Q", "32R", "32U", "330", "331", "332",
+		"333", "334", "335", "336", "337", "338", "339", "33A", "33B", "33C",
+		"33D", "33E", "33F", "33G", "33H", "33J", "33K", "33P", "33S", "33T",
+		"340", "341", "342", "343", "344", "345", "346", "347", "348", "349",
+		"34A", "34B", "34E", "34F", "34J", "34P", "34R", "35A", "35B", "35C",
+		"35D", "35E", "35H", "35L", "35N", "35S", "35U", "36", "36B", "36C",
+		"36E", "37A", "37B", "37C", "37D", "37E", "37F", "37G", "37H", "37J",
+		"37K", "37L", "37M", "37N", "37P", "37R", "37U", "37V", "38A", "38D",
+		"38E", "38G", "38H", "38J", "39A", "39B", "39C", "401", "405", "40A",
+		"40B", "40C", "40E", "40F", "41A", "41D", "421", "422", "423", "424",
+		"425", "42A", "42C", "42D", "42M", "42P", "431", "432", "433", "434",
+		"43P", "43T", "443", "44A", "44B", "44C", "44D", "44E", "44F", "451",
+		"45A", "45B", "461", "46A", "46B", "47A", "47B", "48", "49", "50",
+		"503", "50A", "50B", "50C", "50D", "50F", "50G", "50H", "50K", "50L",
+		"51A", "51C", "51D", "52A", "52B", "52C", "52D", "533", "53A", "53B",
+		"53C", "53D", "53J", "54A", "54B", "54D", "55A", "55B", "55D", "56A",
+		"56B", "56C", "56D", "56J", "57A", "57B", "57C", "57D", "57J", "58A",
+		"58B", "58D", "58J", "59", "59A", "59F", "60F", "60M", "61", "619",
+		"62F", "62M", "64", "65", "68A", "69A", "69B", "69C", "69D", "69E",
+		"69F", "69J", "70", "70C", "70D", "70E", "70F", "70G", "71A", "71B",
+		"71C", "71F", "71G", "72", "73", "74", "75", "76", "77A", "77B",
+		"77C", "77D", "77E", "77F", "77H", "77J", "77T", "78", "79", "80C",
+		"81A", "81D", "81J", "82A", "82B", "82D", "82J", "83A", "83C", "83D",
+		"83J", "84A", "84B", "84D", "84J", "85A", "85B", "85D", "85J", "86",
+		"86A", "86B", "86D", "86J", "87A", "87B", "87D", "87J", "88A", "88B",
+		"88D", "88J", "89A", "89D", "89J", "90A", "90B", "90C", "90D", "90E",
+		"90F", "90J", "90K", "90L", "91A", "91D", "91J", "92A", "92B", "92C",
+		"92D", "92F", "92H", "92J", "92K", "92L", "92M", "92N", "92P", "92R",
+		"93A", "93B", "93C", "93D", "94A", "94B", "94C", "94D", "94E", "94F",
+		"94G", "94H", "94L", "95C", "95L", "95P", "95Q", "95R", "95S", "95U",
+		"95V", "96A", "96D", "96J", "97A", "97B", "97C", "97E", "98A", "98B",
+		"98C", "98D", "98E", "98F", "98G", "98H", "98J", "98K", "999", "99A",
+		"99B", "99C"
+	};
+
+	/**
+	 * Field name to position in {@link #NAMES}
+	 */
+	private static final Map<String, Integer> INDEX = new HashMap<String, Integer>(NAMES.length * 2);
+	static {
+		for (int i = 0; i < NAMES.length; i++) {
+			INDEX.put(NAMES[i], Integer.valueOf(i));
+		}
+	}
+
+	// Suppress default constructor for noninstantiability
+	private FieldFactory() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Checks if the given field name is supported by this factory
+	 * @param name a field name, ex: 32A, 22F, 20
+	 * @return true if a field class exists for the name
+	 */
+	public static boolean contains(final String name) {
+		return name != null && INDEX.containsKey(name);
+	}
+
+	/**
+	 * Creates a field instance for the given name, initialized with the value.
+	 *
+	 * @param name a proper field name, ex: 32A, 22F, 20
+	 * @param value an optional field value or <code>null</code> to create the field with no initial content
+	 * @return a specific field object, ex: Field32A. Or <code>null</code> if the name is not a known field
+	 */
+	public static Field create(final String name, final String value) {
+		if (name == null) {
+			return null;
+		}
+		final Integer index = INDEX.get(name);
+		if (index == null) {
+			return null;
+		}
+		return create(index.intValue(), value);
+	}
+
+	private static Field create(final int index, final String value) {
+		switch (index) {
+		case 0: return new Field101(value);
+		case 1: return new Field102(value);
+		case 2: return new Field103(value);
+		case 3: return new Field104(value);
+		case 4: return new Field105(value);
+		case 5: return new Field106(value);
+		case 6: return new Field107(value);
+		case 7: return new Field108(value);
+		case 8: return new Field109(value);
+		case 9: return new Field110(value);
+		case 10: return new Field111(value);
+		case 11: return new Field113(value);
+		case 12: return new Field114(value);
+		case 13: return new Field115(value);
+		case 14: return new Field116(value);
+		case 15: return new Field117(value);
+		case 16: return new Field118(value);
+		case 17: return new Field119(value);
+		case 18: return new Field11A(value);
+		case 19: return new Field11R(value);
+		case 20: return new Field11S(value);
+		case 21: return new Field12(value);
+		case 22: return new Field120(value);
+		case 23: return new Field121(value);
+		case 24: return new Field122(value);
+		case 25: return new Field123(value);
+		case 26: return new Field124(value);
+		case 27: return new Field125(value);
+		case 28: return new Field126(value);
+		case 29: return new Field127(value);
+		case 30: return new Field128(value);
+		case 31: return new Field129(value);
+		case 32: return new Field12A(value);
+		case 33: return new Field12B(value);
+		case 34: return new Field12C(value);
+		case 35: return new Field12D(value);
+		case 36: return new Field12E(value);
+		case 37: return new Field12F(value);
+		case 38: return new Field12G(value);
+		case 39: return new Field130(value);
+		case 40: return new Field132(value);
+		case 41: return new Field133(value);
+		case 42: return new Field134(value);
+		case 43: return new Field135(value);
+		case 44: return new Field136(value);
+		case 45: return new Field137(value);
+		case 46: return new Field13A(value);
+		case 47: return new Field13B(value);
+		case 48: return new Field13C(value);
+		case 49: return new Field13D(value);
+		case 50: return new Field13J(value);
+		case 51: return new Field13K(value);
+		case 52: return new Field140(value);
+		case 53: return new Field141(value);
+		case 54: return new Field142(value);
+		case 55: return new Field143(value);
+		case 56: return new Field144(value);
+		case 57: return new Field14A(value);
+		case 58: return new Field14B(value);
+		case 59: return new Field14C(value);
+		case 60: return new Field14D(value);
+		case 61: return new Field14E(value);
+		case 62: return new Field14F(value);
+		case 63: return new Field14G(value);
+		case 64: return new Field14J(value);
+		case 65: return new Field14S(value);
+		case 66: return new Field151(value);
+		case 67: return new Field152(value);
+		case 68: return new Field153(value);
+		case 69: return new Field15A(value);
+		case 70: return new Field15B(value);
+		case 71: return new Field15C(value);
+		case 72: return new Field15D(value);
+		case 73: return new Field15E(value);
+		case 74: return new Field15F(value);
+		case 75: return new Field15G(value);
+		case 76: return new Field15H(value);
+		case 77: return new Field15I(value);
+		case 78: return new Field15J(value);
+		case 79: return new Field15K(value);
+		case 80: return new Field15L(value);
+		case 81: return new Field15M(value);
+		case 82: return new Field15N(value);
+		case 83: return new Field15O(value);
+		case 84: return new Field15P(value);
+		case 85: return new Field165(value);
+		case 86: return new Field16A(value);
+		case 87: return new Field16C(value);
+		case 88: return new Field16R(value);
+		case 89: return new Field16S(value);
+		case 90: return new Field171(value);
+		case 91: return new Field172(value);
+		case 92: return new Field173(value);
+		case 93: return new Field174(value);
+		case 94: return new Field175(value);
+		case 95: return new Field177(value);
+		case 96: return new Field179(value);
+		case 97: return new Field17A(value);
+		case 98: return new Field17B(value);
+		case 99: return new Field17E(value);
+		case 100: return new Field17F(value);
+		case 101: return new Field17G(value);
+		case 102: return new Field17H(value);
+		case 103: return new Field17I(value);
+		case 104: return new Field17L(value);
+		case 105: return new Field17M(value);
+		case 106: return new Field17N(value);
+		case 107: return new Field17O(value);
+		case 108: return new Field17P(value);
+		case 109: return new Field17Q(value);
+		case 110: return new Field17R(value);
+		case 111: return new Field17S(value);
+		case 112: return new Field17T(value);
+		case 113: return new Field17U(value);
+		case 114: return new Field17V(value);
+		case 115: return new Field17W(value);
+		case 116: return new Field17X(value);
+		case 117: return new Field17Y(value);
+		case 118: return new Field17Z(value);
+		case 119: return new Field18A(value);
+		case 120: return new Field18B(value);
+		case 121: return new Field18C(value);
+		case 122: return new Field18D(value);
+		case 123: return new Field19(value);
+		case 124: return new Field199(value);
+		case 125: return new Field19A(value);
+		case 126: return new Field19B(value);
+		case 127: return new Field19C(value);
+		case 128: return new Field19Y(value);
+		case 129: return new Field19Z(value);
+		case 130: return new Field20(value);
+		case 131: return new Field202(value);
+		case 132: return new Field203(value);
+		case 133: return new Field204(value);
+		case 134: return new Field206(value);
+		case 135: return new Field208(value);
+		case 136: return new Field209(value);
+		case 137: return new Field20C(value);
+		case 138: return new Field20D(value);
+		case 139: return new Field21(value);
+		case 140: return new Field21A(value);
+		case 141: return new Field21B(value);
+		case 142: return new Field21C(value);
+		case 143: return new Field21D(value);
+		case 144: return new Field21E(value);
+		case 145: return new Field21F(value);
+		case 146: return new Field21G(value);
+		case 147: return new Field21N(value);
+		case 148: return new Field21P(value);
+		case 149: return new Field21R(value);
+		case 150: return new Field22(value);
+		case 151: return new Field22A(value);
+		case 152: return new Field22B(value);
+		case 153: return new Field22C(value);
+		case 154: return new Field22D(value);
+		case 155: return new Field22E(value);
+		case 156: return new Field22F(value);
+		case 157: return new Field22G(value);
+		case 158: return new Field22H(value);
+		case 159: return new Field22J(value);
+		case 160: return new Field22K(value);
+		case 161: return new Field22L(value);
+		case 162: return new Field22M(value);
+		case 163: return new Field22N(value);
+		case 164: return new Field22P(value);
+		case 165: return new Field22Q(value);
+		case 166: return new Field22R(value);
+		case 167: return new Field22S(value);
+		case 168: return new Field22T(value);
+		case 169: return new Field22U(value);
+		case 170: return new Field22V(value);
+		case 171: return new Field22W(value);
+		case 172: return new Field22X(value);
+		case 173: return new Field22Y(value);
+		case 174: return new Field22Z(value);
+		case 175: return new Field23(value);
+		case 176: return new Field23A(value);
+		case 177: return new Field23B(value);
+		case 178: return new Field23C(value);
+		case 179: return new Field23D(value);
+		case 180: return new Field23E(value);
+		case 181: return new Field23G(value);
+		case 182: return new Field242(value);
+		case 183: return new Field243(value);
+		case 184: return new Field24B(value);
+		case 185: return new Field24D(value);
+		case 186: return new Field25(value);
+		case 187: return new Field251(value);
+		case 188: return new Field252(value);
+		case 189: return new Field253(value);
+		case 190: return new Field254(value);
+		case 191: return new Field255(value);
+		case 192: return new Field256(value);
+		case 193: return new Field257(value);
+		case 194: return new Field258(value);
+		case 195: return new Field259(value);
+		case 196: return new Field25A(value);
+		case 197: return new Field25D(value);
+		case 198: return new Field25P(value);
+		case 199: return new Field260(value);
+		case 200: return new Field263(value);
+		case 201: return new Field264(value);
+		case 202: return new Field26A(value);
+		case 203: return new Field26B(value);
+		case 204: return new Field26C(value);
+		case 205: return new Field26D(value);
+		case 206: return new Field26E(value);
+		case 207: return new Field26F(value);
+		case 208: return new Field26H(value);
+		case 209: return new Field26T(value);
+		case 210: return new Field27(value);
+		case 211: return new Field270(value);
+		case 212: return new Field271(value);
+		case 213: return new Field272(value);
+		case 214: return new Field28(value);
+		case 215: return new Field280(value);
+		case 216: return new Field281(value);
+		case 217: return new Field28C(value);
+		case 218: return new Field28D(value);
+		case 219: return new Field28E(value);
+		case 220: return new Field29A(value);
+		case 221: return new Field29B(value);
+		case 222: return new Field29E(value);
+		case 223: return new Field29H(value);
+		case 224: return new Field29J(value);
+		case 225: return new Field29K(value);
+		case 226: return new Field29L(value);
+		case 227: return new Field29M(value);
+		case 228: return new Field29N(value);
+		case 229: return new Field30(value);
+		case 230: return new Field301(value);
+		case 231: return new Field302(value);
+		case 232: return new Field303(value);
+		case 233: return new Field304(value);
+		case 234: return new Field305(value);
+		case 235: return new Field307(value);
+		case 236: return new Field30F(value);
+		case 237: return new Field30G(value);
+		case 238: return new Field30H(value);
+		case 239: return new Field30J(value);
+		case 240: return new Field30M(value);
+		case 241: return new Field30N(value);
+		case 242: return new Field30P(value);
+		case 243: return new Field30Q(value);
+		case 244: return new Field30S(value);
+		case 245: return new Field30T(value);
+		case 246: return new Field30U(value);
+		case 247: return new Field30V(value);
+		case 248: return new Field30X(value);
+		case 249: return new Field30Y(value);
+		case 250: return new Field30Z(value);
+		case 251: return new Field311(value);
+		case 252: return new Field312(value);
+		case 253: return new Field313(value);
+		case 254: return new Field31C(value);
+		case 255: return new Field31D(value);
+		case 256: return new Field31E(value);
+		case 257: return new Field31F(value);
+		case 258: return new Field31G(value);
+		case 259: return new Field31L(value);
+		case 260: return new Field31P(value);
+		case 261: return new Field31S(value);
+		case 262: return new Field31X(value);
+		case 263: return new Field329(value);
+		case 264: return new Field32A(value);
+		case 265: return new Field32B(value);
+		case 266: return new Field32C(value);
+		case 267: return new Field32D(value);
+		case 268: return new Field32E(value);
+		case 269: return new Field32F(value);
+		case 270: return new Field32G(value);
+		case 271: return new Field32H(value);
+		case 272: return new Field32K(value);
+		case 273: return new Field32M(value);
+		case 274: return new Field32Q(value);
+		case 275: return new Field32R(value);
+		case 276: return new Field32U(value);
+		case 277: return new Field330(value);
+		case 278: return new Field331(value);
+		case 279: return new Field332(value);
+		case 280: return new Field333(value);
+		case 281: return new Field334(value);
+		case 282: return new Field335(value);
+		case 283: return new Field336(value);
+		case 284: return new Field337(value);
+		case 285: return new Field338(value);
+		case 286: return new Field339(value);
+		case 287: return new Field33A(value);
+		case 288: return new Field33B(value);
+		case 289: return new Field33C(value);
+		case 290: return new Field33D(value);
+		case 291: return new Field33E(value);
+		case 292: return new Field33F(value);
+		case 293: return new Field33G(value);
+		case 294: return new Field33H(value);
+		case 295: return new Field33J(value);
+		case 296: return new Field33K(value);
+		case 297: return new Field33P(value);
+		case 298: return new Field33S(value);
+		case 299: return new Field33T(value);
+		case 300: return new Field340(value);
+		case 301: return new Field341(value);
+		case 302: return new Field342(value);
+		case 303: return new Field343(value);
+		case 304: return new Field344(value);
+		case 305: return new Field345(value);
+		case 306: return new Field346(value);
+		case 307: return new Field347(value);
+		case 308: return new Field348(value);
+		case 309: return new Field349(value);
+		case 310: return new Field34A(value);
+		case 311: return new Field34B(value);
+		case 312: return new Field34E(value);
+		case 313: return new Field34F(value);
+		case 314: return new Field34J(value);
+		case 315: return new Field34P(value);
+		case 316: return new Field34R(value);
+		case 317: return new Field35A(value);
+		case 318: return new Field35B(value);
+		case 319: return new Field35C(value);
+		case 320: return new Field35D(value);
+		case 321: return new Field35E(value);
+		case 322: return new Field35H(value);
+		case 323: return new Field35L(value);
+		case 324: return new Field35N(value);
+		case 325: return new Field35S(value);
+		case 326: return new Field35U(value);
+		case 327: return new Field36(value);
+		case 328: return new Field36B(value);
+		case 329: return new Field36C(value);
+		case 330: return new Field36E(value);
+		case 331: return new Field37A(value);
+		case 332: return new Field37B(value);
+		case 333: return new Field37C(value);
+		case 334: return new Field37D(value);
+		case 335: return new Field37E(value);
+		case 336: return new Field37F(value);
+		case 337: return new Field37G(value);
+		case 338: return new Field37H(value);
+		case 339: return new Field37J(value);
+		case 340: return new Field37K(value);
+		case 341: return new Field37L(value);
+		case 342: return new Field37M(value);
+		case 343: return new Field37N(value);
+		case 344: return new Field37P(value);
+		case 345: return new Field37R(value);
+		case 346: return new Field37U(value);
+		case 347: return new Field37V(value);
+		case 348: return new Field38A(value);
+		case 349: return new Field38D(value);
+		case 350: return new Field38E(value);
+		case 351: return new Field38G(value);
+		case 352: return new Field38H(value);
+		case 353: return new Field38J(value);
+		case 354: return new Field39A(value);
+		case 355: return new Field39B(value);
+		case 356: return new Field39C(value);
+		case 357: return new Field401(value);
+		case 358: return new Field405(value);
+		case 359: return new Field40A(value);
+		case 360: return new Field40B(value);
+		case 361: return new Field40C(value);
+		case 362: return new Field40E(value);
+		case 363: return new Field40F(value);
+		case 364: return new Field41A(value);
+		case 365: return new Field41D(value);
+		case 366: return new Field421(value);
+		case 367: return new Field422(value);
+		case 368: return new Field423(value);
+		case 369: return new Field424(value);
+		case 370: return new Field425(value);
+		case 371: return new Field42A(value);
+		case 372: return new Field42C(value);
+		case 373: return new Field42D(value);
+		case 374: return new Field42M(value);
+		case 375: return new Field42P(value);
+		case 376: return new Field431(value);
+		case 377: return new Field432(value);
+		case 378: return new Field433(value);
+		case 379: return new Field434(value);
+		case 380: return new Field43P(value);
+		case 381: return new Field43T(value);
+		case 382: return new Field443(value);
+		case 383: return new Field44A(value);
+		case 384: return new Field44B(value);
+		case 385: return new Field44C(value);
+		case 386: return new Field44D(value);
+		case 387: return new Field44E(value);
+		case 388: return new Field44F(value);
+		case 389: return new Field451(value);
+		case 390: return new Field45A(value);
+		case 391: return new Field45B(value);
+		case 392: return new Field461(value);
+		case 393: return new Field46A(value);
+		case 394: return new Field46B(value);
+		case 395: return new Field47A(value);
+		case 396: return new Field47B(value);
+		case 397: return new Field48(value);
+		case 398: return new Field49(value);
+		case 399: return new Field50(value);
+		case 400: return new Field503(value);
+		case 401: return new Field50A(value);
+		case 402: return new Field50B(value);
+		case 403: return new Field50C(value);
+		case 404: return new Field50D(value);
+		case 405: return new Field50F(value);
+		case 406: return new Field50G(value);
+		case 407: return new Field50H(value);
+		case 408: return new Field50K(value);
+		case 409: return new Field50L(value);
+		case 410: return new Field51A(value);
+		case 411: return new Field51C(value);
+		case 412: return new Field51D(value);
+		case 413: return new Field52A(value);
+		case 414: return new Field52B(value);
+		case 415: return new Field52C(value);
+		case 416: return new Field52D(value);
+		case 417: return new Field533(value);
+		case 418: return new Field53A(value);
+		case 419: return new Field53B(value);
+		case 420: return new Field53C(value);
+		case 421: return new Field53D(value);
+		case 422: return new Field53J(value);
+		case 423: return new Field54A(value);
+		case 424: return new Field54B(value);
+		case 425: return new Field54D(value);
+		case 426: return new Field55A(value);
+		case 427: return new Field55B(value);
+		case 428: return new Field55D(value);
+		case 429: return new Field56A(value);
+		case 430: return new Field56B(value);
+		case 431: return new Field56C(value);
+		case 432: return new Field56D(value);
+		case 433: return new Field56J(value);
+		case 434: return new Field57A(value);
+		case 435: return new Field57B(value);
+		case 436: return new Field57C(value);
+		case 437: return new Field57D(value);
+		case 438: return new Field57J(value);
+		case 439: return new Field58A(value);
+		case 440: return new Field58B(value);
+		case 441: return new Field58D(value);
+		case 442: return new Field58J(value);
+		case 443: return new Field59(value);
+		case 444: return new Field59A(value);
+		case 445: return new Field59F(value);
+		case 446: return new Field60F(value);
+		case 447: return new Field60M(value);
+		case 448: return new Field61(value);
+		case 449: return new Field619(value);
+		case 450: return new Field62F(value);
+		case 451: return new Field62M(value);
+		case 452: return new Field64(value);
+		case 453: return new Field65(value);
+		case 454: return new Field68A(value);
+		case 455: return new Field69A(value);
+		case 456: return new Field69B(value);
+		case 457: return new Field69C(value);
+		case 458: return new Field69D(value);
+		case 459: return new Field69E(value);
+		case 460: return new Field69F(value);
+		case 461: return new Field69J(value);
+		case 462: return new Field70(value);
+		case 463: return new Field70C(value);
+		case 464: return new Field70D(value);
+		case 465: return new Field70E(value);
+		case 466: return new Field70F(value);
+		case 467: return new Field70G(value);
+		case 468: return new Field71A(value);
+		case 469: return new Field71B(value);
+		case 470: return new Field71C(value);
+		case 471: return new Field71F(value);
+		case 472: return new Field71G(value);
+		case 473: return new Field72(value);
+		case 474: return new Field73(value);
+		case 475: return new Field74(value);
+		case 476: return new Field75(value);
+		case 477: return new Field76(value);
+		case 478: return new Field77A(value);
+		case 479: return new Field77B(value);
+		case 480: return new Field77C(value);
+		case 481: return new Field77D(value);
+		case 482: return new Field77E(value);
+		case 483: return new Field77F(value);
+		case 484: return new Field77H(value);
+		case 485: return new Field77J(value);
+		case 486: return new Field77T(value);
+		case 487: return new Field78(value);
+		case 488: return new Field79(value);
+		case 489: return new Field80C(value);
+		case 490: return new Field81A(value);
+		case 491: return new Field81D(value);
+		case 492: return new Field81J(value);
+		case 493: return new Field82A(value);
+		case 494: return new Field82B(value);
+		case 495: return new Field82D(value);
+		case 496: return new Field82J(value);
+		case 497: return new Field83A(value);
+		case 498: return new Field83C(value);
+		case 499: return new Field83D(value);
+		case 500: return new Field83J(value);
+		case 501: return new Field84A(value);
+		case 502: return new Field84B(value);
+		case 503: return new Field84D(value);
+		case 504: return new Field84J(value);
+		case 505: return new Field85A(value);
+		case 506: return new Field85B(value);
+		case 507: return new Field85D(value);
+		case 508: return new Field85J(value);
+		case 509: return new Field86(value);
+		case 510: return new Field86A(value);
+		case 511: return new Field86B(value);
+		case 512: return new Field86D(value);
+		case 513: return new Field86J(value);
+		case 514: return new Field87A(value);
+		case 515: return new Field87B(value);
+		case 516: return new Field87D(value);
+		case 517: return new Field87J(value);
+		case 518: return new Field88A(value);
+		case 519: return new Field88B(value);
+		case 520: return new Field88D(value);
+		case 521: return new Field88J(value);
+		case 522: return new Field89A(value);
+		case 523: return new Field89D(value);
+		case 524: return new Field89J(value);
+		case 525: return new Field90A(value);
+		case 526: return new Field90B(value);
+		case 527: return new Field90C(value);
+		case 528: return new Field90D(value);
+		case 529: return new Field90E(value);
+		case 530: return new Field90F(value);
+		case 531: return new Field90J(value);
+		case 532: return new Field90K(value);
+		case 533: return new Field90L(value);
+		case 534: return new Field91A(value);
+		case 535: return new Field91D(value);
+		case 536: return new Field91J(value);
+		case 537: return new Field92A(value);
+		case 538: return new Field92B(value);
+		case 539: return new Field92C(value);
+		case 540: return new Field92D(value);
+		case 541: return new Field92F(value);
+		case 542: return new Field92H(value);
+		case 543: return new Field92J(value);
+		case 544: return new Field92K(value);
+		case 545: return new Field92L(value);
+		case 546: return new Field92M(value);
+		case 547: return new Field92N(value);
+		case 548: return new Field92P(value);
+		case 549: return new Field92R(value);
+		case 550: return new Field93A(value);
+		case 551: return new Field93B(value);
+		case 552: return new Field93C(value);
+		case 553: return new Field93D(value);
+		case 554: return new Field94A(value);
+		case 555: return new Field94B(value);
+		case 556: return new Field94C(value);
+		case 557: return new Field94D(value);
+		case 558: return new Field94E(value);
+		case 559: return new Field94F(value);
+		case 560: return new Field94G(value);
+		case 561: return new Field94H(value);
+		case 562: return new Field94L(value);
+		case 563: return new Field95C(value);
+		case 564: return new Field95L(value);
+		case 565: return new Field95P(value);
+		case 566: return new Field95Q(value);
+		case 567: return new Field95R(value);
+		case 568: return new Field95S(value);
+		case 569: return new Field95U(value);
+		case 570: return new Field95V(value);
+		case 571: return new Field96A(value);
+		case 572: return new Field96D(value);
+		case 573: return new Field96J(value);
+		case 574: return new Field97A(value);
+		case 575: return new Field97B(value);
+		case 576: return new Field97C(value);
+		case 577: return new Field97E(value);
+		case 578: return new Field98A(value);
+		case 579: return new Field98B(value);
+		case 580: return new Field98C(value);
+		case 581: return new Field98D(value);
+		case 582: return new Field98E(value);
+		case 583: return new Field98F(value);
+		case 584: return new Field98G(value);
+		case 585: return new Field98H(value);
+		case 586: return new Field98J(value);
+		case 587: return new Field98K(value);
+		case 588: return new Field999(value);
+		case 589: return new Field99A(value);
+		case 590: return new Field99B(value);
+		case 591: return new Field99C(value);
+		default: return null;
+		}
+	}
+
+}
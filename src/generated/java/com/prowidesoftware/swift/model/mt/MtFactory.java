@@ -0,0 +1,433 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.model.mt;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.prowidesoftware.Generated;
+import com.prowidesoftware.swift.model.MtId;
+import com.prowidesoftware.swift.model.SwiftMessage;
+
+/**
+ * Factory to create the specific MT class instances without reflection.
+ *
+ * <p>The message identifications, composed by the message type and an optional variant,
+ * are resolved once into a table and every creation is a map lookup plus a direct
+ * constructor call. Identifications not present in the table are answered with <code>null</code>.</p>
+ *
+ * <p>This class complies with standard release <strong>SRU2017</strong></p>
+ * <p>NOTE: this source code has been generated from template</p>
+ *
+ * @since 7.9.7
+ */
+@Generated
+public final class MtFactory {
+
+	/**
+	 * Constant identifying the SRU to which this class belongs to.
+	 */
+	public static final int SRU = 2017;
+
+	/**
+	 * Identifications of all the MTs supported by this factory, as message type and optional variant
+	 */
+	private static final String[] IDS = new String[] {
+		"008", "009", "010", "011", "012", "015", "019", "020", "021", "022",
+		"023", "024", "025", "026", "027", "028", "029", "031", "032", "035",
+		"036", "037", "041", "042", "043", "044", "045", "046", "047", "048",
+		"049", "051", "052", "055", "056", "057", "061", "062", "063", "064",
+		"065", "066", "067", "068", "069", "070", "071", "072", "073", "074",
+		"077", "081", "082", "083", "090", "092", "094", "096", "097", "101",
+		"101.RUR6", "102", "102.STP", "103", "103.REMIT", "103.RUR6", "103.STP", "104", "105", "107",
+		"110", "111", "112", "190", "191", "192", "195", "196", "198", "199",
+		"200", "201", "202", "202.COV", "202.RUR6", "203", "204", "205", "205.COV", "210",
+		"290", "291", "292", "295", "296", "298", "299", "300", "304", "305",
+		"306", "320", "321", "330", "340", "341", "350", "360", "361", "362",
+		"364", "365", "370", "380", "381", "390", "391", "392", "395", "396",
+		"398", "399", "400", "410", "412", "416", "420", "422", "430", "450",
+		"455", "456", "490", "491", "492", "495", "496", "498", "499", "500",
+		"501", "502", "503", "504", "505", "506", "507", "508", "509", "510",
+		"513", "514", "515", "516", "517", "518", "519", "524", "526", "527",
+		"530", "535", "536", "537", "538", "540", "541", "542", "543", "544",
+		"545", "546", "547", "548", "549", "558", "559", "564", "565", "566",
+		"567", "568", "569", "575", "576", "578", "581", "586", "590", "591",
+		"592", "595", "596", "598", "599", "600", "601", "604", "605", "606",
+		"607", "608", "620", "670", "671", "690", "691", "692", "695", "696",
+		"698", "699", "700", "701", "705", "707", "710", "711", "720", "721",
+		"730", "732", "734", "740", "742", "747", "750", "752", "754", "756",
+		"760", "767", "768", "769", "790", "791", "792", "795", "796", "798",
+		"799", "800", "801", "802", "824", "890", "891", "892", "895", "896",
+		"898", "899", "900", "900.RUR6", "910", "910.RUR6", "920", "935", "940", "940.RUR6",
+		"941", "942", "942.RUR6", "950", "950.RUR6", "970", "971", "972", "973", "985",
+		"986", "990", "991", "992", "995", "996", "998", "999"
+	};
+
+	/**
+	 * Identification to position in {@link #IDS}
+	 */
+	private static final Map<String, Integer> INDEX = new HashMap<String, Integer>(IDS.length * 2);
+	static {
+		for (int i = 0; i < IDS.length; i++) {
+			INDEX.put(IDS[i], Integer.valueOf(i));
+		}
+	}
+
+	// Suppress default constructor for noninstantiability
+	private MtFactory() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Checks if the given message identification is supported by this factory
+	 * @param messageType the message type number, ex: 103
+	 * @param variant the message variant (STP, REMIT, COV), a MUG identifier or null if none applies
+	 * @return true if a specific MT class exists for the identification
+	 */
+	public static boolean contains(final String messageType, final String variant) {
+		return index(messageType, variant) != null;
+	}
+
+	/**
+	 * Checks if the given message identification is supported by this factory
+	 * @param id the message type and variant identification
+	 * @return true if a specific MT class exists for the identification
+	 */
+	public static boolean contains(final MtId id) {
+		return id != null && contains(id.getMessageType(), id.getVariant());
+	}
+
+	/**
+	 * Creates the specific MT instance for the given message type and variant, wrapping the parameter message.
+	 *
+	 * @param messageType the message type number, ex: 103
+	 * @param variant the message variant (STP, REMIT, COV), a MUG identifier or null if none applies
+	 * @param m the message to wrap in the specific MT class
+	 * @return a specific MT object, ex: MT103_STP. Or <code>null</code> if the identification is not a known MT
+	 */
+	public static AbstractMT create(final String messageType, final String variant, final SwiftMessage m) {
+		final Integer index = index(messageType, variant);
+		if (index == null) {
+			return null;
+		}
+		return create(index.intValue(), m);
+	}
+
+	/**
+	 * Creates the specific MT instance for the given message identification, wrapping the parameter message.
+	 *
+	 * @param id the message type and variant identification
+	 * @param m the message to wrap in the specific MT class
+	 * @return a specific MT object, ex: MT103_STP. Or <code>null</code> if the identification is not a known MT
+	 */
+	public static AbstractMT create(final MtId id, final SwiftMessage m) {
+		if (id == null) {
+			return null;
+		}
+		return create(id.getMessageType(), id.getVariant(), m);
+	}
+
+	private static Integer index(final String messageType, final String variant) {
+		if (messageType == null) {
+			return null;
+		}
+		return INDEX.get(variant == null ? messageType : messageType + "." + variant);
+	}
+
+	private static AbstractMT create(final int index, final SwiftMessage m) {
+		switch (index) {
+		case 0: return new com.prowidesoftware.swift.model.mt.mt0xx.MT008(m);
+		case 1: return new com.prowidesoftware.swift.model.mt.mt0xx.MT009(m);
+		case 2: return new com.prowidesoftware.swift.model.mt.mt0xx.MT010(m);
+		case 3: return new com.prowidesoftware.swift.model.mt.mt0xx.MT011(m);
+		case 4: return new com.prowidesoftware.swift.model.mt.mt0xx.MT012(m);
+		case 5: return new com.prowidesoftware.swift.model.mt.mt0xx.MT015(m);
+		case 6: return new com.prowidesoftware.swift.model.mt.mt0xx.MT019(m);
+		case 7: return new com.prowidesoftware.swift.model.mt.mt0xx.MT020(m);
+		case 8: return new com.prowidesoftware.swift.model.mt.mt0xx.MT021(m);
+		case 9: return new com.prowidesoftware.swift.model.mt.mt0xx.MT022(m);
+		case 10: return new com.prowidesoftware.swift.model.mt.mt0xx.MT023(m);
+		case 11: return new com.prowidesoftware.swift.model.mt.mt0xx.MT024(m);
+		case 12: return new com.prowidesoftware.swift.model.mt.mt0xx.MT025(m);
+		case 13: return new com.prowidesoftware.swift.model.mt.mt0xx.MT026(m);
+		case 14: return new com.prowidesoftware.swift.model.mt.mt0xx.MT027(m);
+		case 15: return new com.prowidesoftware.swift.model.mt.mt0xx.MT028(m);
+		case 16: return new com.prowidesoftware.swift.model.mt.mt0xx.MT029(m);
+		case 17: return new com.prowidesoftware.swift.model.mt.mt0xx.MT031(m);
+		case 18: return new com.prowidesoftware.swift.model.mt.mt0xx.MT032(m);
+		case 19: return new com.prowidesoftware.swift.model.mt.mt0xx.MT035(m);
+		case 20: return new com.prowidesoftware.swift.model.mt.mt0xx.MT036(m);
+		case 21: return new com.prowidesoftware.swift.model.mt.mt0xx.MT037(m);
+		case 22: return new com.prowidesoftware.swift.model.mt.mt0xx.MT041(m);
+		case 23: return new com.prowidesoftware.swift.model.mt.mt0xx.MT042(m);
+		case 24: return new com.prowidesoftware.swift.model.mt.mt0xx.MT043(m);
+		case 25: return new com.prowidesoftware.swift.model.mt.mt0xx.MT044(m);
+		case 26: return new com.prowidesoftware.swift.model.mt.mt0xx.MT045(m);
+		case 27: return new com.prowidesoftware.swift.model.mt.mt0xx.MT046(m);
+		case 28: return new com.prowidesoftware.swift.model.mt.mt0xx.MT047(m);
+		case 29: return new com.prowidesoftware.swift.model.mt.mt0xx.MT048(m);
+		case 30: return new com.prowidesoftware.swift.model.mt.mt0xx.MT049(m);
+		case 31: return new com.prowidesoftware.swift.model.mt.mt0xx.MT051(m);
+		case 32: return new com.prowidesoftware.swift.model.mt.mt0xx.MT052(m);
+		case 33: return new com.prowidesoftware.swift.model.mt.mt0xx.MT055(m);
+		case 34: return new com.prowidesoftware.swift.model.mt.mt0xx.MT056(m);
+		case 35: return new com.prowidesoftware.swift.model.mt.mt0xx.MT057(m);
+		case 36: return new com.prowidesoftware.swift.model.mt.mt0xx.MT061(m);
+		case 37: return new com.prowidesoftware.swift.model.mt.mt0xx.MT062(m);
+		case 38: return new com.prowidesoftware.swift.model.mt.mt0xx.MT063(m);
+		case 39: return new com.prowidesoftware.swift.model.mt.mt0xx.MT064(m);
+		case 40: return new com.prowidesoftware.swift.model.mt.mt0xx.MT065(m);
+		case 41: return new com.prowidesoftware.swift.model.mt.mt0xx.MT066(m);
+		case 42: return new com.prowidesoftware.swift.model.mt.mt0xx.MT067(m);
+		case 43: return new com.prowidesoftware.swift.model.mt.mt0xx.MT068(m);
+		case 44: return new com.prowidesoftware.swift.model.mt.mt0xx.MT069(m);
+		case 45: return new com.prowidesoftware.swift.model.mt.mt0xx.MT070(m);
+		case 46: return new com.prowidesoftware.swift.model.mt.mt0xx.MT071(m);
+		case 47: return new com.prowidesoftware.swift.model.mt.mt0xx.MT072(m);
+		case 48: return new com.prowidesoftware.swift.model.mt.mt0xx.MT073(m);
+		case 49: return new com.prowidesoftware.swift.model.mt.mt0xx.MT074(m);
+		case 50: return new com.prowidesoftware.swift.model.mt.mt0xx.MT077(m);
+		case 51: return new com.prowidesoftware.swift.model.mt.mt0xx.MT081(m);
+		case 52: return new com.prowidesoftware.swift.model.mt.mt0xx.MT082(m);
+		case 53: return new com.prowidesoftware.swift.model.mt.mt0xx.MT083(m);
+		case 54: return new com.prowidesoftware.swift.model.mt.mt0xx.MT090(m);
+		case 55: return new com.prowidesoftware.swift.model.mt.mt0xx.MT092(m);
+		case 56: return new com.prowidesoftware.swift.model.mt.mt0xx.MT094(m);
+		case 57: return new com.prowidesoftware.swift.model.mt.mt0xx.MT096(m);
+		case 58: return new com.prowidesoftware.swift.model.mt.mt0xx.MT097(m);
+		case 59: return new com.prowidesoftware.swift.model.mt.mt1xx.MT101(m);
+		case 60: return new com.prowidesoftware.swift.model.mt.mt1xx.MT101_RUR6(m);
+		case 61: return new com.prowidesoftware.swift.model.mt.mt1xx.MT102(m);
+		case 62: return new com.prowidesoftware.swift.model.mt.mt1xx.MT102_STP(m);
+		case 63: return new com.prowidesoftware.swift.model.mt.mt1xx.MT103(m);
+		case 64: return new com.prowidesoftware.swift.model.mt.mt1xx.MT103_REMIT(m);
+		case 65: return new com.prowidesoftware.swift.model.mt.mt1xx.MT103_RUR6(m);
+		case 66: return new com.prowidesoftware.swift.model.mt.mt1xx.MT103_STP(m);
+		case 67: return new com.prowidesoftware.swift.model.mt.mt1xx.MT104(m);
+		case 68: return new com.prowidesoftware.swift.model.mt.mt1xx.MT105(m);
+		case 69: return new com.prowidesoftware.swift.model.mt.mt1xx.MT107(m);
+		case 70: return new com.prowidesoftware.swift.model.mt.mt1xx.MT110(m);
+		case 71: return new com.prowidesoftware.swift.model.mt.mt1xx.MT111(m);
+		case 72: return new com.prowidesoftware.swift.model.mt.mt1xx.MT112(m);
+		case 73: return new com.prowidesoftware.swift.model.mt.mt1xx.MT190(m);
+		case 74: return new com.prowidesoftware.swift.model.mt.mt1xx.MT191(m);
+		case 75: return new com.prowidesoftware.swift.model.mt.mt1xx.MT192(m);
+		case 76: return new com.prowidesoftware.swift.model.mt.mt1xx.MT195(m);
+		case 77: return new com.prowidesoftware.swift.model.mt.mt1xx.MT196(m);
+		case 78: return new com.prowidesoftware.swift.model.mt.mt1xx.MT198(m);
+		case 79: return new com.prowidesoftware.swift.model.mt.mt1xx.MT199(m);
+		case 80: return new com.prowidesoftware.swift.model.mt.mt2xx.MT200(m);
+		case 81: return new com.prowidesoftware.swift.model.mt.mt2xx.MT201(m);
+		case 82: return new com.prowidesoftware.swift.model.mt.mt2xx.MT202(m);
+		case 83: return new com.prowidesoftware.swift.model.mt.mt2xx.MT202COV(m);
+		case 84: return new com.prowidesoftware.swift.model.mt.mt2xx.MT202_RUR6(m);
+		case 85: return new com.prowidesoftware.swift.model.mt.mt2xx.MT203(m);
+		case 86: return new com.prowidesoftware.swift.model.mt.mt2xx.MT204(m);
+		case 87: return new com.prowidesoftware.swift.model.mt.mt2xx.MT205(m);
+		case 88: return new com.prowidesoftware.swift.model.mt.mt2xx.MT205COV(m);
+		case 89: return new com.prowidesoftware.swift.model.mt.mt2xx.MT210(m);
+		case 90: return new com.prowidesoftware.swift.model.mt.mt2xx.MT290(m);
+		case 91: return new com.prowidesoftware.swift.model.mt.mt2xx.MT291(m);
+		case 92: return new com.prowidesoftware.swift.model.mt.mt2xx.MT292(m);
+		case 93: return new com.prowidesoftware.swift.model.mt.mt2xx.MT295(m);
+		case 94: return new com.prowidesoftware.swift.model.mt.mt2xx.MT296(m);
+		case 95: return new com.prowidesoftware.swift.model.mt.mt2xx.MT298(m);
+		case 96: return new com.prowidesoftware.swift.model.mt.mt2xx.MT299(m);
+		case 97: return new com.prowidesoftware.swift.model.mt.mt3xx.MT300(m);
+		case 98: return new com.prowidesoftware.swift.model.mt.mt3xx.MT304(m);
+		case 99: return new com.prowidesoftware.swift.model.mt.mt3xx.MT305(m);
+		case 100: return new com.prowidesoftware.swift.model.mt.mt3xx.MT306(m);
+		case 101: return new com.prowidesoftware.swift.model.mt.mt3xx.MT320(m);
+		case 102: return new com.prowidesoftware.swift.model.mt.mt3xx.MT321(m);
+		case 103: return new com.prowidesoftware.swift.model.mt.mt3xx.MT330(m);
+		case 104: return new com.prowidesoftware.swift.model.mt.mt3xx.MT340(m);
+		case 105: return new com.prowidesoftware.swift.model.mt.mt3xx.MT341(m);
+		case 106: return new com.prowidesoftware.swift.model.mt.mt3xx.MT350(m);
+		case 107: return new com.prowidesoftware.swift.model.mt.mt3xx.MT360(m);
+		case 108: return new com.prowidesoftware.swift.model.mt.mt3xx.MT361(m);
+		case 109: return new com.prowidesoftware.swift.model.mt.mt3xx.MT362(m);
+		case 110: return new com.prowidesoftware.swift.model.mt.mt3xx.MT364(m);
+		case 111: return new com.prowidesoftware.swift.model.mt.mt3xx.MT365(m);
+		case 112: return new com.prowidesoftware.swift.model.mt.mt3xx.MT370(m);
+		case 113: return new com.prowidesoftware.swift.model.mt.mt3xx.MT380(m);
+		case 114: return new com.prowidesoftware.swift.model.mt.mt3xx.MT381(m);
+		case 115: return new com.prowidesoftware.swift.model.mt.mt3xx.MT390(m);
+		case 116: return new com.prowidesoftware.swift.model.mt.mt3xx.MT391(m);
+		case 117: return new com.prowidesoftware.swift.model.mt.mt3xx.MT392(m);
+		case 118: return new com.prowidesoftware.swift.model.mt.mt3xx.MT395(m);
+		case 119: return new com.prowidesoftware.swift.model.mt.mt3xx.MT396(m);
+		case 120: return new com.prowidesoftware.swift.model.mt.mt3xx.MT398(m);
+		case 121: return new com.prowidesoftware.swift.model.mt.mt3xx.MT399(m);
+		case 122: return new com.prowidesoftware.swift.model.mt.mt4xx.MT400(m);
+		case 123: return new com.prowidesoftware.swift.model.mt.mt4xx.MT410(m);
+		case 124: return new com.prowidesoftware.swift.model.mt.mt4xx.MT412(m);
+		case 125: return new com.prowidesoftware.swift.model.mt.mt4xx.MT416(m);
+		case 126: return new com.prowidesoftware.swift.model.mt.mt4xx.MT420(m);
+		case 127: return new com.prowidesoftware.swift.model.mt.mt4xx.MT422(m);
+		case 128: return new com.prowidesoftware.swift.model.mt.mt4xx.MT430(m);
+		case 129: return new com.prowidesoftware.swift.model.mt.mt4xx.MT450(m);
+		case 130: return new com.prowidesoftware.swift.model.mt.mt4xx.MT455(m);
+		case 131: return new com.prowidesoftware.swift.model.mt.mt4xx.MT456(m);
+		case 132: return new com.prowidesoftware.swift.model.mt.mt4xx.MT490(m);
+		case 133: return new com.prowidesoftware.swift.model.mt.mt4xx.MT491(m);
+		case 134: return new com.prowidesoftware.swift.model.mt.mt4xx.MT492(m);
+		case 135: return new com.prowidesoftware.swift.model.mt.mt4xx.MT495(m);
+		case 136: return new com.prowidesoftware.swift.model.mt.mt4xx.MT496(m);
+		case 137: return new com.prowidesoftware.swift.model.mt.mt4xx.MT498(m);
+		case 138: return new com.prowidesoftware.swift.model.mt.mt4xx.MT499(m);
+		case 139: return new com.prowidesoftware.swift.model.mt.mt5xx.MT500(m);
+		case 140: return new com.prowidesoftware.swift.model.mt.mt5xx.MT501(m);
+		case 141: return new com.prowidesoftware.swift.model.mt.mt5xx.MT502(m);
+		case 142: return new com.prowidesoftware.swift.model.mt.mt5xx.MT503(m);
+		case 143: return new com.prowidesoftware.swift.model.mt.mt5xx.MT504(m);
+		case 144: return new com.prowidesoftware.swift.model.mt.mt5xx.MT505(m);
+		case 145: return new com.prowidesoftware.swift.model.mt.mt5xx.MT506(m);
+		case 146: return new com.prowidesoftware.swift.model.mt.mt5xx.MT507(m);
+		case 147: return new com.prowidesoftware.swift.model.mt.mt5xx.MT508(m);
+		case 148: return new com.prowidesoftware.swift.model.mt.mt5xx.MT509(m);
+		case 149: return new com.prowidesoftware.swift.model.mt.mt5xx.MT510(m);
+		case 150: return new com.prowidesoftware.swift.model.mt.mt5xx.MT513(m);
+		case 151: return new com.prowidesoftware.swift.model.mt.mt5xx.MT514(m);
+		case 152: return new com.prowidesoftware.swift.model.mt.mt5xx.MT515(m);
+		case 153: return new com.prowidesoftware.swift.model.mt.mt5xx.MT516(m);
+		case 154: return new com.prowidesoftware.swift.model.mt.mt5xx.MT517(m);
+		case 155: return new com.prowidesoftware.swift.model.mt.mt5xx.MT518(m);
+		case 156: return new com.prowidesoftware.swift.model.mt.mt5xx.MT519(m);
+		case 157: return new com.prowidesoftware.swift.model.mt.mt5xx.MT524(m);
+		case 158: return new com.prowidesoftware.swift.model.mt.mt5xx.MT526(m);
+		case 159: return new com.prowidesoftware.swift.model.mt.mt5xx.MT527(m);
+		case 160: return new com.prowidesoftware.swift.model.mt.mt5xx.MT530(m);
+		case 161: return new com.prowidesoftware.swift.model.mt.mt5xx.MT535(m);
+		case 162: return new com.prowidesoftware.swift.model.mt.mt5xx.MT536(m);
+		case 163: return new com.prowidesoftware.swift.model.mt.mt5xx.MT537(m);
+		case 164: return new com.prowidesoftware.swift.model.mt.mt5xx.MT538(m);
+		case 165: return new com.prowidesoftware.swift.model.mt.mt5xx.MT540(m);
+		case 166: return new com.prowidesoftware.swift.model.mt.mt5xx.MT541(m);
+		case 167: return new com.prowidesoftware.swift.model.mt.mt5xx.MT542(m);
+		case 168: return new com.prowidesoftware.swift.model.mt.mt5xx.MT543(m);
+		case 169: return new com.prowidesoftware.swift.model.mt.mt5xx.MT544(m);
+		case 170: return new com.prowidesoftware.swift.model.mt.mt5xx.MT545(m);
+		case 171: return new com.prowidesoftware.swift.model.mt.mt5xx.MT546(m);
+		case 172: return new com.prowidesoftware.swift.model.mt.mt5xx.MT547(m);
+		case 173: return new com.prowidesoftware.swift.model.mt.mt5xx.MT548(m);
+		case 174: return new com.prowidesoftware.swift.model.mt.mt5xx.MT549(m);
+		case 175: return new com.prowidesoftware.swift.model.mt.mt5xx.MT558(m);
+		case 176: return new com.prowidesoftware.swift.model.mt.mt5xx.MT559(m);
+		case 177: return new com.prowidesoftware.swift.model.mt.mt5xx.MT564(m);
+		case 178: return new com.prowidesoftware.swift.model.mt.mt5xx.MT565(m);
+		case 179: return new com.prowidesoftware.swift.model.mt.mt5xx.MT566(m);
+		case 180: return new com.prowidesoftware.swift.model.mt.mt5xx.MT567(m);
+		case 181: return new com.prowidesoftware.swift.model.mt.mt5xx.MT568(m);
+		case 182: return new com.prowidesoftware.swift.model.mt.mt5xx.MT569(m);
+		case 183: return new com.prowidesoftware.swift.model.mt.mt5xx.MT575(m);
+		case 184: return new com.prowidesoftware.swift.model.mt.mt5xx.MT576(m);
+		case 185: return new com.prowidesoftware.swift.model.mt.mt5xx.MT578(m);
+		case 186: return new com.prowidesoftware.swift.model.mt.mt5xx.MT581(m);
+		case 187: return new com.prowidesoftware.swift.model.mt.mt5xx.MT586(m);
+		case 188: return new com.prowidesoftware.swift.model.mt.mt5xx.MT590(m);
+		case 189: return new com.prowidesoftware.swift.model.mt.mt5xx.MT591(m);
+		case 190: return new com.prowidesoftware.swift.model.mt.mt5xx.MT592(m);
+		case 191: return new com.prowidesoftware.swift.model.mt.mt5xx.MT595(m);
+		case 192: return new com.prowidesoftware.swift.model.mt.mt5xx.MT596(m);
+		case 193: return new com.prowidesoftware.swift.model.mt.mt5xx.MT598(m);
+		case 194: return new com.prowidesoftware.swift.model.mt.mt5xx.MT599(m);
+		case 195: return new com.prowidesoftware.swift.model.mt.mt6xx.MT600(m);
+		case 196: return new com.prowidesoftware.swift.model.mt.mt6xx.MT601(m);
+		case 197: return new com.prowidesoftware.swift.model.mt.mt6xx.MT604(m);
+		case 198: return new com.prowidesoftware.swift.model.mt.mt6xx.MT605(m);
+		case 199: return new com.prowidesoftware.swift.model.mt.mt6xx.MT606(m);
+		case 200: return new com.prowidesoftware.swift.model.mt.mt6xx.MT607(m);
+		case 201: return new com.prowidesoftware.swift.model.mt.mt6xx.MT608(m);
+		case 202: return new com.prowidesoftware.swift.model.mt.mt6xx.MT620(m);
+		case 203: return new com.prowidesoftware.swift.model.mt.mt6xx.MT670(m);
+		case 204: return new com.prowidesoftware.swift.model.mt.mt6xx.MT671(m);
+		case 205: return new com.prowidesoftware.swift.model.mt.mt6xx.MT690(m);
+		case 206: return new com.prowidesoftware.swift.model.mt.mt6xx.MT691(m);
+		case 207: return new com.prowidesoftware.swift.model.mt.mt6xx.MT692(m);
+		case 208: return new com.prowidesoftware.swift.model.mt.mt6xx.MT695(m);
+		case 209: return new com.prowidesoftware.swift.model.mt.mt6xx.MT696(m);
+		case 210: return new com.prowidesoftware.swift.model.mt.mt6xx.MT698(m);
+		case 211: return new com.prowidesoftware.swift.model.mt.mt6xx.MT699(m);
+		case 212: return new com.prowidesoftware.swift.model.mt.mt7xx.MT700(m);
+		case 213: return new com.prowidesoftware.swift.model.mt.mt7xx.MT701(m);
+		case 214: return new com.prowidesoftware.swift.model.mt.mt7xx.MT705(m);
+		case 215: return new com.prowidesoftware.swift.model.mt.mt7xx.MT707(m);
+		case 216: return new com.prowidesoftware.swift.model.mt.mt7xx.MT710(m);
+		case 217: return new com.prowidesoftware.swift.model.mt.mt7xx.MT711(m);
+		case 218: return new com.prowidesoftware.swift.model.mt.mt7xx.MT720(m);
+		case 219: return new com.prowidesoftware.swift.model.mt.mt7xx.MT721(m);
+		case 220: return new com.prowidesoftware.swift.model.mt.mt7xx.MT730(m);
+		case 221: return new com.prowidesoftware.swift.model.mt.mt7xx.MT732(m);
+		case 222: return new com.prowidesoftware.swift.model.mt.mt7xx.MT734(m);
+		case 223: return new com.prowidesoftware.swift.model.mt.mt7xx.MT740(m);
+		case 224: return new com.prowidesoftware.swift.model.mt.mt7xx.MT742(m);
+		case 225: return new com.prowidesoftware.swift.model.mt.mt7xx.MT747(m);
+		case 226: return new com.prowidesoftware.swift.model.mt.mt7xx.MT750(m);
+		case 227: return new com.prowidesoftware.swift.model.mt.mt7xx.MT752(m);
+		case 228: return new com.prowidesoftware.swift.model.mt.mt7xx.MT754(m);
+		case 229: return new com.prowidesoftware.swift.model.mt.mt7xx.MT756(m);
+		case 230: return new com.prowidesoftware.swift.model.mt.mt7xx.MT760(m);
+		case 231: return new com.prowidesoftware.swift.model.mt.mt7xx.MT767(m);
+		case 232: return new com.prowidesoftware.swift.model.mt.mt7xx.MT768(m);
+		case 233: return new com.prowidesoftware.swift.model.mt.mt7xx.MT769(m);
+		case 234: return new com.prowidesoftware.swift.model.mt.mt7xx.MT790(m);
+		case 235: return new com.prowidesoftware.swift.model.mt.mt7xx.MT791(m);
+		case 236: return new com.prowidesoftware.swift.model.mt.mt7xx.MT792(m);
+		case 237: return new com.prowidesoftware.swift.model.mt.mt7xx.MT795(m);
+		case 238: return new com.prowidesoftware.swift.model.mt.mt7xx.MT796(m);
+		case 239: return new com.prowidesoftware.swift.model.mt.mt7xx.MT798(m);
+		case 240: return new com.prowidesoftware.swift.model.mt.mt7xx.MT799(m);
+		case 241: return new com.prowidesoftware.swift.model.mt.mt8xx.MT800(m);
+		case 242: return new com.prowidesoftware.swift.model.mt.mt8xx.MT801(m);
+		case 243: return new com.prowidesoftware.swift.model.mt.mt8xx.MT802(m);
+		case 244: return new com.prowidesoftware.swift.model.mt.mt8xx.MT824(m);
+		case 245: return new com.prowidesoftware.swift.model.mt.mt8xx.MT890(m);
+		case 246: return new com.prowidesoftware.swift.model.mt.mt8xx.MT891(m);
+		case 247: return new com.prowidesoftware.swift.model.mt.mt8xx.MT892(m);
+		case 248: return new com.prowidesoftware.swift.model.mt.mt8xx.MT895(m);
+		case 249: return new com.prowidesoftware.swift.model.mt.mt8xx.MT896(m);
+		case 250: return new com.prowidesoftware.swift.model.mt.mt8xx.MT898(m);
+		case 251: return new com.prowidesoftware.swift.model.mt.mt8xx.MT899(m);
+		case 252: return new com.prowidesoftware.swift.model.mt.mt9xx.MT900(m);
+		case 253: return new com.prowidesoftware.swift.model.mt.mt9xx.MT900_RUR6(m);
+		case 254: return new com.prowidesoftware.swift.model.mt.mt9xx.MT910(m);
+		case 255: return new com.prowidesoftware.swift.model.mt.mt9xx.MT910_RUR6(m);
+		case 256: return new com.prowidesoftware.swift.model.mt.mt9xx.MT920(m);
+		case 257: return new com.prowidesoftware.swift.model.mt.mt9xx.MT935(m);
+		case 258: return new com.prowidesoftware.swift.model.mt.mt9xx.MT940(m);
+		case 259: return new com.prowidesoftware.swift.model.mt.mt9xx.MT940_RUR6(m);
+		case 260: return new com.prowidesoftware.swift.model.mt.mt9xx.MT941(m);
+		case 261: return new com.prowidesoftware.swift.model.mt.mt9xx.MT942(m);
+		case 262: return new com.prowidesoftware.swift.model.mt.mt9xx.MT942_RUR6(m);
+		case 263: return new com.prowidesoftware.swift.model.mt.mt9xx.MT950(m);
+		case 264: return new com.prowidesoftware.swift.model.mt.mt9xx.MT950_RUR6(m);
+		case 265: return new com.prowidesoftware.swift.model.mt.mt9xx.MT970(m);
+		case 266: return new com.prowidesoftware.swift.model.mt.mt9xx.MT971(m);
+		case 267: return new com.prowidesoftware.swift.model.mt.mt9xx.MT972(m);
+		case 268: return new com.prowidesoftware.swift.model.mt.mt9xx.MT973(m);
+		case 269: return new com.prowidesoftware.swift.model.mt.mt9xx.MT985(m);
+		case 270: return new com.prowidesoftware.swift.model.mt.mt9xx.MT986(m);
+		case 271: return new com.prowidesoftware.swift.model.mt.mt9xx.MT990(m);
+		case 272: return new com.prowidesoftware.swift.model.mt.mt9xx.MT991(m);
+		case 273: return new com.prowidesoftware.swift.model.mt.mt9xx.MT992(m);
+		case 274: return new com.prowidesoftware.swift.model.mt.mt9xx.MT995(m);
+		case 275: return new com.prowidesoftware.swift.model.mt.mt9xx.MT996(m);
+		case 276: return new com.prowidesoftware.swift.model.mt.mt9xx.MT998(m);
+		case 277: return new com.prowidesoftware.swift.model.mt.mt9xx.MT999(m);
+		default: return null;
+		}
+	}
+
+}
@@ -0,0 +1,419 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Base class for message reader iterators reading from a channel.
+ *
+ * <p>The content is read in bulk into a reusable byte buffer and decoded with the given charset into a
+ * reusable char buffer, where the message boundaries are found by scanning the characters by index. Only
+ * messages spanning several buffer loads are accumulated in an intermediate builder. This is intended for
+ * large files, where reading the content one char at a time is the bottleneck.</p>
+ *
+ * <p>The channel is closed when the end of input is reached, or when {@link #close()} is called.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public abstract class AbstractChannelReader extends AbstractReader implements Closeable {
+	private static final Logger log = Logger.getLogger(AbstractChannelReader.class.getName());
+
+	/**
+	 * Default size in bytes and chars of the read buffers
+	 */
+	static final int BUFFER_SIZE = 64 * 1024;
+
+	private final ReadableByteChannel channel;
+	private final CharsetDecoder decoder;
+	private final ByteBuffer bytes;
+
+	/**
+	 * Decoded characters, kept ready for reading: the pending content is between position and limit
+	 */
+	private final CharBuffer chars;
+
+	/**
+	 * Content of a message spanning several buffer loads
+	 */
+	private final StringBuilder pending = new StringBuilder();
+
+	/**
+	 * True when the channel has no more bytes to read
+	 */
+	private boolean endOfInput = false;
+
+	/**
+	 * True when all the bytes have been read and decoded
+	 */
+	private boolean eof = false;
+
+	/**
+	 * Constructs a reader to read messages from a file
+	 * @param file the file to read
+	 * @param charset the charset of the file content
+	 * @throws IllegalArgumentException if file or charset are <code>null</code>
+	 * @throws IOException if the file cannot be opened
+	 */
+	public AbstractChannelReader(final File file, final Charset charset) throws IOException {
+		this(open(file), charset, BUFFER_SIZE);
+	}
+
+	/**
+	 * Constructs a reader to read messages from a channel
+	 * @param channel the channel to read, for example a FileChannel
+	 * @param charset the charset of the channel content
+	 * @throws IllegalArgumentException if channel or charset are <code>null</code>
+	 */
+	public AbstractChannelReader(final ReadableByteChannel channel, final Charset charset) {
+		this(channel, charset, BUFFER_SIZE);
+	}
+
+	AbstractChannelReader(final ReadableByteChannel channel, final Charset charset, final int bufferSize) {
+		super((Reader) null);
+		Validate.notNull(channel, "channel must not be null");
+		Validate.notNull(charset, "charset must not be null");
+		this.channel = channel;
+		this.decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.bytes = ByteBuffer.allocate(bufferSize);
+		this.chars = CharBuffer.allocate(bufferSize);
+		this.chars.flip();
+	}
+
+	private static ReadableByteChannel open(final File file) throws IOException {
+		Validate.notNull(file, "file must not be null");
+		Validate.isTrue(file.exists(), "Non existent file: "+file.getAbsolutePath());
+		return new FileInputStream(file).getChannel();
+	}
+
+	/**
+	 * Creates the reader for a range of a split file
+	 */
+	interface RangeReaderFactory<T extends AbstractChannelReader> {
+		/**
+		 * @param channel the channel reading the range
+		 * @param charset the charset of the file content
+		 * @return the reader for the range
+		 */
+		T create(ReadableByteChannel channel, Charset charset);
+	}
+
+	/**
+	 * Divides a file in byte ranges of similar size, aligned on message delimiters, and creates a reader for
+	 * each range. Reading all the messages of the returned readers in order gives the same messages of a single
+	 * reader for the whole file, so the ranges can be processed in parallel, for example one task per reader in
+	 * an executor service.
+	 *
+	 * <p>The file is split by scanning for the delimiter bytes, so the delimiter must be encoded as a single byte
+	 * with the same value in the file charset, and the byte must not be part of the encoding of other characters,
+	 * as in UTF-8 or ISO-8859-1. Each reader opens its own channel, closed when the end of its range is reached or
+	 * when the reader is closed. If a reader cannot be created the readers already created are closed.</p>
+	 *
+	 * @param file the file to split
+	 * @param charset the charset of the file content
+	 * @param delimiter the byte separating the messages
+	 * @param after true if the ranges end after a delimiter, false if they start with a delimiter
+	 * @param parts the maximum number of readers, fewer readers are returned if the file has fewer delimiters
+	 * @param factory creates the reader for each range
+	 * @return the readers for the consecutive ranges of the file, at least one
+	 * @throws IOException if an error occurs reading the file
+	 * @throws IllegalArgumentException if file or charset are <code>null</code>, parts is lower than 1 or the
+	 * delimiter is not encoded as a single byte in the charset
+	 */
+	static <T extends AbstractChannelReader> List<T> split(final File file, final Charset charset, final byte delimiter, final boolean after,
+			final int parts, final RangeReaderFactory<T> factory) throws IOException {
+		final long[] boundaries = ranges(file, charset, delimiter, after, parts);
+		final List<T> result = new ArrayList<T>(boundaries.length - 1);
+		boolean opened = false;
+		try {
+			for (int i = 0; i < boundaries.length - 1; i++) {
+				result.add(factory.create(open(file, boundaries[i], boundaries[i + 1]), charset));
+			}
+			opened = true;
+			return result;
+		} finally {
+			if (!opened) {
+				closeAll(result);
+			}
+		}
+	}
+
+	/**
+	 * Divides a file in byte ranges of similar size aligned on message delimiters, see
+	 * {@link #split(File, Charset, byte, boolean, int, RangeReaderFactory)}
+	 *
+	 * @param file the file to split
+	 * @param charset the charset of the file content
+	 * @param delimiter the byte separating the messages
+	 * @param after true if the ranges end after a delimiter, false if they start with a delimiter
+	 * @param parts the maximum number of ranges, fewer ranges are returned if the file has fewer delimiters
+	 * @return the range boundaries: the first is zero, the last is the file size, and each range goes from one
+	 * boundary inclusive to the next one exclusive
+	 * @throws IOException if an error occurs reading the file
+	 * @throws IllegalArgumentException if file or charset are <code>null</code>, parts is lower than 1 or the
+	 * delimiter is not encoded as a single byte in the charset
+	 */
+	static long[] ranges(final File file, final Charset charset, final byte delimiter, final boolean after, final int parts) throws IOException {
+		Validate.notNull(charset, "charset must not be null");
+		Validate.isTrue(parts > 0, "parts must be greater than zero");
+		final byte[] encoded = String.valueOf((char) delimiter).getBytes(charset);
+		Validate.isTrue(encoded.length == 1 && encoded[0] == delimiter, "the message delimiter must be encoded as a single byte in charset " + charset);
+		final FileChannel channel = (FileChannel) open(file);
+		try {
+			final long size = channel.size();
+			final List<Long> boundaries = new ArrayList<Long>();
+			boundaries.add(Long.valueOf(0));
+			final ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+			long last = 0;
+			for (int i = 1; i < parts; i++) {
+				final long found = find(channel, buffer, delimiter, Math.max(size / parts * i, last));
+				if (found < 0) {
+					break;
+				}
+				final long boundary = after ? found + 1 : found;
+				if (boundary > last && boundary < size) {
+					boundaries.add(Long.valueOf(boundary));
+					last = boundary;
+				}
+			}
+			boundaries.add(Long.valueOf(size));
+			final long[] result = new long[boundaries.size()];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = boundaries.get(i).longValue();
+			}
+			return result;
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Finds the position of the first delimiter byte starting at the given position
+	 * @return the position or -1 if not found
+	 */
+	private static long find(final FileChannel channel, final ByteBuffer buffer, final byte delimiter, final long from) throws IOException {
+		long position = from;
+		while (true) {
+			buffer.clear();
+			final int read = channel.read(buffer, position);
+			if (read <= 0) {
+				return -1;
+			}
+			final byte[] a = buffer.array();
+			for (int i = 0; i < read; i++) {
+				if (a[i] == delimiter) {
+					return position + i;
+				}
+			}
+			position += read;
+		}
+	}
+
+	/**
+	 * Opens a channel reading a range of a file
+	 * @param file the file to read
+	 * @param start the position of the first byte to read
+	 * @param end the position after the last byte to read
+	 * @throws IOException if the file cannot be opened
+	 */
+	static ReadableByteChannel open(final File file, final long start, final long end) throws IOException {
+		return new RangeChannel((FileChannel) open(file), start, end);
+	}
+
+	/**
+	 * Closes the given readers, logging the errors, used to release the readers already created when
+	 * an error occurs creating the readers for a split file
+	 * @param readers the readers to close
+	 */
+	static void closeAll(final List<? extends AbstractChannelReader> readers) {
+		for (final AbstractChannelReader r : readers) {
+			try {
+				r.close();
+			} catch (final IOException e) {
+				log.log(Level.WARNING, "error closing channel", e);
+			}
+		}
+	}
+
+	/**
+	 * Channel reading a range of a file channel
+	 */
+	private static final class RangeChannel implements ReadableByteChannel {
+		private final FileChannel channel;
+		private final long end;
+		private long position;
+
+		RangeChannel(final FileChannel channel, final long start, final long end) {
+			this.channel = channel;
+			this.position = start;
+			this.end = end;
+		}
+
+		public int read(final ByteBuffer dst) throws IOException {
+			if (this.position >= this.end) {
+				return -1;
+			}
+			final int limit = dst.limit();
+			if (dst.remaining() > this.end - this.position) {
+				dst.limit(dst.position() + (int) (this.end - this.position));
+			}
+			try {
+				final int read = this.channel.read(dst, this.position);
+				if (read > 0) {
+					this.position += read;
+				}
+				return read;
+			} finally {
+				dst.limit(limit);
+			}
+		}
+
+		public boolean isOpen() {
+			return this.channel.isOpen();
+		}
+
+		public void close() throws IOException {
+			this.channel.close();
+		}
+	}
+
+	/**
+	 * Reads and decodes more content if all the decoded characters have been consumed
+	 * @return true if there are characters to consume, false if the end of input has been reached
+	 * @throws IOException if an error occurs reading the channel
+	 */
+	private boolean fill() throws IOException {
+		while (!this.chars.hasRemaining()) {
+			if (this.eof) {
+				return false;
+			}
+			this.chars.clear();
+			if (!this.endOfInput && this.channel.read(this.bytes) == -1) {
+				this.endOfInput = true;
+			}
+			this.bytes.flip();
+			final CoderResult result = this.decoder.decode(this.bytes, this.chars, this.endOfInput);
+			if (this.endOfInput && result.isUnderflow()) {
+				this.decoder.flush(this.chars);
+				this.eof = true;
+				close();
+			}
+			this.bytes.compact();
+			this.chars.flip();
+		}
+		return true;
+	}
+
+	/**
+	 * Tells if there is content left to read, reading more content from the channel if necessary
+	 * @return true if at least one more character can be read
+	 */
+	protected boolean hasRemaining() {
+		try {
+			return fill();
+		} catch (final IOException e) {
+			log.log(Level.SEVERE, "error reading from channel", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Reads the content up to the next delimiter or the end of input.
+	 * The delimiter is consumed but not included in the result.
+	 *
+	 * @param delimiter the character ending the content to read
+	 * @return the content read, or null if the end of input was already reached
+	 * @throws IOException if an error occurs reading the channel
+	 */
+	protected String readUntil(final char delimiter) throws IOException {
+		if (!fill()) {
+			return null;
+		}
+		this.pending.setLength(0);
+		do {
+			final char[] a = this.chars.array();
+			final int offset = this.chars.arrayOffset();
+			final int start = offset + this.chars.position();
+			final int end = offset + this.chars.limit();
+			int i = start;
+			while (i < end && a[i] != delimiter) {
+				i++;
+			}
+			if (i < end) {
+				this.chars.position(i + 1 - offset);
+				if (this.pending.length() == 0) {
+					return new String(a, start, i - start);
+				}
+				this.pending.append(a, start, i - start);
+				return this.pending.toString();
+			}
+			this.pending.append(a, start, end - start);
+			this.chars.position(this.chars.limit());
+		} while (fill());
+		return this.pending.toString();
+	}
+
+	/**
+	 * Discards the content up to and including the next delimiter.
+	 *
+	 * @param delimiter the character to find
+	 * @return true if the delimiter was found, false if the end of input was reached
+	 * @throws IOException if an error occurs reading the channel
+	 */
+	protected boolean skipPast(final char delimiter) throws IOException {
+		while (fill()) {
+			final char[] a = this.chars.array();
+			final int offset = this.chars.arrayOffset();
+			final int end = offset + this.chars.limit();
+			for (int i = offset + this.chars.position(); i < end; i++) {
+				if (a[i] == delimiter) {
+					this.chars.position(i + 1 - offset);
+					return true;
+				}
+			}
+			this.chars.position(this.chars.limit());
+		}
+		return false;
+	}
+
+	/**
+	 * Closes the underlying channel
+	 */
+	public void close() throws IOException {
+		this.channel.close();
+	}
+
+}
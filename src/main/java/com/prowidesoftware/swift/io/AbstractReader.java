@@ -14,7 +14,6 @@
  *******************************************************************************/
 package com.prowidesoftware.swift.io;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
@@ -24,11 +23,13 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.logging.Logger;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.Validate;
 
+import com.prowidesoftware.swift.WifeException;
 import com.prowidesoftware.swift.io.parser.SwiftParser;
 import com.prowidesoftware.swift.model.SwiftMessage;
 import com.prowidesoftware.swift.model.mt.AbstractMT;
@@ -42,6 +43,11 @@ import com.prowidesoftware.swift.model.mt.AbstractMT;
 public abstract class AbstractReader implements Iterator<String>, Iterable<String> {
 	private static final Logger log = Logger.getLogger(AbstractReader.class.getName());
 	protected Reader reader = null;
+
+	/**
+	 * Parser reused for all the messages read
+	 */
+	private SwiftParser parser;
 	
 	/**
 	 * Constructs a reader to read messages from a given Reader instance
@@ -111,8 +117,7 @@ public abstract class AbstractReader implements Iterator<String>, Iterable<Strin
 				 * message is an ACK/NACK, we parse the appended original message instead
 				 */
 				final String fin = candidate.getUnparsedTexts().getAsFINString();
-				SwiftParser parser = new SwiftParser(new ByteArrayInputStream(fin.getBytes()));
-				return parser.message().toMT();
+				return parser().parse(fin).toMT();
 			} else if (candidate.isServiceMessage()) {
 				log.warning("nextMT in "+getClass().getName()+" is not intended for service messages, use nextSwiftMessage() instead");
 				return null;
@@ -135,11 +140,96 @@ public abstract class AbstractReader implements Iterator<String>, Iterable<Strin
 	public SwiftMessage nextSwiftMessage() throws IOException {
 		final String msg = next();
 		if (StringUtils.isNotBlank(msg)) {
-			SwiftParser parser = new SwiftParser(new ByteArrayInputStream(msg.getBytes()));
-			return parser.message();
+			return parser().parse(msg);
 		}
 		log.warning("Ignoring blank message");
 		return null;
 	}
 
+	/**
+	 * Gets a view of the remaining messages parsed into {@link SwiftMessage}, to iterate them with a for-each loop.
+	 * The messages are read on demand with {@link #nextSwiftMessage()}, skipping blank messages.
+	 *
+	 * @return an iterable sharing the position of this reader
+	 * @throws WifeException from the iterator if a message cannot be parsed
+	 * @since 7.9.7
+	 */
+	public Iterable<SwiftMessage> swiftMessages() {
+		return new Iterable<SwiftMessage>() {
+			public Iterator<SwiftMessage> iterator() {
+				return new ParsedIterator<SwiftMessage>() {
+					@Override
+					SwiftMessage read() throws IOException {
+						return nextSwiftMessage();
+					}
+				};
+			}
+		};
+	}
+
+	/**
+	 * Gets a view of the remaining messages parsed into MTs, to iterate them with a for-each loop.
+	 * The messages are read on demand with {@link #nextMT()}, skipping blank messages and service messages
+	 * without an MT representation.
+	 *
+	 * @return an iterable sharing the position of this reader
+	 * @throws WifeException from the iterator if a message cannot be parsed
+	 * @since 7.9.7
+	 */
+	public Iterable<AbstractMT> mts() {
+		return new Iterable<AbstractMT>() {
+			public Iterator<AbstractMT> iterator() {
+				return new ParsedIterator<AbstractMT>() {
+					@Override
+					AbstractMT read() throws IOException {
+						return nextMT();
+					}
+				};
+			}
+		};
+	}
+
+	/**
+	 * Iterator over the parsed messages of this reader, skipping the null results
+	 */
+	private abstract class ParsedIterator<T> implements Iterator<T> {
+		private T next;
+
+		abstract T read() throws IOException;
+
+		public boolean hasNext() {
+			while (this.next == null && AbstractReader.this.hasNext()) {
+				try {
+					this.next = read();
+				} catch (final IOException e) {
+					throw new WifeException("error parsing message", e);
+				}
+			}
+			return this.next != null;
+		}
+
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			final T result = this.next;
+			this.next = null;
+			return result;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException("remove not avaiable in this implementation");
+		}
+	}
+
+	/**
+	 * The parser is fed with the message content as read, without encoding it back to bytes
+	 */
+	private SwiftParser parser() {
+		if (this.parser == null) {
+			this.parser = new SwiftParser();
+		}
+		return this.parser;
+	}
+
 }
@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.io;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+
+import com.prowidesoftware.swift.WifeException;
+import com.prowidesoftware.swift.io.parser.SwiftParser;
+import com.prowidesoftware.swift.io.parser.SwiftParserConfiguration;
+import com.prowidesoftware.swift.model.SwiftMessage;
+
+/**
+ * Parses the messages of a reader in parallel, using the threads of an executor service.
+ *
+ * <p>The raw messages are read sequentially from the reader by the thread iterating the results, and each
+ * message is parsed as an independent task in the executor. The number of messages read but not yet
+ * returned is bounded: when the limit is reached no more messages are read until the caller consumes the
+ * next result, so a slow consumer does not fill the memory with parsed messages.</p>
+ *
+ * <p>The results are returned in the same order of the input, or in the order the tasks are completed
+ * when the order is not needed. Parse errors do not stop the iteration, each result holds the parsed message
+ * or the error found parsing it, together with the raw content and its position in the input.</p>
+ *
+ * <pre>
+ * final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+ * final BulkSwiftParser bulk = new BulkSwiftParser(executor);
+ * final Iterator&lt;BulkSwiftParser.Result&gt; it = bulk.parse(new RJEReader(file));
+ * while (it.hasNext()) {
+ *     final BulkSwiftParser.Result r = it.next();
+ *     if (r.getError() == null) {
+ *         ... r.getMessage()
+ *     }
+ * }
+ * executor.shutdown();
+ * </pre>
+ *
+ * <p>The executor is not shut down by this class. An instance can be used to parse several readers,
+ * even concurrently, but each returned iterator must be consumed by a single thread.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public class BulkSwiftParser {
+
+	/**
+	 * Default maximum number of messages read and not yet returned
+	 */
+	public static final int DEFAULT_MAX_IN_FLIGHT = 256;
+
+	private static final SwiftParserConfiguration DEFAULT_CONFIGURATION = new SwiftParserConfiguration();
+
+	/**
+	 * Parser reused for all the messages parsed by each executor thread, shared by all the instances
+	 * so a pool thread keeps a single parser no matter how many bulk parsers submit tasks to it;
+	 * the configuration of the instance is set on the parser for each message
+	 */
+	private static final ThreadLocal<SwiftParser> PARSERS = new ThreadLocal<SwiftParser>() {
+		@Override
+		protected SwiftParser initialValue() {
+			return new SwiftParser();
+		}
+	};
+
+	private final ExecutorService executor;
+	private final int maxInFlight;
+	private final boolean ordered;
+	private SwiftParserConfiguration configuration;
+
+	/**
+	 * Creates a parser returning the results in input order, with the default limit of messages in flight
+	 * @param executor the executor where the messages are parsed
+	 * @throws IllegalArgumentException if executor is <code>null</code>
+	 */
+	public BulkSwiftParser(final ExecutorService executor) {
+		this(executor, DEFAULT_MAX_IN_FLIGHT, true);
+	}
+
+	/**
+	 * Creates a parser
+	 * @param executor the executor where the messages are parsed
+	 * @param maxInFlight the maximum number of messages read from the reader and not yet returned by the iterator,
+	 * at least the number of threads of the executor to keep them all busy
+	 * @param ordered true to return the results in the same order of the input, false to return them as they are parsed
+	 * @throws IllegalArgumentException if executor is <code>null</code> or maxInFlight is lower than 1
+	 */
+	public BulkSwiftParser(final ExecutorService executor, final int maxInFlight, final boolean ordered) {
+		Validate.notNull(executor, "executor must not be null");
+		Validate.isTrue(maxInFlight > 0, "maxInFlight must be greater than zero");
+		this.executor = executor;
+		this.maxInFlight = maxInFlight;
+		this.ordered = ordered;
+	}
+
+	/**
+	 * @return the configuration of the parsers or <code>null</code> if the default configuration is used
+	 */
+	public SwiftParserConfiguration getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * Sets the configuration for the parsers, must not be modified while messages are being parsed
+	 * @param configuration the configuration or <code>null</code> to use the default configuration
+	 */
+	public void setConfiguration(final SwiftParserConfiguration configuration) {
+		this.configuration = configuration;
+	}
+
+	/**
+	 * Starts parsing the messages of the reader.
+	 *
+	 * <p>The messages are read and submitted to the executor as the returned iterator is consumed;
+	 * a call to hasNext or next may block until the next result is available.</p>
+	 *
+	 * @param reader the reader with the raw messages, for example an {@link RJEReader} or {@link PPCReader}
+	 * @return an iterator with one result per message read
+	 * @throws IllegalArgumentException if reader is <code>null</code>
+	 */
+	public Iterator<Result> parse(final AbstractReader reader) {
+		Validate.notNull(reader, "reader must not be null");
+		return new ResultIterator(reader);
+	}
+
+	/**
+	 * Parses one raw message, capturing the error if any
+	 */
+	Result parse(final int index, final String content) {
+		try {
+			if (StringUtils.isBlank(content)) {
+				return new Result(index, content, null, null);
+			}
+			final SwiftParser parser = PARSERS.get();
+			parser.setConfiguration(this.configuration != null ? this.configuration : DEFAULT_CONFIGURATION);
+			return new Result(index, content, parser.parse(content), null);
+		} catch (final Exception e) {
+			return new Result(index, content, null, e);
+		}
+	}
+
+	/**
+	 * Iterator reading and submitting messages on demand, up to the limit of messages in flight
+	 */
+	private final class ResultIterator implements Iterator<Result> {
+		private final AbstractReader reader;
+		private final Queue<Future<Result>> pending = new ArrayDeque<Future<Result>>();
+		private final CompletionService<Result> completion;
+		private int inFlight = 0;
+		private int index = 0;
+
+		ResultIterator(final AbstractReader reader) {
+			this.reader = reader;
+			this.completion = ordered ? null : new ExecutorCompletionService<Result>(executor);
+		}
+
+		private void fill() {
+			while (this.inFlight < maxInFlight && this.reader.hasNext()) {
+				final int i = this.index++;
+				final String content = this.reader.next();
+				final Callable<Result> task = new Callable<Result>() {
+					public Result call() {
+						return parse(i, content);
+					}
+				};
+				if (this.completion != null) {
+					this.completion.submit(task);
+				} else {
+					this.pending.add(executor.submit(task));
+				}
+				this.inFlight++;
+			}
+		}
+
+		public boolean hasNext() {
+			fill();
+			return this.inFlight > 0;
+		}
+
+		public Result next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			try {
+				final Future<Result> f = this.completion != null ? this.completion.take() : this.pending.remove();
+				this.inFlight--;
+				return f.get();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new WifeException("interrupted waiting for the next parsed message", e);
+			} catch (final ExecutionException e) {
+				throw new WifeException("unexpected error parsing message", e.getCause());
+			}
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException("remove not avaiable in this implementation");
+		}
+	}
+
+	/**
+	 * The outcome of parsing one message
+	 */
+	public static final class Result {
+		private final int index;
+		private final String content;
+		private final SwiftMessage message;
+		private final Exception error;
+
+		Result(final int index, final String content, final SwiftMessage message, final Exception error) {
+			this.index = index;
+			this.content = content;
+			this.message = message;
+			this.error = error;
+		}
+
+		/**
+		 * @return the zero based position of the message in the input
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * @return the raw message content as read
+		 */
+		public String getContent() {
+			return content;
+		}
+
+		/**
+		 * @return the parsed message, or <code>null</code> if the content is blank or cannot be parsed
+		 */
+		public SwiftMessage getMessage() {
+			return message;
+		}
+
+		/**
+		 * @return the error found parsing the message, or <code>null</code> if the message was parsed
+		 */
+		public Exception getError() {
+			return error;
+		}
+
+		@Override
+		public String toString() {
+			return "Result [index=" + index + ", error=" + error + "]";
+		}
+	}
+}
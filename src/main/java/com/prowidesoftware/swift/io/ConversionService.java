@@ -14,10 +14,8 @@
  *******************************************************************************/
 package com.prowidesoftware.swift.io;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.logging.Level;
 
@@ -54,33 +52,49 @@ public class ConversionService implements IConversionService {
 	 */
 	public String getFIN(final SwiftMessage msg) {
 		Validate.notNull(msg);
-		final StringWriter writer = new StringWriter();
-		SwiftWriter.writeMessage(msg, writer);
-		final String fin = writer.getBuffer().toString();
-		return ensureEols(fin);
+		return ensureEols(SwiftWriter.writeMessage(msg));
 	}
 
 	/**
-	 * Make sure all EOLs are swift compatible
-	 * @return an empty or incomplete string if an error occurs
+	 * Make sure all EOLs are swift compatible.
+	 * Single CR and LF line terminators are replaced by CRLF, and a line terminator at the end is removed.
+	 * @return the fixed content
 	 */
-	private static String ensureEols(final String result) {
-		final StringBuilder buf = new StringBuilder();
-		try {
-			final BufferedReader r = new BufferedReader(new StringReader(result));
-			String l;
-			while ((l=r.readLine()) != null) {
-				buf.append(l).append(FINWriterVisitor.SWIFT_EOL);
+	static String ensureEols(final CharSequence result) {
+		final int length = result.length();
+		boolean fix = false;
+		for (int i = 0; i < length && !fix; i++) {
+			final char c = result.charAt(i);
+			if (c == '\r') {
+				fix = i + 1 == length || result.charAt(i + 1) != '\n';
+				i++;
+			} else if (c == '\n') {
+				fix = true;
+			}
+		}
+		final boolean trailingEol = length > 0 && (result.charAt(length - 1) == '\n' || result.charAt(length - 1) == '\r');
+		if (!fix && !trailingEol) {
+			return result.toString();
+		}
+		final StringBuilder buf = new StringBuilder(length + 16);
+		for (int i = 0; i < length; i++) {
+			final char c = result.charAt(i);
+			if (c == '\r') {
+				buf.append(FINWriterVisitor.SWIFT_EOL);
+				if (i + 1 < length && result.charAt(i + 1) == '\n') {
+					i++;
+				}
+			} else if (c == '\n') {
+				buf.append(FINWriterVisitor.SWIFT_EOL);
+			} else {
+				buf.append(c);
 			}
-		} catch (final Exception e) {
-			log.severe("Error in EOL correction: "+e);
 		}
-		if (buf.length() > 0) {
-			//remove the last EOL inserted
-			return buf.substring(0, buf.length()-FINWriterVisitor.SWIFT_EOL.length());
-		} else {
-			return "";
+		if (trailingEol) {
+			//remove the last EOL
+			buf.setLength(buf.length() - FINWriterVisitor.SWIFT_EOL.length());
 		}
+		return buf.toString();
 	}
 
 	/**
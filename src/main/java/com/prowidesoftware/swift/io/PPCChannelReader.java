@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Helper class to read DOS-PCC files through a channel, same as {@link PPCReader} but reading the content in bulk.
+ * <br />
+ * File content is splitted, and the iterator returns the raw message content of
+ * each SWIFT message found in the file. API is also provided to read each message 
+ * parsed into an MT.
+ * <br />
+ * The content before each begin-of-message mark, including the sector padding, is skipped.
+ * <br /> 
+ * The reader can be initialized with a File or a channel, and the charset of the content.
+ * 
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public class PPCChannelReader extends AbstractChannelReader {
+	private static final Logger log = Logger.getLogger(PPCChannelReader.class.getName());
+
+	private static final RangeReaderFactory<PPCChannelReader> FACTORY = new RangeReaderFactory<PPCChannelReader>() {
+		public PPCChannelReader create(final ReadableByteChannel channel, final Charset charset) {
+			return new PPCChannelReader(channel, charset);
+		}
+	};
+
+	/**
+	 * True when the begin-of-message mark of the next message has been consumed
+	 */
+	private boolean atBegin = false;
+
+	/**
+	 * Constructs a PPCChannelReader to read messages from a file
+	 */
+	public PPCChannelReader(final File file, final Charset charset) throws IOException {
+		super(file, charset);
+	}
+
+	/**
+	 * Constructs a PPCChannelReader to read messages from a channel
+	 */
+	public PPCChannelReader(final ReadableByteChannel channel, final Charset charset) {
+		super(channel, charset);
+	}
+
+	PPCChannelReader(final ReadableByteChannel channel, final Charset charset, final int bufferSize) {
+		super(channel, charset, bufferSize);
+	}
+
+	/**
+	 * Divides a file in byte ranges of similar size, aligned on the begin-of-message mark (SOH), and creates a reader for
+	 * each range, to read the messages of the file in parallel. The charset must encode the delimiter as a single byte,
+	 * for example UTF-8 or ISO-8859-1.
+	 *
+	 * @param file the file to read
+	 * @param charset the charset of the file content
+	 * @param parts the maximum number of readers, fewer readers are returned for small files
+	 * @return the readers for the consecutive ranges of the file, at least one
+	 * @throws IOException if an error occurs reading the file
+	 * @throws IllegalArgumentException if file or charset are <code>null</code>, parts is lower than 1 or the charset
+	 * encodes the delimiter with several bytes
+	 * @since 7.9.7
+	 */
+	public static List<PPCChannelReader> split(final File file, final Charset charset, final int parts) throws IOException {
+		return split(file, charset, (byte) PPCReader.BEGIN, false, parts, FACTORY);
+	}
+
+	/**
+	 * Returns true if the iterator has more messages
+	 */
+	public boolean hasNext() {
+		if (!this.atBegin) {
+			try {
+				this.atBegin = skipPast((char) PPCReader.BEGIN);
+			} catch (final IOException e) {
+				log.log(Level.SEVERE, "error reading message", e);
+				return false;
+			}
+		}
+		return this.atBegin;
+	}
+
+	/**
+	 * Returns the next message in the iterator in its raw format
+	 */
+	@Override
+	public String next() {
+		if (this.atBegin) {
+			this.atBegin = false;
+			try {
+				final String msg = readUntil((char) PPCReader.END);
+				return msg != null ? msg : "";
+			} catch (final IOException e) {
+				log.log(Level.SEVERE, "error reading message", e);
+				return "";
+			}
+		} else {
+			throw new IllegalStateException("hasNext did not return true but this method was called");
+		}
+	}
+
+}
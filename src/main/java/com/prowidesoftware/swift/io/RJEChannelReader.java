@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Helper class to read RJE files through a channel, same as {@link RJEReader} but reading the content in bulk.
+ * <br />
+ * File content is splitted, and the iterator returns the raw message content of
+ * each SWIFT message found in the file. API is also provided to read each message 
+ * parsed into an MT.
+ * <br /> 
+ * The reader can be initialized with a File or a channel, and the charset of the content.
+ * 
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public class RJEChannelReader extends AbstractChannelReader {
+	private static final Logger log = Logger.getLogger(RJEChannelReader.class.getName());
+
+	private static final RangeReaderFactory<RJEChannelReader> FACTORY = new RangeReaderFactory<RJEChannelReader>() {
+		public RJEChannelReader create(final ReadableByteChannel channel, final Charset charset) {
+			return new RJEChannelReader(channel, charset);
+		}
+	};
+
+	private char splitChar = RJEReader.SPLITCHAR;
+
+	/**
+	 * Constructs a RJEChannelReader to read messages from a file
+	 */
+	public RJEChannelReader(final File file, final Charset charset) throws IOException {
+		super(file, charset);
+	}
+
+	/**
+	 * Constructs a RJEChannelReader to read messages from a channel
+	 */
+	public RJEChannelReader(final ReadableByteChannel channel, final Charset charset) {
+		super(channel, charset);
+	}
+
+	RJEChannelReader(final ReadableByteChannel channel, final Charset charset, final int bufferSize) {
+		super(channel, charset, bufferSize);
+	}
+
+	/**
+	 * Divides a file in byte ranges of similar size, aligned on the split char <code>$</code>, and creates a reader for
+	 * each range, to read the messages of the file in parallel. The charset must encode the delimiter as a single byte,
+	 * for example UTF-8 or ISO-8859-1.
+	 *
+	 * @param file the file to read
+	 * @param charset the charset of the file content
+	 * @param parts the maximum number of readers, fewer readers are returned for small files
+	 * @return the readers for the consecutive ranges of the file, at least one
+	 * @throws IOException if an error occurs reading the file
+	 * @throws IllegalArgumentException if file or charset are <code>null</code>, parts is lower than 1 or the charset
+	 * encodes the delimiter with several bytes
+	 * @since 7.9.7
+	 */
+	public static List<RJEChannelReader> split(final File file, final Charset charset, final int parts) throws IOException {
+		return split(file, charset, (byte) RJEReader.SPLITCHAR, true, parts, FACTORY);
+	}
+
+	/**
+	 * Returns true if the iterator has more messages.
+	 * Notice a split char at the very end of the content is not followed by an additional blank message.
+	 */
+	public boolean hasNext() {
+		return hasRemaining();
+	}
+
+	/**
+	 * Returns the next message in the iterator in its raw format
+	 * @return the message content or null if there are no more messages
+	 */
+	@Override
+	public String next() {
+		try {
+			return readUntil(this.splitChar);
+		} catch (final IOException e) {
+			log.log(Level.SEVERE, "error reading message", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Ovewrites the default standard split char {@link RJEReader#SPLITCHAR}
+	 * @param c a character to use as message separator
+	 */
+	public void setSplitChar(final char c) {
+		this.splitChar = c;
+	}
+
+}
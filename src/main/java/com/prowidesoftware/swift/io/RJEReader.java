@@ -113,7 +113,7 @@ public class RJEReader extends AbstractReader {
 	 * @since 7.9.7
 	 */
 	public void setSplitChar(final char c) {
-		this.splitChar = splitChar;
+		this.splitChar = c;
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.io.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.prowidesoftware.swift.io.writer.FINWriterVisitor;
+import com.prowidesoftware.swift.model.SwiftBlock1;
+import com.prowidesoftware.swift.model.SwiftBlock2;
+import com.prowidesoftware.swift.model.SwiftBlock2Input;
+import com.prowidesoftware.swift.model.SwiftBlock2Output;
+import com.prowidesoftware.swift.model.SwiftBlock3;
+import com.prowidesoftware.swift.model.SwiftBlock4;
+import com.prowidesoftware.swift.model.SwiftBlock5;
+import com.prowidesoftware.swift.model.SwiftBlockUser;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
+import com.prowidesoftware.swift.model.Tag;
+
+/**
+ * Parser for the JSON representation of messages created by {@link SwiftMessage#toJson()} and
+ * {@link com.prowidesoftware.swift.io.writer.JSONWriterVisitor}.<br>
+ * <br>
+ *
+ * The JSON is read token by token with a Gson {@link JsonReader}, creating the message blocks as they are read.
+ * New lines in the tag values are converted to SWIFT line breaks (CRLF). Header attributes with the text "null",
+ * as written by previous versions of {@link SwiftMessage#toJson()}, are read as not set.
+ *
+ * <p>To read an array of messages from a single stream, call {@link JsonReader#beginArray()}, then
+ * {@link #parseMessage(JsonReader)} while {@link JsonReader#hasNext()}, and finally {@link JsonReader#endArray()}.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public class JSONParser {
+	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(JSONParser.class.getName());
+
+	/**
+	 * Given a String containing a message in its JSON representation, returns a SwiftMessage object.
+	 * If there is any error during conversion this method returns <code>null</code>
+	 * @param json the string containing the JSON to parse
+	 * @return the JSON parsed into a SwiftMessage object
+	 */
+	public SwiftMessage parse(final String json) {
+		Validate.notNull(json);
+		return parse(new StringReader(json));
+	}
+
+	/**
+	 * Reads a message in its JSON representation, returns a SwiftMessage object.
+	 * If there is any error during conversion this method returns <code>null</code>
+	 * @param reader the JSON to parse, not closed by this method
+	 * @return the JSON parsed into a SwiftMessage object
+	 */
+	public SwiftMessage parse(final Reader reader) {
+		Validate.notNull(reader);
+		try {
+			return parseMessage(new JsonReader(reader));
+		} catch (final Exception e) {
+			log.log(Level.WARNING, "Error parsing JSON", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the next message object from a JSON stream reader, for example from an array of messages.
+	 * Besides the complete message structure, the object may also contain the blocks directly, as in
+	 * the "data" object of the message structure.
+	 *
+	 * @param reader the JSON stream reader, at the start of a message object
+	 * @return the message read
+	 * @throws IOException if the JSON is malformed or an error occurs reading it
+	 * @throws IllegalStateException if the next value is not an object
+	 */
+	public SwiftMessage parseMessage(final JsonReader reader) throws IOException {
+		Validate.notNull(reader);
+		final SwiftMessage m = new SwiftMessage(false);
+		reader.beginObject();
+		while (reader.hasNext()) {
+			final String name = reader.nextName();
+			if ("data".equals(name)) {
+				reader.beginObject();
+				while (reader.hasNext()) {
+					readBlock(reader, reader.nextName(), m);
+				}
+				reader.endObject();
+			} else {
+				readBlock(reader, name, m);
+			}
+		}
+		reader.endObject();
+		return m;
+	}
+
+	/**
+	 * Reads the tags of a block, written as an array of objects with the tag names and values
+	 * @param reader the JSON stream reader, at the start of the array
+	 * @return a block with the tags read
+	 * @throws IOException if the JSON is malformed or an error occurs reading it
+	 * @throws IllegalStateException if the next value is not an array
+	 */
+	public SwiftTagListBlock parseTags(final JsonReader reader) throws IOException {
+		Validate.notNull(reader);
+		return new SwiftTagListBlock(readTags(reader));
+	}
+
+	private void readBlock(final JsonReader r, final String name, final SwiftMessage m) throws IOException {
+		if ("block1".equals(name)) {
+			final Map<String, String> attributes = readAttributes(r);
+			if (!attributes.isEmpty()) {
+				m.setBlock1(block1(attributes));
+			}
+		} else if ("block2".equals(name)) {
+			final Map<String, String> attributes = readAttributes(r);
+			if (!attributes.isEmpty()) {
+				m.setBlock2(block2(attributes));
+			}
+		} else if ("block3".equals(name)) {
+			if (r.peek() == JsonToken.BEGIN_ARRAY) {
+				m.setBlock3(new SwiftBlock3(readTags(r)));
+			} else {
+				r.skipValue();
+			}
+		} else if ("block4".equals(name)) {
+			if (r.peek() == JsonToken.BEGIN_ARRAY) {
+				m.setBlock4(new SwiftBlock4(readTags(r)));
+			} else {
+				r.skipValue();
+			}
+		} else if ("block5".equals(name)) {
+			if (r.peek() == JsonToken.BEGIN_ARRAY) {
+				m.setBlock5(new SwiftBlock5(readTags(r)));
+			} else {
+				r.skipValue();
+			}
+		} else if ("userblocks".equals(name) && r.peek() == JsonToken.BEGIN_ARRAY) {
+			r.beginArray();
+			while (r.hasNext()) {
+				m.addBlock(readUserBlock(r));
+			}
+			r.endArray();
+		} else {
+			r.skipValue();
+		}
+	}
+
+	private SwiftBlockUser readUserBlock(final JsonReader r) throws IOException {
+		String name = null;
+		List<Tag> tags = new ArrayList<Tag>();
+		r.beginObject();
+		while (r.hasNext()) {
+			final String key = r.nextName();
+			if ("name".equals(key)) {
+				name = readString(r);
+			} else if ("tags".equals(key) && r.peek() == JsonToken.BEGIN_ARRAY) {
+				tags = readTags(r);
+			} else {
+				r.skipValue();
+			}
+		}
+		r.endObject();
+		if (name != null) {
+			return new SwiftBlockUser(name, tags);
+		}
+		final SwiftBlockUser b = new SwiftBlockUser();
+		b.addTags(tags);
+		return b;
+	}
+
+	private List<Tag> readTags(final JsonReader r) throws IOException {
+		final List<Tag> tags = new ArrayList<Tag>();
+		r.beginArray();
+		while (r.hasNext()) {
+			r.beginObject();
+			while (r.hasNext()) {
+				final Tag tag = new Tag();
+				tag.setName(r.nextName());
+				// the writer removes the carriage returns, restore the SWIFT line breaks
+				tag.setValue(StringUtils.replace(StringUtils.remove(readString(r), '\r'), "\n", FINWriterVisitor.SWIFT_EOL));
+				tags.add(tag);
+			}
+			r.endObject();
+		}
+		r.endArray();
+		return tags;
+	}
+
+	/**
+	 * Reads the attributes of the block 1 or 2 object
+	 * @return the attributes set, an empty map if the value is not an object or has no attributes
+	 */
+	private Map<String, String> readAttributes(final JsonReader r) throws IOException {
+		final Map<String, String> attributes = new HashMap<String, String>();
+		if (r.peek() != JsonToken.BEGIN_OBJECT) {
+			r.skipValue();
+			return attributes;
+		}
+		r.beginObject();
+		while (r.hasNext()) {
+			final String name = r.nextName();
+			final String value = readString(r);
+			attributes.put(name, "null".equals(value) ? null : value);
+		}
+		r.endObject();
+		return attributes;
+	}
+
+	private static SwiftBlock1 block1(final Map<String, String> a) {
+		final SwiftBlock1 b1 = new SwiftBlock1();
+		b1.setApplicationId(a.get("applicationId"));
+		b1.setServiceId(a.get("serviceId"));
+		b1.setLogicalTerminal(a.get("logicalTerminal"));
+		b1.setSessionNumber(a.get("sessionNumber"));
+		b1.setSequenceNumber(a.get("sequenceNumber"));
+		return b1;
+	}
+
+	private static SwiftBlock2 block2(final Map<String, String> a) {
+		if (a.containsKey("receiverAddress") || a.containsKey("deliveryMonitoring") || a.containsKey("obsolescencePeriod")) {
+			final SwiftBlock2Input b2 = new SwiftBlock2Input();
+			b2.setMessageType(a.get("messageType"));
+			b2.setReceiverAddress(a.get("receiverAddress"));
+			b2.setMessagePriority(a.get("messagePriority"));
+			b2.setDeliveryMonitoring(a.get("deliveryMonitoring"));
+			b2.setObsolescencePeriod(a.get("obsolescencePeriod"));
+			return b2;
+		}
+		final SwiftBlock2Output b2 = new SwiftBlock2Output();
+		b2.setMessageType(a.get("messageType"));
+		b2.setSenderInputTime(a.get("senderInputTime"));
+		b2.setMIRDate(a.get("MIRDate"));
+		b2.setMIRLogicalTerminal(a.get("MIRLogicalTerminal"));
+		b2.setMIRSessionNumber(a.get("MIRSessionNumber"));
+		b2.setMIRSequenceNumber(a.get("MIRSequenceNumber"));
+		b2.setReceiverOutputDate(a.get("receiverOutputDate"));
+		b2.setReceiverOutputTime(a.get("receiverOutputTime"));
+		b2.setMessagePriority(a.get("messagePriority"));
+		return b2;
+	}
+
+	/**
+	 * Reads a string, number or boolean value as text
+	 * @return the text or null for a JSON null
+	 */
+	private static String readString(final JsonReader r) throws IOException {
+		if (r.peek() == JsonToken.NULL) {
+			r.nextNull();
+			return null;
+		}
+		return r.nextString();
+	}
+}
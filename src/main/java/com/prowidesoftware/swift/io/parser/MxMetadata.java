@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.model.MxId;
+import com.prowidesoftware.swift.model.MxNode;
+import com.prowidesoftware.swift.model.mx.BusinessHeader;
+
+/**
+ * Identification and routing information of an MX message, gathered by {@link MxParser#metadata()}
+ * in a single streaming pass over the XML.
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public class MxMetadata {
+	private MxId mxId;
+	private BusinessHeader businessHeader;
+	private MxNode groupHeader;
+
+	/**
+	 * @return the message type detected from the Document namespace, or null if it cannot be determined
+	 * @see MxParser#detectMessage()
+	 */
+	public MxId getMxId() {
+		return mxId;
+	}
+
+	void setMxId(final MxId mxId) {
+		this.mxId = mxId;
+	}
+
+	/**
+	 * @return the business header (SWIFT or ISO version) or null if the AppHdr is not present
+	 * @see MxParser#parseBusinessHeader()
+	 */
+	public BusinessHeader getBusinessHeader() {
+		return businessHeader;
+	}
+
+	void setBusinessHeader(final BusinessHeader businessHeader) {
+		this.businessHeader = businessHeader;
+	}
+
+	/**
+	 * @return the first GrpHdr element as an {@link MxNode} tree rooted at the GrpHdr, or null if not present
+	 * or if the group header was not needed because the business header already provides the sender, receiver
+	 * or reference
+	 */
+	public MxNode getGroupHeader() {
+		return groupHeader;
+	}
+
+	void setGroupHeader(final MxNode groupHeader) {
+		this.groupHeader = groupHeader;
+	}
+
+	/**
+	 * @return true if the business header is present and contains the sender, receiver or reference
+	 */
+	boolean hasHeaderInfo() {
+		return this.businessHeader != null
+				&& (this.businessHeader.from() != null || this.businessHeader.to() != null || this.businessHeader.reference() != null);
+	}
+
+	@Override
+	public String toString() {
+		return "MxMetadata [mxId=" + mxId + ", businessHeader=" + (businessHeader != null) + ", groupHeader=" + (groupHeader != null) + "]";
+	}
+}
@@ -70,6 +70,7 @@ import com.prowidesoftware.swift.utils.Lib;
  */
 public class MxParser {
 	private static final java.util.logging.Logger log = java.util.logging.Logger.getLogger(MxParser.class.getName());
+	private static volatile javax.xml.stream.XMLInputFactory xif;
 	/**
 	 * @since 7.8.4
 	 */
@@ -81,6 +82,7 @@ public class MxParser {
 	
 	private String buffer = null;
 	private MxStructureInfo info = null;
+	private MxMetadata metadata = null;
 
 	/**
 	 * @deprecated the generic constructor is discouraged, use a constructor with
@@ -207,8 +209,15 @@ public class MxParser {
 	 * @return parsed header or <code>null</code> if the content cannot be parsed or the header is not present in the XML
 	 */
 	public BusinessHeader parseBusinessHeader() {
+		return parseBusinessHeader(parse());
+	}
+
+	/**
+	 * Parses the business header from the first AppHdr found in the given tree
+	 * @see #parseBusinessHeader()
+	 */
+	private static BusinessHeader parseBusinessHeader(final MxNode tree) {
 		final BusinessHeader bh = new BusinessHeader();
-		final MxNode tree = parse();
 		if (tree != null) {
 			MxNode appHdr = tree.findFirstByName(HEADER_LOCALNAME);
 			if (appHdr != null) {
@@ -371,11 +380,135 @@ public class MxParser {
 		return this.info;
 	}
 
+	/**
+	 * Gathers the message identification and routing information in a single streaming pass over the XML.
+	 * <p>The result includes the message type detected from the Document namespace (as in {@link #detectMessage()}),
+	 * the business header (as in {@link #parseBusinessHeader()}) and the group header GrpHdr if present. Only the
+	 * AppHdr and GrpHdr elements are loaded into memory and the reading stops as soon as the information is found,
+	 * so large messages such as bank statements are not fully parsed.</p>
+	 * <p>The AppHdr is expected before the Document, as in the standard wrappers and the {@link AbstractMX} output.
+	 * The group header is only gathered when the business header is not present or it does not contain the sender,
+	 * receiver or reference.</p>
+	 * <p>The result is computed once and kept in the parser instance.</p>
+	 *
+	 * @return the message metadata, with null attributes for the information not found
+	 * @since 7.9.7
+	 */
+	public MxMetadata metadata() {
+		if (this.metadata != null) {
+			return this.metadata;
+		}
+		this.metadata = new MxMetadata();
+		if (StringUtils.isBlank(this.buffer)) {
+			log.log(Level.SEVERE, "cannot read metadata from null or empty content");
+			return this.metadata;
+		}
+		try {
+			final javax.xml.stream.XMLStreamReader reader = inputFactory().createXMLStreamReader(new StringReader(this.buffer));
+			try {
+				readMetadata(reader, this.metadata);
+			} finally {
+				reader.close();
+			}
+		} catch (final Exception e) {
+			log.log(Level.SEVERE, "error while reading message metadata", e);
+		}
+		return this.metadata;
+	}
+
+	/**
+	 * Reads the metadata with the same node structure created by {@link #parse()} for the AppHdr and GrpHdr subtrees
+	 * @since 7.9.7
+	 */
+	private static void readMetadata(final javax.xml.stream.XMLStreamReader reader, final MxMetadata result) throws javax.xml.stream.XMLStreamException {
+		/*
+		 * namespace uri set as xmlns attribute in the tree nodes for all open elements,
+		 * used to replicate the tree nodes attributes
+		 */
+		final java.util.List<String> xmlns = new java.util.ArrayList<String>();
+		boolean detectMessage = true;
+		boolean headerFound = false;
+		boolean headerInfo = false;
+		boolean readingHeader = false;
+		MxNode current = null;
+		while (reader.hasNext()) {
+			final int event = reader.next();
+			if (javax.xml.stream.XMLStreamConstants.START_ELEMENT == event) {
+				final String uri = StringUtils.defaultString(reader.getNamespaceURI());
+				final String nodeXmlns = xmlns.isEmpty() || !StringUtils.equals(xmlns.get(xmlns.size()-1), uri) ? uri : null;
+				xmlns.add(nodeXmlns);
+				final String localName = reader.getLocalName();
+				if (current == null && !headerFound && StringUtils.equalsIgnoreCase(localName, HEADER_LOCALNAME)) {
+					readingHeader = true;
+				}
+				if (current != null || readingHeader
+						|| (!headerInfo && result.getGroupHeader() == null && StringUtils.equalsIgnoreCase(localName, "GrpHdr"))) {
+					final MxNode node = new MxNode(current, localName);
+					for (int i = 0; i < reader.getAttributeCount(); i++) {
+						node.addAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+					}
+					if (nodeXmlns != null) {
+						node.addAttribute("xmlns", nodeXmlns);
+					}
+					current = node;
+				}
+				if (detectMessage && localName.equals(DOCUMENT_LOCALNAME)) {
+					final String ns = readNamespace(reader);
+					if (ns != null) {
+						detectMessage = false;
+						try {
+							result.setMxId(new MxId(ns));
+						} catch (final IllegalArgumentException e) {
+							log.log(Level.SEVERE, "error while detecting message", e);
+						}
+						if (headerInfo) {
+							return;
+						}
+					}
+				}
+			} else if (javax.xml.stream.XMLStreamConstants.END_ELEMENT == event) {
+				xmlns.remove(xmlns.size()-1);
+				if (current != null) {
+					if (current.getParent() == null) {
+						if (readingHeader) {
+							readingHeader = false;
+							headerFound = true;
+							result.setBusinessHeader(parseBusinessHeader(current));
+							headerInfo = result.hasHeaderInfo();
+							if (headerInfo) {
+								// same as in the full parse, the group header is only used when the header is not present or empty
+								result.setGroupHeader(null);
+							}
+						} else {
+							result.setGroupHeader(current);
+						}
+						if (!detectMessage && (headerInfo || result.getGroupHeader() != null)) {
+							return;
+						}
+					}
+					current = current.getParent();
+				}
+			} else if (current != null && (javax.xml.stream.XMLStreamConstants.CHARACTERS == event || javax.xml.stream.XMLStreamConstants.CDATA == event)) {
+				current.setValue(reader.getText());
+			}
+		}
+	}
+
+	private static javax.xml.stream.XMLInputFactory inputFactory() {
+		javax.xml.stream.XMLInputFactory xif = MxParser.xif;
+		if (xif == null) {
+			xif = javax.xml.stream.XMLInputFactory.newInstance();
+			xif.setProperty(javax.xml.stream.XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+			MxParser.xif = xif;
+		}
+		return xif;
+	}
+
 	/**
 	 * Gets the namespace, if any, from current position in the parameter reader
 	 * @since 7.8.4
 	 */
-	private String readNamespace(final javax.xml.stream.XMLStreamReader reader) {
+	private static String readNamespace(final javax.xml.stream.XMLStreamReader reader) {
 		if (reader.getNamespaceCount() > 0) {
 			//log.finest("ELEMENT START: " + reader.getLocalName() + " , namespace count is: " + reader.getNamespaceCount());
 			for (int nsIndex = 0; nsIndex < reader.getNamespaceCount(); nsIndex++) {
@@ -20,15 +20,18 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
 
 import com.prowidesoftware.deprecation.DeprecationUtils;
 import com.prowidesoftware.deprecation.ProwideDeprecated;
 import com.prowidesoftware.deprecation.TargetYear;
 import com.prowidesoftware.swift.WifeException;
+import com.prowidesoftware.swift.model.LazySwiftMessage;
 import com.prowidesoftware.swift.model.SwiftBlock;
 import com.prowidesoftware.swift.model.SwiftBlock1;
 import com.prowidesoftware.swift.model.SwiftBlock2;
@@ -66,9 +69,54 @@ public class SwiftParser {
 
 	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(SwiftParser.class.getName());
 
+	/**
+	 * Initial size of the read window, it grows if a single block does not fit in it
+	 */
+	private static final int WINDOW_SIZE = 8192;
+
 	private Reader reader;
 
-	private StringBuilder buffer;
+	/**
+	 * Reusable read window, characters are read from the reader in bulk and scanned by index.
+	 * Only the content from {@link #mark} onwards is retained when the window is refilled.
+	 * Created when the first input is set, and kept when the parser is reused for other messages.
+	 */
+	private char[] window;
+
+	/**
+	 * Position of the next character to consume in the window
+	 */
+	private int pos = 0;
+
+	/**
+	 * End of the valid data in the window
+	 */
+	private int limit = 0;
+
+	/**
+	 * Start of the window region that must be preserved on refill (the block being read)
+	 */
+	private int mark = 0;
+
+	/**
+	 * True when the reader has reached the end of input
+	 */
+	private boolean eof = false;
+
+	/**
+	 * Position in the input of the first character in the window
+	 */
+	private int windowOffset = 0;
+
+	/**
+	 * End position in the window of the last block read (excluding the closing bracket)
+	 */
+	private int blockEnd = 0;
+
+	/**
+	 * The input when the parser data is set from a String, used as source for lazy blocks
+	 */
+	private String data;
 
 	/**
 	 * Reference to the current message being parsed.
@@ -114,7 +162,8 @@ public class SwiftParser {
 	 * @param message the String with the swift message to read
 	 */
 	public SwiftParser(final String message) {
-		this(new StringReader(message));
+		this();
+		setData(message);
 	}
 
 	/**
@@ -141,8 +190,17 @@ public class SwiftParser {
 	 * @param r the reader to use
 	 */
 	public void setReader(final Reader r) {
-		this.buffer = new StringBuilder();
+		if (this.window == null) {
+			this.window = new char[WINDOW_SIZE];
+		}
 		this.reader = r;
+		this.data = null;
+		this.pos = 0;
+		this.limit = 0;
+		this.mark = 0;
+		this.eof = false;
+		this.windowOffset = 0;
+		this.lastBlockStartOffset = 0;
 	}
 
 	/**
@@ -151,6 +209,7 @@ public class SwiftParser {
 	 */
 	public void setData(final String data) {
 		setReader(new StringReader(data));
+		this.data = data;
 	}
 
 	/**
@@ -160,9 +219,15 @@ public class SwiftParser {
 	 * @throws IOException
 	 */
 	public SwiftMessage message() throws IOException {
+		return message(this.configuration.isLazy() ? new LazySwiftMessage() : new SwiftMessage(false));
+	}
+
+	/**
+	 * Parses the input into the given message, that must be empty
+	 */
+	private SwiftMessage message(final SwiftMessage message) throws IOException {
 
-		// create a message and store for local reference
-		final SwiftMessage message = new SwiftMessage(false);
+		// store the message for local reference
 		this.currentMessage = message;
 
 		// Clear all errors before starting the parse process
@@ -190,18 +255,83 @@ public class SwiftParser {
 	/**
 	 * Sets the parameter string as this parser data and returns the parsed object.
 	 *
+	 * <p>A parser instance can be reused to parse any number of messages, one at a time, keeping its
+	 * internal read window and configuration between calls.</p>
+	 *
 	 * @param message the String with the swift message to parse
 	 * @return the parsed swift message object
 	 * @throws IOException
 	 *
 	 * @since 6.0
 	 */
-	//TODO hacer este metodo static
 	public SwiftMessage parse(final String message) throws IOException {
 		setData(message);
 		return message();
 	}
 
+	/**
+	 * Parses the given content into an existing message, for loops that reuse the same message
+	 * instance for each message read.
+	 *
+	 * <p>All blocks, unparsed texts and parsed sequences of the target are removed before parsing. Its
+	 * persistence id is kept. If the target is a {@link LazySwiftMessage} the blocks 3, 4, 5 and user blocks
+	 * are parsed on first access, regardless of the lazy flag in the configuration. The content is read
+	 * directly from the char sequence, for example from a StringBuilder, without copying it into a String.</p>
+	 *
+	 * @param message the swift message to parse
+	 * @param target the message to fill with the parsed content
+	 * @return the target message
+	 * @throws IOException
+	 * @throws IllegalArgumentException if message or target are <code>null</code>
+	 * @since 7.9.7
+	 */
+	public SwiftMessage parse(final CharSequence message, final SwiftMessage target) throws IOException {
+		Validate.notNull(message, "message must not be null");
+		Validate.notNull(target, "target must not be null");
+		if (message instanceof String) {
+			setData((String) message);
+		} else {
+			setReader(new CharSequenceReader(message));
+		}
+		target.clear();
+		target.setUnparsedTexts(null);
+		target.setParsedSequences(null);
+		return message(target);
+	}
+
+	/**
+	 * Reader over a char sequence, without copying its content
+	 */
+	private static final class CharSequenceReader extends Reader {
+		private final CharSequence content;
+		private int next = 0;
+
+		CharSequenceReader(final CharSequence content) {
+			this.content = content;
+		}
+
+		@Override
+		public int read(final char[] cbuf, final int off, final int len) {
+			final int n = Math.min(len, this.content.length() - this.next);
+			if (n <= 0) {
+				return len == 0 ? 0 : -1;
+			}
+			if (this.content instanceof StringBuilder) {
+				((StringBuilder) this.content).getChars(this.next, this.next + n, cbuf, off);
+			} else {
+				for (int i = 0; i < n; i++) {
+					cbuf[off + i] = this.content.charAt(this.next + i);
+				}
+			}
+			this.next += n;
+			return n;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
 	/**
 	 * @deprecated use {@link #consumeBlock(UnparsedTextList)} instead of this, <code>consumeBlock(null)</code> is acceptable
 	 */
@@ -217,6 +347,9 @@ public class SwiftParser {
 	 * This methods seeks to a block start, then identifies the block
 	 * and calls the proper method to consume the block type
 	 * that is coming, not all blocks are parsed in the same manner.
+	 * <p>When the message being parsed is a {@link LazySwiftMessage} the blocks 3, 4, 5 and
+	 * user blocks are just registered in the message to be parsed on first access, and the
+	 * method continues with the next block.</p>
 	 * @param unparsedReceiver may be <code>null</code>, the unparsedTextList that will receive the chunks that can not be identified sas part of the message
 	 *
 	 * @return the next block in the reader or <code>null</code> if none was found (i.e: end of input)
@@ -225,21 +358,31 @@ public class SwiftParser {
 	protected SwiftBlock consumeBlock(final UnparsedTextList unparsedReceiver) throws IOException {
 
 		// search for block start
-		final String unparsed = findBlockStart();
+		String unparsed = findBlockStart();
 		
 		// si el string es no vacio agregarlo a unparsed texts
 		
 		// read the block contents
-		final String s = readUntilBlockEnds();
+		int start = scanUntilBlockEnds();
+
+		// lazy blocks are only registered in the message, without creating the block content string
+		while (isLazyBlock(start)) {
+			final char blockId = this.window[start];
+			if (this.data != null) {
+				((LazySwiftMessage) this.currentMessage).addBlockSlice(blockId, this.data, this.windowOffset + start, this.windowOffset + this.blockEnd);
+			} else {
+				final String content = new String(this.window, start, this.blockEnd - start);
+				((LazySwiftMessage) this.currentMessage).addBlockSlice(blockId, content, 0, content.length());
+			}
+			addUnparsedText(unparsed, unparsedReceiver);
+			unparsed = findBlockStart();
+			start = scanUntilBlockEnds();
+		}
+
+		final String s = new String(this.window, start, this.blockEnd - start);
 		if ("".equals(s)) {
 			/* if we have an unparsed text add it to last block */
-			if (unparsed.length()>0) {
-				if (unparsedReceiver == null) {
-					log.warning("Unparsed text '"+unparsed+"' can not be reported since unparsedReceiver is null");
-				} else {
-					unparsedReceiver.addText(unparsed);
-				}
-			}
+			addUnparsedText(unparsed, unparsedReceiver);
 			return null;
 		}
 
@@ -254,20 +397,13 @@ public class SwiftParser {
 			utBuffer.append("{");
 			utBuffer.append(s);
 			utBuffer.append("}");
-			boolean done = false;
-			
-			while (!done) {
-				// try to read a block of data
-				final char data[] = new char[128];
-				final int size = this.reader.read(data);
-				if (size > 0) {
-					// append the read buffer
-					utBuffer.append(data);
-				} else {
-					// we are done
-					done = true;
-				}
-			}
+
+			// append all the remaining input
+			do {
+				utBuffer.append(this.window, this.pos, this.limit - this.pos);
+				this.pos = this.limit;
+				this.mark = this.limit;
+			} while (fill());
 			final String unparsedText = utBuffer.toString();
 
 			// build an unparsed text list
@@ -281,6 +417,62 @@ public class SwiftParser {
 		}
 
 		// identify and create the proper block
+		final SwiftBlock b = createBlock(s);
+
+		addUnparsedText(unparsed, unparsedReceiver);
+		return b;
+	}
+
+	/**
+	 * Reports a text found outside blocks to the unparsed text receiver
+	 * @param unparsed text found, may be empty in which case nothing is done
+	 * @param unparsedReceiver may be <code>null</code> in which case the text is just logged
+	 */
+	private void addUnparsedText(final String unparsed, final UnparsedTextList unparsedReceiver) {
+		if (unparsed.length()>0) {
+			if (unparsedReceiver == null) {
+				log.warning("Unparsed text '"+unparsed+"' can not be reported since unparsedReceiver is null");
+			} else {
+				unparsedReceiver.addText(unparsed);
+			}
+		}
+	}
+
+	/**
+	 * Checks if the block read in the window must be parsed lazily.
+	 * This is true if the current message is a {@link LazySwiftMessage} and the block is a
+	 * block 3, 4, 5 or user block, and its content parsing is enabled in the configuration.
+	 * @param start position of the block content in the window
+	 */
+	private boolean isLazyBlock(final int start) {
+		if (!(this.currentMessage instanceof LazySwiftMessage) || this.blockEnd - start < 2) {
+			return false;
+		}
+		final char c = this.window[start];
+		switch (c) {
+		case '3':
+			return true;
+		case '4':
+			return this.configuration.isParseTextBlock();
+		case '5':
+			return this.configuration.isParseTrailerBlock();
+		case '1':
+		case '2':
+			return false;
+		default:
+			return this.configuration.isParseUserBlock() && Character.isLetterOrDigit(c) && c < 128;
+		}
+	}
+
+	/**
+	 * Creates the block object for the given block content, identifying the block type
+	 * and calling the proper method to consume the block.
+	 * @param s the block content, without the enclosing brackets
+	 * @return the created block
+	 * @throws WifeException if the block cannot be identified
+	 * @throws IOException
+	 */
+	private SwiftBlock createBlock(final String s) throws IOException {
 		final char blockId = identifyBlock(s);
 		SwiftBlock b;
 		if (blockId == ' ') {
@@ -330,14 +522,6 @@ public class SwiftParser {
 			}
 			break;
 		}
-
-		if (unparsed.length()>0) {
-			if (unparsedReceiver == null) {
-				log.warning("Unparsed text '"+unparsed+"' can not be reported since unparsedReceiver is null");
-			} else {
-				unparsedReceiver.addText(unparsed);
-			}
-		}		
 		return b;
 	}
 
@@ -881,13 +1065,28 @@ public class SwiftParser {
 	 * because that is required in order to identify the start of a block, and
 	 * call this method which reads until this block ends.</p>
 	 *
+	 * <p>The block boundaries are found by scanning the internal read window by index,
+	 * the only string created is the returned block content.</p>
+	 *
 	 * @return a string with the block contents
 	 * @throws IOException
 	 */
 	protected String readUntilBlockEnds() throws IOException {
-		final int start = buffer==null?0:buffer.length();
-		int len = 0;
-		int c;
+		final int start = scanUntilBlockEnds();
+		return new String(this.window, start, this.blockEnd - start);
+	}
+
+	/**
+	 * Scans the window until the end of block is reached, same as {@link #readUntilBlockEnds()}
+	 * but without creating the block content string.
+	 *
+	 * @return the position of the block content in the window, the block end position is left in {@link #blockEnd}
+	 * @throws IOException
+	 */
+	private int scanUntilBlockEnds() throws IOException {
+		// keep the block start (and the last block start char if any) in the window while reading
+		this.mark = (this.lastBlockStartOffset >= 0 && this.lastBlockStartOffset < this.pos) ? this.lastBlockStartOffset : this.pos;
+		final int startOffset = this.pos - this.mark;
 
 		/*
 		 * Best effort reading includes this End Of Block (EOB) logic:
@@ -899,58 +1098,90 @@ public class SwiftParser {
 		// is called, the initial block start was consumed, and therefore, this is initialized in 1
 		// this is needed to be able to include inner {} inside blocks
 		int starts = 1;
-		boolean done = false;
-		int count=0;
+		int count = 0;
 		Boolean isTextBlock = null;
-		while (!done) {
-			c = getChar();
+
+		// position of the block end (excluding the closing bracket)
+		int end = -1;
+		while (end < 0) {
+			if (this.pos == this.limit && !fill()) {
+				// found EOF
+				end = this.pos;
+				break;
+			}
+			final char c = this.window[this.pos++];
+
 			// check if we can set the textblock flag first
-			if (isTextBlock == null && count++ >=3) {
+			if (isTextBlock == null && count++ >= 3) {
 				isTextBlock = isTextBlock();
 				if (isTextBlock) {
 					checkNested = false;
+					end = scanTextBlockEnd(c);
+					break;
 				}
 			}
-			// found EOF?
-			if (c == -1) {
-				done = true;
-			} else {
-				if (checkNested && isBlockStart((char) c)) {
+			if (c == '{') {
+				if (checkNested) {
+					this.lastBlockStartOffset = this.pos - 1;
 					starts++;
 				}
-				if (isBlockEnd(isTextBlock, c)) {
-					if (checkNested) {
-						starts--;
-						if (starts == 0) {
-							done = true;
-						} else {
-							len++;
-						}
-					} else {
-						done = true;
-					}
-				} else {
-					len++;
+			} else if (c == '}') {
+				starts--;
+				if (starts == 0) {
+					end = this.pos - 1;
 				}
 			}
 		}
 
-		final int end = start + len;
+		this.blockEnd = end;
+		return this.mark + startOffset;
+	}
 
-		return buffer.substring(start, end);
+	/**
+	 * Scans the window for the end of a text block: a closing bracket preceded by the LF and
+	 * dash characters.
+	 *
+	 * @param c the last consumed character, already in the window
+	 * @return the position in the window of the block end (excluding the closing bracket) or the end of input
+	 * @throws IOException if an error occurs during read
+	 */
+	private int scanTextBlockEnd(final char c) throws IOException {
+		if (c == '}' && isTextBlockEnd(this.pos - 1)) {
+			return this.pos - 1;
+		}
+		while (true) {
+			for (int i = this.pos; i < this.limit; i++) {
+				if (this.window[i] == '}' && isTextBlockEnd(i)) {
+					this.pos = i + 1;
+					return i;
+				}
+			}
+			this.pos = this.limit;
+			if (!fill()) {
+				return this.pos;
+			}
+		}
+	}
+
+	/**
+	 * @param i position of a closing bracket in the window
+	 * @return true if the bracket is preceded by LF and dash
+	 */
+	private boolean isTextBlockEnd(final int i) {
+		return i - 2 >= 0 && this.window[i - 1] == '-' && this.window[i - 2] == '\n';
 	}
 
 	private boolean isTextBlock() {
 		// hack to report as block4 only text blocks 4 , check data in buffer
-		if (this.lastBlockStartOffset >=0 && buffer.length()>this.lastBlockStartOffset) {
-			return isTextBlock(buffer.substring(this.lastBlockStartOffset));
+		if (this.lastBlockStartOffset >=0 && this.pos>this.lastBlockStartOffset) {
+			return isTextBlock(CharBuffer.wrap(this.window, this.lastBlockStartOffset, this.pos - this.lastBlockStartOffset));
 		}
 		return false;
 	}
 	/**
 	 * Determines if the given string is the start of a textblock
 	 */
-	private boolean isTextBlock(final String s) {
+	private boolean isTextBlock(final CharSequence s) {
 		// hack to report as block4 only text blocks 4 , check data in buffer
 		if (s.length()<3) {
 			return false;
@@ -981,68 +1212,70 @@ public class SwiftParser {
 		return false;
 	}
 
-
-	private final boolean isBlockEnd(final Boolean isTextBlock, final int curChar) {
-		// check buffer
-		if (isBlockEnd((char) curChar)) {
-			if ((isTextBlock!=null) && isTextBlock.booleanValue()) {
-				final char ult = buffer.charAt(buffer.length()-2);
-				final char antUlt = buffer.charAt(buffer.length()-3);
-				if (antUlt == '\n' && ult == '-' ) {
-					return true;
-				}
-			} else {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	private static final boolean isBlockEnd(final char c) {
-		return c == '}';
-	}
-
 	/**
 	 * read on the reader until a block start character or EOF is reached.
 	 * @throws IOException if thrown during read
 	 */
 	protected String findBlockStart() throws IOException {
-		final StringBuilder textUntilBlock = new StringBuilder();
-		int c;
-		do {
-			c = getChar();
-			textUntilBlock.append((char)c);
-		} while (c != -1 && !isBlockStart((char) c));
-		if (textUntilBlock.length()>0) {
-			// el ultimo char es EOF of {, sea cual sea lo borramos
-			textUntilBlock.deleteCharAt(textUntilBlock.length()-1);
+		this.mark = this.pos;
+		while (true) {
+			for (int i = this.pos; i < this.limit; i++) {
+				if (this.window[i] == '{') {
+					this.lastBlockStartOffset = i;
+					this.pos = i + 1;
+					return textUntil(i);
+				}
+			}
+			this.pos = this.limit;
+			if (!fill()) {
+				return textUntil(this.pos);
+			}
 		}
-		
-		// debug code
-		//if (textUntilBlock.length()>0) log.fine("textUntilBlock: "+textUntilBlock.toString());
-		
-		return textUntilBlock.length()>0 ? textUntilBlock.toString() : StringUtils.EMPTY; 
 	}
 
-	private boolean isBlockStart(final char c) {
-		if (c == '{') {
-			lastBlockStartOffset = buffer.length()-1;
-			return true;
-		}
-		return false;
+	/**
+	 * @return the text in the window from the mark to the given position, or an empty string if none
+	 */
+	private String textUntil(final int end) {
+		return end > this.mark ? new String(this.window, this.mark, end - this.mark) : StringUtils.EMPTY;
 	}
 
 	/**
-	 * Read a char from stream and append it to the inner buffer
-	 * @return the next char read
+	 * Reads the next chunk of input into the window.
+	 * The content from the mark onwards is moved to the beginning of the window, and the window is
+	 * enlarged if the preserved content leaves no room to read.
+	 *
+	 * @return false if there is no more input to read
 	 * @throws IOException if an error occurs during read
 	 */
-	private final int getChar() throws IOException {
-		final int c = reader.read();
-		if (c >= 0) {
-			buffer.append((char) c);
+	private boolean fill() throws IOException {
+		if (this.eof || this.reader == null) {
+			return false;
 		}
-		return c;
+		if (this.mark > 0) {
+			final int preserved = this.limit - this.mark;
+			System.arraycopy(this.window, this.mark, this.window, 0, preserved);
+			this.pos -= this.mark;
+			this.windowOffset += this.mark;
+			this.lastBlockStartOffset = this.lastBlockStartOffset >= this.mark ? this.lastBlockStartOffset - this.mark : -1;
+			this.limit = preserved;
+			this.mark = 0;
+		}
+		if (this.limit == this.window.length) {
+			final char[] larger = new char[this.window.length * 2];
+			System.arraycopy(this.window, 0, larger, 0, this.limit);
+			this.window = larger;
+		}
+		int read;
+		do {
+			read = this.reader.read(this.window, this.limit, this.window.length - this.limit);
+		} while (read == 0);
+		if (read < 0) {
+			this.eof = true;
+			return false;
+		}
+		this.limit += read;
+		return true;
 	}
 
 	/**
@@ -1115,6 +1348,20 @@ public class SwiftParser {
 		return parser.block4Consume(b4, toParse);
 	}
 	
+	/**
+	 * Parses a string containing the content of any block, identifying the block type from its content.
+	 * <p>The text block content is parsed in text or tag mode depending on its content, as done when
+	 * the block is parsed as part of a whole message.</p>
+	 * @param s block content starting with the block identifier, for example "3:{108:REF}", without the enclosing brackets
+	 * @return content parsed into the corresponding block
+	 * @throws WifeException if the block cannot be identified
+	 * @throws IOException
+	 * @since 7.9.7
+	 */
+	static public SwiftBlock parseBlock(final String s) throws IOException {
+		return new SwiftParser().createBlock(s);
+	}
+
 	/**
 	 * Parses a string containing an MT message block 3 content 
 	 * @param s block content starting with "{3:" and ending with "}"
@@ -26,6 +26,7 @@ public class SwiftParserConfiguration {
 	private boolean parseTextBlock = true;
 	private boolean parseTrailerBlock = true;
 	private boolean parseUserBlock = true;
+	private boolean lazy = false;
 
 	/**
 	 * Indicates whether the parser is permissive or not.
@@ -75,4 +76,23 @@ public class SwiftParserConfiguration {
 	public void setParseUserBlock(final boolean parseUserBlock) {
 		this.parseUserBlock = parseUserBlock;
 	}
+
+	/**
+	 * Defines if the blocks 3, 4, 5 and user blocks will be parsed on first access.
+	 * When true the parser returns a {@link com.prowidesoftware.swift.model.LazySwiftMessage}
+	 * where only the headers blocks 1 and 2 are parsed, and the rest of the blocks are kept
+	 * as slices of the original content until the corresponding getter is called.
+	 * Defaults to false.
+	 * @since 7.9.7
+	 */
+	public boolean isLazy() {
+		return lazy;
+	}
+
+	/**
+	 * @since 7.9.7
+	 */
+	public void setLazy(final boolean lazy) {
+		this.lazy = lazy;
+	}
 }
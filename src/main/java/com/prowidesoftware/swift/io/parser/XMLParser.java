@@ -14,17 +14,19 @@
  *******************************************************************************/
 package com.prowidesoftware.swift.io.parser;
 
-import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.Validate;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import com.prowidesoftware.swift.io.writer.FINWriterVisitor;
 import com.prowidesoftware.swift.model.SwiftBlock1;
@@ -49,7 +51,11 @@ import com.prowidesoftware.swift.model.field.Field;
  * <br>
  *
  * This implementation should be used by calling some of the the conversion
- * services.
+ * services.<br>
+ * <br>
+ *
+ * The XML is read with a StAX stream reader and the message blocks are created as the elements are read,
+ * without building a DOM tree. The stream reader factory is created once and shared.
  *
  * @see com.prowidesoftware.swift.io.IConversionService
  * @since 5.0
@@ -58,6 +64,18 @@ import com.prowidesoftware.swift.model.field.Field;
 public class XMLParser {
 	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(XMLParser.class.getName());
 
+	private static final String MESSAGE = "message";
+
+	private static final XMLInputFactory FACTORY = createFactory();
+
+	private static XMLInputFactory createFactory() {
+		final XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return factory;
+	}
+
 	/**
 	 * Given a String containing a message in its WIFE internal XML
 	 * representation, returns a SwiftMessage object.
@@ -69,228 +87,308 @@ public class XMLParser {
 	 */
 	public SwiftMessage parse(final String xml) {
 		Validate.notNull(xml);
+		return parse(new StringReader(xml));
+	}
+
+	/**
+	 * Reads a document containing a message in its WIFE internal XML representation, and returns a SwiftMessage object.
+	 * The document must contain exactly one &lt;message&gt; element.
+	 * If there is any error during conversion this method returns <code>null</code>
+	 * @param reader the XML to parse, not closed by this method
+	 * @return the XML parsed into a SwiftMessage object
+	 * @since 7.9.7
+	 */
+	public SwiftMessage parse(final Reader reader) {
+		Validate.notNull(reader);
+		XMLStreamReader r = null;
 		try {
-			final DocumentBuilder db = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-			final Document doc = db.parse(new ByteArrayInputStream(xml.getBytes()));
-			return createMessage(doc);
+			r = FACTORY.createXMLStreamReader(reader);
+			final SwiftMessage m = parseMessage(r);
+			if (m == null) {
+				throw new IllegalArgumentException("<message> tag not found");
+			}
+			if (nextMessage(r)) {
+				throw new IllegalArgumentException("more than one <message> tag found");
+			}
+			return m;
 		} catch (final Exception e) {
 			log.log(Level.WARNING, "Error parsing XML", e);
 			return null;
+		} finally {
+			close(r);
 		}
 	}
 
 	/**
-	 * Helper method for XML representation parsing.<br>
+	 * Reads the next &lt;message&gt; element from a stream reader, for example from a document with many messages.
+	 * The reader is left at the end of the parsed &lt;message&gt; element, so this method can be called repeatedly
+	 * to read all the messages in constant memory.
 	 *
-	 * @param doc
-	 *            Document object containing a message in XML format
-	 * @return SwiftMessage object populated with the given XML message data
+	 * @param reader the XML stream reader
+	 * @return the message or null if there are no more &lt;message&gt; elements in the reader
+	 * @throws XMLStreamException if the XML is not well formed
+	 * @throws IllegalArgumentException if the message has unexpected blocks or fields with no name
+	 * @since 7.9.7
 	 */
-	private SwiftMessage createMessage(final Document doc) {
-		final NodeList messageNL = doc.getElementsByTagName("message");
-
-		if (messageNL.getLength() == 1) {
-			final Node message = messageNL.item(0);
-			final SwiftMessage m = new SwiftMessage(false);
-
-			final NodeList blocksNL = message.getChildNodes();
+	public SwiftMessage parseMessage(final XMLStreamReader reader) throws XMLStreamException {
+		Validate.notNull(reader);
+		if (!nextMessage(reader)) {
+			return null;
+		}
+		final SwiftMessage m = new SwiftMessage(false);
+		while (nextChild(reader)) {
+			final String blockName = reader.getLocalName();
 			if (log.isLoggable(Level.FINE)) {
-				log.fine("blocks in message: " + blocksNL.getLength());
+				log.fine("evaluating node " + blockName);
+			}
+			if ("block1".equalsIgnoreCase(blockName)) {
+				m.setBlock1(getBlock1(reader));
+			} else if ("block2".equalsIgnoreCase(blockName)) {
+				m.setBlock2(getBlock2(reader));
+			} else if ("unparsedtexts".equalsIgnoreCase(blockName)) {
+				// unparsed texts at <message> level
+				m.setUnparsedTexts(getUnparsedTexts(reader));
+			} else {
+				// blocks 3, 4, 5 or user blocks
+				m.addBlock(getTagListBlock(reader));
 			}
+		}
+		return m;
+	}
 
-			for (int i = 0; i < blocksNL.getLength(); i++) {
-				final Node blockNode = blocksNL.item(i);
-				if (log.isLoggable(Level.FINE)) {
-					log.fine("evaluating node " + blockNode.getNodeName());
-				}
-				if (blockNode.getNodeType()==Node.ELEMENT_NODE) {
-					final String blockName = blockNode.getNodeName();
+	/**
+	 * Moves the reader to the next &lt;message&gt; start element, unless it is already there
+	 * @return true if found, false if the end of the document was reached
+	 */
+	private static boolean nextMessage(final XMLStreamReader r) throws XMLStreamException {
+		if (r.isStartElement() && MESSAGE.equals(r.getLocalName())) {
+			return true;
+		}
+		while (r.hasNext()) {
+			if (r.next() == XMLStreamConstants.START_ELEMENT && MESSAGE.equals(r.getLocalName())) {
+				return true;
+			}
+		}
+		return false;
+	}
 
-					if ("block1".equalsIgnoreCase(blockName)) {
-						m.setBlock1(getBlock1FromNode(blockNode));
-					} else if ("block2".equalsIgnoreCase(blockName)) {
-						m.setBlock2(getBlock2FromNode(blockNode));
-					} else if ("unparsedtexts".equalsIgnoreCase(blockName)) {
-						// unparsed texts at <message> level
-						m.setUnparsedTexts(getUnparsedTextsFromNode(blockNode));
-					} else {
-						// blocks 3, 4, 5 or user blocks
-						m.addBlock(getTagListBlockFromNode(blockNode));
-					}
-				}
-			} // end block list iteration
-			return m;
-		} else {
-			throw new IllegalArgumentException("<message> tag not found");
+	/**
+	 * Moves the reader to the next child element of the current element
+	 * @return true if the reader is at the start of a child element, false if it reached the end of the current element
+	 */
+	private static boolean nextChild(final XMLStreamReader r) throws XMLStreamException {
+		while (r.hasNext()) {
+			final int event = r.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				return true;
+			}
+			if (event == XMLStreamConstants.END_ELEMENT) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Skips the current element and all its content
+	 */
+	private static void skip(final XMLStreamReader r) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			final int event = r.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
 		}
 	}
 
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Given the &lt;block1&gt; node in the XML tree, returns the SwiftBlock1 object.
+	 * Reads the &lt;block1&gt; element, returns the SwiftBlock1 object.
 	 *
-	 * @param blockNode Node object of the &lt;block1&gt; tag in the XML message
+	 * @param r the reader at the start of the &lt;block1&gt; tag in the XML message
 	 * @return SwiftBlock1 object populated with the given portion of the XML message
 	 */
-	private SwiftBlock1 getBlock1FromNode(final Node blockNode) {
-		final NodeList fields = blockNode.getChildNodes();
-		if (log.isLoggable(Level.FINE)) {
-			log.fine(fields.getLength() + " children in <block1>");
-		}
-
+	private SwiftBlock1 getBlock1(final XMLStreamReader r) throws XMLStreamException {
 		final SwiftBlock1 b1 = new SwiftBlock1();
-
-		for (int i = 0; i < fields.getLength(); i++) {
-			final Node n = fields.item(i);
-			if ("APPLICATIONID".equalsIgnoreCase(n.getNodeName())) {
-				b1.setApplicationId(getText(n));
-			} else if ("SERVICEID".equalsIgnoreCase(n.getNodeName())) {
-				b1.setServiceId(getText(n));
-			} else if ("LOGICALTERMINAL".equalsIgnoreCase(n.getNodeName())) {
-				b1.setLogicalTerminal(getText(n));
-			} else if ("SESSIONNUMBER".equalsIgnoreCase(n.getNodeName())) {
-				b1.setSessionNumber(getText(n));
-			} else if ("SEQUENCENUMBER".equalsIgnoreCase(n.getNodeName())) {
-				b1.setSequenceNumber(getText(n));
-			} else if ("unparsedTexts".equalsIgnoreCase(n.getNodeName())) {
-				b1.setUnparsedTexts(getUnparsedTextsFromNode(n));
+		while (nextChild(r)) {
+			final String name = r.getLocalName();
+			if ("APPLICATIONID".equalsIgnoreCase(name)) {
+				b1.setApplicationId(getText(r));
+			} else if ("SERVICEID".equalsIgnoreCase(name)) {
+				b1.setServiceId(getText(r));
+			} else if ("LOGICALTERMINAL".equalsIgnoreCase(name)) {
+				b1.setLogicalTerminal(getText(r));
+			} else if ("SESSIONNUMBER".equalsIgnoreCase(name)) {
+				b1.setSessionNumber(getText(r));
+			} else if ("SEQUENCENUMBER".equalsIgnoreCase(name)) {
+				b1.setSequenceNumber(getText(r));
+			} else if ("unparsedTexts".equalsIgnoreCase(name)) {
+				b1.setUnparsedTexts(getUnparsedTexts(r));
+			} else {
+				skip(r);
 			}
 		}
-
 		return b1;
 	}
 
-	private String getText(final Node n) {
+	/**
+	 * Reads the text of the current element, consuming the element.
+	 * As in a DOM tree, only the text before any nested element is considered; consecutive text events
+	 * are joined since a non coalescing reader may split the text at entities.
+	 * @return the trimmed text, or null if the element is empty or does not start with text
+	 */
+	private String getText(final XMLStreamReader r) throws XMLStreamException {
 		String text = null;
-		final Node c = n.getFirstChild();
-		if (c != null) {
-			if (c.getNodeType() == Node.TEXT_NODE) {
-				text = c.getNodeValue().trim();
-			} else {
-				log.warning("Node is not TEXT_NODE: "+c);
+		StringBuilder more = null;
+		boolean reading = true;
+		int depth = 1;
+		while (depth > 0) {
+			switch (r.next()) {
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				if (reading) {
+					if (text == null) {
+						text = r.getText();
+					} else {
+						if (more == null) {
+							more = new StringBuilder(text);
+						}
+						more.append(r.getText());
+					}
+				}
+				break;
+			case XMLStreamConstants.START_ELEMENT:
+				if (reading && text == null) {
+					log.warning("Node is not TEXT_NODE: "+r.getLocalName());
+				}
+				reading = false;
+				depth++;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				depth--;
+				break;
+			default:
+				break;
 			}
 		}
-		return text;
+		if (more != null) {
+			text = more.toString();
+		}
+		return text != null ? text.trim() : null;
 	}
 
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Given the &lt;block2&gt; node in the XML tree, returns the SwiftBlock1 object.
+	 * Reads the &lt;block2&gt; element, returns the SwiftBlock2 object.
 	 * The method checks for the "type" attribute in the &lt;block2&gt; tag and
 	 * returns a SwiftBlock2Input or SwiftBlock2Output.
 	 *
-	 * @param blockNode Node object of the &lt;block2&gt; tag in the XML message
+	 * @param r the reader at the start of the &lt;block2&gt; tag in the XML message
 	 * @return SwiftBlock2 object populated with the given portion of the XML message
-	 * @see #getBlock2InputFromNode(Node)
-	 * @see #getBlock2OutputFromNode(Node)
+	 * @see #getBlock2Input(XMLStreamReader)
+	 * @see #getBlock2Output(XMLStreamReader)
 	 */
-	private SwiftBlock2 getBlock2FromNode(final Node blockNode) {
-		final String type = getNodeAttribute(blockNode, "type");
+	private SwiftBlock2 getBlock2(final XMLStreamReader r) throws XMLStreamException {
+		final String type = r.getAttributeValue(null, "type");
 
 		if (type == null) {
 			log.severe("atrribute 'type' was expected but not found at <block2> xml tag");
-			return null;
 		} else if ("input".equals(type)) {
-			return getBlock2InputFromNode(blockNode);
+			return getBlock2Input(r);
 		} else if ("output".equals(type)) {
-			return getBlock2OutputFromNode(blockNode);
+			return getBlock2Output(r);
 		} else {
 			log.severe("expected 'input' or 'output' value for 'type' atribute at <block2> xml tag, and found: " + type);
-			return null;
 		}
+		skip(r);
+		return null;
 	}
 
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Given the &lt;block2 type="input"&gt; node in the XML tree, returns the
+	 * Reads the &lt;block2 type="input"&gt; element, returns the
 	 * SwiftBlock2Input object.
 	 *
-	 * @param blockNode Node object of the &lt;block2&gt; tag in the XML message
+	 * @param r the reader at the start of the &lt;block2&gt; tag in the XML message
 	 * @return SwiftBlock2Input object populated with the given portion of the XML message
 	 */
-	private SwiftBlock2Input getBlock2InputFromNode(final Node blockNode) {
-		final NodeList fields = blockNode.getChildNodes();
-		if (log.isLoggable(Level.FINE)) {
-			log.fine(fields.getLength() + " childrens in <block2 type=\"input\">");
-		}
-
+	private SwiftBlock2Input getBlock2Input(final XMLStreamReader r) throws XMLStreamException {
 		final SwiftBlock2Input b2 = new SwiftBlock2Input();
-
-		for (int i = 0; i < fields.getLength(); i++) {
-			final Node n = fields.item(i);
-			if ("MESSAGETYPE".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMessageType(getText(n));
-			} else if ("RECEIVERADDRESS".equalsIgnoreCase(n.getNodeName())) {
-				b2.setReceiverAddress(getText(n));
-			} else if ("MESSAGEPRIORITY".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMessagePriority(getText(n));
-			} else if ("DELIVERYMONITORING".equalsIgnoreCase(n.getNodeName())) {
-				b2.setDeliveryMonitoring(getText(n));
-			} else if ("OBSOLESCENCEPERIOD".equalsIgnoreCase(n.getNodeName())) {
-				b2.setObsolescencePeriod(getText(n));
-			} else if ("unparsedTexts".equalsIgnoreCase(n.getNodeName())) {
-				b2.setUnparsedTexts(getUnparsedTextsFromNode(n));
+		while (nextChild(r)) {
+			final String name = r.getLocalName();
+			if ("MESSAGETYPE".equalsIgnoreCase(name)) {
+				b2.setMessageType(getText(r));
+			} else if ("RECEIVERADDRESS".equalsIgnoreCase(name)) {
+				b2.setReceiverAddress(getText(r));
+			} else if ("MESSAGEPRIORITY".equalsIgnoreCase(name)) {
+				b2.setMessagePriority(getText(r));
+			} else if ("DELIVERYMONITORING".equalsIgnoreCase(name)) {
+				b2.setDeliveryMonitoring(getText(r));
+			} else if ("OBSOLESCENCEPERIOD".equalsIgnoreCase(name)) {
+				b2.setObsolescencePeriod(getText(r));
+			} else if ("unparsedTexts".equalsIgnoreCase(name)) {
+				b2.setUnparsedTexts(getUnparsedTexts(r));
+			} else {
+				skip(r);
 			}
 		}
-
 		return b2;
 	}
 
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Given the &lt;block2 type="output" node in the XML tree, returns the
+	 * Reads the &lt;block2 type="output"&gt; element, returns the
 	 * SwiftBlock2Output object.
 	 *
-	 * @param blockNode Node object of the &lt;block2&gt; tag in the XML message
+	 * @param r the reader at the start of the &lt;block2&gt; tag in the XML message
 	 * @return SwiftBlock2Output object populated with the given portion of the XML message
 	 */
-	private SwiftBlock2Output getBlock2OutputFromNode(final Node blockNode) {
-		final NodeList fields = blockNode.getChildNodes();
-		if (log.isLoggable(Level.FINE)) {
-			log.fine(fields.getLength() + " childrens in <block2 type=\"output\">");
-		}
-
+	private SwiftBlock2Output getBlock2Output(final XMLStreamReader r) throws XMLStreamException {
 		final SwiftBlock2Output b2 = new SwiftBlock2Output();
-
-		for (int i = 0; i < fields.getLength(); i++) {
-			final Node n = fields.item(i);
-			if ("MESSAGETYPE".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMessageType(getText(n));
-			} else if ("SENDERINPUTTIME".equalsIgnoreCase(n.getNodeName())) {
-				b2.setSenderInputTime(getText(n));
-			} else if ("MIRDATE".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMIRDate(getText(n));
-			} else if ("MIRLOGICALTERMINAL".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMIRLogicalTerminal(getText(n));
-			} else if ("MIRSESSIONNUMBER".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMIRSessionNumber(getText(n));
-			} else if ("MIRSEQUENCENUMBER".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMIRSequenceNumber(getText(n));
-			} else if ("RECEIVEROUTPUTDATE".equalsIgnoreCase(n.getNodeName())) {
-				b2.setReceiverOutputDate(getText(n));
-			} else if ("RECEIVEROUTPUTTIME".equalsIgnoreCase(n.getNodeName())) {
-				b2.setReceiverOutputTime(getText(n));
-			} else if ("MESSAGEPRIORITY".equalsIgnoreCase(n.getNodeName())) {
-				b2.setMessagePriority(getText(n));
-			} else if ("unparsedTexts".equalsIgnoreCase(n.getNodeName())) {
-				b2.setUnparsedTexts(getUnparsedTextsFromNode(n));
+		while (nextChild(r)) {
+			final String name = r.getLocalName();
+			if ("MESSAGETYPE".equalsIgnoreCase(name)) {
+				b2.setMessageType(getText(r));
+			} else if ("SENDERINPUTTIME".equalsIgnoreCase(name)) {
+				b2.setSenderInputTime(getText(r));
+			} else if ("MIRDATE".equalsIgnoreCase(name)) {
+				b2.setMIRDate(getText(r));
+			} else if ("MIRLOGICALTERMINAL".equalsIgnoreCase(name)) {
+				b2.setMIRLogicalTerminal(getText(r));
+			} else if ("MIRSESSIONNUMBER".equalsIgnoreCase(name)) {
+				b2.setMIRSessionNumber(getText(r));
+			} else if ("MIRSEQUENCENUMBER".equalsIgnoreCase(name)) {
+				b2.setMIRSequenceNumber(getText(r));
+			} else if ("RECEIVEROUTPUTDATE".equalsIgnoreCase(name)) {
+				b2.setReceiverOutputDate(getText(r));
+			} else if ("RECEIVEROUTPUTTIME".equalsIgnoreCase(name)) {
+				b2.setReceiverOutputTime(getText(r));
+			} else if ("MESSAGEPRIORITY".equalsIgnoreCase(name)) {
+				b2.setMessagePriority(getText(r));
+			} else if ("unparsedTexts".equalsIgnoreCase(name)) {
+				b2.setUnparsedTexts(getUnparsedTexts(r));
+			} else {
+				skip(r);
 			}
 		}
-
 		return b2;
 	}
 
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Given the &lt;block3&gt;, &lt;block4&gt;, &lt;block5&gt; or &lt;block&gt; (user block) node in
-	 * the XML tree, returns the corresponding SwiftTagListBlock object
+	 * Reads the &lt;block3&gt;, &lt;block4&gt;, &lt;block5&gt; or &lt;block&gt; (user block) element
+	 * and returns the corresponding SwiftTagListBlock object
 	 * populated with the given portion of the XML message.
 	 *
-	 * @param blockNode Node object of the &lt;block3&gt;, &lt;block4&gt;, &lt;block5&gt; or &lt;block&gt; tag in the XML message
-	 * @return SwiftTagListBlock object populated with the given portion of the XML message
+	 * @param r the reader at the start of the &lt;block3&gt;, &lt;block4&gt;, &lt;block5&gt; or &lt;block&gt; tag in the XML message
+	 * @return SwiftTagListBlock object populated with the given portion of the XML message, or null if the element is not a block
 	 */
-	private SwiftTagListBlock getTagListBlockFromNode(final Node blockNode) {
-		final String blockName = blockNode.getNodeName();
+	private SwiftTagListBlock getTagListBlock(final XMLStreamReader r) throws XMLStreamException {
+		final String blockName = r.getLocalName();
 		SwiftTagListBlock b;
 		if ("block3".equalsIgnoreCase(blockName)) {
 			b = new SwiftBlock3();
@@ -299,31 +397,29 @@ public class XMLParser {
 		} else if ("block5".equalsIgnoreCase(blockName)) {
 			b = new SwiftBlock5();
 		} else if ("block".equalsIgnoreCase(blockName)) {
-			final String name = getNodeAttribute(blockNode, "name");
+			final String name = r.getAttributeValue(null, "name");
 			if (name != null) {
 				b = new SwiftBlockUser(name);
 			} else {
 				b = new SwiftBlockUser();
 			}
 		} else {
+			skip(r);
 			return null;
 		}
 
-		final NodeList fields = blockNode.getChildNodes();
-		if (log.isLoggable(Level.FINE)) {
-			log.fine(fields.getLength() + " children in tag list " + blockName);
-		}
-
-		for (int j = 0; j < fields.getLength(); j++) {
-			final Node t = fields.item(j);
-			if ("tag".equalsIgnoreCase(t.getNodeName())) {
-				final Tag tag = getTag(t);
+		while (nextChild(r)) {
+			final String name = r.getLocalName();
+			if ("tag".equalsIgnoreCase(name)) {
+				final Tag tag = getTag(r);
 				b.append(tag);
-			} else if ("field".equalsIgnoreCase(t.getNodeName())) {
-					final Field field = getField(t);
-					b.append(field);
-			} else if ("unparsedtexts".equalsIgnoreCase(t.getNodeName())) {
-				b.setUnparsedTexts(getUnparsedTextsFromNode(t));
+			} else if ("field".equalsIgnoreCase(name)) {
+				final Field field = getField(r);
+				b.append(field);
+			} else if ("unparsedtexts".equalsIgnoreCase(name)) {
+				b.setUnparsedTexts(getUnparsedTexts(r));
+			} else {
+				skip(r);
 			}
 		}
 
@@ -332,71 +428,69 @@ public class XMLParser {
 
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Parses the given &lt;tag&gt; Node and returns a Tag object containing data from
+	 * Reads the &lt;tag&gt; element and returns a Tag object containing data from
 	 * the expected &lt;name&gt; and &lt;value&gt; tags. If name or value are not found as
-	 * children of the given node, the Tag object is returned with empty values.
+	 * children of the given element, the Tag object is returned with empty values.
 	 *
-	 * @param t the XML node to parse for name-value pair
-	 * @return a Tag object containing the name and value of the given XML node.
+	 * @param r the reader at the start of the &lt;tag&gt; element
+	 * @return a Tag object containing the name and value of the given XML element.
 	 */
-	private Tag getTag(final Node t) {
+	private Tag getTag(final XMLStreamReader r) throws XMLStreamException {
 		final Tag tag = new Tag();
-		final NodeList children = t.getChildNodes();
-		for (int i = 0; i < children.getLength(); i++) {
-			final Node n = children.item(i);
-			
-			/*
-			 * soportar ambas versiones de xml automagicamente
-			 */
-			
-			if ("name".equalsIgnoreCase(n.getNodeName())) {
-				tag.setName(getText(n));
-			}
-			if ("value".equalsIgnoreCase(n.getNodeName())) {
-				String text = getText(n);
-				//normalize line feeds (DOM parser removes carriage return characters from original XML file)
+		while (nextChild(r)) {
+			final String name = r.getLocalName();
+			if ("name".equalsIgnoreCase(name)) {
+				tag.setName(getText(r));
+			} else if ("value".equalsIgnoreCase(name)) {
+				String text = getText(r);
+				//normalize line feeds (XML parsers remove carriage return characters from original XML file)
 				text = StringUtils.replace(text, "\n", FINWriterVisitor.SWIFT_EOL);
 				tag.setValue(text);
-			} else if ("unparsedtexts".equalsIgnoreCase(n.getNodeName())) {
-				tag.setUnparsedTexts(getUnparsedTextsFromNode(n));
+			} else if ("unparsedtexts".equalsIgnoreCase(name)) {
+				tag.setUnparsedTexts(getUnparsedTexts(r));
+			} else {
+				skip(r);
 			}
 		}
 		return tag;
 	}
-	
+
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Parses the given &gt;field&lt; Node and returns a Field object containing data from
-	 * the expected &lt;name&gt; and &lt;component&gt; inner elements. 
+	 * Reads the &lt;field&gt; element and returns a Field object containing data from
+	 * the expected &lt;name&gt; and &lt;component&gt; inner elements.
 	 * If &lt;name&gt; element is not set it will return null. Otherwise it will return a Field
 	 * instance filled with content from &lt;component&gt; elements.
 	 *
-	 * @param t the XML node to parse for name-value pair
+	 * @param r the reader at the start of the &lt;field&gt; element
 	 * @return a Field object or null if "name" element is not present
 	 */
-	private Field getField(final Node t) {
-		final NodeList children = t.getChildNodes();
+	private Field getField(final XMLStreamReader r) throws XMLStreamException {
 		String name = null;
-		for (int i = 0; i < children.getLength(); i++) {
-			final Node n = children.item(i);
-			if ("name".equalsIgnoreCase(n.getNodeName())) {
-				name = getText(n);
-				break;
+		boolean named = false;
+		// components are kept until the end of the element since the name may come after them
+		final List<String> components = new ArrayList<String>();
+		while (nextChild(r)) {
+			final String element = r.getLocalName();
+			if (!named && "name".equalsIgnoreCase(element)) {
+				name = getText(r);
+				named = true;
+			} else if ("component".equalsIgnoreCase(element)) {
+				final String number = r.getAttributeValue(null, "number");
+				final String text = getText(r);
+				if (StringUtils.isNumeric(number)) {
+					components.add(number);
+					//normalize line feeds (XML parsers remove carriage return characters from original XML file)
+					components.add(StringUtils.replace(text, "\n", FINWriterVisitor.SWIFT_EOL));
+				}
+			} else {
+				skip(r);
 			}
 		}
 		if (name != null) {
-			Field field = Field.getField(name, null);
-			for (int i = 0; i < children.getLength(); i++) {
-				final Node n = children.item(i);
-				if ("component".equalsIgnoreCase(n.getNodeName())) {
-					final String number = getNodeAttribute(n, "number");
-					if (StringUtils.isNumeric(number)) {
-						String text = getText(n);
-						//normalize line feeds (DOM parser removes carriage return characters from original XML file)
-						text = StringUtils.replace(text, "\n", FINWriterVisitor.SWIFT_EOL);
-						field.setComponent(Integer.valueOf(number), text);
-					}
-				}
+			final Field field = Field.getField(name, null);
+			for (int i = 0; i < components.size(); i += 2) {
+				field.setComponent(Integer.valueOf(components.get(i)), components.get(i + 1));
 			}
 			return field;
 		}
@@ -405,43 +499,32 @@ public class XMLParser {
 
 	/**
 	 * Helper method for XML representation parsing.<br>
-	 * Given the &lt;unparsedtexts&gt; node in the XML tree, returns an
-	 * UnparsedTextList object populated with the contents of the <text> child
+	 * Reads the &lt;unparsedtexts&gt; element and returns an
+	 * UnparsedTextList object populated with the contents of the &lt;text&gt; child
 	 * tags of &lt;unparsedtexts&gt;.
 	 *
-	 * @param blockNode Node object of the &lt;unparsedtexts&gt; tag in the XML message
+	 * @param r the reader at the start of the &lt;unparsedtexts&gt; tag in the XML message
 	 * @return UnparsedTextList object populated with the given &lt;text&gt; tags content of the &lt;unparsedtexts&gt;
 	 */
-	private UnparsedTextList getUnparsedTextsFromNode(final Node blockNode) {
+	private UnparsedTextList getUnparsedTexts(final XMLStreamReader r) throws XMLStreamException {
 		final UnparsedTextList unparsedTexts = new UnparsedTextList();
-
-		final NodeList texts = blockNode.getChildNodes();
-		if (log.isLoggable(Level.FINE)) {
-			log.fine(texts.getLength() + " children in <unparsedtexts>");
-		}
-		for (int j = 0; j < texts.getLength(); j++) {
-			final Node t = texts.item(j);
-			if ("text".equalsIgnoreCase(t.getNodeName())) {
-				unparsedTexts.addText(getText(t));
+		while (nextChild(r)) {
+			if ("text".equalsIgnoreCase(r.getLocalName())) {
+				unparsedTexts.addText(getText(r));
+			} else {
+				skip(r);
 			}
 		}
 		return unparsedTexts;
 	}
 
-	/**
-	 * Helper method for XML representation parsing.<br>
-	 * Gets the value of an expected attribute in a Node.
-	 *
-	 * @param n Node to analyze to find the attribute
-	 * @param attributeName the attribute name expected in the analyzed Node n
-	 * @return the value of the attribute expected, or null if the attribute was not found
-	 */
-	private String getNodeAttribute(final Node n, final String attributeName) {
-		final Node attr = n.getAttributes().getNamedItem(attributeName);
-		if ((attr == null) || !attr.getNodeName().equals(attributeName)) {
-			return null;
-		} else {
-			return attr.getNodeValue();
+	private static void close(final XMLStreamReader r) {
+		if (r != null) {
+			try {
+				r.close();
+			} catch (final XMLStreamException e) {
+				log.log(Level.FINE, "error closing XML stream reader", e);
+			}
 		}
 	}
 }
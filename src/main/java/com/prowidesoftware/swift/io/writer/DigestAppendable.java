@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.io.writer;
+
+import java.security.MessageDigest;
+
+/**
+ * Appendable feeding the UTF-8 encoding of the appended characters into a message digest.
+ *
+ * <p>The bytes are the same of {@link String#getBytes(String)} with UTF-8, including the replacement of
+ * unpaired surrogates with '?', so the digest is the same as the one computed on the encoded string as
+ * long as surrogate pairs are not split between append calls.
+ * Instances are reused per thread through {@link #get(MessageDigest)}.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+final class DigestAppendable implements Appendable {
+	private static final int BUFFER_SIZE = 4 * 1024;
+
+	private static final ThreadLocal<DigestAppendable> INSTANCE = new ThreadLocal<DigestAppendable>() {
+		@Override
+		protected DigestAppendable initialValue() {
+			return new DigestAppendable();
+		}
+	};
+
+	private final byte[] bytes = new byte[BUFFER_SIZE];
+	private int count = 0;
+	private MessageDigest digest;
+
+	private DigestAppendable() {
+	}
+
+	/**
+	 * Creates an instance not shared through {@link #get(MessageDigest)}, feeding the given digest
+	 * @param digest the digest to update
+	 */
+	DigestAppendable(final MessageDigest digest) {
+		this.digest = digest;
+	}
+
+	/**
+	 * Gets the instance of the current thread, set to feed the given digest
+	 * @param digest the digest to update
+	 * @return the appendable for the current thread
+	 */
+	static DigestAppendable get(final MessageDigest digest) {
+		final DigestAppendable result = INSTANCE.get();
+		result.digest = digest;
+		result.count = 0;
+		return result;
+	}
+
+	public Appendable append(final CharSequence csq) {
+		final CharSequence s = csq == null ? "null" : csq;
+		return append(s, 0, s.length());
+	}
+
+	public Appendable append(final CharSequence csq, final int start, final int end) {
+		final CharSequence s = csq == null ? "null" : csq;
+		for (int i = start; i < end; i++) {
+			final char c = s.charAt(i);
+			if (c < 0x80) {
+				put(c);
+			} else if (c < 0x800) {
+				put(0xc0 | (c >> 6));
+				put(0x80 | (c & 0x3f));
+			} else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(s.charAt(i + 1))) {
+				final int cp = Character.toCodePoint(c, s.charAt(++i));
+				put(0xf0 | (cp >> 18));
+				put(0x80 | ((cp >> 12) & 0x3f));
+				put(0x80 | ((cp >> 6) & 0x3f));
+				put(0x80 | (cp & 0x3f));
+			} else if (Character.isHighSurrogate(c) || Character.isLowSurrogate(c)) {
+				put('?');
+			} else {
+				put(0xe0 | (c >> 12));
+				put(0x80 | ((c >> 6) & 0x3f));
+				put(0x80 | (c & 0x3f));
+			}
+		}
+		return this;
+	}
+
+	public Appendable append(final char c) {
+		if (c < 0x80) {
+			put(c);
+			return this;
+		}
+		return append(String.valueOf(c), 0, 1);
+	}
+
+	private void put(final int b) {
+		if (this.count == this.bytes.length) {
+			update();
+		}
+		this.bytes[this.count++] = (byte) b;
+	}
+
+	/**
+	 * Feeds the buffered bytes into the digest
+	 */
+	void update() {
+		if (this.count > 0) {
+			this.digest.update(this.bytes, 0, this.count);
+			this.count = 0;
+		}
+	}
+
+	/**
+	 * Discards the buffered bytes not yet fed into the digest, for example after an error writing a message
+	 */
+	void reset() {
+		this.count = 0;
+	}
+
+	/**
+	 * Discards the buffered bytes and releases the digest, to be called in a finally block once the digest
+	 * is updated with {@link #update()} or when an error occurs
+	 */
+	void release() {
+		this.count = 0;
+		this.digest = null;
+	}
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.io.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Appendable encoding the characters into a reusable byte buffer that is written to an output stream when full.
+ *
+ * <p>For charsets where ASCII characters are encoded as single bytes with the same value, which covers the
+ * SWIFT character sets, those characters are copied straight into the buffer; any other character goes
+ * through a charset encoder. Unmappable characters are replaced with the charset replacement.</p>
+ *
+ * <p>The buffered content is written to the stream on {@link #flush()}, which also ends the encoding;
+ * the stream is not closed.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+final class EncodingAppendable implements Appendable {
+	private static final int BUFFER_SIZE = 8 * 1024;
+
+	private final OutputStream out;
+	private final CharsetEncoder encoder;
+	private final boolean asciiCompatible;
+	private final byte[] bytes = new byte[BUFFER_SIZE];
+	private int count = 0;
+
+	EncodingAppendable(final OutputStream out, final Charset charset) {
+		this.out = out;
+		this.encoder = charset.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		final String name = charset.name();
+		this.asciiCompatible = "US-ASCII".equals(name) || "ISO-8859-1".equals(name) || "UTF-8".equals(name) || "windows-1252".equals(name);
+	}
+
+	public Appendable append(final CharSequence csq) throws IOException {
+		final CharSequence s = csq == null ? "null" : csq;
+		return append(s, 0, s.length());
+	}
+
+	public Appendable append(final CharSequence csq, final int start, final int end) throws IOException {
+		final CharSequence s = csq == null ? "null" : csq;
+		int i = start;
+		while (i < end) {
+			final char c = s.charAt(i);
+			if (this.asciiCompatible && c < 0x80) {
+				if (this.count == this.bytes.length) {
+					flushBuffer();
+				}
+				this.bytes[this.count++] = (byte) c;
+				i++;
+			} else {
+				int j = i + 1;
+				while (j < end && !(this.asciiCompatible && s.charAt(j) < 0x80)) {
+					j++;
+				}
+				encode(s, i, j);
+				i = j;
+			}
+		}
+		return this;
+	}
+
+	public Appendable append(final char c) throws IOException {
+		if (this.asciiCompatible && c < 0x80) {
+			if (this.count == this.bytes.length) {
+				flushBuffer();
+			}
+			this.bytes[this.count++] = (byte) c;
+			return this;
+		}
+		return append(String.valueOf(c), 0, 1);
+	}
+
+	/**
+	 * Encodes a run of characters, keeping the encoder state for the next runs.
+	 * A high surrogate at the end of the run, without its low surrogate, is replaced.
+	 */
+	private void encode(final CharSequence s, final int start, final int end) throws IOException {
+		final CharBuffer chars = CharBuffer.wrap(s, start, end);
+		final ByteBuffer target = ByteBuffer.wrap(this.bytes);
+		target.position(this.count);
+		CoderResult result = this.encoder.encode(chars, target, false);
+		while (result.isOverflow()) {
+			this.count = target.position();
+			flushBuffer();
+			target.clear();
+			result = this.encoder.encode(chars, target, false);
+		}
+		this.count = target.position();
+		if (chars.hasRemaining()) {
+			final byte[] replacement = this.encoder.replacement();
+			for (int i = 0; i < replacement.length; i++) {
+				if (this.count == this.bytes.length) {
+					flushBuffer();
+				}
+				this.bytes[this.count++] = replacement[i];
+			}
+		}
+	}
+
+	/**
+	 * Writes the final bytes of the encoder, if any, and resets it
+	 */
+	private void endEncoding() throws IOException {
+		final ByteBuffer target = ByteBuffer.wrap(this.bytes);
+		target.position(this.count);
+		final CharBuffer empty = CharBuffer.allocate(0);
+		CoderResult result = this.encoder.encode(empty, target, true);
+		while (result.isOverflow()) {
+			this.count = target.position();
+			flushBuffer();
+			target.clear();
+			result = this.encoder.encode(empty, target, true);
+		}
+		result = this.encoder.flush(target);
+		while (result.isOverflow()) {
+			this.count = target.position();
+			flushBuffer();
+			target.clear();
+			result = this.encoder.flush(target);
+		}
+		this.count = target.position();
+		this.encoder.reset();
+	}
+
+	private void flushBuffer() throws IOException {
+		if (this.count > 0) {
+			this.out.write(this.bytes, 0, this.count);
+			this.count = 0;
+		}
+	}
+
+	/**
+	 * Writes the buffered bytes and flushes the output stream
+	 * @throws IOException if an error occurs writing to the stream
+	 */
+	void flush() throws IOException {
+		endEncoding();
+		flushBuffer();
+		this.out.flush();
+	}
+}
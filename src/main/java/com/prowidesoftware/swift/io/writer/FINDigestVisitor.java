@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.io.writer;
+
+import java.security.MessageDigest;
+
+import org.apache.commons.lang.Validate;
+
+import com.prowidesoftware.swift.model.SwiftBlock1;
+import com.prowidesoftware.swift.model.SwiftBlock2;
+import com.prowidesoftware.swift.model.SwiftBlock3;
+import com.prowidesoftware.swift.model.SwiftBlock4;
+import com.prowidesoftware.swift.model.SwiftBlock5;
+import com.prowidesoftware.swift.model.SwiftBlockUser;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.Tag;
+import com.prowidesoftware.swift.utils.IMessageVisitor;
+
+/**
+ * Visitor feeding the message in its native SWIFT format, encoded in UTF-8, into message digests,
+ * without writing the message into a string.
+ *
+ * <p>The complete message and the text block (block 4) alone can be digested in the same traversal, with
+ * the same results of {@link SwiftWriter#digestMessage(SwiftMessage, MessageDigest)} and
+ * {@link SwiftWriter#digestBlock4(SwiftBlock4, MessageDigest)}. Since the callbacks can be forwarded from
+ * another visitor, the digests can also be computed while collecting other information from the message.</p>
+ *
+ * <p>The digests are updated but not completed; once {@link #endMessage(SwiftMessage)} is called they
+ * contain all the message content and the caller can complete them. The visitor can then be reused for
+ * another message.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public class FINDigestVisitor implements IMessageVisitor {
+
+	private final DigestAppendable message;
+	private final FINWriterVisitor messageWriter;
+	private final DigestAppendable block4;
+	private final FINWriterVisitor block4Writer;
+
+	/**
+	 * Creates a visitor for the complete message and the text block digests
+	 * @param messageDigest the digest to update with the complete message, may be <code>null</code>
+	 * @param block4Digest the digest to update with the block 4, may be <code>null</code>
+	 * @throws IllegalArgumentException if both digests are <code>null</code> or are the same instance
+	 */
+	public FINDigestVisitor(final MessageDigest messageDigest, final MessageDigest block4Digest) {
+		Validate.isTrue(messageDigest != null || block4Digest != null, "at least one digest is required");
+		Validate.isTrue(messageDigest != block4Digest, "the message and block 4 digests must be different instances");
+		this.message = messageDigest != null ? new DigestAppendable(messageDigest) : null;
+		this.messageWriter = messageDigest != null ? new FINWriterVisitor(this.message) : null;
+		this.block4 = block4Digest != null ? new DigestAppendable(block4Digest) : null;
+		// never started with a message, the block is written as a standalone block 4 always in text block syntax
+		this.block4Writer = block4Digest != null ? new FINWriterVisitor(this.block4) : null;
+	}
+
+	public void startMessage(final SwiftMessage m) {
+		// discard content buffered by a previous visit that failed
+		if (this.message != null) {
+			this.message.reset();
+		}
+		if (this.block4 != null) {
+			this.block4.reset();
+		}
+		if (this.messageWriter != null) {
+			this.messageWriter.startMessage(m);
+		}
+	}
+
+	public void endMessage(final SwiftMessage m) {
+		if (this.messageWriter != null) {
+			this.messageWriter.endMessage(m);
+			this.message.update();
+		}
+	}
+
+	public void startBlock1(final SwiftBlock1 b) {
+		if (this.messageWriter != null) {
+			this.messageWriter.startBlock1(b);
+		}
+	}
+
+	public void value(final SwiftBlock1 b, final String v) {
+		if (this.messageWriter != null) {
+			this.messageWriter.value(b, v);
+		}
+	}
+
+	public void endBlock1(final SwiftBlock1 b) {
+		if (this.messageWriter != null) {
+			this.messageWriter.endBlock1(b);
+		}
+	}
+
+	public void startBlock2(final SwiftBlock2 b) {
+		if (this.messageWriter != null) {
+			this.messageWriter.startBlock2(b);
+		}
+	}
+
+	public void value(final SwiftBlock2 b, final String v) {
+		if (this.messageWriter != null) {
+			this.messageWriter.value(b, v);
+		}
+	}
+
+	public void endBlock2(final SwiftBlock2 b) {
+		if (this.messageWriter != null) {
+			this.messageWriter.endBlock2(b);
+		}
+	}
+
+	public void startBlock3(final SwiftBlock3 b) {
+		if (this.messageWriter != null) {
+			this.messageWriter.startBlock3(b);
+		}
+	}
+
+	public void tag(final SwiftBlock3 b, final Tag t) {
+		if (this.messageWriter != null) {
+			this.messageWriter.tag(b, t);
+		}
+	}
+
+	public void endBlock3(final SwiftBlock3 b) {
+		if (this.messageWriter != null) {
+			this.messageWriter.endBlock3(b);
+		}
+	}
+
+	public void startBlock4(final SwiftBlock4 b) {
+		if (this.messageWriter != null) {
+			this.messageWriter.startBlock4(b);
+		}
+		if (this.block4Writer != null) {
+			this.block4Writer.startBlock4(b);
+		}
+	}
+
+	public void tag(final SwiftBlock4 b, final Tag t) {
+		if (this.messageWriter != null) {
+			this.messageWriter.tag(b, t);
+		}
+		if (this.block4Writer != null) {
+			this.block4Writer.tag(b, t);
+		}
+	}
+
+	public void endBlock4(final SwiftBlock4 b) {
+		if (this.messageWriter != null) {
+			this.messageWriter.endBlock4(b);
+		}
+		if (this.block4Writer != null) {
+			this.block4Writer.endBlock4(b);
+			this.block4.update();
+		}
+	}
+
+	public void startBlock5(final SwiftBlock5 b) {
+		if (this.messageWriter != null) {
+			this.messageWriter.startBlock5(b);
+		}
+	}
+
+	public void tag(final SwiftBlock5 b, final Tag t) {
+		if (this.messageWriter != null) {
+			this.messageWriter.tag(b, t);
+		}
+	}
+
+	public void endBlock5(final SwiftBlock5 b) {
+		if (this.messageWriter != null) {
+			this.messageWriter.endBlock5(b);
+		}
+	}
+
+	public void startBlockUser(final SwiftBlockUser b) {
+		if (this.messageWriter != null) {
+			this.messageWriter.startBlockUser(b);
+		}
+	}
+
+	public void tag(final SwiftBlockUser b, final Tag t) {
+		if (this.messageWriter != null) {
+			this.messageWriter.tag(b, t);
+		}
+	}
+
+	public void endBlockUser(final SwiftBlockUser b) {
+		if (this.messageWriter != null) {
+			this.messageWriter.endBlockUser(b);
+		}
+	}
+
+}
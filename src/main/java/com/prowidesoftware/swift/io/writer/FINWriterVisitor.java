@@ -35,6 +35,10 @@ import com.prowidesoftware.swift.utils.IMessageVisitor;
 
 /**
  * Main class for writing SwiftMessage objects into SWIFT FIN message text.
+ *
+ * <p>Tag names and values are appended to the output as they are, without intermediate strings.
+ * When writing into a {@link StringBuilder}, or any other {@link Appendable} not doing IO, this
+ * means the message content is copied once.</p>
  * 
  * @author www.prowidesoftware.com
  */
@@ -46,7 +50,7 @@ public class FINWriterVisitor implements IMessageVisitor {
 	 */
 	public static final String SWIFT_EOL = "\r\n";
 
-	private Writer  writer;
+	private Appendable writer;
 	private Boolean block4asText = Boolean.TRUE;
 
 	/**
@@ -56,6 +60,15 @@ public class FINWriterVisitor implements IMessageVisitor {
 		this.writer = writer;
 	}
 
+	/**
+	 * Creates a visitor writing to any appendable output, such as a {@link StringBuilder}
+	 * @param out the output
+	 * @since 7.9.7
+	 */
+	public FINWriterVisitor(Appendable out) {
+		this.writer = out;
+	}
+
 	////////////////////////////////////////////////////////////
 	//
 	// MESSAGE HANDLING
@@ -132,7 +145,7 @@ public class FINWriterVisitor implements IMessageVisitor {
 			write(b.getUnparsedTexts());
 
 		// write block termination
-		write("}");
+		write('}');
 	}
 
 	////////////////////////////////////////////////////////////
@@ -161,7 +174,7 @@ public class FINWriterVisitor implements IMessageVisitor {
 			write(b.getUnparsedTexts());
 
 		// write block termination
-		write("}");
+		write('}');
 	}
 
 	////////////////////////////////////////////////////////////
@@ -188,7 +201,7 @@ public class FINWriterVisitor implements IMessageVisitor {
 			write(b.getUnparsedTexts());
 
 		// write block termination
-		write("}");
+		write('}');
 	}
 
 	////////////////////////////////////////////////////////////
@@ -197,7 +210,10 @@ public class FINWriterVisitor implements IMessageVisitor {
 	//
 	////////////////////////////////////////////////////////////
 	public void startBlock4(SwiftBlock4 b) {
-		write("{4:" + (this.block4asText.booleanValue() ? SWIFT_EOL : ""));
+		write("{4:");
+		if (this.block4asText.booleanValue()) {
+			write(SWIFT_EOL);
+		}
 	}
 
 	public void tag(SwiftBlock4 b, Tag t) {
@@ -219,7 +235,10 @@ public class FINWriterVisitor implements IMessageVisitor {
 			write(b.getUnparsedTexts());
 
 		// write block termination
-		write( (this.block4asText.booleanValue() ? "-" : "") + "}");
+		if (this.block4asText.booleanValue()) {
+			write('-');
+		}
+		write('}');
 	}
 
 	////////////////////////////////////////////////////////////
@@ -246,7 +265,7 @@ public class FINWriterVisitor implements IMessageVisitor {
 			write(b.getUnparsedTexts());
 
 		// write block termination
-		write("}");
+		write('}');
 	}
 
 	////////////////////////////////////////////////////////////
@@ -255,7 +274,9 @@ public class FINWriterVisitor implements IMessageVisitor {
 	//
 	////////////////////////////////////////////////////////////
 	public void startBlockUser(SwiftBlockUser b) {
-		write("{" + b.getName() + ":");
+		write('{');
+		write(b.getName());
+		write(':');
 	}
 
 	public void tag(SwiftBlockUser b, Tag t) {
@@ -273,7 +294,7 @@ public class FINWriterVisitor implements IMessageVisitor {
 			write(b.getUnparsedTexts());
 
 		// write block termination
-		write("}");
+		write('}');
 	}
 
 	////////////////////////////////////////////////////////////
@@ -311,14 +332,14 @@ public class FINWriterVisitor implements IMessageVisitor {
 			return;
 		}
 		
-		final String value = StringUtils.trimToEmpty(t.getValue());
+		write('{');
 		if (StringUtils.isNotEmpty(t.getName())) {
 			// we have name
-			write("{" + t.getName() + ":" + value);
-		} else {
-			// no name but value => {<value>}
-			write("{" + value);
+			write(t.getName());
+			write(':');
 		}
+		// no name but value => {<value>}
+		writeTrimmed(t.getValue());
 
 		// if tag has unparsed texts, write them down.
 		// this goes "{<tag>:<value>unparsed_texts}" (NOTICE that unparsed text goes inside tag braquets)
@@ -330,13 +351,17 @@ public class FINWriterVisitor implements IMessageVisitor {
 			write(t.getUnparsedTexts());
 		
 		// write closing braquets
-		write("}");
+		write('}');
 	}
 	
 	private final void appendTextTag(Tag t) {
 		// this goes: ":<tag>:<value>[CRLF]" (quotes not included)
 		if (StringUtils.isNotEmpty(t.getName())) {
-			write(":" + t.getName() + ":" + StringUtils.trimToEmpty(t.getValue()) + SWIFT_EOL);
+			write(':');
+			write(t.getName());
+			write(':');
+			writeTrimmed(t.getValue());
+			write(SWIFT_EOL);
 		}
 
 		// if tag has unparsed texts, write them down
@@ -381,11 +406,50 @@ public class FINWriterVisitor implements IMessageVisitor {
 
 	private void write(String s) {
 		try {
-			writer.write(s);
+			writer.append(s);
+		} catch (IOException e) {
+			throw writeError(e);
+		}
+	}
+
+	private void write(char c) {
+		try {
+			writer.append(c);
 		} catch (IOException e) {
-			log.log(Level.SEVERE, "Caught exception in FINWriterVisitor, method write", e);
-			throw new WifeException(e);
+			throw writeError(e);
 		}
 	}
 
+	/**
+	 * Writes the value without leading and trailing control characters and spaces, as {@link StringUtils#trimToEmpty(String)}
+	 * would do, but without creating a new string
+	 */
+	private void writeTrimmed(String value) {
+		if (value == null) {
+			return;
+		}
+		int end = value.length();
+		int start = 0;
+		while (start < end && value.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && value.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		try {
+			if (start == 0 && end == value.length()) {
+				writer.append(value);
+			} else if (start < end) {
+				writer.append(value, start, end);
+			}
+		} catch (IOException e) {
+			throw writeError(e);
+		}
+	}
+
+	private static WifeException writeError(IOException e) {
+		log.log(Level.SEVERE, "Caught exception in FINWriterVisitor, method write", e);
+		return new WifeException(e);
+	}
+
 }
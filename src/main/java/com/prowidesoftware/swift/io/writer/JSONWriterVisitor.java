@@ -0,0 +1,439 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.io.writer;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.logging.Level;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+
+import com.google.gson.stream.JsonWriter;
+import com.prowidesoftware.swift.WifeException;
+import com.prowidesoftware.swift.model.SwiftBlock;
+import com.prowidesoftware.swift.model.SwiftBlock1;
+import com.prowidesoftware.swift.model.SwiftBlock2;
+import com.prowidesoftware.swift.model.SwiftBlock2Input;
+import com.prowidesoftware.swift.model.SwiftBlock2Output;
+import com.prowidesoftware.swift.model.SwiftBlock3;
+import com.prowidesoftware.swift.model.SwiftBlock4;
+import com.prowidesoftware.swift.model.SwiftBlock5;
+import com.prowidesoftware.swift.model.SwiftBlockUser;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
+import com.prowidesoftware.swift.model.Tag;
+import com.prowidesoftware.swift.utils.IMessageVisitor;
+
+/**
+ * Writes messages in the JSON structure of {@link SwiftMessage#toJson()}, streaming the content into a Gson
+ * {@link JsonWriter} as the message is visited, without intermediate strings per block.
+ *
+ * <p>Missing blocks are written as empty objects, header attributes not set are written as JSON nulls,
+ * tag values not set are written as empty strings, and carriage returns are removed from the tag values,
+ * so multi line values have plain new lines.
+ * The JSON can be read back with {@link com.prowidesoftware.swift.io.parser.JSONParser}.</p>
+ *
+ * <p>To write an array of messages into a single stream, create the visitor with a {@link JsonWriter},
+ * call {@link JsonWriter#beginArray()}, visit each message, and finally call {@link JsonWriter#endArray()}.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public class JSONWriterVisitor implements IMessageVisitor {
+	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(JSONWriterVisitor.class.getName());
+
+	/**
+	 * Version of the JSON structure
+	 */
+	public static final int JSON_VERSION = 1;
+
+	private final JsonWriter writer;
+
+	/**
+	 * True if the JsonWriter was created by this visitor, and must be flushed at the end of each message
+	 */
+	private final boolean owned;
+
+	private final DateFormat timestampFormat;
+
+	/**
+	 * Number of the next standard block to write, blocks before it have been written
+	 */
+	private int nextBlock = 1;
+
+	private boolean userBlocks = false;
+
+	/**
+	 * Creates a visitor writing into a writer, a StringBuilder or any other appendable
+	 * @param out where the JSON is written
+	 */
+	public JSONWriterVisitor(final Appendable out) {
+		this(new JsonWriter(out instanceof Writer ? (Writer) out : new AppendableWriter(out)), true);
+	}
+
+	/**
+	 * Creates a visitor writing the JSON encoded in UTF-8 into a stream
+	 * @param out where the JSON is written
+	 */
+	public JSONWriterVisitor(final OutputStream out) {
+		this(new JsonWriter(utf8(out)), true);
+	}
+
+	/**
+	 * Creates a visitor writing into a Gson stream writer, for example to write several messages into a JSON array.
+	 * The writer is not flushed nor closed by this visitor.
+	 * @param writer the JSON stream writer
+	 */
+	public JSONWriterVisitor(final JsonWriter writer) {
+		this(writer, false);
+	}
+
+	private JSONWriterVisitor(final JsonWriter writer, final boolean owned) {
+		Validate.notNull(writer, "writer must not be null");
+		this.writer = writer;
+		this.owned = owned;
+		if (owned) {
+			// allows writing several messages one after the other with the same visitor
+			writer.setLenient(true);
+		}
+		this.timestampFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.ENGLISH);
+		this.timestampFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+	}
+
+	private static Writer utf8(final OutputStream out) {
+		Validate.notNull(out, "out must not be null");
+		try {
+			return new OutputStreamWriter(out, "UTF-8");
+		} catch (final UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Writes the tags of a block as an array of objects with the tag name and value
+	 * @param writer the JSON stream writer
+	 * @param block the block to write
+	 * @throws IOException if an error occurs writing to the underlying writer
+	 */
+	public static void writeTags(final JsonWriter writer, final SwiftTagListBlock block) throws IOException {
+		writer.beginArray();
+		for (final Iterator<Tag> it = block.tagIterator(); it.hasNext();) {
+			writeTag(writer, it.next());
+		}
+		writer.endArray();
+	}
+
+	/**
+	 * Writes the attributes of a block 1 as an object
+	 * @param writer the JSON stream writer
+	 * @param b the block to write
+	 * @throws IOException if an error occurs writing to the underlying writer
+	 */
+	public static void writeBlock1(final JsonWriter writer, final SwiftBlock1 b) throws IOException {
+		writer.beginObject();
+		writeAttributes(writer, b);
+		writer.endObject();
+	}
+
+	/**
+	 * Writes the attributes of a block 2 as an object, with the input or output attributes depending on the block direction
+	 * @param writer the JSON stream writer
+	 * @param b the block to write
+	 * @throws IOException if an error occurs writing to the underlying writer
+	 */
+	public static void writeBlock2(final JsonWriter writer, final SwiftBlock2 b) throws IOException {
+		writer.beginObject();
+		writeAttributes(writer, b);
+		writer.endObject();
+	}
+
+	private static void writeAttributes(final JsonWriter writer, final SwiftBlock1 b) throws IOException {
+		writer.name("applicationId").value(b.getApplicationId());
+		writer.name("serviceId").value(b.getServiceId());
+		writer.name("logicalTerminal").value(b.getLogicalTerminal());
+		writer.name("sessionNumber").value(b.getSessionNumber());
+		writer.name("sequenceNumber").value(b.getSequenceNumber());
+	}
+
+	private static void writeAttributes(final JsonWriter writer, final SwiftBlock2 b) throws IOException {
+		if (b instanceof SwiftBlock2Input) {
+			final SwiftBlock2Input b2 = (SwiftBlock2Input) b;
+			writer.name("messageType").value(b2.getMessageType());
+			writer.name("receiverAddress").value(b2.getReceiverAddress());
+			writer.name("messagePriority").value(b2.getMessagePriority());
+			writer.name("deliveryMonitoring").value(b2.getDeliveryMonitoring());
+			writer.name("obsolescencePeriod").value(b2.getObsolescencePeriod());
+		} else if (b instanceof SwiftBlock2Output) {
+			final SwiftBlock2Output b2 = (SwiftBlock2Output) b;
+			writer.name("messageType").value(b2.getMessageType());
+			writer.name("senderInputTime").value(b2.getSenderInputTime());
+			writer.name("MIRDate").value(b2.getMIRDate());
+			writer.name("MIRLogicalTerminal").value(b2.getMIRLogicalTerminal());
+			writer.name("MIRSessionNumber").value(b2.getMIRSessionNumber());
+			writer.name("MIRSequenceNumber").value(b2.getMIRSequenceNumber());
+			writer.name("receiverOutputDate").value(b2.getReceiverOutputDate());
+			writer.name("receiverOutputTime").value(b2.getReceiverOutputTime());
+			writer.name("messagePriority").value(b2.getMessagePriority());
+		}
+	}
+
+	private static void writeTag(final JsonWriter writer, final Tag t) throws IOException {
+		writer.beginObject();
+		writer.name(String.valueOf(t.getName()));
+		writer.value(StringUtils.defaultString(StringUtils.remove(t.getValue(), '\r')));
+		writer.endObject();
+	}
+
+	public void startMessage(final SwiftMessage m) {
+		try {
+			this.nextBlock = 1;
+			this.userBlocks = false;
+			this.writer.beginObject();
+			this.writer.name("version").value(JSON_VERSION);
+			this.writer.name("timestamp").value(this.timestampFormat.format(Calendar.getInstance().getTime()));
+			this.writer.name("data").beginObject();
+		} catch (final IOException e) {
+			throw error(e);
+		}
+	}
+
+	public void endMessage(final SwiftMessage m) {
+		try {
+			startBlock(6);
+			if (this.userBlocks) {
+				this.writer.endArray();
+			}
+			this.writer.endObject(); // data
+			this.writer.endObject(); // message
+			if (this.owned) {
+				this.writer.flush();
+			}
+		} catch (final IOException e) {
+			throw error(e);
+		}
+	}
+
+	/**
+	 * Writes empty objects for the missing blocks before the given one, and the name of the given block
+	 * @param number the block number or 6 for the user blocks
+	 */
+	private void startBlock(final int number) throws IOException {
+		while (this.nextBlock < number) {
+			this.writer.name("block" + this.nextBlock).beginObject().endObject();
+			this.nextBlock++;
+		}
+		if (number <= 5) {
+			this.writer.name("block" + number);
+			this.nextBlock = number + 1;
+		}
+	}
+
+	public void startBlock1(final SwiftBlock1 b) {
+		try {
+			startBlock(1);
+			this.writer.beginObject();
+		} catch (final IOException e) {
+			throw error(e);
+		}
+	}
+
+	public void value(final SwiftBlock1 b, final String v) {
+		try {
+			writeAttributes(this.writer, b);
+		} catch (final IOException e) {
+			throw error(e);
+		}
+	}
+
+	public void endBlock1(final SwiftBlock1 b) {
+		endObject();
+	}
+
+	public void startBlock2(final SwiftBlock2 b) {
+		try {
+			startBlock(2);
+			this.writer.beginObject();
+		} catch (final IOException e) {
+			throw error(e);
+		}
+	}
+
+	public void value(final SwiftBlock2 b, final String v) {
+		try {
+			writeAttributes(this.writer, b);
+		} catch (final IOException e) {
+			throw error(e);
+		}
+	}
+
+	public void endBlock2(final SwiftBlock2 b) {
+		endObject();
+	}
+
+	public void startBlock3(final SwiftBlock3 b) {
+		beginTags(3);
+	}
+
+	public void tag(final SwiftBlock3 b, final Tag t) {
+		tag(t);
+	}
+
+	public void endBlock3(final SwiftBlock3 b) {
+		endArray();
+	}
+
+	public void startBlock4(final SwiftBlock4 b) {
+		beginTags(4);
+	}
+
+	public void tag(final SwiftBlock4 b, final Tag t) {
+		tag(t);
+	}
+
+	public void endBlock4(final SwiftBlock4 b) {
+		endArray();
+	}
+
+	public void startBlock5(final SwiftBlock5 b) {
+		beginTags(5);
+	}
+
+	public void tag(final SwiftBlock5 b, final Tag t) {
+		tag(t);
+	}
+
+	public void endBlock5(final SwiftBlock5 b) {
+		endArray();
+	}
+
+	public void startBlockUser(final SwiftBlockUser b) {
+		try {
+			startBlock(6);
+			if (!this.userBlocks) {
+				this.writer.name("userblocks").beginArray();
+				this.userBlocks = true;
+			}
+			this.writer.beginObject();
+			this.writer.name("name").value(b.getName());
+			this.writer.name("tags").beginArray();
+		} catch (final IOException e) {
+			throw error(e);
+		}
+	}
+
+	public void tag(final SwiftBlockUser b, final Tag t) {
+		tag(t);
+	}
+
+	public void endBlockUser(final SwiftBlockUser b) {
+		endArray();
+		endObject();
+	}
+
+	public void tag(final SwiftBlock b, final Tag t) {
+		if (b instanceof SwiftTagListBlock) {
+			tag(t);
+		}
+	}
+
+	private void beginTags(final int number) {
+		try {
+			startBlock(number);
+			this.writer.beginArray();
+		} catch (final IOException e) {
+			throw error(e);
+		}
+	}
+
+	private void tag(final Tag t) {
+		try {
+			writeTag(this.writer, t);
+		} catch (final IOException e) {
+			throw error(e);
+		}
+	}
+
+	private void endObject() {
+		try {
+			this.writer.endObject();
+		} catch (final IOException e) {
+			throw error(e);
+		}
+	}
+
+	private void endArray() {
+		try {
+			this.writer.endArray();
+		} catch (final IOException e) {
+			throw error(e);
+		}
+	}
+
+	private static WifeException error(final IOException e) {
+		log.log(Level.SEVERE, "Caught exception in JSONWriterVisitor, method write", e);
+		return new WifeException(e);
+	}
+
+	/**
+	 * Adapts an appendable to the Writer required by the JsonWriter
+	 */
+	private static final class AppendableWriter extends Writer {
+		private final Appendable out;
+
+		AppendableWriter(final Appendable out) {
+			Validate.notNull(out, "out must not be null");
+			this.out = out;
+		}
+
+		@Override
+		public void write(final int c) throws IOException {
+			this.out.append((char) c);
+		}
+
+		@Override
+		public void write(final char[] cbuf, final int off, final int len) throws IOException {
+			this.out.append(CharBuffer.wrap(cbuf, off, len));
+		}
+
+		@Override
+		public void write(final String str, final int off, final int len) throws IOException {
+			this.out.append(str, off, off + len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (this.out instanceof Flushable) {
+				((Flushable) this.out).flush();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+	}
+}
@@ -14,17 +14,26 @@
  *******************************************************************************/
 package com.prowidesoftware.swift.io.writer;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.util.List;
 
 import org.apache.commons.lang.Validate;
 
+import com.prowidesoftware.swift.WifeException;
 import com.prowidesoftware.swift.model.SwiftBlock1;
 import com.prowidesoftware.swift.model.SwiftBlock2;
 import com.prowidesoftware.swift.model.SwiftBlock3;
 import com.prowidesoftware.swift.model.SwiftBlock4;
 import com.prowidesoftware.swift.model.SwiftBlock5;
+import com.prowidesoftware.swift.model.SwiftBlockUser;
 import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
+import com.prowidesoftware.swift.model.Tag;
 
 /**
  * Helper API to write MT message content into native SWIFT format.
@@ -52,6 +61,157 @@ public class SwiftWriter {
     	msg.visit(v);
     }
     
+    /**
+     * Write the given message to any appendable output, such as a {@link StringBuilder}, in its native SWIFT format
+     * 
+     * @param msg the message to write
+     * @param out the output that will receive all the append operations
+     * @throws IllegalArgumentException if msg or out are <code>null</code>
+     * @since 7.9.7
+     */
+    public static void writeMessage(SwiftMessage msg, Appendable out) {
+    	Validate.notNull(msg , "msg cannot be null");
+    	Validate.notNull(out, "out cannot be null");
+    	msg.visit(new FINWriterVisitor(out));
+    }
+
+    /**
+     * Write the given message to an output stream in its native SWIFT format, encoding the content
+     * straight into bytes with the given charset.
+     * 
+     * <p>The content is buffered and the stream is flushed at the end; the stream is not closed.</p>
+     * 
+     * @param msg the message to write
+     * @param out the stream that will receive the encoded message
+     * @param charset the charset to encode the message, for example US-ASCII or UTF-8
+     * @throws IllegalArgumentException if msg, out or charset are <code>null</code>
+     * @throws WifeException if an error occurs writing to the stream
+     * @since 7.9.7
+     */
+    public static void writeMessage(SwiftMessage msg, OutputStream out, Charset charset) {
+    	Validate.notNull(msg , "msg cannot be null");
+    	Validate.notNull(out, "out cannot be null");
+    	Validate.notNull(charset, "charset cannot be null");
+    	final EncodingAppendable appendable = new EncodingAppendable(out, charset);
+    	msg.visit(new FINWriterVisitor(appendable));
+    	try {
+    		appendable.flush();
+    	} catch (IOException e) {
+    		throw new WifeException(e);
+    	}
+    }
+
+    /**
+     * Returns the given message in its native SWIFT format.
+     * The result buffer is sized upfront from the message content.
+     * 
+     * @param msg the message to write
+     * @return the message content
+     * @throws IllegalArgumentException if msg is <code>null</code>
+     * @since 7.9.7
+     */
+    public static String writeMessage(SwiftMessage msg) {
+    	Validate.notNull(msg , "msg cannot be null");
+    	final StringBuilder sb = new StringBuilder(estimatedLength(msg));
+    	msg.visit(new FINWriterVisitor(sb));
+    	return sb.toString();
+    }
+
+    /**
+     * Feeds the given message in its native SWIFT format, encoded in UTF-8, into a message digest,
+     * without writing the message into a string.
+     * 
+     * <p>The digest is updated with the same bytes of the UTF-8 encoding of {@link #writeMessage(SwiftMessage)},
+     * and it is neither reset before nor completed after the update.</p>
+     * 
+     * @param msg the message to digest
+     * @param digest the digest to update
+     * @throws IllegalArgumentException if msg or digest are <code>null</code>
+     * @since 7.9.7
+     */
+    public static void digestMessage(SwiftMessage msg, MessageDigest digest) {
+    	Validate.notNull(msg , "msg cannot be null");
+    	Validate.notNull(digest, "digest cannot be null");
+    	final DigestAppendable appendable = DigestAppendable.get(digest);
+    	try {
+    		msg.visit(new FINWriterVisitor(appendable));
+    		appendable.update();
+    	} finally {
+    		appendable.release();
+    	}
+    }
+
+    /**
+     * Feeds the given block in its native SWIFT format, encoded in UTF-8, into a message digest,
+     * without writing the block into a string.
+     * 
+     * @param b4 a not null block 4
+     * @param digest the digest to update
+     * @throws IllegalArgumentException if b4 or digest are <code>null</code>
+     * @see #digestMessage(SwiftMessage, MessageDigest)
+     * @since 7.9.7
+     */
+    public static void digestBlock4(SwiftBlock4 b4, MessageDigest digest) {
+    	Validate.notNull(b4, "b4 cannot be null");
+    	Validate.notNull(digest, "digest cannot be null");
+    	final DigestAppendable appendable = DigestAppendable.get(digest);
+    	try {
+    		final FINWriterVisitor visitor = new FINWriterVisitor(appendable);
+    		visitor.startBlock4(b4);
+    		SwiftMessage.visit(b4, visitor);
+    		visitor.endBlock4(b4);
+    		appendable.update();
+    	} finally {
+    		appendable.release();
+    	}
+    }
+
+    /**
+     * Computes the length of the message in its native SWIFT format, from the block values and tags,
+     * without taking into account the unparsed texts.
+     * 
+     * @param msg the message
+     * @return the expected length of the written message
+     * @since 7.9.7
+     */
+    static int estimatedLength(SwiftMessage msg) {
+    	int length = 0;
+    	if (msg.getBlock1() != null) {
+    		length += 4 + (msg.getBlock1().getValue() != null ? msg.getBlock1().getValue().length() : 0);
+    	}
+    	if (msg.getBlock2() != null) {
+    		length += 4 + (msg.getBlock2().getValue() != null ? msg.getBlock2().getValue().length() : 0);
+    	}
+    	length += estimatedLength(msg.getBlock3());
+    	length += estimatedLength(msg.getBlock4());
+    	length += estimatedLength(msg.getBlock5());
+    	final List<SwiftBlockUser> userBlocks = msg.getUserBlocks();
+    	if (userBlocks != null) {
+    		for (final SwiftBlockUser b : userBlocks) {
+    			length += estimatedLength(b);
+    		}
+    	}
+    	return length;
+    }
+
+    /**
+     * @return block delimiters and, for each tag, its name, value and tag delimiters or line breaks
+     */
+    private static int estimatedLength(SwiftTagListBlock b) {
+    	if (b == null) {
+    		return 0;
+    	}
+    	int length = 7;
+    	final List<Tag> tags = b.getTags();
+    	for (int i = 0; i < tags.size(); i++) {
+    		final Tag t = tags.get(i);
+    		if (t != null) {
+    			length += 4 + (t.getName() != null ? t.getName().length() : 0) + (t.getValue() != null ? t.getValue().length() : 0);
+    		}
+    	}
+    	return length;
+    }
+
     /**
      * Get a string with the internal xml representation of a message.
      * @param msg the message to write 
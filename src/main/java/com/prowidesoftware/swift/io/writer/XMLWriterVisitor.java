@@ -14,12 +14,16 @@
  *******************************************************************************/
 package com.prowidesoftware.swift.io.writer;
 
-import java.io.IOException;
 import java.io.Writer;
 import java.util.List;
 import java.util.logging.Level;
 
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
 
 import com.prowidesoftware.swift.WifeException;
 import com.prowidesoftware.swift.model.SwiftBlock;
@@ -41,6 +45,10 @@ import com.prowidesoftware.swift.utils.IMessageVisitor;
  * Main class for XML generation, that is called from {@link SwiftMessage#visit(IMessageVisitor)}.
  * Presence of blocks is checked by the calling class so the methods below asume that blocks are not null.
  * 
+ * <p>The XML is written with a StAX stream writer created from a shared factory, so the element content
+ * is escaped. The output is flushed to the underlying writer at the end of each message; the same visitor
+ * can be used to write many messages into one writer.</p>
+ * 
  * @author www.prowidesoftware.com
  */
 public class XMLWriterVisitor implements IMessageVisitor {
@@ -49,7 +57,9 @@ public class XMLWriterVisitor implements IMessageVisitor {
 	
 	private static final String EOL = System.getProperties().getProperty("line.separator", "\n");
 
-	private Writer writer;
+	private static final XMLOutputFactory FACTORY = XMLOutputFactory.newInstance();
+
+	private final XMLStreamWriter writer;
 
 	private boolean useField;
 
@@ -59,7 +69,7 @@ public class XMLWriterVisitor implements IMessageVisitor {
 	 * @param writer
 	 */
 	public XMLWriterVisitor(Writer writer) {
-		this.writer = writer;
+		this(writer, false);
 	}
 	
 	/**
@@ -68,17 +78,38 @@ public class XMLWriterVisitor implements IMessageVisitor {
 	 * @param useField use {@link Field} for serialization, instead of Tag
 	 */
 	public XMLWriterVisitor(Writer writer, boolean useField) {
+		this(createWriter(writer), useField);
+	}
+
+	/**
+	 * Constructor for XMLWriteVisitor writing into a StAX stream writer, for example to write
+	 * the messages inside an enclosing document
+	 * @param writer the stream writer, the document start and end are not written by this visitor
+	 * @param useField use {@link Field} for serialization, instead of Tag
+	 * @since 7.9.7
+	 */
+	public XMLWriterVisitor(final XMLStreamWriter writer, final boolean useField) {
+		Validate.notNull(writer, "writer must not be null");
 		this.writer = writer;
 		this.useField = useField;
 	}
 
+	private static XMLStreamWriter createWriter(final Writer writer) {
+		Validate.notNull(writer, "writer must not be null");
+		try {
+			return FACTORY.createXMLStreamWriter(writer);
+		} catch (final XMLStreamException e) {
+			throw error(e);
+		}
+	}
+
 	////////////////////////////////////////////////////////////
 	//
 	// MESSAGE HANDLING
 	//
 	////////////////////////////////////////////////////////////
 	public void startMessage(SwiftMessage m) {
-		write("<message>");
+		start("message");
 	}
 
 	public void endMessage(SwiftMessage m) {
@@ -91,7 +122,13 @@ public class XMLWriterVisitor implements IMessageVisitor {
 		if (m.getUnparsedTextsSize().intValue() > 0)
 			write(m.getUnparsedTexts(), 0);
 
-		write(EOL+"</message>");
+		write(EOL);
+		end();
+		try {
+			writer.flush();
+		} catch (final XMLStreamException e) {
+			throw error(e);
+		}
 	}
 
 	////////////////////////////////////////////////////////////
@@ -100,25 +137,24 @@ public class XMLWriterVisitor implements IMessageVisitor {
 	//
 	////////////////////////////////////////////////////////////
 	public void startBlock1(SwiftBlock1 b) {
-		write(EOL+"<block1>");
+		write(EOL);
+		start("block1");
 	}
 
 	public void value(SwiftBlock1  b, String v) {
 		// generate the attributes for this block
-		final StringBuilder sb = new StringBuilder();
 		if ( ! b.isEmpty()) {
-			appendElement(sb, "applicationId", b.getApplicationId());
-			appendElement(sb, "serviceId", b.getServiceId());
-			appendElement(sb, "logicalTerminal", b.getLogicalTerminal());
+			appendElement("applicationId", b.getApplicationId());
+			appendElement("serviceId", b.getServiceId());
+			appendElement("logicalTerminal", b.getLogicalTerminal());
 			if (b.getSessionNumber() != null) {
 				// optional for service messages
-				appendElement(sb, "sessionNumber", b.getSessionNumber());
+				appendElement("sessionNumber", b.getSessionNumber());
 			}
 			if (b.getSequenceNumber() != null) {
 				// optional for service messages
-				appendElement(sb, "sequenceNumber",	b.getSequenceNumber());
+				appendElement("sequenceNumber",	b.getSequenceNumber());
 			}
-			write(sb.toString());
 		}
 	}
 	
@@ -133,7 +169,8 @@ public class XMLWriterVisitor implements IMessageVisitor {
 			write(b.getUnparsedTexts(), 1);
 
 		// write block termination
-		write(EOL+"</block1>");
+		write(EOL);
+		end();
 	}
 
 	////////////////////////////////////////////////////////////
@@ -143,14 +180,17 @@ public class XMLWriterVisitor implements IMessageVisitor {
 	////////////////////////////////////////////////////////////
 	public void startBlock2(SwiftBlock2 b) {
 		// decide on the tag to use
-		String xmlTag = "<block2>";
+		String type = null;
 		if (!b.isEmpty()) {
 			if (b instanceof SwiftBlock2Input)
-				xmlTag = "<block2 type=\"input\">";
+				type = "input";
 			if (b instanceof SwiftBlock2Output)
-				xmlTag = "<block2 type=\"output\">";
+				type = "output";
 		}
-		write(EOL + xmlTag);
+		write(EOL);
+		start("block2");
+		if (type != null)
+			attribute("type", type);
 	}
 
 	public void value(SwiftBlock2  b, String v) {
@@ -161,39 +201,36 @@ public class XMLWriterVisitor implements IMessageVisitor {
 		}
 		
 		// generate the attributes for this block
-		final StringBuilder sb = new StringBuilder();
 		if (b instanceof SwiftBlock2Input) {
 			SwiftBlock2Input b2 = (SwiftBlock2Input) b;
-			appendElement(sb, "messageType", b2.getMessageType());
-			appendElement(sb, "receiverAddress", b2.getReceiverAddress());
+			appendElement("messageType", b2.getMessageType());
+			appendElement("receiverAddress", b2.getReceiverAddress());
 			if (b2.getMessagePriority() != null) {
 				// optional for service messages
-				appendElement(sb, "messagePriority", b2.getMessagePriority());
+				appendElement("messagePriority", b2.getMessagePriority());
 			}
 			if (b2.getDeliveryMonitoring() != null)	{
 				// optional for service messages
-				appendElement(sb, "deliveryMonitoring",	b2.getDeliveryMonitoring());
+				appendElement("deliveryMonitoring",	b2.getDeliveryMonitoring());
 			}
 			if (b2.getObsolescencePeriod() != null)	{
 				// optional for service messages
-				appendElement(sb, "obsolescencePeriod",	b2.getObsolescencePeriod());
+				appendElement("obsolescencePeriod",	b2.getObsolescencePeriod());
 			}
 		}
 		if (b instanceof SwiftBlock2Output) {
 			SwiftBlock2Output b2 = (SwiftBlock2Output) b;
-			appendElement(sb, "messageType",		b2.getMessageType());
-			appendElement(sb, "senderInputTime",	b2.getSenderInputTime());
-			appendElement(sb, "MIRDate",			b2.getMIRDate());
-			appendElement(sb, "MIRLogicalTerminal",	b2.getMIRLogicalTerminal());
-			appendElement(sb, "MIRSessionNumber",	b2.getMIRSessionNumber());
-			appendElement(sb, "MIRSequenceNumber",	b2.getMIRSequenceNumber());
-			appendElement(sb, "receiverOutputDate",	b2.getReceiverOutputDate());
-			appendElement(sb, "receiverOutputTime",	b2.getReceiverOutputTime());
+			appendElement("messageType",		b2.getMessageType());
+			appendElement("senderInputTime",	b2.getSenderInputTime());
+			appendElement("MIRDate",			b2.getMIRDate());
+			appendElement("MIRLogicalTerminal",	b2.getMIRLogicalTerminal());
+			appendElement("MIRSessionNumber",	b2.getMIRSessionNumber());
+			appendElement("MIRSequenceNumber",	b2.getMIRSequenceNumber());
+			appendElement("receiverOutputDate",	b2.getReceiverOutputDate());
+			appendElement("receiverOutputTime",	b2.getReceiverOutputTime());
 			if (b2.getMessagePriority() != null)		// optional for service messages
-			appendElement(sb, "messagePriority",	b2.getMessagePriority());
+			appendElement("messagePriority",	b2.getMessagePriority());
 		}
-		
-		write(sb.toString());
 	}
 
 	public void endBlock2(SwiftBlock2 b) {
@@ -207,7 +244,8 @@ public class XMLWriterVisitor implements IMessageVisitor {
 			write(b.getUnparsedTexts(), 1);
 
 		// write block termination
-		write(EOL+"</block2>");
+		write(EOL);
+		end();
 	}
 
 	////////////////////////////////////////////////////////////
@@ -216,7 +254,8 @@ public class XMLWriterVisitor implements IMessageVisitor {
 	//
 	////////////////////////////////////////////////////////////
 	public void startBlock3(SwiftBlock3 b) {
-		write(EOL+"<block3>");
+		write(EOL);
+		start("block3");
 	}
 
 	public void tag(SwiftBlock3 b, Tag t) {
@@ -234,7 +273,8 @@ public class XMLWriterVisitor implements IMessageVisitor {
 			write(b.getUnparsedTexts(), 1);
 
 		// write block termination
-		write(EOL+"</block3>");
+		write(EOL);
+		end();
 	}
 
 	////////////////////////////////////////////////////////////
@@ -243,7 +283,8 @@ public class XMLWriterVisitor implements IMessageVisitor {
 	//
 	////////////////////////////////////////////////////////////
 	public void startBlock4(SwiftBlock4 b) {
-		write(EOL+"<block4>");
+		write(EOL);
+		start("block4");
 	}
 
 	public void tag(SwiftBlock4 b, Tag t) {
@@ -265,7 +306,8 @@ public class XMLWriterVisitor implements IMessageVisitor {
 			write(b.getUnparsedTexts(), 1);
 
 		// write block termination
-		write(EOL+"</block4>");
+		write(EOL);
+		end();
 	}
 
 	////////////////////////////////////////////////////////////
@@ -274,7 +316,8 @@ public class XMLWriterVisitor implements IMessageVisitor {
 	//
 	////////////////////////////////////////////////////////////
 	public void startBlock5(SwiftBlock5 b) {
-		write(EOL+"<block5>");
+		write(EOL);
+		start("block5");
 	}
 
 	public void tag(SwiftBlock5 b, Tag t) {
@@ -292,7 +335,8 @@ public class XMLWriterVisitor implements IMessageVisitor {
 			write(b.getUnparsedTexts(), 1);
 
 		// write block termination
-		write(EOL+"</block5>");
+		write(EOL);
+		end();
 	}
 
 	////////////////////////////////////////////////////////////
@@ -301,7 +345,9 @@ public class XMLWriterVisitor implements IMessageVisitor {
 	//
 	////////////////////////////////////////////////////////////
 	public void startBlockUser(SwiftBlockUser b) {
-		write(EOL+"<block name=\"" + b.getName() + "\">");
+		write(EOL);
+		start("block");
+		attribute("name", String.valueOf(b.getName()));
 	}
 
 	public void tag(SwiftBlockUser b, Tag t) {
@@ -319,7 +365,8 @@ public class XMLWriterVisitor implements IMessageVisitor {
 			write(b.getUnparsedTexts(), 1);
 
 		// write block termination
-		write(EOL+"</block>");
+		write(EOL);
+		end();
 	}
 
 	////////////////////////////////////////////////////////////
@@ -351,15 +398,16 @@ public class XMLWriterVisitor implements IMessageVisitor {
 	////////////////////////////////////////////////////////////
 	private final void appendTag(Tag t) {
 		// generate the xml tag
-		write(EOL+"\t<tag>");
-		write(EOL+"\t\t<name>");
-		if (t.getName() != null)			// otherwise, null name writes name "null"
-			write(t.getName());
-		write("</name>");
-		write(EOL+"\t\t<value>");
-		if (t.getValue() != null)			// otherwise, null value writes value "null" 
-			write(t.getValue());
-		write("</value>");
+		write(EOL+"\t");
+		start("tag");
+		write(EOL+"\t\t");
+		start("name");
+		write(StringUtils.defaultString(t.getName()));			// otherwise, null name writes name "null"
+		end();
+		write(EOL+"\t\t");
+		start("value");
+		write(StringUtils.defaultString(t.getValue()));			// otherwise, null value writes value "null" 
+		end();
 
 		// if tag has unparsed texts, write them down
 		//
@@ -370,7 +418,8 @@ public class XMLWriterVisitor implements IMessageVisitor {
 			write(t.getUnparsedTexts(), 2);
 
 		// write tag termination
-		write(EOL+"\t</tag>");
+		write(EOL+"\t");
+		end();
 	}
 
 	private void appendField(Tag tag) {
@@ -381,31 +430,36 @@ public class XMLWriterVisitor implements IMessageVisitor {
 			// Something went wrong
 		} else {
 			// generate the xml tag
-			write(EOL+"\t<field>");
-			write(EOL+"\t\t<name>");
-			if (f.getName() != null)			// otherwise, null name writes name "null"
-				write(f.getName());
-			write("</name>");
+			write(EOL+"\t");
+			start("field");
+			write(EOL+"\t\t");
+			start("name");
+			write(StringUtils.defaultString(f.getName()));			// otherwise, null name writes name "null"
+			end();
 			final List<String> components = f.getComponents();
 			for(int i=0;i<components.size();i++) {
 				final int id = i+1;
 				final String component = components.get(i);
 				if (component != null) {
-					write(EOL+"\t\t<component number=\""+id+"\">");
+					write(EOL+"\t\t");
+					start("component");
+					attribute("number", String.valueOf(id));
 					write(component);
-					write("</component>");
+					end();
 				}
 			}
 
 			// write tag termination
-			write(EOL+"\t</field>");
+			write(EOL+"\t");
+			end();
 		}
 	}
 
-	private final void appendElement(StringBuilder sb, String element, String value) {
-		sb.append(EOL+"\t<").append(element).append('>')
-		.append(value)
-		.append("</").append(element).append('>');
+	private final void appendElement(String element, String value) {
+		write(EOL+"\t");
+		start(element);
+		write(String.valueOf(value));
+		end();
 	}
 
 	private void write(UnparsedTextList texts, int level) {
@@ -419,22 +473,57 @@ public class XMLWriterVisitor implements IMessageVisitor {
 		
 		// write the unparsed texts (if any)
 		if (texts.size().intValue() > 0) {
-			write(EOL + prefix + "<unparsedTexts>");
+			write(EOL + prefix);
+			start("unparsedTexts");
 			for(int i = 0; i < texts.size().intValue(); i++) {
-				write(EOL + prefix + "\t<text>");
-				write(texts.getText(Integer.valueOf(i)));
-				write("</text>");
+				write(EOL + prefix + "\t");
+				start("text");
+				write(String.valueOf(texts.getText(Integer.valueOf(i))));
+				end();
 			}
-			write(EOL + prefix + "</unparsedTexts>");
+			write(EOL + prefix);
+			end();
 		}
 	}
 
+	/**
+	 * Writes escaped text content; an empty string still closes the start tag so empty elements
+	 * are written with start and end tags as in previous versions
+	 */
 	private void write(String s) {
 		try {
-			writer.write(s);
-		} catch (IOException e) {
-			log.log(Level.SEVERE, "Caught exception in XMLWriterVisitor, method write", e);
-			throw new WifeException(e);
+			writer.writeCharacters(s);
+		} catch (XMLStreamException e) {
+			throw error(e);
+		}
+	}
+
+	private void start(String element) {
+		try {
+			writer.writeStartElement(element);
+		} catch (XMLStreamException e) {
+			throw error(e);
+		}
+	}
+
+	private void attribute(String name, String value) {
+		try {
+			writer.writeAttribute(name, value);
+		} catch (XMLStreamException e) {
+			throw error(e);
+		}
+	}
+
+	private void end() {
+		try {
+			writer.writeEndElement();
+		} catch (XMLStreamException e) {
+			throw error(e);
 		}
 	}
+
+	private static WifeException error(XMLStreamException e) {
+		log.log(Level.SEVERE, "Caught exception in XMLWriterVisitor, method write", e);
+		return new WifeException(e);
+	}
 }
@@ -63,7 +63,7 @@ public class BbanStructureValidations {
         }
     }
 
-    public static BbanStructureValidations getInstance() {
+    public static synchronized BbanStructureValidations getInstance() {
         if (instance==null) {
             instance = new BbanStructureValidations();
         }
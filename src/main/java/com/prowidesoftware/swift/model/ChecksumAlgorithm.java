@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.model;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.prowidesoftware.swift.utils.Murmur3Digest;
+
+/**
+ * Hash algorithms supported for the proprietary message checksums.
+ *
+ * <p>Each thread reuses one digest instance per algorithm, plus a second one to hash the text block
+ * while the message is hashed.</p>
+ *
+ * @see SwiftMessageUtils#calculateChecksum(SwiftMessage, ChecksumAlgorithm)
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public enum ChecksumAlgorithm {
+	/**
+	 * MD5, 128 bits, the default for the checksums stored in {@link AbstractSwiftMessage}
+	 */
+	MD5("MD5"),
+	/**
+	 * SHA-256, 256 bits
+	 */
+	SHA_256("SHA-256"),
+	/**
+	 * MurmurHash3 x64 128 bits, a fast non cryptographic hash for duplicates detection
+	 * @see Murmur3Digest
+	 */
+	MURMUR3_128(Murmur3Digest.ALGORITHM);
+
+	private final String algorithm;
+
+	private final ThreadLocal<MessageDigest> digests = new ThreadLocal<MessageDigest>() {
+		@Override
+		protected MessageDigest initialValue() {
+			return newDigest();
+		}
+	};
+
+	private final ThreadLocal<MessageDigest> blockDigests = new ThreadLocal<MessageDigest>() {
+		@Override
+		protected MessageDigest initialValue() {
+			return newDigest();
+		}
+	};
+
+	ChecksumAlgorithm(final String algorithm) {
+		this.algorithm = algorithm;
+	}
+
+	/**
+	 * @return the standard name of the algorithm
+	 */
+	public String algorithm() {
+		return this.algorithm;
+	}
+
+	/**
+	 * Creates a new digest instance for this algorithm
+	 * @return the created digest
+	 * @throws IllegalStateException if the algorithm is not available in the platform
+	 */
+	public MessageDigest newDigest() {
+		if (this == MURMUR3_128) {
+			return new Murmur3Digest();
+		}
+		try {
+			return MessageDigest.getInstance(this.algorithm);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(this.algorithm + " is not available", e);
+		}
+	}
+
+	/**
+	 * Gets the digest of the current thread for this algorithm, reset and ready to be updated.
+	 * The instance must not be shared with other threads.
+	 * @return the digest for this algorithm and thread
+	 */
+	MessageDigest digest() {
+		final MessageDigest digest = this.digests.get();
+		digest.reset();
+		return digest;
+	}
+
+	/**
+	 * Gets the second digest of the current thread for this algorithm, reset and ready to be updated,
+	 * to hash the text block while the message is hashed with {@link #digest()}.
+	 * The instance must not be shared with other threads.
+	 * @return the block digest for this algorithm and thread
+	 */
+	MessageDigest blockDigest() {
+		final MessageDigest digest = this.blockDigests.get();
+		digest.reset();
+		return digest;
+	}
+}
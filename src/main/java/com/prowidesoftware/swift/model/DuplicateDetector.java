@@ -0,0 +1,479 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+
+/**
+ * In memory index of recently seen messages, to flag possible duplicates (PDE/PDM) without querying a message store.
+ *
+ * <p>Each registered message is indexed by the identifiers selected with {@link Key}: its checksums, the
+ * UUID and MUR of MT messages, and the sender and reference. A message is reported as duplicate when any of
+ * its identifiers was already registered within the time window. The index is bounded both by time and by
+ * size: entries older than the window are discarded, and when the maximum number of entries is reached the
+ * oldest ones are evicted.</p>
+ *
+ * <p>Optionally, identifiers evicted because of the size bound are kept in a Bloom filter for the long tail.
+ * Those can only be reported as possible matches, since a Bloom filter can give false positives. The filter
+ * has two generations of the configured capacity, so it remembers approximately the last evicted identifiers
+ * between one and two times its capacity, with a false positive rate of about one percent.</p>
+ *
+ * <p>The index is split in shards locked independently, so instances can be shared and queried concurrently
+ * by several threads. Note that the checksums are only computed for MT messages, see {@link AbstractSwiftMessage#getChecksum()}.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public class DuplicateDetector {
+	private static final Logger log = Logger.getLogger(DuplicateDetector.class.getName());
+
+	/**
+	 * Number of independently locked shards, a power of two
+	 */
+	static final int SHARDS = 16;
+
+	/**
+	 * Message identifiers used to detect duplicates
+	 */
+	public enum Key {
+		/**
+		 * Checksum of the whole message, see {@link AbstractSwiftMessage#getChecksum()}
+		 */
+		CHECKSUM,
+		/**
+		 * Checksum of the text block, see {@link AbstractSwiftMessage#getChecksumBody()}
+		 */
+		CHECKSUM_BODY,
+		/**
+		 * UUID of MT messages, see {@link MtSwiftMessage#getUuid()}
+		 */
+		UUID,
+		/**
+		 * MUR of MT messages, see {@link MtSwiftMessage#getMur()}
+		 */
+		MUR,
+		/**
+		 * Sender and reference, see {@link AbstractSwiftMessage#getReference()}
+		 */
+		REFERENCE
+	}
+
+	/**
+	 * Outcome of a duplicate check
+	 */
+	public static final class Result {
+		private final Map<Key, Long> matches = new EnumMap<Key, Long>(Key.class);
+		private final Set<Key> possibleMatches = EnumSet.noneOf(Key.class);
+
+		Result() {
+		}
+
+		/**
+		 * @return true if at least one identifier was found in the index
+		 */
+		public boolean isDuplicate() {
+			return !this.matches.isEmpty();
+		}
+
+		/**
+		 * @return true if the message is a duplicate or at least one identifier was found in the long tail filter
+		 */
+		public boolean isPossibleDuplicate() {
+			return isDuplicate() || !this.possibleMatches.isEmpty();
+		}
+
+		/**
+		 * @return the identifiers found in the index
+		 */
+		public Set<Key> getMatches() {
+			return Collections.unmodifiableSet(this.matches.keySet());
+		}
+
+		/**
+		 * @return the identifiers not found in the index but found in the long tail filter
+		 */
+		public Set<Key> getPossibleMatches() {
+			return Collections.unmodifiableSet(this.possibleMatches);
+		}
+
+		/**
+		 * Gets the id of the message first registered with the given identifier.
+		 * @param key an identifier kind
+		 * @return the {@link AbstractSwiftMessage#getId()} of the matching message, or null if the identifier
+		 * was not matched or the matching message had no id
+		 */
+		public Long getOriginalId(final Key key) {
+			return this.matches.get(key);
+		}
+
+		@Override
+		public String toString() {
+			return "Result [matches=" + this.matches.keySet() + ", possibleMatches=" + this.possibleMatches + "]";
+		}
+	}
+
+	private final Shard[] shards = new Shard[SHARDS];
+	private final long windowMillis;
+	private final Set<Key> keys;
+	private final LongTailFilter filter;
+
+	/**
+	 * Creates a detector using all the identifiers and without the long tail filter
+	 * @param maxEntries maximum number of identifiers kept in the index
+	 * @param window time each identifier is kept in the index
+	 * @param unit the time unit of the window
+	 * @throws IllegalArgumentException if maxEntries or window are not positive, or unit is null
+	 */
+	public DuplicateDetector(final int maxEntries, final long window, final TimeUnit unit) {
+		this(maxEntries, window, unit, 0, EnumSet.allOf(Key.class));
+	}
+
+	/**
+	 * Creates a detector
+	 * @param maxEntries maximum number of identifiers kept in the index
+	 * @param window time each identifier is kept in the index
+	 * @param unit the time unit of the window
+	 * @param longTailEntries capacity of each generation of the Bloom filter for identifiers evicted from the
+	 * index when it is full, or zero to disable the filter
+	 * @param keys the identifiers to index
+	 * @throws IllegalArgumentException if maxEntries or window are not positive, longTailEntries is negative,
+	 * or unit or keys are null or empty
+	 */
+	public DuplicateDetector(final int maxEntries, final long window, final TimeUnit unit, final int longTailEntries, final Set<Key> keys) {
+		Validate.isTrue(maxEntries > 0, "maxEntries must be positive");
+		Validate.isTrue(window > 0, "window must be positive");
+		Validate.notNull(unit, "unit must not be null");
+		Validate.isTrue(longTailEntries >= 0, "longTailEntries must not be negative");
+		Validate.notEmpty(keys, "at least one key is required");
+		this.windowMillis = unit.toMillis(window);
+		this.keys = Collections.unmodifiableSet(EnumSet.copyOf(keys));
+		this.filter = longTailEntries > 0 ? new LongTailFilter(longTailEntries) : null;
+		final int perShard = (maxEntries + SHARDS - 1) / SHARDS;
+		for (int i = 0; i < SHARDS; i++) {
+			this.shards[i] = new Shard(perShard, this.filter);
+		}
+	}
+
+	/**
+	 * Checks if the message is a duplicate of a registered message, without registering it.
+	 * @param msg the message to check
+	 * @return the identifiers found, an empty result if msg is null
+	 */
+	public Result check(final AbstractSwiftMessage msg) {
+		return lookup(msg, false);
+	}
+
+	/**
+	 * Checks if the message is a duplicate of a registered message, and registers its identifiers.
+	 * Identifiers already present in the index are kept with their original registration time and id.
+	 * @param msg the message to register
+	 * @return the identifiers already registered before this call, an empty result if msg is null
+	 */
+	public Result register(final AbstractSwiftMessage msg) {
+		return lookup(msg, true);
+	}
+
+	/**
+	 * Tells if an identifier is present in the index
+	 * @param key the identifier kind
+	 * @param value the identifier value
+	 * @return true if the value was registered within the time window and not evicted
+	 */
+	public boolean contains(final Key key, final String value) {
+		if (key == null || value == null) {
+			return false;
+		}
+		final String k = indexKey(key, value);
+		return shard(k).get(k, currentTimeMillis() - this.windowMillis) != null;
+	}
+
+	/**
+	 * Tells if an identifier is present in the index or in the long tail filter
+	 * @param key the identifier kind
+	 * @param value the identifier value
+	 * @return true if the value is in the index or might have been evicted from it, false if it is definitely
+	 * not a recent identifier
+	 */
+	public boolean mightContain(final Key key, final String value) {
+		if (contains(key, value)) {
+			return true;
+		}
+		return this.filter != null && value != null && this.filter.mightContain(indexKey(key, value));
+	}
+
+	/**
+	 * @return the number of identifiers in the index, including the ones expired but not yet discarded
+	 */
+	public int size() {
+		int size = 0;
+		for (final Shard s : this.shards) {
+			synchronized (s) {
+				size += s.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Removes all the identifiers from the index and the long tail filter
+	 */
+	public void clear() {
+		for (final Shard s : this.shards) {
+			synchronized (s) {
+				s.clear();
+			}
+		}
+		if (this.filter != null) {
+			this.filter.clear();
+		}
+	}
+
+	/**
+	 * @return the identifiers indexed by this detector
+	 */
+	public Set<Key> getKeys() {
+		return this.keys;
+	}
+
+	/**
+	 * Gets the value of an identifier for a message. Subclasses may override this to customize the identifiers.
+	 * @param key the identifier kind
+	 * @param msg the message
+	 * @return the identifier value or null if it is not available for the message
+	 */
+	protected String keyValue(final Key key, final AbstractSwiftMessage msg) {
+		switch (key) {
+		case CHECKSUM:
+			return msg.getChecksum();
+		case CHECKSUM_BODY:
+			return msg.getChecksumBody();
+		case UUID:
+			return msg instanceof MtSwiftMessage ? ((MtSwiftMessage) msg).getUuid() : null;
+		case MUR:
+			return msg instanceof MtSwiftMessage ? ((MtSwiftMessage) msg).getMur() : null;
+		case REFERENCE:
+			return msg.getReference() != null ? StringUtils.trimToEmpty(msg.getSender()) + "/" + msg.getReference() : null;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Time source for the window, overridden in tests
+	 */
+	long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	private Result lookup(final AbstractSwiftMessage msg, final boolean register) {
+		final Result result = new Result();
+		if (msg == null) {
+			return result;
+		}
+		final long now = currentTimeMillis();
+		final long oldest = now - this.windowMillis;
+		for (final Key key : this.keys) {
+			final String value = keyValue(key, msg);
+			if (StringUtils.isNotEmpty(value)) {
+				final String k = indexKey(key, value);
+				final Shard shard = shard(k);
+				final Entry found = register ? shard.putIfAbsent(k, now, oldest, msg.getId()) : shard.get(k, oldest);
+				if (found != null) {
+					result.matches.put(key, found.id);
+				} else if (this.filter != null && this.filter.mightContain(k)) {
+					result.possibleMatches.add(key);
+				}
+			}
+		}
+		if (result.isPossibleDuplicate() && log.isLoggable(Level.FINE)) {
+			log.fine("possible duplicate message " + msg.getId() + ": " + result);
+		}
+		return result;
+	}
+
+	private static String indexKey(final Key key, final String value) {
+		return new StringBuilder(value.length() + 1).append((char) ('A' + key.ordinal())).append(value).toString();
+	}
+
+	private Shard shard(final String key) {
+		final int h = key.hashCode();
+		return this.shards[(h ^ (h >>> 16)) & (SHARDS - 1)];
+	}
+
+	/**
+	 * Registration time and message id of an identifier
+	 */
+	private static final class Entry {
+		private final long time;
+		private final Long id;
+
+		Entry(final long time, final Long id) {
+			this.time = time;
+			this.id = id;
+		}
+	}
+
+	/**
+	 * Identifiers in registration order, so the expired and the evicted entries are always at the head
+	 */
+	private static final class Shard extends LinkedHashMap<String, Entry> {
+		private static final long serialVersionUID = 1L;
+		private final int capacity;
+		private final transient LongTailFilter filter;
+
+		Shard(final int capacity, final LongTailFilter filter) {
+			super(Math.min(capacity, 1024) * 4 / 3 + 1);
+			this.capacity = capacity;
+			this.filter = filter;
+		}
+
+		synchronized Entry get(final String key, final long oldest) {
+			expire(oldest);
+			return super.get(key);
+		}
+
+		synchronized Entry putIfAbsent(final String key, final long now, final long oldest, final Long id) {
+			expire(oldest);
+			final Entry existing = super.get(key);
+			if (existing == null) {
+				put(key, new Entry(now, id));
+			}
+			return existing;
+		}
+
+		private void expire(final long oldest) {
+			final Iterator<Entry> it = values().iterator();
+			while (it.hasNext() && it.next().time < oldest) {
+				it.remove();
+			}
+		}
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+			if (size() > this.capacity) {
+				if (this.filter != null) {
+					this.filter.add(eldest.getKey());
+				}
+				return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Two generations Bloom filter. When the current generation reaches its capacity it replaces the previous one
+	 * and a new empty generation is started.
+	 */
+	static final class LongTailFilter {
+		private static final int HASHES = 7;
+		private final int capacity;
+		private final int bits;
+		private volatile AtomicLongArray current;
+		private volatile AtomicLongArray previous;
+		private int count;
+
+		LongTailFilter(final int capacity) {
+			this.capacity = capacity;
+			// about 9.6 bits per entry and 7 hashes for a 1% false positive rate
+			this.bits = (int) Math.min(Integer.MAX_VALUE - 63L, Math.max(64L, capacity * 96L / 10));
+			this.current = newGeneration();
+			this.previous = newGeneration();
+		}
+
+		private AtomicLongArray newGeneration() {
+			return new AtomicLongArray((this.bits + 63) >>> 6);
+		}
+
+		synchronized void add(final String key) {
+			if (++this.count > this.capacity) {
+				this.previous = this.current;
+				this.current = newGeneration();
+				this.count = 1;
+			}
+			final AtomicLongArray gen = this.current;
+			final int h1 = hash1(key);
+			final int h2 = hash2(key);
+			for (int i = 0; i < HASHES; i++) {
+				final int bit = index(h1, h2, i);
+				final int word = bit >>> 6;
+				final long mask = 1L << bit;
+				long v;
+				do {
+					v = gen.get(word);
+				} while ((v & mask) == 0 && !gen.compareAndSet(word, v, v | mask));
+			}
+		}
+
+		boolean mightContain(final String key) {
+			final int h1 = hash1(key);
+			final int h2 = hash2(key);
+			return contains(this.current, h1, h2) || contains(this.previous, h1, h2);
+		}
+
+		synchronized void clear() {
+			this.current = newGeneration();
+			this.previous = newGeneration();
+			this.count = 0;
+		}
+
+		private boolean contains(final AtomicLongArray gen, final int h1, final int h2) {
+			for (int i = 0; i < HASHES; i++) {
+				final int bit = index(h1, h2, i);
+				if ((gen.get(bit >>> 6) & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private int index(final int h1, final int h2, final int i) {
+			return ((h1 + i * h2) & Integer.MAX_VALUE) % this.bits;
+		}
+
+		private static int hash1(final String key) {
+			// murmur3 finalizer over the String hash
+			int h = key.hashCode();
+			h ^= h >>> 16;
+			h *= 0x85ebca6b;
+			h ^= h >>> 13;
+			h *= 0xc2b2ae35;
+			h ^= h >>> 16;
+			return h;
+		}
+
+		private static int hash2(final String key) {
+			// FNV-1a over the chars, forced odd so the probes do not collapse
+			int h = 0x811c9dc5;
+			for (int i = 0; i < key.length(); i++) {
+				h ^= key.charAt(i);
+				h *= 0x01000193;
+			}
+			return h | 1;
+		}
+	}
+}
@@ -106,6 +106,9 @@ public class IBAN {
      * For the BBAN validation the specific per country structure must be defined either in the
      * BbanStructureValidations.json file or by API in the {@link BbanStructureValidations} instance.</p>
      *
+     * <p>The returned enum value holds the details of the problem found until the next validation, so
+     * it must not be used concurrently. For concurrent or bulk validations use {@link IbanValidator} instead.</p>
+     *
      * @return IbanFormatStatus with detailed information of the validation problem found
      */
     public IbanValidationResult validate() {
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable outcome of an IBAN validation performed by {@link IbanValidator}.
+ *
+ * <p>Contrary to the {@link IbanValidationResult} returned by {@link IBAN#validate()}, the variables
+ * describing the problem found are held by this object, so results of different validations can be kept
+ * and used concurrently.</p>
+ *
+ * @since 7.9.7
+ */
+public final class IbanValidation {
+
+    /**
+     * Successful validation
+     */
+    public static final IbanValidation OK = new IbanValidation(IbanValidationResult.OK, Collections.<String, String>emptyMap());
+
+    private final IbanValidationResult result;
+    private final Map<String, String> vars;
+
+    private IbanValidation(final IbanValidationResult result, final Map<String, String> vars) {
+        this.result = result;
+        this.vars = vars;
+    }
+
+    /**
+     * Creates a validation outcome with no variables
+     */
+    static IbanValidation of(final IbanValidationResult result) {
+        return new IbanValidation(result, Collections.<String, String>emptyMap());
+    }
+
+    /**
+     * Creates a validation outcome with the given variables, as name value pairs
+     */
+    static IbanValidation of(final IbanValidationResult result, final String... vars) {
+        final Map<String, String> map = new HashMap<String, String>();
+        for (int i = 0; i + 1 < vars.length; i += 2) {
+            map.put(vars[i], vars[i + 1]);
+        }
+        return new IbanValidation(result, Collections.unmodifiableMap(map));
+    }
+
+    /**
+     * @return the validation problem found or {@link IbanValidationResult#OK}
+     */
+    public IbanValidationResult getResult() {
+        return result;
+    }
+
+    /**
+     * @return true if the IBAN is valid
+     */
+    public boolean isValid() {
+        return result == IbanValidationResult.OK;
+    }
+
+    /**
+     * Validation problem description including expected and found content when necessary
+     */
+    public String message() {
+        return result.message(this.vars);
+    }
+
+    /**
+     * @return the read-only validation message parameters
+     */
+    public Map<String, String> vars() {
+        return vars;
+    }
+
+    @Override
+    public String toString() {
+        return result.name() + ": " + message();
+    }
+
+}
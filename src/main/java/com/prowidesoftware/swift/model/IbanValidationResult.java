@@ -63,7 +63,15 @@ public enum IbanValidationResult {
      * Validation problem description including expected and found content when necessary
      */
     public String message() {
-        final StrSubstitutor sub = new StrSubstitutor(this.vars);
+        return message(this.vars);
+    }
+
+    /**
+     * Validation problem description with the given expected and found content
+     * @since 7.9.7
+     */
+    String message(final Map<String, String> vars) {
+        final StrSubstitutor sub = new StrSubstitutor(vars);
         return sub.replace(this.message);
     }
 
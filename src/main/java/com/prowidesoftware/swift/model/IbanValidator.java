@@ -0,0 +1,400 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.lang.Validate;
+
+import com.prowidesoftware.swift.utils.IsoUtils;
+
+/**
+ * Thread safe IBAN validation engine, intended for the validation of large volumes of account numbers.
+ *
+ * <p>Performs the same checks as {@link IBAN#validate()}, with the BBAN structures compiled into a table
+ * indexed by country code when the validator is created. The IBAN is validated from a {@link CharSequence}
+ * or char array without creating intermediate strings, and the outcome is returned as an immutable
+ * {@link IbanValidation}. A single instance can be shared by any number of threads.</p>
+ *
+ * <p>Changes in the {@link BbanStructureValidations} after the validator is created are not seen by the
+ * validator; a new instance must be created to apply them.</p>
+ *
+ * @since 7.9.7
+ */
+public final class IbanValidator {
+
+    private static final int MOD = 97;
+    private static final long MAX = 999999999;
+    private static final int MAX_BBAN_LENGTH = 30;
+    private static final int LETTERS = 26;
+
+    /**
+     * Size of the per thread buffer where the alphanumeric characters of the IBAN are gathered
+     */
+    private static final int BUFFER_SIZE = 128;
+
+    private static final IbanValidation IBAN_IS_NULL = IbanValidation.of(IbanValidationResult.IBAN_IS_NULL);
+    private static final IbanValidation IBAN_IS_EMPTY = IbanValidation.of(IbanValidationResult.IBAN_IS_EMPTY);
+    private static final IbanValidation MISSING_COUNTRY_CODE = IbanValidation.of(IbanValidationResult.MISSING_COUNTRY_CODE);
+    private static final IbanValidation MISSING_CHECK_DIGITS = IbanValidation.of(IbanValidationResult.MISSING_CHECK_DIGITS);
+    private static final IbanValidation MISSING_BBAN = IbanValidation.of(IbanValidationResult.MISSING_BBAN);
+    private static final IbanValidation UNKNOWN = IbanValidation.of(IbanValidationResult.UNKNOWN);
+
+    /**
+     * Two letters codes, indexed by {@link #countryIndex(char, char)}
+     */
+    private static final String[] CODES = new String[LETTERS * LETTERS];
+
+    /**
+     * Numeric values of the ASCII characters as returned by {@link Character#getNumericValue(char)}
+     */
+    private static final int[] NUMERIC_VALUES = new int[128];
+
+    static {
+        for (char c0 = 'A'; c0 <= 'Z'; c0++) {
+            for (char c1 = 'A'; c1 <= 'Z'; c1++) {
+                CODES[countryIndex(c0, c1)] = new String(new char[] {c0, c1});
+            }
+        }
+        for (char c = 0; c < 128; c++) {
+            NUMERIC_VALUES[c] = Character.getNumericValue(c);
+        }
+    }
+
+    private static final ThreadLocal<char[]> BUFFERS = new ThreadLocal<char[]>() {
+        @Override
+        protected char[] initialValue() {
+            return new char[BUFFER_SIZE];
+        }
+    };
+
+    /**
+     * BBAN structures indexed by {@link #countryIndex(char, char)}
+     */
+    private final Bban[] structures = new Bban[LETTERS * LETTERS];
+
+    private final IsoUtils isoUtils = IsoUtils.getInstance();
+
+    /**
+     * Creates a validator with the BBAN structures currently configured in {@link BbanStructureValidations}
+     */
+    public IbanValidator() {
+        this(BbanStructureValidations.getInstance().getBbanStructures());
+    }
+
+    /**
+     * Creates a validator with the given BBAN structures.
+     * If a country is present more than once the first structure is used, same as {@link BbanStructureValidations#forCountry(String)}
+     * @param bbanStructures the BBAN structures per country, if null no country is configured for validation
+     */
+    public IbanValidator(final List<BbanStructureDTO> bbanStructures) {
+        if (bbanStructures != null) {
+            for (final BbanStructureDTO structure : bbanStructures) {
+                final String country = structure.getCountry_coode();
+                if (country != null && country.length() == 2) {
+                    final int index = countryIndex(country.charAt(0), country.charAt(1));
+                    if (index >= 0 && this.structures[index] == null) {
+                        this.structures[index] = new Bban(structure.getValidation_rules());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Validates an IBAN, ignoring any non alphanumeric character as {@link IBAN#validate()} does.
+     *
+     * @param iban the IBAN to validate
+     * @return the validation outcome, with the same result and variables {@link IBAN#validate()} would return
+     */
+    public IbanValidation validate(final CharSequence iban) {
+        if (iban == null) {
+            return IBAN_IS_NULL;
+        }
+        final int length = iban.length();
+        if (length == 0) {
+            return IBAN_IS_EMPTY;
+        }
+        final char[] code = buffer(length);
+        int n = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = iban.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                code[n++] = c;
+            }
+        }
+        return validate(code, n);
+    }
+
+    /**
+     * Validates an IBAN contained in a char array, ignoring any non alphanumeric character as {@link IBAN#validate()} does.
+     *
+     * @param iban the array containing the IBAN
+     * @param offset the position of the IBAN first character
+     * @param length the number of characters of the IBAN
+     * @return the validation outcome, with the same result and variables {@link IBAN#validate()} would return
+     * @throws IndexOutOfBoundsException if the offset and length are not valid positions of the array
+     */
+    public IbanValidation validate(final char[] iban, final int offset, final int length) {
+        if (iban == null) {
+            return IBAN_IS_NULL;
+        }
+        if (offset < 0 || length < 0 || offset + length > iban.length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", array length " + iban.length);
+        }
+        if (length == 0) {
+            return IBAN_IS_EMPTY;
+        }
+        final char[] code = buffer(length);
+        int n = 0;
+        for (int i = offset; i < offset + length; i++) {
+            final char c = iban[i];
+            if (Character.isLetterOrDigit(c)) {
+                code[n++] = c;
+            }
+        }
+        return validate(code, n);
+    }
+
+    /**
+     * Validates all the given IBANs.
+     *
+     * @param ibans the IBANs to validate
+     * @return the validation outcomes, in the same order as the IBANs
+     * @throws IllegalArgumentException if ibans is null
+     */
+    public List<IbanValidation> validateAll(final Iterable<? extends CharSequence> ibans) {
+        Validate.notNull(ibans, "ibans must not be null");
+        final List<IbanValidation> result = ibans instanceof Collection ? new ArrayList<IbanValidation>(((Collection<?>) ibans).size()) : new ArrayList<IbanValidation>();
+        for (final CharSequence iban : ibans) {
+            result.add(validate(iban));
+        }
+        return result;
+    }
+
+    private static char[] buffer(final int length) {
+        return length <= BUFFER_SIZE ? BUFFERS.get() : new char[length];
+    }
+
+    /**
+     * Validates the alphanumeric characters of an IBAN
+     * @param code the IBAN characters
+     * @param n the number of characters to validate
+     */
+    private IbanValidation validate(final char[] code, final int n) {
+        try {
+            /*
+             * country code
+             */
+            if (n < IBAN.COUNTRY_CODE_LENGTH) {
+                return MISSING_COUNTRY_CODE;
+            }
+            if (!isUpperCaseLetter(code[0]) || !isUpperCaseLetter(code[1])) {
+                return IbanValidation.of(IbanValidationResult.INVALID_COUNTRY_CODE_CHARSET, "found", new String(code, 0, 2));
+            }
+            final int country = countryIndex(code[0], code[1]);
+            if (country < 0 || !this.isoUtils.isValidISOCountry(CODES[country])) {
+                return IbanValidation.of(IbanValidationResult.INVALID_COUNTRY_CODE, "found", new String(code, 0, 2));
+            }
+
+            /*
+             * check digits and BBAN presence
+             */
+            if (n < IBAN.COUNTRY_CODE_LENGTH + IBAN.CHECK_DIGIT_LENGTH) {
+                return MISSING_CHECK_DIGITS;
+            }
+            if (!Character.isDigit(code[2]) || !Character.isDigit(code[3])) {
+                return IbanValidation.of(IbanValidationResult.INVALID_CHECK_DIGITS_FORMAT, "found", new String(code, 2, 2));
+            }
+            final int bbanIndex = IBAN.COUNTRY_CODE_LENGTH + IBAN.CHECK_DIGIT_LENGTH;
+            final int bbanLength = n - bbanIndex;
+            if (bbanLength <= 0) {
+                return MISSING_BBAN;
+            }
+            if (bbanLength > MAX_BBAN_LENGTH) {
+                return IbanValidation.of(IbanValidationResult.BBAN_MAX_LENGTH,
+                        "expectedLength", String.valueOf(MAX_BBAN_LENGTH),
+                        "foundLength", String.valueOf(bbanLength));
+            }
+
+            /*
+             * specific structure for country
+             */
+            final Bban bban = this.structures[country];
+            if (bban == null) {
+                return IbanValidation.of(IbanValidationResult.MISSING_BBAN_CONFIGURATION, "found", CODES[country]);
+            }
+            final IbanValidation bbanResult = bban.validate(code, bbanIndex, bbanLength);
+            if (bbanResult != null) {
+                return bbanResult;
+            }
+
+            /*
+             * characters and check digits
+             */
+            for (int i = 0; i < n; i++) {
+                final int value = numericValue(code[i]);
+                if (value < 0 || value > 35) {
+                    return IbanValidation.of(IbanValidationResult.INVALID_CHARACTERS, "found", String.valueOf(code[i]));
+                }
+            }
+            if (mod(code, n, code[2], code[3]) != 1) {
+                final int expected = 98 - mod(code, n, '0', '0');
+                return IbanValidation.of(IbanValidationResult.IVALID_CHECK_DIGITS,
+                        "expectedCheckDigit", expected > 9 ? String.valueOf(expected) : "0" + expected,
+                        "found", new String(code, 2, 2));
+            }
+            return IbanValidation.OK;
+
+        } catch (final RuntimeException e) {
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * Same as checking the char is a letter and is not changed when the IBAN is converted to upper case
+     */
+    private static boolean isUpperCaseLetter(final char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z';
+        }
+        final String s = String.valueOf(c);
+        return Character.isLetter(c) && s.equals(s.toUpperCase());
+    }
+
+    /**
+     * @return the index in the country tables or -1 if the chars are not upper case letters A to Z
+     */
+    private static int countryIndex(final char c0, final char c1) {
+        if (c0 < 'A' || c0 > 'Z' || c1 < 'A' || c1 > 'Z') {
+            return -1;
+        }
+        return (c0 - 'A') * LETTERS + (c1 - 'A');
+    }
+
+    private static int numericValue(final char c) {
+        return c < 128 ? NUMERIC_VALUES[c] : Character.getNumericValue(c);
+    }
+
+    /**
+     * Computes the IBAN modulo 97 on the BBAN followed by the country code and the given check digits
+     */
+    private static int mod(final char[] code, final int n, final char checkDigit1, final char checkDigit2) {
+        long total = 0;
+        for (int i = IBAN.COUNTRY_CODE_LENGTH + IBAN.CHECK_DIGIT_LENGTH; i < n; i++) {
+            total = mod(total, code[i]);
+        }
+        total = mod(total, code[0]);
+        total = mod(total, code[1]);
+        total = mod(total, checkDigit1);
+        total = mod(total, checkDigit2);
+        return (int) (total % MOD);
+    }
+
+    private static long mod(final long total, final char c) {
+        final int numericValue = numericValue(c);
+        final long result = (numericValue > 9 ? total * 100 : total * 10) + numericValue;
+        return result > MAX ? result % MOD : result;
+    }
+
+    /**
+     * A country BBAN structure compiled into arrays
+     */
+    private static final class Bban {
+        private final int length;
+        private final int[] lengths;
+        private final SwiftCharset[] charsets;
+        private final BbanEntryType[] types;
+
+        Bban(final List<BbanStructureEntryDTO> rules) {
+            if (rules == null) {
+                // same as the structure validation failing with an unknown error
+                this.length = -1;
+                this.lengths = null;
+                this.charsets = null;
+                this.types = null;
+            } else {
+                final int size = rules.size();
+                this.lengths = new int[size];
+                this.charsets = new SwiftCharset[size];
+                this.types = new BbanEntryType[size];
+                int total = 0;
+                for (int i = 0; i < size; i++) {
+                    final BbanStructureEntryDTO entry = rules.get(i);
+                    this.lengths[i] = entry.getLength();
+                    this.charsets[i] = entry.getCharacterType();
+                    this.types[i] = entry.getEntryType();
+                    total += this.lengths[i];
+                }
+                this.length = total;
+            }
+        }
+
+        /**
+         * @return the problem found or null if the BBAN matches the structure
+         */
+        IbanValidation validate(final char[] code, final int offset, final int bbanLength) {
+            if (this.lengths == null) {
+                return UNKNOWN;
+            }
+            if (bbanLength != this.length) {
+                return IbanValidation.of(IbanValidationResult.BBAN_INVALID_LENGTH,
+                        "found", new String(code, offset, bbanLength),
+                        "foundLength", String.valueOf(bbanLength),
+                        "expectedLength", String.valueOf(this.length));
+            }
+            int entryOffset = offset;
+            for (int i = 0; i < this.lengths.length; i++) {
+                final int entryLength = this.lengths[i];
+                final SwiftCharset charset = this.charsets[i];
+                if (entryLength < 0 || charset == null) {
+                    return UNKNOWN;
+                }
+                for (int j = entryOffset; j < entryOffset + entryLength; j++) {
+                    if (!SwiftCharsetUtils.is(code[j], charset)) {
+                        final IbanValidationResult result = entryResult(charset);
+                        if (result != null) {
+                            if (this.types[i] == null) {
+                                return UNKNOWN;
+                            }
+                            return IbanValidation.of(result,
+                                    "found", new String(code, entryOffset, entryLength),
+                                    "bbanEntryType", this.types[i].name());
+                        }
+                        break;
+                    }
+                }
+                entryOffset += entryLength;
+            }
+            return null;
+        }
+
+        private static IbanValidationResult entryResult(final SwiftCharset charset) {
+            switch (charset) {
+                case a:
+                    return IbanValidationResult.BBAN_INVALID_UPPER_CASE_LETTERS;
+                case c:
+                    return IbanValidationResult.BBAN_INVALID_DIGITS_OR_LETTERS;
+                case n:
+                    return IbanValidationResult.BBAN_INVALID_DIGITS;
+                default:
+                    return null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.model;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+import org.apache.commons.lang.Validate;
+
+import com.prowidesoftware.swift.WifeException;
+import com.prowidesoftware.swift.io.parser.SwiftParser;
+import com.prowidesoftware.swift.io.parser.SwiftParserConfiguration;
+
+/**
+ * Swift message where the blocks 3, 4, 5 and the user blocks are parsed on first access.
+ *
+ * <p>This is created by the {@link SwiftParser} when the {@link SwiftParserConfiguration#isLazy()} option
+ * is set. The headers blocks 1 and 2 are parsed right away, while for the rest of the blocks the parser
+ * just records the block boundaries over the original content. When the parser input is a String no
+ * copy of the block content is made until the block is accessed.</p>
+ *
+ * <p>This is useful for routing or triage processes where only the message type, the sender/receiver or
+ * some block 3 field are read, since the text block usually holds most of the message content.</p>
+ *
+ * <p>Once a block is parsed, or explicitly set, this message behaves as a regular {@link SwiftMessage}.
+ * Notice while there are blocks pending to be parsed the message holds a reference to the parser input.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public class LazySwiftMessage extends SwiftMessage {
+	private static final long serialVersionUID = 5296853154219347613L;
+	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(LazySwiftMessage.class.getName());
+
+	private BlockSlice block3Slice;
+	private BlockSlice block4Slice;
+	private BlockSlice block5Slice;
+	private List<BlockSlice> userBlockSlices;
+
+	/**
+	 * Creates a message with no blocks.
+	 */
+	public LazySwiftMessage() {
+		super(false);
+	}
+
+	/**
+	 * Registers the content of a block to be parsed on first access.
+	 * This is called by the parser, it is not intended to be used directly.
+	 *
+	 * @param blockId the block identifier, 3, 4, 5 or a user block name
+	 * @param source text containing the block content
+	 * @param start position in source of the block content, starting with the block identifier
+	 * @param end position in source of the block end, excluding the closing bracket
+	 * @throws IllegalArgumentException if the block identifier is 1 or 2
+	 */
+	public void addBlockSlice(final char blockId, final String source, final int start, final int end) {
+		Validate.isTrue(blockId != '1' && blockId != '2', "headers blocks 1 and 2 cannot be lazy parsed");
+		final BlockSlice slice = new BlockSlice(source, start, end);
+		switch (blockId) {
+		case '3':
+			this.block3Slice = slice;
+			super.setBlock3(null);
+			break;
+		case '4':
+			this.block4Slice = slice;
+			super.setBlock4(null);
+			break;
+		case '5':
+			this.block5Slice = slice;
+			super.setBlock5(null);
+			break;
+		default:
+			if (this.userBlockSlices == null) {
+				this.userBlockSlices = new ArrayList<BlockSlice>();
+			}
+			this.userBlockSlices.add(slice);
+		}
+	}
+
+	/**
+	 * Checks if the given block has been parsed.
+	 * @param b the block number, 3 to 5
+	 * @return true if the block is not pending to be parsed (it may be null anyway)
+	 */
+	public boolean isParsed(final int b) {
+		switch (b) {
+		case 3:
+			return this.block3Slice == null;
+		case 4:
+			return this.block4Slice == null;
+		case 5:
+			return this.block5Slice == null;
+		default:
+			return true;
+		}
+	}
+
+	/**
+	 * Checks if the user blocks have been parsed.
+	 * @return true if there are no user blocks pending to be parsed
+	 */
+	public boolean isUserBlocksParsed() {
+		return this.userBlockSlices == null;
+	}
+
+	/**
+	 * Get block number 3 of this message, parsing it if necessary
+	 */
+	@Override
+	public SwiftBlock3 getBlock3() {
+		if (this.block3Slice != null) {
+			final SwiftBlock3 b = (SwiftBlock3) this.block3Slice.parse();
+			this.block3Slice = null;
+			super.setBlock3(b);
+		}
+		return super.getBlock3();
+	}
+
+	@Override
+	public void setBlock3(final SwiftBlock3 block3) {
+		this.block3Slice = null;
+		super.setBlock3(block3);
+	}
+
+	/**
+	 * Get block number 4 of this message, parsing it if necessary
+	 */
+	@Override
+	public SwiftBlock4 getBlock4() {
+		if (this.block4Slice != null) {
+			final SwiftBlock4 b = (SwiftBlock4) this.block4Slice.parse();
+			this.block4Slice = null;
+			super.setBlock4(b);
+		}
+		return super.getBlock4();
+	}
+
+	@Override
+	public void setBlock4(final SwiftBlock4 block4) {
+		this.block4Slice = null;
+		super.setBlock4(block4);
+	}
+
+	/**
+	 * Get block number 5 of this message, parsing it if necessary
+	 */
+	@Override
+	public SwiftBlock5 getBlock5() {
+		if (this.block5Slice != null) {
+			final SwiftBlock5 b = (SwiftBlock5) this.block5Slice.parse();
+			this.block5Slice = null;
+			super.setBlock5(b);
+		}
+		return super.getBlock5();
+	}
+
+	@Override
+	public void setBlock5(final SwiftBlock5 block5) {
+		this.block5Slice = null;
+		super.setBlock5(block5);
+	}
+
+	/**
+	 * Get the list of user defined blocks, parsing them if necessary
+	 */
+	@Override
+	public List<SwiftBlockUser> getUserBlocks() {
+		if (this.userBlockSlices != null) {
+			final List<SwiftBlockUser> blocks = new ArrayList<SwiftBlockUser>(this.userBlockSlices.size());
+			for (final BlockSlice slice : this.userBlockSlices) {
+				final SwiftBlockUser b = (SwiftBlockUser) slice.parse();
+				if (b != null) {
+					blocks.add(b);
+				}
+			}
+			this.userBlockSlices = null;
+			for (final SwiftBlockUser b : blocks) {
+				super.addUserBlock(b);
+			}
+		}
+		return super.getUserBlocks();
+	}
+
+	@Override
+	protected void setUserBlocks(final List<SwiftBlockUser> userBlocks) {
+		this.userBlockSlices = null;
+		super.setUserBlocks(userBlocks);
+	}
+
+	@Override
+	public void clear() {
+		this.block3Slice = null;
+		this.block4Slice = null;
+		this.block5Slice = null;
+		this.userBlockSlices = null;
+		super.clear();
+	}
+
+	/**
+	 * Parses all pending blocks and returns the reflection based representation of the message
+	 */
+	@Override
+	public String toString() {
+		getBlock3();
+		getBlock4();
+		getBlock5();
+		getUserBlocks();
+		return super.toString();
+	}
+
+	/**
+	 * Block content boundaries over the parser input
+	 */
+	private static final class BlockSlice implements Serializable {
+		private static final long serialVersionUID = -2190466581372826717L;
+		private final String source;
+		private final int start;
+		private final int end;
+
+		BlockSlice(final String source, final int start, final int end) {
+			this.source = source;
+			this.start = start;
+			this.end = end;
+		}
+
+		/**
+		 * @return the parsed block or null if the content cannot be read
+		 * @throws WifeException if the block cannot be identified, the slice is kept so the error is raised again on the next access
+		 */
+		SwiftBlock parse() {
+			try {
+				return SwiftParser.parseBlock(this.source.substring(this.start, this.end));
+			} catch (final IOException e) {
+				log.log(Level.SEVERE, "the block content could not be parsed", e);
+				return null;
+			}
+		}
+	}
+}
@@ -0,0 +1,520 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.model;
+
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+
+import com.prowidesoftware.swift.io.writer.FINDigestVisitor;
+import com.prowidesoftware.swift.model.field.Field;
+import com.prowidesoftware.swift.model.mt.MTVariant;
+import com.prowidesoftware.swift.model.mt.ServiceIdType;
+import com.prowidesoftware.swift.utils.IMessageVisitor;
+
+/**
+ * Visitor collecting the persistent attributes of an MT message, including the proprietary checksums,
+ * in a single traversal of the message.
+ *
+ * <p>The collected values are the same returned by the equivalent {@link SwiftMessage} and {@link SwiftMessageUtils}
+ * methods, such as {@link SwiftMessage#getMtId()}, {@link SwiftMessage#getSender()}, {@link SwiftMessageUtils#reference(SwiftMessage)}
+ * or {@link SwiftMessageUtils#calculateChecksum(SwiftMessage)}; where each of those methods searches the blocks again or
+ * writes the message, this visitor picks the needed tags as they are visited, and feeds the message into the checksum
+ * digests at the same time. The main amount, whose location depends on the message type, is looked up in the text
+ * block of the last visited message the first time {@link #getCurrency()} or {@link #getAmount()} is called, so it
+ * is skipped when not needed, for example for service messages or the original message of an ACK.</p>
+ *
+ * <p>An instance can be reused for several messages, the values are reset at the start of each message.
+ * The digests for the checksums are created on the first message and reused for the next ones.
+ * Instances are not thread safe.</p>
+ *
+ * @see MtSwiftMessage#updateFromFIN(String)
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public class MtMetadataExtractor implements IMessageVisitor {
+	private static final Tag COV = new Tag("119", "COV");
+	private static final Tag STP = new Tag("119", "STP");
+	private static final Tag REMIT = new Tag("119", "REMIT");
+
+	private final ChecksumAlgorithm algorithm;
+	private MessageDigest messageDigest;
+	private MessageDigest block4Digest;
+	private FINDigestVisitor digestVisitor;
+
+	private SwiftBlock1 block1;
+	private SwiftBlock2 block2;
+	private ServiceIdType serviceIdType;
+	private boolean cov;
+	private boolean stp;
+	private boolean remit;
+	private Tag mur;
+	private Tag field20;
+	private Field seme;
+	private Tag field108;
+	private Tag field451;
+	private Tag pde;
+	private Tag pdm;
+	private SwiftMessage message;
+	private CurrencyAmount currencyAmount;
+	private boolean currencyAmountResolved;
+	private String checksum;
+	private String checksumBody;
+
+	/**
+	 * Creates an extractor computing the checksums with the default MD5 algorithm
+	 */
+	public MtMetadataExtractor() {
+		this(ChecksumAlgorithm.MD5);
+	}
+
+	/**
+	 * Creates an extractor computing the checksums with the given algorithm
+	 * @param algorithm the hash algorithm for the checksums, or <code>null</code> to skip the checksums
+	 */
+	public MtMetadataExtractor(final ChecksumAlgorithm algorithm) {
+		this.algorithm = algorithm;
+	}
+
+	/**
+	 * Collects the attributes of the given message with a new extractor, including MD5 checksums.
+	 * The checksums are computed with the digests of the current thread, see {@link ChecksumAlgorithm#digest()},
+	 * so no digest is created for each message.
+	 * @param m the message
+	 * @return the extractor with the message attributes
+	 * @throws IllegalArgumentException if the message is <code>null</code>
+	 */
+	public static MtMetadataExtractor extract(final SwiftMessage m) {
+		Validate.notNull(m, "the message cannot be null");
+		final MtMetadataExtractor extractor = new MtMetadataExtractor();
+		extractor.setDigests(extractor.algorithm.digest(), extractor.algorithm.blockDigest());
+		try {
+			m.visit(extractor);
+		} finally {
+			// the thread digests must not be kept, the extractor creates its own if reused
+			extractor.setDigests(null, null);
+		}
+		return extractor;
+	}
+
+	private void setDigests(final MessageDigest messageDigest, final MessageDigest block4Digest) {
+		this.messageDigest = messageDigest;
+		this.block4Digest = block4Digest;
+		this.digestVisitor = messageDigest != null ? new FINDigestVisitor(messageDigest, block4Digest) : null;
+	}
+
+	public void startMessage(final SwiftMessage m) {
+		this.block1 = null;
+		this.block2 = null;
+		this.serviceIdType = null;
+		this.cov = false;
+		this.stp = false;
+		this.remit = false;
+		this.mur = null;
+		this.field20 = null;
+		this.seme = null;
+		this.field108 = null;
+		this.field451 = null;
+		this.pde = null;
+		this.pdm = null;
+		this.message = m;
+		this.currencyAmount = null;
+		this.currencyAmountResolved = false;
+		this.checksum = null;
+		this.checksumBody = null;
+		if (this.algorithm != null && this.digestVisitor == null) {
+			setDigests(this.algorithm.newDigest(), this.algorithm.newDigest());
+		}
+		if (this.digestVisitor != null) {
+			this.messageDigest.reset();
+			this.block4Digest.reset();
+			this.digestVisitor.startMessage(m);
+		}
+	}
+
+	public void endMessage(final SwiftMessage m) {
+		if (this.digestVisitor != null) {
+			this.digestVisitor.endMessage(m);
+			this.checksum = SwiftMessageUtils.toHex(this.messageDigest.digest());
+			if (m.getBlock4() != null) {
+				this.checksumBody = SwiftMessageUtils.toHex(this.block4Digest.digest());
+			}
+		}
+	}
+
+	public void startBlock1(final SwiftBlock1 b) {
+		this.block1 = b;
+		this.serviceIdType = b.getServiceIdType();
+		if (this.digestVisitor != null) {
+			this.digestVisitor.startBlock1(b);
+		}
+	}
+
+	public void value(final SwiftBlock1 b, final String v) {
+		if (this.digestVisitor != null) {
+			this.digestVisitor.value(b, v);
+		}
+	}
+
+	public void endBlock1(final SwiftBlock1 b) {
+		if (this.digestVisitor != null) {
+			this.digestVisitor.endBlock1(b);
+		}
+	}
+
+	public void startBlock2(final SwiftBlock2 b) {
+		this.block2 = b;
+		if (this.digestVisitor != null) {
+			this.digestVisitor.startBlock2(b);
+		}
+	}
+
+	public void value(final SwiftBlock2 b, final String v) {
+		if (this.digestVisitor != null) {
+			this.digestVisitor.value(b, v);
+		}
+	}
+
+	public void endBlock2(final SwiftBlock2 b) {
+		if (this.digestVisitor != null) {
+			this.digestVisitor.endBlock2(b);
+		}
+	}
+
+	public void startBlock3(final SwiftBlock3 b) {
+		if (this.digestVisitor != null) {
+			this.digestVisitor.startBlock3(b);
+		}
+	}
+
+	public void tag(final SwiftBlock3 b, final Tag t) {
+		if (this.mur == null && "108".equals(t.getName())) {
+			this.mur = t;
+		} else if (COV.equals(t)) {
+			this.cov = true;
+		} else if (STP.equals(t)) {
+			this.stp = true;
+		} else if (REMIT.equals(t)) {
+			this.remit = true;
+		}
+		if (this.digestVisitor != null) {
+			this.digestVisitor.tag(b, t);
+		}
+	}
+
+	public void endBlock3(final SwiftBlock3 b) {
+		if (this.digestVisitor != null) {
+			this.digestVisitor.endBlock3(b);
+		}
+	}
+
+	public void startBlock4(final SwiftBlock4 b) {
+		if (this.digestVisitor != null) {
+			this.digestVisitor.startBlock4(b);
+		}
+	}
+
+	public void tag(final SwiftBlock4 b, final Tag t) {
+		final String name = t.getName();
+		if ("20".equals(name)) {
+			if (this.field20 == null) {
+				this.field20 = t;
+			}
+		} else if ("108".equals(name)) {
+			if (this.field108 == null) {
+				this.field108 = t;
+			}
+		} else if (this.field20 == null && this.seme == null && t.isNumber(20) && StringUtils.startsWith(getType(), "5")) {
+			// qualified reference 20C::SEME in category 5
+			final Field f = t.getField();
+			if (f != null && f.is("SEME")) {
+				this.seme = f;
+			}
+		}
+		if (this.field451 == null && t.isNumber(451)) {
+			this.field451 = t;
+		}
+		if (this.digestVisitor != null) {
+			this.digestVisitor.tag(b, t);
+		}
+	}
+
+	public void endBlock4(final SwiftBlock4 b) {
+		if (this.digestVisitor != null) {
+			this.digestVisitor.endBlock4(b);
+		}
+	}
+
+	public void startBlock5(final SwiftBlock5 b) {
+		if (this.digestVisitor != null) {
+			this.digestVisitor.startBlock5(b);
+		}
+	}
+
+	public void tag(final SwiftBlock5 b, final Tag t) {
+		if (this.pde == null && "PDE".equals(t.getName())) {
+			this.pde = t;
+		} else if (this.pdm == null && "PDM".equals(t.getName())) {
+			this.pdm = t;
+		}
+		if (this.digestVisitor != null) {
+			this.digestVisitor.tag(b, t);
+		}
+	}
+
+	public void endBlock5(final SwiftBlock5 b) {
+		if (this.digestVisitor != null) {
+			this.digestVisitor.endBlock5(b);
+		}
+	}
+
+	public void startBlockUser(final SwiftBlockUser b) {
+		if (this.digestVisitor != null) {
+			this.digestVisitor.startBlockUser(b);
+		}
+	}
+
+	public void tag(final SwiftBlockUser b, final Tag t) {
+		if (this.digestVisitor != null) {
+			this.digestVisitor.tag(b, t);
+		}
+	}
+
+	public void endBlockUser(final SwiftBlockUser b) {
+		if (this.digestVisitor != null) {
+			this.digestVisitor.endBlockUser(b);
+		}
+	}
+
+	/**
+	 * @return the service id of the block 1 or null if not present or invalid
+	 * @see SwiftBlock1#getServiceIdType()
+	 */
+	public ServiceIdType getServiceIdType() {
+		return this.serviceIdType;
+	}
+
+	/**
+	 * @see SwiftMessage#isServiceMessage()
+	 */
+	public boolean isServiceMessage() {
+		return this.block1 != null && this.serviceIdType != ServiceIdType._01;
+	}
+
+	/**
+	 * @see SwiftMessage#isServiceMessage21()
+	 */
+	public boolean isServiceMessage21() {
+		return this.block1 != null && this.serviceIdType == ServiceIdType._21;
+	}
+
+	/**
+	 * @see SwiftMessage#isAck()
+	 */
+	public boolean isAck() {
+		return isServiceMessage21() && this.field451 != null && StringUtils.equals(this.field451.getValue(), "0");
+	}
+
+	/**
+	 * @see SwiftMessage#isNack()
+	 */
+	public boolean isNack() {
+		return isServiceMessage21() && this.field451 != null && StringUtils.equals(this.field451.getValue(), "1");
+	}
+
+	/**
+	 * @see SwiftMessage#getType()
+	 */
+	public String getType() {
+		return this.block2 != null ? this.block2.getMessageType() : null;
+	}
+
+	/**
+	 * @see SwiftMessage#getVariant()
+	 */
+	public MTVariant getVariant() {
+		if (this.cov) {
+			return MTVariant.COV;
+		} else if (this.stp) {
+			return MTVariant.STP;
+		} else if (this.remit) {
+			return MTVariant.REMIT;
+		}
+		return null;
+	}
+
+	/**
+	 * @see SwiftMessage#getMtId()
+	 */
+	public MtId getMtId() {
+		return isServiceMessage() ? null : new MtId(getType(), getVariant());
+	}
+
+	/**
+	 * @see SwiftMessage#getDirection()
+	 */
+	public MessageIOType getDirection() {
+		if (this.block2 != null) {
+			if (this.block2.isOutput()) {
+				return MessageIOType.incoming;
+			} else if (this.block2.isInput()) {
+				return MessageIOType.outgoing;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @see SwiftMessage#getSender()
+	 */
+	public String getSender() {
+		final MessageIOType direction = getDirection();
+		if (isServiceMessage() || direction == MessageIOType.outgoing) {
+			return this.block1 != null ? this.block1.getLogicalTerminal() : null;
+		} else if (direction == MessageIOType.incoming && this.block2 instanceof SwiftBlock2Output) {
+			return ((SwiftBlock2Output) this.block2).getMIRLogicalTerminal();
+		}
+		return null;
+	}
+
+	/**
+	 * @see SwiftMessage#getReceiver()
+	 */
+	public String getReceiver() {
+		if (isServiceMessage()) {
+			return null;
+		}
+		final MessageIOType direction = getDirection();
+		if (direction == MessageIOType.incoming) {
+			return this.block1 != null ? this.block1.getLogicalTerminal() : null;
+		} else if (direction == MessageIOType.outgoing && this.block2 instanceof SwiftBlock2Input) {
+			return ((SwiftBlock2Input) this.block2).getReceiverAddress();
+		}
+		return null;
+	}
+
+	/**
+	 * @see SwiftMessageUtils#reference(SwiftMessage)
+	 */
+	public String getReference() {
+		if (this.field20 != null) {
+			return this.field20.getValue();
+		}
+		if (this.seme != null) {
+			return this.seme.getComponent(2);
+		}
+		return value(this.field108);
+	}
+
+	/**
+	 * @see SwiftMessageUtils#currencyAmount(SwiftMessage)
+	 * @return the main amount currency or null if not found
+	 */
+	public String getCurrency() {
+		final CurrencyAmount ca = currencyAmount();
+		return ca != null ? ca.getCurrency() : null;
+	}
+
+	/**
+	 * @see SwiftMessageUtils#currencyAmount(SwiftMessage)
+	 * @return the main amount or null if not found
+	 */
+	public BigDecimal getAmount() {
+		final CurrencyAmount ca = currencyAmount();
+		return ca != null ? ca.getAmount() : null;
+	}
+
+	/**
+	 * @see SwiftMessageUtils#currencyAmount(SwiftMessage)
+	 * @return the main amount and currency or null if not found
+	 */
+	CurrencyAmount currencyAmount() {
+		if (!this.currencyAmountResolved) {
+			this.currencyAmount = SwiftMessageUtils.currencyAmount(this.message);
+			this.currencyAmountResolved = true;
+		}
+		return this.currencyAmount;
+	}
+
+	/**
+	 * @see SwiftMessage#getPDE()
+	 */
+	public String getPDE() {
+		return value(this.pde);
+	}
+
+	/**
+	 * @see SwiftMessage#getPDM()
+	 */
+	public String getPDM() {
+		return value(this.pdm);
+	}
+
+	/**
+	 * @see SwiftMessage#getMIR()
+	 */
+	public String getMIR() {
+		if (this.block2 != null && this.block2.isOutput()) {
+			return ((SwiftBlock2Output) this.block2).getMIR();
+		}
+		return null;
+	}
+
+	/**
+	 * @see SwiftMessage#getMUR()
+	 */
+	public String getMUR() {
+		return value(this.mur);
+	}
+
+	/**
+	 * @see SwiftMessage#getUUID()
+	 */
+	public String getUUID() {
+		final StringBuilder uuid = new StringBuilder();
+		final MessageIOType direction = getDirection();
+		uuid.append(direction == MessageIOType.incoming ? "O" : "I");
+		final String correspondent = direction == MessageIOType.outgoing ? getReceiver() : direction == MessageIOType.incoming ? getSender() : null;
+		if (correspondent != null) {
+			uuid.append(new BIC(correspondent).getBic11());
+		}
+		uuid.append(StringUtils.trimToEmpty(getType()));
+		uuid.append(StringUtils.trimToEmpty(getReference()));
+		return uuid.toString();
+	}
+
+	private static String value(final Tag t) {
+		return t != null ? t.getValue() : null;
+	}
+
+	/**
+	 * @return the checksum of the complete message, or null if the extractor was created without checksums
+	 * @see SwiftMessageUtils#calculateChecksum(SwiftMessage, ChecksumAlgorithm)
+	 */
+	public String getChecksum() {
+		return this.checksum;
+	}
+
+	/**
+	 * @return the checksum of the text block, or null if the message has no block 4 or the extractor was created without checksums
+	 * @see SwiftMessageUtils#calculateChecksum(SwiftBlock4, ChecksumAlgorithm)
+	 */
+	public String getChecksumBody() {
+		return this.checksumBody;
+	}
+
+}
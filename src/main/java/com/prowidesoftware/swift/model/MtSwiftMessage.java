@@ -158,16 +158,20 @@ public class MtSwiftMessage extends AbstractSwiftMessage {
 		}
 	}
 	
+	/*
+	 * All the attributes, including the checksums, are collected in a single traversal of the message
+	 */
 	private void updateAttributes(final SwiftMessage model) {
 		setFileFormat(FileFormat.FIN);
-		if (model.isServiceMessage21()) {
+		final MtMetadataExtractor metadata = MtMetadataExtractor.extract(model);
+		if (metadata.isServiceMessage21()) {
 			if (model.getUnparsedTextsSize() > 0) {
 				/*
 				 * set identifier for system aknowledge
 				 */
-				if (model.isAck()) {
+				if (metadata.isAck()) {
 					super.identifier = IDENTIFIER_ACK;
-				} else if (model.isNack()) {
+				} else if (metadata.isNack()) {
 					super.identifier = IDENTIFIER_NAK;
 				}
 				/*
@@ -176,30 +180,32 @@ public class MtSwiftMessage extends AbstractSwiftMessage {
 				 */
 				final SwiftMessage original = model.getUnparsedTexts().getTextAsMessage(0);
 				if (original != null) {
-					super.receiver = bic11(original.getReceiver());
-					setDirection(original.getDirection());
-					setReference(SwiftMessageUtils.reference(original));
+					final MtMetadataExtractor originalMetadata = new MtMetadataExtractor(null);
+					original.visit(originalMetadata);
+					super.receiver = bic11(originalMetadata.getReceiver());
+					setDirection(originalMetadata.getDirection());
+					setReference(originalMetadata.getReference());
 				}
 			}
-		} else if (model.getBlock1() != null && model.getBlock1().getServiceIdType() == ServiceIdType._01) {
-			setIdentifier(model.getMtId().id());
-			setReceiver(bic11(model.getReceiver()));
-			setDirection(model.getDirection());
-			setReference(SwiftMessageUtils.reference(model));
-			CurrencyAmount currencyAmount = SwiftMessageUtils.currencyAmount(model);
+		} else if (metadata.getServiceIdType() == ServiceIdType._01) {
+			setIdentifier(metadata.getMtId().id());
+			setReceiver(bic11(metadata.getReceiver()));
+			setDirection(metadata.getDirection());
+			setReference(metadata.getReference());
+			final CurrencyAmount currencyAmount = metadata.currencyAmount();
 			if (currencyAmount != null) {
 				setCurrency(currencyAmount.getCurrency());
 				setAmount(currencyAmount.getAmount());
 			}
 		}
-		setSender(bic11(model.getSender()));
-		setChecksum(SwiftMessageUtils.calculateChecksum(model));
-		setChecksumBody(SwiftMessageUtils.calculateChecksum(model.getBlock4()));
-		setPde(model.getPDE());
-		setPdm(model.getPDM());
-		setMir(model.getMIR());
-		setMur(model.getMUR());
-		setUuid(model.getUUID());
+		setSender(bic11(metadata.getSender()));
+		setChecksum(metadata.getChecksum());
+		setChecksumBody(metadata.getChecksumBody());
+		setPde(metadata.getPDE());
+		setPdm(metadata.getPDM());
+		setMir(metadata.getMIR());
+		setMur(metadata.getMUR());
+		setUuid(metadata.getUUID());
 		setLastModified(Calendar.getInstance());
 	}
 
@@ -25,6 +25,7 @@ import org.apache.commons.lang.Validate;
 import com.prowidesoftware.deprecation.DeprecationUtils;
 import com.prowidesoftware.deprecation.ProwideDeprecated;
 import com.prowidesoftware.deprecation.TargetYear;
+import com.prowidesoftware.swift.io.parser.MxMetadata;
 import com.prowidesoftware.swift.io.parser.MxParser;
 import com.prowidesoftware.swift.model.mx.AbstractMX;
 import com.prowidesoftware.swift.model.mx.BusinessHeader;
@@ -68,6 +69,12 @@ public class MxSwiftMessage extends AbstractSwiftMessage {
 	
 	private String version;
 
+	/**
+	 * Metadata read from the raw message, and the raw message it was read from
+	 */
+	private transient MxMetadata metadata;
+	private transient String metadataMessage;
+
 	public MxSwiftMessage() {
 		super();
 	}
@@ -171,10 +178,9 @@ public class MxSwiftMessage extends AbstractSwiftMessage {
 			 * update sender, receiver and reference
 			 * from business header or group header
 			 */
-			MxParser parser = new MxParser(this.message());
-			BusinessHeader h = parser.parseBusinessHeader();
-			if (!_update(h)) {
-				_update(parser.parse());
+			final MxMetadata md = metadata();
+			if (!_update(md.getBusinessHeader()) && md.getGroupHeader() != null) {
+				_update(md.getGroupHeader());
 			}
 			/*
 			 * update identifier and namespace
@@ -182,7 +188,7 @@ public class MxSwiftMessage extends AbstractSwiftMessage {
 			if (id != null) {
 				_update(id);
 			} else {
-				_update(parser.detectMessage());
+				_update(md.getMxId());
 			}
 		}
 	}
@@ -229,8 +235,10 @@ public class MxSwiftMessage extends AbstractSwiftMessage {
 		 * from business header or group header
 		 */
 		if (!_update(mx.getBusinessHeader())) {
-			MxParser parser = new MxParser(this.message());
-			_update(parser.parse());
+			final MxNode groupHeader = metadata().getGroupHeader();
+			if (groupHeader != null) {
+				_update(groupHeader);
+			}
 		}
 		/*
 		 * update identifier and namespace
@@ -238,6 +246,20 @@ public class MxSwiftMessage extends AbstractSwiftMessage {
 		_update(mx.getMxId());
 	}
 	
+	/**
+	 * Gets the metadata of the current raw message, reading it in a single pass only when the message
+	 * content was changed since the last call.
+	 * @see MxParser#metadata()
+	 */
+	private MxMetadata metadata() {
+		final String current = message();
+		if (this.metadata == null || this.metadataMessage != current) {
+			this.metadata = new MxParser(current).metadata();
+			this.metadataMessage = current;
+		}
+		return this.metadata;
+	}
+
 	/**
 	 * Updates identifier and namespace related attributes from the given id object
 	 * @param id
@@ -436,27 +458,29 @@ public class MxSwiftMessage extends AbstractSwiftMessage {
 	/**
 	 * If present in the message content, returns the business header (SWIFT or ISO version)
 	 * Notice this header is optional and may not be present.
-	 * @see MxParser#parseBusinessHeader()
+	 * <p>The header is read from the message content once and the same instance is returned until the
+	 * message content is changed. The returned header is shared by those calls and must not be modified;
+	 * to get a header that can be changed parse the message content with {@link MxParser#parseBusinessHeader()}.</p>
+	 * @see MxParser#metadata()
 	 * @return found header or null if not present or cannot be parsed into a header object
 	 * @since 7.8.4
 	 */
 	public BusinessHeader getBusinessHeader() {
-		MxParser parser = new MxParser(this.message());
-		return parser.parseBusinessHeader();
+		return metadata().getBusinessHeader();
 	}
 	
 	/**
 	 * This method has been deprecated because Mx message support two kind of headers,
 	 * the one from SWIFT and the one from ISO. The Application Header returned here
 	 * is the SWIFT version, currently deprecated and replaced by the ISO version.
+	 * The returned header is shared as explained in {@link #getBusinessHeader()} and must not be modified.
 	 * @see #getBusinessHeader()
 	 * @deprecated use #getBusinessHeader() instead 
 	 */
 	@Deprecated
 	@ProwideDeprecated(phase2=TargetYear._2019)
 	public ApplicationHeader getApplicationHeader() {
-		MxParser parser = new MxParser(this.message());
-		BusinessHeader h = parser.parseBusinessHeader();
+		BusinessHeader h = getBusinessHeader();
 		if (h != null && h.getApplicationHeader() != null) {
 			return h.getApplicationHeader();
 		}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Positions of the 16R/16S delimited sub blocks in a list of tags, built in a single pass.
+ *
+ * <p>For each block name found in a 16R field the index holds the start (inclusive) and end (exclusive)
+ * positions of every occurrence, computed with the same rules as {@link SwiftTagListBlock#getSubBlocks(Tag, Tag)}:
+ * a sub block starts at a 16R field with the block name and ends at the next 16S field with the same name
+ * or at the end of the list if the 16S is missing. Block names are compared ignoring carriage returns.</p>
+ *
+ * <p>The index is tied to the list it was built from and to the modification count of the block when it
+ * was built; {@link #isValid(List, int)} is a constant time check of the list instance, its size and the
+ * modification count, so the block must count every change it makes or hands out to its callers.</p>
+ *
+ * <p>The index is not modified once built, so it can be shared by threads reading the same block.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+final class SequenceIndex {
+	private static final String START = "16R";
+	private static final String END = "16S";
+	private static final int[] NONE = new int[0];
+
+	private final List<Tag> tags;
+	private final int size;
+	private final int modifications;
+
+	/**
+	 * Block name to positions, as pairs of start inclusive, end exclusive
+	 */
+	private final Map<String, int[]> ranges = new HashMap<String, int[]>();
+
+	private SequenceIndex(final List<Tag> tags, final int modifications) {
+		this.tags = tags;
+		this.size = tags.size();
+		this.modifications = modifications;
+	}
+
+	/**
+	 * Scans the list of tags and creates the index
+	 * @param tags the tags to index, must not be null
+	 * @param modifications the modification count of the block owning the tags
+	 * @return the created index
+	 */
+	static SequenceIndex build(final List<Tag> tags, final int modifications) {
+		final SequenceIndex index = new SequenceIndex(tags, modifications);
+		final Map<String, Integer> open = new HashMap<String, Integer>();
+		final Map<String, Integer> counts = new HashMap<String, Integer>();
+		for (int i = 0; i < index.size; i++) {
+			final Tag t = tags.get(i);
+			final String name = boundaryName(t, END);
+			if (name != null) {
+				final Integer start = open.remove(name);
+				if (start != null) {
+					index.add(counts, name, start.intValue(), i + 1);
+				}
+			} else {
+				final String startName = boundaryName(t, START);
+				if (startName != null && !open.containsKey(startName)) {
+					open.put(startName, Integer.valueOf(i));
+				}
+			}
+		}
+		// sub blocks with missing 16S end at the end of the list, and start after any other sub block with the same name
+		for (final Map.Entry<String, Integer> e : open.entrySet()) {
+			index.add(counts, e.getKey(), e.getValue().intValue(), index.size);
+		}
+		for (final Map.Entry<String, int[]> e : index.ranges.entrySet()) {
+			final int used = counts.get(e.getKey()).intValue() * 2;
+			if (used < e.getValue().length) {
+				final int[] trimmed = new int[used];
+				System.arraycopy(e.getValue(), 0, trimmed, 0, used);
+				e.setValue(trimmed);
+			}
+		}
+		return index;
+	}
+
+	private void add(final Map<String, Integer> counts, final String name, final int start, final int end) {
+		final Integer count = counts.get(name);
+		final int n = count == null ? 0 : count.intValue();
+		int[] r = this.ranges.get(name);
+		if (r == null) {
+			r = new int[4];
+			this.ranges.put(name, r);
+		} else if (r.length < (n + 1) * 2) {
+			final int[] grown = new int[r.length * 2];
+			System.arraycopy(r, 0, grown, 0, r.length);
+			r = grown;
+			this.ranges.put(name, r);
+		}
+		r[n * 2] = start;
+		r[n * 2 + 1] = end;
+		counts.put(name, Integer.valueOf(n + 1));
+	}
+
+	/**
+	 * Gets the block name if the tag is a boundary field matching the same criteria of {@link Tag#equalsIgnoreCR(Tag)}
+	 * against a new tag with the given name and the block name as value.
+	 */
+	private static String boundaryName(final Tag t, final String tagName) {
+		if (t != null && tagName.equals(t.getName()) && t.sortKey == null && t.unparsedTexts == null && t.getValue() != null) {
+			return StringUtils.replace(t.getValue(), "\r", "");
+		}
+		return null;
+	}
+
+	/**
+	 * Tells if this index can be used for the given list of tags.
+	 * @param tags the current tags of the block
+	 * @param modifications the current modification count of the block
+	 * @return true if the list is the indexed one, with the same size, and the block was not modified since the index was built
+	 */
+	boolean isValid(final List<Tag> tags, final int modifications) {
+		return tags == this.tags && modifications == this.modifications && tags.size() == this.size;
+	}
+
+	/**
+	 * Gets the positions of the sub blocks with the given name.
+	 * @param blockName the sub block name, the value of the 16R and 16S fields
+	 * @return pairs of start position (inclusive) and end position (exclusive), an empty array if none is found
+	 */
+	int[] ranges(final String blockName) {
+		final int[] r = this.ranges.get(StringUtils.replace(blockName, "\r", ""));
+		return r == null ? NONE : r;
+	}
+}
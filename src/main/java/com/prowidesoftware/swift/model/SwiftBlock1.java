@@ -14,11 +14,15 @@
  *******************************************************************************/
 package com.prowidesoftware.swift.model;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.StringWriter;
 import java.util.logging.Level;
 
 import org.apache.commons.lang.Validate;
 
+import com.google.gson.stream.JsonWriter;
+import com.prowidesoftware.swift.io.writer.JSONWriterVisitor;
 import com.prowidesoftware.swift.model.mt.ServiceIdType;
 
 /**
@@ -569,18 +573,19 @@ public class SwiftBlock1 extends SwiftValueBlock implements Serializable {
 	}
 
 	/**
+	 * Gets the block attributes as a JSON object, attributes not set are written as JSON nulls
+	 * @see JSONWriterVisitor#writeBlock1(JsonWriter, SwiftBlock1)
 	 * @since 7.5
 	 */
 	public String toJson() {
-		final StringBuilder sb = new StringBuilder();
-		sb.append("{ \n");
-		sb.append( "\"applicationId\" : ").append("\"").append(applicationId).append("\", \n");
-		sb.append( "\"serviceId\" : ").append("\"").append(serviceId).append("\", \n");
-		sb.append( "\"logicalTerminal\" : \"").append(logicalTerminal).append("\", \n");
-		sb.append( "\"sessionNumber\" : \"").append(sessionNumber).append("\", \n");
-		sb.append( "\"sequenceNumber\" : \"").append(sequenceNumber).append("\" \n");
-		sb.append("} ");
-		return sb.toString();
+		final StringWriter w = new StringWriter();
+		try {
+			JSONWriterVisitor.writeBlock1(new JsonWriter(w), this);
+		} catch (final IOException e) {
+			// not thrown by a StringWriter
+			throw new IllegalStateException(e);
+		}
+		return w.toString();
 	}
 	
 	/**
@@ -14,12 +14,17 @@
  *******************************************************************************/
 package com.prowidesoftware.swift.model;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.StringWriter;
 import java.util.logging.Level;
 
 import org.apache.commons.lang.Validate;
 import org.apache.commons.lang.builder.ToStringBuilder;
 
+import com.google.gson.stream.JsonWriter;
+import com.prowidesoftware.swift.io.writer.JSONWriterVisitor;
+
 /**
  * Base class for SWIFT <b>Application Header Block (block 2)</b>.<br>
  * The Application Header contains information about the 
@@ -218,11 +223,20 @@ public abstract class SwiftBlock2 extends SwiftValueBlock implements Serializabl
 	}
 	
 	/**
-	 * intended to be overwritten
+	 * Gets the block attributes as a JSON object, with the input or output attributes depending on the
+	 * block direction. Attributes not set are written as JSON nulls.
+	 * @see JSONWriterVisitor#writeBlock2(JsonWriter, SwiftBlock2)
 	 * @since 7.5
 	 */
 	public String toJson() {
-		return null;		
+		final StringWriter w = new StringWriter();
+		try {
+			JSONWriterVisitor.writeBlock2(new JsonWriter(w), this);
+		} catch (final IOException e) {
+			// not thrown by a StringWriter
+			throw new IllegalStateException(e);
+		}
+		return w.toString();
 	}
 	
 	/**
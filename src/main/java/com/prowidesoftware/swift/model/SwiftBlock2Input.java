@@ -510,24 +510,6 @@ public class SwiftBlock2Input extends SwiftBlock2 implements Serializable {
 		return true;
 	}
 	
-	/**
-	 * @since 7.5
-	 * @return the block content serialized into JSON
-	 */
-	public String toJson() {
-		final StringBuilder sb = new StringBuilder();
-		sb.append("{ \n");
-
-		sb.append(" \"messageType\" : \"").append(messageType).append("\", \n");
-		sb.append(" \"receiverAddress\" : \"").append(receiverAddress).append("\", \n");
-		sb.append(" \"messagePriority\" : \"").append(messagePriority).append("\", \n");
-		sb.append(" \"deliveryMonitoring\" : \"").append(deliveryMonitoring).append("\", \n"); 
-		sb.append(" \"obsolescencePeriod\" : \"").append(obsolescencePeriod).append("\" \n");
-
-		sb.append("} ");
-		return sb.toString();
-	}
-	
 	/**
 	 * Generic getter for block attributes based on qualified names from {@link SwiftBlock2InputField}
 	 * @param field field to get
@@ -623,27 +623,6 @@ public class SwiftBlock2Output extends SwiftBlock2 implements Serializable {
 		return true;
 	}
 	
-	/**
-	 * @since 7.5
-	 */
-	public String toJson() {
-		final StringBuilder sb = new StringBuilder();
-		sb.append("{ \n");
-
-		sb.append(" \"messageType\" : \"").append(messageType).append("\", \n");
-		sb.append(" \"senderInputTime\" : \"").append(senderInputTime).append("\", \n");
-		sb.append(" \"MIRDate\" : \"").append(MIRDate).append("\", \n");
-		sb.append(" \"MIRLogicalTerminal\" : \"").append(MIRLogicalTerminal).append("\", \n");
-		sb.append(" \"MIRSessionNumber\" : \"").append(MIRSessionNumber).append("\", \n");
-		sb.append(" \"MIRSequenceNumber\" : \"").append(MIRSequenceNumber).append("\", \n");
-		sb.append(" \"receiverOutputDate\" : \"").append(receiverOutputDate).append("\", \n");
-		sb.append(" \"receiverOutputTime\" : \"").append(receiverOutputTime).append("\", \n");
-		sb.append(" \"messagePriority\" : \"").append(messagePriority).append("\" \n");
-
-		sb.append("} ");
-		return sb.toString();
-	}
-	
 	/**
 	 * Generic getter for block attributes based on qualified names from {@link SwiftBlock2OutputField}
 	 * @param field field to get
@@ -6,6 +6,8 @@
  *******************************************************************************/
 package com.prowidesoftware.swift.model;
 
+import java.util.List;
+
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 
@@ -18,6 +20,34 @@ import org.apache.commons.lang.StringUtils;
  */
 public class SwiftCharsetUtils {
 	static public int OK = -1;
+
+	/*
+	 * Characters of each charset, created once; the getters return copies
+	 */
+	private static final char[] CHARSET_n = {'0','1','2','3','4','5','6','7','8','9'};
+	private static final char[] CHARSET_a = {'A','B','C','D','E','F','G','H','I','J','K','L','M','N','O','P','Q','R','S','T','U','V','W','X','Y','Z'};
+	private static final char[] LOWER_AZ = {'a','b','c','d','e','f','g','h','i','j','k','l','m','n','o','p','q','r','s','t','u','v','w','x','y','z'};
+	private static final char[] CHARSET_A = ArrayUtils.addAll(CHARSET_a, LOWER_AZ);
+	private static final char[] CHARSET_x = ArrayUtils.addAll(ArrayUtils.addAll(new char[] {'/', '-', '?', ':', '(', ')', '.', ',', '\'', '+', ' ', '\n', '\r'}, CHARSET_A), CHARSET_n);
+	private static final char[] CHARSET_y = ArrayUtils.addAll(ArrayUtils.addAll(new char[] {' ', '.', ',', '-', '(', ')', '/', '=', '\'', '+', ':', '?', '!', '"', '%', '&', '*', ';', '<', '>'}, CHARSET_a), CHARSET_n);
+	private static final char[] CHARSET_z = ArrayUtils.addAll(ArrayUtils.addAll(new char[] {'.', ',', '-', '(', ')', '/', '=', '\'', '+', ':', '?', '@', '#', ' ', '{', '!', '"', '%', '&', '*', ';', '<', '>', '_', '\n', '\r'}, CHARSET_A), CHARSET_n);
+	private static final char[] CHARSET_c = ArrayUtils.addAll(CHARSET_a, CHARSET_n);
+	private static final char[] CHARSET_B = ArrayUtils.addAll(CHARSET_A, CHARSET_n);
+
+	/**
+	 * Lookup tables indexed by the charset ordinal, each one indexed by char value
+	 */
+	private static final boolean[][] TABLES = new boolean[SwiftCharset.values().length][];
+	static {
+		TABLES[SwiftCharset.n.ordinal()] = table(CHARSET_n);
+		TABLES[SwiftCharset.a.ordinal()] = table(CHARSET_a);
+		TABLES[SwiftCharset.A.ordinal()] = table(CHARSET_A);
+		TABLES[SwiftCharset.x.ordinal()] = table(CHARSET_x);
+		TABLES[SwiftCharset.y.ordinal()] = table(CHARSET_y);
+		TABLES[SwiftCharset.z.ordinal()] = table(CHARSET_z);
+		TABLES[SwiftCharset.c.ordinal()] = table(CHARSET_c);
+		TABLES[SwiftCharset.B.ordinal()] = table(CHARSET_B);
+	}
 	
 	// Suppress default constructor for noninstantiability
 	private SwiftCharsetUtils() {
@@ -29,7 +59,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_n()
 	 */
 	static public boolean is_n(final char c) {
-		return is(c, get_n());
+		return is(c, SwiftCharset.n);
 	}
 	
 	/**
@@ -38,7 +68,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_n()
 	 */
 	static public int is_n(final String s) {
-		return is(s, get_n());
+		return is(s, SwiftCharset.n);
 	}
 
 	/**
@@ -46,7 +76,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_a()
 	 */
 	static public boolean is_a(final char c) {
-		return is(c, get_a());
+		return is(c, SwiftCharset.a);
 	}
 	
 	/**
@@ -55,7 +85,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_a()
 	 */
 	static public int is_a(final String s) {
-		return is(s, get_a());
+		return is(s, SwiftCharset.a);
 	}
 		
 	/**
@@ -63,7 +93,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_x()
 	 */
 	static public boolean is_x(final char c) {
-		return is(c, get_x());
+		return is(c, SwiftCharset.x);
 	}
 	
 	/**
@@ -72,7 +102,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_x()
 	 */
 	static public int is_x(final String s) {
-		return is(s, get_x());
+		return is(s, SwiftCharset.x);
 	}
 	
 	/**
@@ -80,7 +110,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_y()
 	 */
 	static public boolean is_y(final char c) {
-		return is(c, get_y());
+		return is(c, SwiftCharset.y);
 	}
 	
 	/**
@@ -89,7 +119,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_y()
 	 */
 	static public int is_y(final String s) {
-		return is(s, get_y());
+		return is(s, SwiftCharset.y);
 	}
 	
 	/**
@@ -97,7 +127,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_z()
 	 */
 	static public boolean is_z(final char c) {
-		return is(c, get_z());
+		return is(c, SwiftCharset.z);
 	}
 	
 	/**
@@ -106,7 +136,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_z()
 	 */
 	static public int is_z(final String s) {
-		return is(s, get_z());
+		return is(s, SwiftCharset.z);
 	}
 	
 	/**
@@ -114,7 +144,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_c()
 	 */
 	static public boolean is_c(final char c) {
-		return is(c, get_c());
+		return is(c, SwiftCharset.c);
 	}
 	
 	/**
@@ -123,7 +153,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_c()
 	 */
 	static public int is_c(final String s) {
-		return is(s, get_c());
+		return is(s, SwiftCharset.c);
 	}
 	
 	/**
@@ -131,7 +161,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_A()
 	 */
 	static public boolean is_A(final char c) {
-		return is(c, get_A());
+		return is(c, SwiftCharset.A);
 	}
 	
 	/**
@@ -140,7 +170,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_A()
 	 */
 	static public int is_A(final String s) {
-		return is(s, get_A());
+		return is(s, SwiftCharset.A);
 	}
 
 	/**
@@ -148,7 +178,7 @@ public class SwiftCharsetUtils {
 	 * @see #get_B()
 	 */
 	static public boolean is_B(final char c) {
-		return is(c, get_B());
+		return is(c, SwiftCharset.B);
 	}
 	
 	/**
@@ -157,74 +187,79 @@ public class SwiftCharsetUtils {
 	 * @see #get_B()
 	 */
 	static public int is_B(final String s) {
-		return is(s, get_B());
+		return is(s, SwiftCharset.B);
 	}
 	
 	/**
 	 * Returns this.OK (-1) if all characters of parameter string are part of the parameter character set.
 	 * Otherwise returns the position (zero based) of the first invalid character found.
 	 */
-	static private int is(final String s, final char[] charset) {
-	    if (StringUtils.isNotEmpty(s)) {
-		for (int i = 0; i < s.length(); i++) {
-			if (!is(s.charAt(i), charset)) {
+	static public int is(final String s, SwiftCharset charset) {
+		final boolean[] table = table(charset);
+		if (StringUtils.isNotEmpty(s)) {
+			return is(s, 0, s.length(), table);
+		}
+		return OK;
+	}
+
+	/**
+	 * Returns this.OK (-1) if all characters in the region of the parameter sequence are part of the parameter character set.
+	 * Otherwise returns the position in the sequence (zero based) of the first invalid character found.
+	 *
+	 * @param s the sequence to check
+	 * @param start the region start position, inclusive
+	 * @param end the region end position, exclusive
+	 * @param charset the character set
+	 * @throws IndexOutOfBoundsException if the region is not within the sequence bounds
+	 * @since 7.9.7
+	 */
+	static public int is(final CharSequence s, final int start, final int end, final SwiftCharset charset) {
+		final boolean[] table = table(charset);
+		if (start < 0 || end > s.length() || start > end) {
+			throw new IndexOutOfBoundsException("region " + start + " to " + end + " in sequence of length " + s.length());
+		}
+		return is(s, start, end, table);
+	}
+
+	static private int is(final CharSequence s, final int start, final int end, final boolean[] table) {
+		for (int i = start; i < end; i++) {
+			final char ch = s.charAt(i);
+			if (ch >= table.length || !table[ch]) {
 				return i;
 			}
 		}
-	    }
-	    return OK;
+		return OK;
 	}
-	
+
 	/**
-	 * @see #is(String, char[])
+	 * Checks the values of all the tags in the block in a single pass.
+	 *
+	 * @param b4 the block to check
+	 * @param charset the character set
+	 * @return an array with an element for each tag in the block, in the same order, with this.OK (-1) if all the characters
+	 * of the tag value are part of the parameter character set, or the position (zero based) of the first invalid character
+	 * found in the tag value.
+	 * @since 7.9.7
 	 */
-	static public int is(final String s, SwiftCharset charset) {
-		if (SwiftCharset.n.equals(charset)) {
-			return is_n(s);
-		} else if (SwiftCharset.a.equals(charset)) {
-			return is_a(s);			
-		} else if (SwiftCharset.A.equals(charset)) {
-			return is_A(s);
-		} else if (SwiftCharset.x.equals(charset)) {
-			return is_x(s);
-		} else if (SwiftCharset.y.equals(charset)) {
-			return is_y(s);
-		} else if (SwiftCharset.z.equals(charset)) {
-			return is_z(s);
-		} else if (SwiftCharset.c.equals(charset)) {
-			return is_c(s);
-		} else if (SwiftCharset.B.equals(charset)) {
-			return is_B(s);
-		} else {
-			throw new RuntimeException("unexpected charset enum");
+	static public int[] is(final SwiftBlock4 b4, final SwiftCharset charset) {
+		final boolean[] table = table(charset);
+		final List<Tag> tags = b4.getTags();
+		final int[] result = new int[tags.size()];
+		for (int i = 0; i < result.length; i++) {
+			final String value = tags.get(i).getValue();
+			result[i] = value != null ? is(value, 0, value.length(), table) : OK;
 		}
+		return result;
 	}
-	
+
 	/**
-	 * @see #is(String, char[])
+	 * Returns true if the parameter char is part of the parameter character set
 	 */
 	static public boolean is(final char c, SwiftCharset charset) {
-		if (SwiftCharset.n.equals(charset)) {
-			return is_n(c);
-		} else if (SwiftCharset.a.equals(charset)) {
-			return is_a(c);			
-		} else if (SwiftCharset.A.equals(charset)) {
-			return is_A(c);
-		} else if (SwiftCharset.x.equals(charset)) {
-			return is_x(c);
-		} else if (SwiftCharset.y.equals(charset)) {
-			return is_y(c);
-		} else if (SwiftCharset.z.equals(charset)) {
-			return is_z(c);
-		} else if (SwiftCharset.c.equals(charset)) {
-			return is_c(c);
-		} else if (SwiftCharset.B.equals(charset)) {
-			return is_B(c);
-		} else {
-			throw new RuntimeException("unexpected charset enum");
-		}
+		final boolean[] table = table(charset);
+		return c < table.length && table[c];
 	}
-	
+
 	/**
 	 * @see #getAsString(char[])
 	 */
@@ -256,89 +291,91 @@ public class SwiftCharsetUtils {
 	}
 	
 	/**
-	 * Returns true if the parameter char is part of the parameter character set
+	 * Gets the lookup table for the parameter character set
+	 */
+	static private boolean[] table(final SwiftCharset charset) {
+		if (charset == null) {
+			throw new RuntimeException("unexpected charset enum");
+		}
+		return TABLES[charset.ordinal()];
+	}
+
+	/**
+	 * Creates a lookup table for the characters in the array, indexed by char value
 	 */
-	static private boolean is(final char c, final char[] charset) {
-		return ArrayUtils.contains(charset, c);
+	static private boolean[] table(final char[] charset) {
+		int max = 0;
+		for (final char ch : charset) {
+			max = Math.max(max, ch);
+		}
+		final boolean[] result = new boolean[max + 1];
+		for (final char ch : charset) {
+			result[ch] = true;
+		}
+		return result;
 	}
 	
 	/**
 	 * Gets SWIFT n charset; numeric digits (0 through 9) only.
 	 */
-	//TODO sebastian feb 2016: meter estos arrays en bloque de iniciailzacion static en vez de en metodos
 	static public char[] get_n() {
-		char[] result = {'0','1','2','3','4','5','6','7','8','9'};
-		return result;
+		return CHARSET_n.clone();
 	}
 	
 	/**
 	 * Gets SWIFT a charset; alphabetic capital letters (A through Z), upper case only.
 	 */
 	static public char[] get_a() {
-		char[] result = {'A','B','C','D','E','F','G','H','I','J','K','L','M','N','O','P','Q','R','S','T','U','V','W','X','Y','Z'};
-		return result;
+		return CHARSET_a.clone();
 	}
 		
 	/**
 	 * Lower case a to z.
 	 */
 	static private char[] _get_az() {
-		char[] result = {'a','b','c','d','e','f','g','h','i','j','k','l','m','n','o','p','q','r','s','t','u','v','w','x','y','z'};
-		return result;
+		return LOWER_AZ.clone();
 	}
 	
 	/**
 	 * Gets SWIFT A charset; alphabetic, upper case or lower case A through Z, a through z.
 	 */
 	static public char[] get_A() {
-		char[] result = get_a();
-		return ArrayUtils.addAll(result, _get_az());
+		return CHARSET_A.clone();
 	}
 	
 	/**
 	 * Gets SWIFT x charset; any character of the X permitted set (General FIN application set)  upper case and lower case allowed.
 	 */
 	static public char[] get_x() {
-		char[] result = {'/', '-', '?', ':', '(', ')', '.', ',', '\'', '+', ' ', '\n', '\r'};
-		result = ArrayUtils.addAll(result, get_A());
-		result = ArrayUtils.addAll(result, get_n());
-		return result;
+		return CHARSET_x.clone();
 	}
 	
 	/**
 	 * Gets SWIFT y charset; any character of the Y permitted set (EDI service specific set), upper case only.
 	 */
 	static public char[] get_y() {
-		char[] result = {' ', '.', ',', '-', '(', ')', '/', '=', '\'', '+', ':', '?', '!', '"', '%', '&', '*', ';', '<', '>'};
-		result = ArrayUtils.addAll(result, get_a());
-		result = ArrayUtils.addAll(result, get_n());
-		return result;
+		return CHARSET_y.clone();
 	}
 	
 	/**
 	 * Gets SWIFT z charset; all characters included in the X and Y sets, plus a couple of special characters.
 	 */
 	static public char[] get_z() {
-		char[] result = {'.', ',', '-', '(', ')', '/', '=', '\'', '+', ':', '?', '@', '#', ' ', '{', '!', '"', '%', '&', '*', ';', '<', '>', '_', '\n', '\r'};
-		result = ArrayUtils.addAll(result, get_A());
-		result = ArrayUtils.addAll(result, get_n());
-		return result;
+		return CHARSET_z.clone();
 	}
 	
 	/**
 	 * Gets SWIFT c charset; alpha-numeric capital letters (upper case), and digits only.
 	 */
 	static public char[] get_c() {
-		char[] result = get_a();
-		return ArrayUtils.addAll(result, get_n());
+		return CHARSET_c.clone();
 	}
 	
 	/**
 	 * Gets SWIFT B charset; alphanumeric upper case or lower case A through Z, a through z and 0, 1, 2, 3, 4, 5, 6, 7, 8, 9.
 	 */
 	static public char[] get_B() {
-		char[] result = get_A();
-		return ArrayUtils.addAll(result, get_n());
+		return CHARSET_B.clone();
 	}
 
 	static public String getAsString(char[] charset) {
@@ -366,12 +403,41 @@ public class SwiftCharsetUtils {
 	 * @return
 	 */
 	static public String filter(String s, SwiftCharset charset) {
-		StringBuilder result = new StringBuilder();
-		for (int i=0; i<s.length(); i++) {
-			if (is(s.charAt(i), charset)) {
-				result.append(s.charAt(i));
+		final boolean[] table = table(charset);
+		final int first = is(s, 0, s.length(), table);
+		if (first == OK) {
+			return s;
+		}
+		final StringBuilder result = new StringBuilder(s.length());
+		result.append(s, 0, first);
+		for (int i=first+1; i<s.length(); i++) {
+			final char ch = s.charAt(i);
+			if (ch < table.length && table[ch]) {
+				result.append(ch);
 			}
 		}
 		return result.toString();
 	}
+
+	/**
+	 * Removes from the values of all the tags in the block the characters that do not belong to the parameter charset.
+	 * Tags with a null value or with all its characters in the charset are left unchanged.
+	 *
+	 * @param b4 the block to filter
+	 * @param charset the character set
+	 * @return the number of tags whose value was changed
+	 * @since 7.9.7
+	 */
+	static public int filter(final SwiftBlock4 b4, final SwiftCharset charset) {
+		final boolean[] table = table(charset);
+		int changed = 0;
+		for (final Tag t : b4.getTags()) {
+			final String value = t.getValue();
+			if (value != null && is(value, 0, value.length(), table) != OK) {
+				t.setValue(filter(value, charset));
+				changed++;
+			}
+		}
+		return changed;
+	}
 }
@@ -17,15 +17,16 @@ package com.prowidesoftware.swift.model;
 import java.io.IOException;
 import java.io.Serializable;
 import java.io.StringWriter;
-import java.text.DateFormat;
+import java.lang.reflect.Constructor;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Locale;
-import java.util.TimeZone;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 import org.apache.commons.lang.StringUtils;
@@ -34,8 +35,10 @@ import org.apache.commons.lang.builder.ToStringBuilder;
 
 import com.prowidesoftware.deprecation.ProwideDeprecated;
 import com.prowidesoftware.deprecation.TargetYear;
+import com.prowidesoftware.swift.io.parser.JSONParser;
 import com.prowidesoftware.swift.io.parser.SwiftParser;
 import com.prowidesoftware.swift.io.parser.XMLParser;
+import com.prowidesoftware.swift.io.writer.JSONWriterVisitor;
 import com.prowidesoftware.swift.io.writer.SwiftWriter;
 import com.prowidesoftware.swift.io.writer.XMLWriterVisitor;
 import com.prowidesoftware.swift.model.field.Field;
@@ -43,6 +46,7 @@ import com.prowidesoftware.swift.model.mt.AbstractMT;
 import com.prowidesoftware.swift.model.mt.AckSystemMessage;
 import com.prowidesoftware.swift.model.mt.MTVariant;
 import com.prowidesoftware.swift.model.mt.MtCategory;
+import com.prowidesoftware.swift.model.mt.MtFactory;
 import com.prowidesoftware.swift.model.mt.ServiceIdType;
 import com.prowidesoftware.swift.utils.IMessageVisitor;
 
@@ -66,8 +70,6 @@ public class SwiftMessage implements Serializable {
 
 	private static final transient java.util.logging.Logger log = java.util.logging.Logger.getLogger(SwiftMessage.class.getName());
 
-	private static final int JSON_VERSION = 1;
-
 	/**
 	 * Block 1
 	 */
@@ -204,11 +206,11 @@ public class SwiftMessage implements Serializable {
 			case 2:
 				return this.block2;
 			case 3:
-				return this.block3;
+				return getBlock3();
 			case 4:
-				return this.block4;
+				return getBlock4();
 			case 5:
-				return this.block5;
+				return getBlock5();
 			default:
 				log.severe("Invalid block number "+ b +". Expected numbers are 1 to 5");
 				// should not be reached
@@ -356,12 +358,12 @@ public class SwiftMessage implements Serializable {
 		}
 
 		// visit user defined blocks
-		if (this.userBlocks != null) {
+		if (getUserBlocks() != null) {
 
 			// visit every user defined block
-			for (int i = 0; i < this.userBlocks.size(); i++) {
+			for (int i = 0; i < getUserBlocks().size(); i++) {
 
-				final SwiftBlockUser userBlock = (SwiftBlockUser) this.userBlocks.get(i);
+				final SwiftBlockUser userBlock = (SwiftBlockUser) getUserBlocks().get(i);
 				if (userBlock != null) {
 					visitor.startBlockUser(userBlock);
 					visit(userBlock, visitor);
@@ -520,19 +522,19 @@ public class SwiftMessage implements Serializable {
 		if (this.block2 != null && !getBlock2().isEmpty()) {
 			count++;
 		}
-		if (this.block3 != null && !getBlock3().isEmpty()) {
+		if (getBlock3() != null && !getBlock3().isEmpty()) {
 			count++;
 		}
-		if (this.block4 != null && !getBlock4().isEmpty()) {
+		if (getBlock4() != null && !getBlock4().isEmpty()) {
 			count++;
 		}
-		if (this.block5 != null && !getBlock5().isEmpty()) {
+		if (getBlock5() != null && !getBlock5().isEmpty()) {
 			count++;
 		}
 
 		// count user defined blocks (if requested to do so)
-		if (includeUserBlocks.booleanValue() && this.userBlocks != null) {
-			count += this.userBlocks.size();
+		if (includeUserBlocks.booleanValue() && getUserBlocks() != null) {
+			count += getUserBlocks().size();
 		}
 
 		return count;
@@ -628,13 +630,13 @@ public class SwiftMessage implements Serializable {
 	public int getUserBlockPosition(final String blockName) {
 		// check parameters
 		if (StringUtils.isBlank(blockName) || //check user blocks array
-				(this.userBlocks == null)) {
+				(getUserBlocks() == null)) {
 			return -1;
 		}
 
 		// start scanning the list
-		for (int i = 0; i < this.userBlocks.size(); i++) {
-			final SwiftBlockUser userBlock = (SwiftBlockUser) this.userBlocks.get(i);
+		for (int i = 0; i < getUserBlocks().size(); i++) {
+			final SwiftBlockUser userBlock = (SwiftBlockUser) getUserBlocks().get(i);
 			if (userBlock != null && StringUtils.equals(userBlock.getName(), blockName)) {
 				return i;
 			}
@@ -689,7 +691,7 @@ public class SwiftMessage implements Serializable {
 		// find the block position
 		final int pos = getUserBlockPosition(blockName);
 		if (pos != -1) {
-			return (SwiftBlockUser) this.userBlocks.get(pos);
+			return (SwiftBlockUser) getUserBlocks().get(pos);
 		}
 
 		return null;
@@ -724,16 +726,16 @@ public class SwiftMessage implements Serializable {
 		Validate.notNull(userBlock);
 		Validate.isTrue(userBlock.isValidName().booleanValue(), "Invalid name for User Defined Blocks (" + userBlock.getName() + ")");
 
-		if (this.userBlocks == null) {
-			this.userBlocks = new ArrayList<SwiftBlockUser>();
+		if (getUserBlocks() == null) {
+			setUserBlocks(new ArrayList<SwiftBlockUser>());
 		}
 
 		// find the block position (if it's already there)
 		final int pos = getUserBlockPosition(userBlock.getName());
 		if (pos != -1) {
-			this.userBlocks.add(pos, userBlock);
+			getUserBlocks().add(pos, userBlock);
 		} else {
-			this.userBlocks.add(userBlock);
+			getUserBlocks().add(userBlock);
 		}
 	}
 
@@ -768,7 +770,7 @@ public class SwiftMessage implements Serializable {
 		// find the block position (if it's there)
 		final int pos = getUserBlockPosition(blockName);
 		if (pos != -1) {
-			this.userBlocks.remove(pos);
+			getUserBlocks().remove(pos);
 		}
 	}
 
@@ -986,11 +988,11 @@ public class SwiftMessage implements Serializable {
 		int result = 1;
 		result = prime * result + ((block1 == null) ? 0 : block1.hashCode());
 		result = prime * result + ((block2 == null) ? 0 : block2.hashCode());
-		result = prime * result + ((block3 == null) ? 0 : block3.hashCode());
-		result = prime * result + ((block4 == null) ? 0 : block4.hashCode());
-		result = prime * result + ((block5 == null) ? 0 : block5.hashCode());
+		result = prime * result + ((getBlock3() == null) ? 0 : getBlock3().hashCode());
+		result = prime * result + ((getBlock4() == null) ? 0 : getBlock4().hashCode());
+		result = prime * result + ((getBlock5() == null) ? 0 : getBlock5().hashCode());
 		result = prime * result + ((unparsedTexts == null) ? 0 : unparsedTexts.hashCode());
-		result = prime * result + ((userBlocks == null) ? 0 : userBlocks.hashCode());
+		result = prime * result + ((getUserBlocks() == null) ? 0 : getUserBlocks().hashCode());
 		return result;
 	}
 
@@ -1013,30 +1015,30 @@ public class SwiftMessage implements Serializable {
 				return false;
 		} else if (!block2.equals(other.block2))
 			return false;
-		if (block3 == null) {
-			if (other.block3 != null)
+		if (getBlock3() == null) {
+			if (other.getBlock3() != null)
 				return false;
-		} else if (!block3.equals(other.block3))
+		} else if (!getBlock3().equals(other.getBlock3()))
 			return false;
-		if (block4 == null) {
-			if (other.block4 != null)
+		if (getBlock4() == null) {
+			if (other.getBlock4() != null)
 				return false;
-		} else if (!block4.equals(other.block4))
+		} else if (!getBlock4().equals(other.getBlock4()))
 			return false;
-		if (block5 == null) {
-			if (other.block5 != null)
+		if (getBlock5() == null) {
+			if (other.getBlock5() != null)
 				return false;
-		} else if (!block5.equals(other.block5))
+		} else if (!getBlock5().equals(other.getBlock5()))
 			return false;
 		if (unparsedTexts == null) {
 			if (other.unparsedTexts != null)
 				return false;
 		} else if (!unparsedTexts.equals(other.unparsedTexts))
 			return false;
-		if (userBlocks == null) {
-			if (other.userBlocks != null)
+		if (getUserBlocks() == null) {
+			if (other.getUserBlocks() != null)
 				return false;
-		} else if (!userBlocks.equals(other.userBlocks))
+		} else if (!getUserBlocks().equals(other.getUserBlocks()))
 			return false;
 		return true;
 	}
@@ -1046,8 +1048,8 @@ public class SwiftMessage implements Serializable {
 	 * @return <code>true</code> if 119:COV is found at User Header (block3)
 	 */
 	public boolean isCOV() {
-		if (this.block3 != null) {
-			return this.block3.containsTag(new Tag("119", "COV"));
+		if (getBlock3() != null) {
+			return getBlock3().containsTag(new Tag("119", "COV"));
 		}
 		return false;
 	}
@@ -1057,8 +1059,8 @@ public class SwiftMessage implements Serializable {
 	 * @return <code>true</code> if 119:STP is found at User Header (block3)
 	 */
 	public boolean isSTP() {
-		if (this.block3 != null) {
-			return this.block3.containsTag(new Tag("119", "STP"));
+		if (getBlock3() != null) {
+			return getBlock3().containsTag(new Tag("119", "STP"));
 		}
 		return false;
 	}
@@ -1069,8 +1071,8 @@ public class SwiftMessage implements Serializable {
 	 * @since 7.7
 	 */
 	public boolean isREMIT() {
-		if (this.block3 != null) {
-			return this.block3.containsTag(new Tag("119", "REMIT"));
+		if (getBlock3() != null) {
+			return getBlock3().containsTag(new Tag("119", "REMIT"));
 		}
 		return false;
 	}
@@ -1156,14 +1158,14 @@ public class SwiftMessage implements Serializable {
 		if (this.block2 != null && getBlock2().isEmpty()) {
 			this.block2 = null;
 		}
-		if (this.block3 != null && getBlock3().isEmpty()) {
-			this.block3 = null;
+		if (getBlock3() != null && getBlock3().isEmpty()) {
+			setBlock3(null);
 		}
-		if (this.block4 != null && getBlock4().isEmpty()) {
-			this.block4 = null;
+		if (getBlock4() != null && getBlock4().isEmpty()) {
+			setBlock4(null);
 		}
-		if (this.block5 != null && getBlock5().isEmpty()) {
-			this.block5 = null;
+		if (getBlock5() != null && getBlock5().isEmpty()) {
+			setBlock5(null);
 		}
 	}
 
@@ -1417,8 +1419,8 @@ public class SwiftMessage implements Serializable {
 	 *  "messageType" : "103",
 	 *  "receiverAddress" : "FOORECV0XXXX",
 	 *  "messagePriority" : "N",
-	 *  "deliveryMonitoring" : "null",
-	 *  "obsolescencePeriod" : "null"
+	 *  "deliveryMonitoring" : null,
+	 *  "obsolescencePeriod" : null
 	 *  } ,
 	 *  "block3" :
 	 *  { },
@@ -1437,64 +1439,25 @@ public class SwiftMessage implements Serializable {
 	 *  }
 	 *  </pre>
 	 * 
+	 * <p>To write the JSON into a stream, or several messages into a JSON array, use {@link JSONWriterVisitor}.</p>
+	 * 
 	 * @since 7.5
 	 */
 	public String toJson() {
-		/*
-		 * Return an ISO 8601 combined date and time string for current timestamp
-		 */
-		DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.ENGLISH);
-		dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-		final String ts = dateFormat.format(Calendar.getInstance().getTime());
-		
-		final StringBuilder sb = new StringBuilder();
-		sb.append("{ \"version\" : ").append(JSON_VERSION).append(",\n");
-
-		sb.append(" \"timestamp\" : \"").append(ts).append("\",\n");
-
-		sb.append(" \"data\" : { \n");
-
-		sb.append("\"block1\" : \n");
-		if (this.block1 == null) {
-			sb.append(" {}");
-		} else {
-			sb.append(this.block1.toJson());
-		}
-		sb.append(",\n");
-
-		sb.append("\"block2\" : \n");
-		if (this.block2 == null) {
-			sb.append(" {}");
-		} else {
-			sb.append(this.block2.toJson());
-		}
-		sb.append(",\n"); // block
-
-		appendBlock("3", sb, this.block3);
-		sb.append(',');
-		appendBlock("4", sb, this.block4);
-		sb.append(',');
-		appendBlock("5", sb, this.block5);
-
-		// add user blocks add if present - requires starting with a comma
-		if (this.userBlocks != null && !this.userBlocks.isEmpty()) {
-			final Iterator<SwiftBlockUser> ubit = this.userBlocks.iterator();
-			sb.append(',');
-			sb.append("\"userblocks\" : [ \n");
-			while (ubit.hasNext()) {
-				final SwiftBlockUser ub = ubit.next();
-				sb.append("{ ");
-				sb.append("\"name\" :  \"").append(ub.getName()).append("\",\n \"tags\" : ");
-				sb.append(ub.toJson());
-				sb.append("}\n");
-			}
-			sb.append("] \n");
-		}
-
-		sb.append("}\n"); // data
-		sb.append("}\n"); // message
+		final StringWriter w = new StringWriter();
+		visit(new JSONWriterVisitor(w));
+		return w.toString();
+	}
 
-		return sb.toString();
+	/**
+	 * Creates a message from its JSON representation, as created by {@link #toJson()}
+	 * @param json the JSON to parse
+	 * @return the parsed message or null if the JSON cannot be parsed
+	 * @see JSONParser
+	 * @since 7.9.7
+	 */
+	public static SwiftMessage fromJson(final String json) {
+		return new JSONParser().parse(json);
 	}
 	
 	/**
@@ -1515,16 +1478,6 @@ public class SwiftMessage implements Serializable {
 		return xml;
 	}
 
-	private void appendBlock(final String blockName, final StringBuilder sb, final SwiftTagListBlock b) {
-		sb.append("\"block"+blockName+"\" : \n");
-		if (b == null) {
-			sb.append("{ }");
-		} else {
-			sb.append(b.toJson());
-		}
-		sb.append("\n"); // block
-	}
-
 	/**
 	 * Get the MTxxx instance that corresponds to the current message type.
 	 * <p>If you have a MT102 in a SwiftMessage, this method is the same as invoking
@@ -1542,41 +1495,94 @@ public class SwiftMessage implements Serializable {
 			}
 			log.warning("Cannot determine the message type from application header (block 2)");
 		} else {
-			final StringBuilder className = new StringBuilder();
-			className.append("com.prowidesoftware.swift.model.mt.mt");
-			className.append(String.valueOf((char) type.charAt(0)));
-			className.append("xx.MT");
-			className.append(type);
+			MTVariant variant = null;
 			if (isSTP()) {
 				if (isType(102, 103)) {
-					className.append("_STP");
+					variant = MTVariant.STP;
 				} else {
 					log.warning("Unexpected STP flag in MT "+getType());
 				}
 			} else if (isREMIT()) {
 				if (isType(103)) {
-					className.append("_REMIT");
+					variant = MTVariant.REMIT;
 				} else {
 					log.warning("Unexpected REMIT flag in MT "+getType());
 				}
 			} else if (isCOV()) {
 				if (isType(202, 205)) {
-					className.append("COV");
+					variant = MTVariant.COV;
 				} else {
 					log.warning("Unexpected COV flag in MT "+getType());
 				}
 			}
-			log.finer("About to create an instance of "+className);
+			final String variantName = variant != null ? variant.name() : null;
 			try {
-				final Class<?> mtClass = Class.forName(className.toString());
-				return (AbstractMT) mtClass.getConstructor(SwiftMessage.class).newInstance(this);
+				if (MtFactory.contains(type, variantName)) {
+					return MtFactory.create(type, variantName, this);
+				}
+				final Constructor<?> ct = customMtConstructor(type, variant);
+				if (ct != null) {
+					return (AbstractMT) ct.newInstance(this);
+				}
 			} catch (final Exception e) {
-				log.warning("Could not create instance of "+className+": "+e);
+				log.warning("Could not create instance of MT"+type+(variantName != null? " "+variantName : "")+": "+e);
 			}
 		}
 		return null;
 	}
 
+	/**
+	 * Maximum number of class names kept in the cache of MT classes not found
+	 */
+	private static final int UNKNOWN_MTS_CACHE_SIZE = 1000;
+
+	/**
+	 * Cache of constructors for MT classes not created by {@link MtFactory}
+	 */
+	private static final Map<String, Constructor<?>> customMtConstructors = new ConcurrentHashMap<String, Constructor<?>>();
+
+	/**
+	 * Cache of class names with no matching MT class
+	 */
+	private static final Set<String> unknownMts = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+	/**
+	 * Finds the constructor for a specific MT class not supported by the {@link MtFactory}
+	 * @param type the message type
+	 * @param variant the message variant or null
+	 * @return the found constructor or null if the class does not exist
+	 */
+	private static Constructor<?> customMtConstructor(final String type, final MTVariant variant) {
+		final StringBuilder className = new StringBuilder();
+		className.append("com.prowidesoftware.swift.model.mt.mt");
+		className.append(String.valueOf((char) type.charAt(0)));
+		className.append("xx.MT");
+		className.append(type);
+		if (variant == MTVariant.COV) {
+			className.append("COV");
+		} else if (variant != null) {
+			className.append('_').append(variant.name());
+		}
+		final String name = className.toString();
+		if (unknownMts.contains(name)) {
+			return null;
+		}
+		Constructor<?> ct = customMtConstructors.get(name);
+		if (ct == null) {
+			log.finer("About to create an instance of "+name);
+			try {
+				ct = Class.forName(name).getConstructor(SwiftMessage.class);
+				customMtConstructors.put(name, ct);
+			} catch (final Exception e) {
+				log.warning("Could not create instance of "+className+": "+e);
+				if (unknownMts.size() < UNKNOWN_MTS_CACHE_SIZE) {
+					unknownMts.add(name);
+				}
+			}
+		}
+		return ct;
+	}
+
 	/**
 	 * <p>Returns true if the message type is equal to the given number.</p>
 	 * <p>Notice this method only checks the message type number but can be combined with any
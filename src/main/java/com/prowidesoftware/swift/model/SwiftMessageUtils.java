@@ -14,11 +14,8 @@
  *******************************************************************************/
 package com.prowidesoftware.swift.model;
 
-import java.io.StringWriter;
-import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Method;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
@@ -46,6 +43,7 @@ import com.prowidesoftware.swift.model.mt.AbstractMT;
  */
 public class SwiftMessageUtils {
 	private static final Logger log = Logger.getLogger(SwiftMessageUtils.class.getName());
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
 	private final SwiftMessage msg;
 
 	public SwiftMessageUtils() {
@@ -221,62 +219,104 @@ public class SwiftMessageUtils {
 	 * Proprietary checksum for message integrity verification or duplicates detection.
 	 * <p>Please notice <strong>this is not the SWIFT trailer CHK field</strong>.</p>
 	 * <p>The implementation computes an MD5 on the complete message in FIN format. The result hash
-	 * is a 32 character string, you may consider encoding it with base64 on top to have the same 
-	 * information stored in 22 characters.</p>
+	 * is a 32 character hexadecimal string, you may consider encoding the digest with base64 instead
+	 * to have the same information stored in 22 characters.</p>
 	 * @param model the message
-	 * @return computed hash or null if errors occurred during computation or the message is null
+	 * @return computed hash or null if the message is null
+	 * @see #calculateChecksum(SwiftMessage, ChecksumAlgorithm)
 	 */
 	public static String calculateChecksum(final SwiftMessage model) {
-		if (model != null) {
-			final StringWriter writer = new StringWriter();
-			SwiftWriter.writeMessage(model, writer);
-			final String fin = writer.getBuffer().toString();
-			return md5(fin);
-		} else {
-			return null;
-		}
+		return calculateChecksum(model, ChecksumAlgorithm.MD5);
 	}
 
 	/**
 	 * Proprietary checksum for message text block (block 4) integrity verification or duplicates detection
 	 * <p>Please notice <strong>this is not the SWIFT trailer CHK field</strong>.</p>
-	 * <p>The implementation computes an MD5 on the complete message in FIN format. The result hash
-	 * is a 32 character string, you may consider encoding it with base64 on top to have the same 
-	 * information stored in 22 characters.</p>
+	 * <p>The implementation computes an MD5 on the block content in FIN format. The result hash
+	 * is a 32 character hexadecimal string, you may consider encoding the digest with base64 instead
+	 * to have the same information stored in 22 characters.</p>
 	 * @param b4 the message text block
-	 * @return computed hash or null if errors occurred during computation or the block is null
+	 * @return computed hash or null if the block is null
+	 * @see #calculateChecksum(SwiftBlock4, ChecksumAlgorithm)
 	 * @since 7.9.5
 	 */
 	public static String calculateChecksum(final SwiftBlock4 b4) {
-		if (b4 != null) {
-			final StringWriter writer = new StringWriter();
-			SwiftWriter.writeBlock4(b4, writer);
-			final String fin = writer.getBuffer().toString();
-			return md5(fin);
-		} else {
+		return calculateChecksum(b4, ChecksumAlgorithm.MD5);
+	}
+
+	/**
+	 * Proprietary checksum for message integrity verification or duplicates detection, with the given hash algorithm.
+	 * <p>The hash is computed on the UTF-8 bytes of the complete message in FIN format, streaming the message
+	 * content into the digest without creating the FIN string.</p>
+	 * @param model the message
+	 * @param algorithm the hash algorithm
+	 * @return the hash as a lowercase hexadecimal string, or null if the message is null
+	 * @since 7.9.7
+	 */
+	public static String calculateChecksum(final SwiftMessage model, final ChecksumAlgorithm algorithm) {
+		return toHex(digest(model, algorithm));
+	}
+
+	/**
+	 * Proprietary checksum for message text block (block 4) integrity verification or duplicates detection, with the given hash algorithm.
+	 * @param b4 the message text block
+	 * @param algorithm the hash algorithm
+	 * @return the hash as a lowercase hexadecimal string, or null if the block is null
+	 * @see #calculateChecksum(SwiftMessage, ChecksumAlgorithm)
+	 * @since 7.9.7
+	 */
+	public static String calculateChecksum(final SwiftBlock4 b4, final ChecksumAlgorithm algorithm) {
+		return toHex(digest(b4, algorithm));
+	}
+
+	/**
+	 * Computes the hash of the complete message in FIN format, for example to encode it in base64.
+	 * @param model the message
+	 * @param algorithm the hash algorithm
+	 * @return the hash bytes, or null if the message is null
+	 * @throws IllegalArgumentException if algorithm is null
+	 * @see #calculateChecksum(SwiftMessage, ChecksumAlgorithm)
+	 * @since 7.9.7
+	 */
+	public static byte[] digest(final SwiftMessage model, final ChecksumAlgorithm algorithm) {
+		Validate.notNull(algorithm, "algorithm cannot be null");
+		if (model == null) {
 			return null;
 		}
+		final MessageDigest digest = algorithm.digest();
+		SwiftWriter.digestMessage(model, digest);
+		return digest.digest();
 	}
-	
+
 	/**
-	 * Computes an MD5 hash on the parameter text
-	 * @param text the text to hash
-	 * @return computed hash or null if exceptions are thrown reading bytes or processing the digest
-	 * @since 7.9.5
+	 * Computes the hash of the text block in FIN format, for example to encode it in base64.
+	 * @param b4 the message text block
+	 * @param algorithm the hash algorithm
+	 * @return the hash bytes, or null if the block is null
+	 * @throws IllegalArgumentException if algorithm is null
+	 * @see #calculateChecksum(SwiftBlock4, ChecksumAlgorithm)
+	 * @since 7.9.7
 	 */
-	//TODO add base 64 encoding on top when upgraded to Java 8
-	private static String md5(final String text) {
-		try {
-			byte[] bytesOfMessage = text.getBytes("UTF-8");
-			MessageDigest md = MessageDigest.getInstance("MD5");
-			byte[] thedigest = md.digest(bytesOfMessage);
-			return new String(thedigest, "UTF-8");
-		} catch (UnsupportedEncodingException e) {
-			log.log(Level.FINEST, e.getMessage(), e);
-		} catch (NoSuchAlgorithmException e) {
-			log.log(Level.FINEST, e.getMessage(), e);
+	public static byte[] digest(final SwiftBlock4 b4, final ChecksumAlgorithm algorithm) {
+		Validate.notNull(algorithm, "algorithm cannot be null");
+		if (b4 == null) {
+			return null;
 		}
-		return null;
+		final MessageDigest digest = algorithm.digest();
+		SwiftWriter.digestBlock4(b4, digest);
+		return digest.digest();
+	}
+
+	static String toHex(final byte[] bytes) {
+		if (bytes == null) {
+			return null;
+		}
+		final char[] result = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			result[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+			result[i * 2 + 1] = HEX[bytes[i] & 0xf];
+		}
+		return new String(result);
 	}
 
 	/**
@@ -17,6 +17,10 @@ package com.prowidesoftware.swift.model;
 import com.prowidesoftware.deprecation.DeprecationUtils;
 import com.prowidesoftware.deprecation.ProwideDeprecated;
 import com.prowidesoftware.deprecation.TargetYear;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.prowidesoftware.swift.io.parser.JSONParser;
+import com.prowidesoftware.swift.io.writer.JSONWriterVisitor;
 import com.prowidesoftware.swift.model.field.Field;
 import com.prowidesoftware.swift.model.field.GenericField;
 
@@ -24,7 +28,10 @@ import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.Validate;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.*;
 import java.util.logging.Level;
 
@@ -51,6 +58,29 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 */
 	private List<Tag> tags = new ArrayList<Tag>();
 
+	/**
+	 * Positions of the 16R/16S sub blocks, created on demand for blocks queried more than once by sub block name.
+	 * @see #getSubBlocks(String)
+	 * @since 7.9.7
+	 */
+	private transient volatile SequenceIndex sequenceIndex;
+	private transient boolean sequenceLookup;
+
+	/**
+	 * Positions of the tags by name and number, created on demand for blocks queried more than once by tag name or number.
+	 * @see #getTagByName(String)
+	 * @since 7.9.7
+	 */
+	private transient volatile TagNameIndex tagNameIndex;
+	private transient boolean tagNameLookup;
+
+	/**
+	 * Counts the modifications of the tags made by this block or possible through the list returned by {@link #getTags()},
+	 * used to tell if the indexes are outdated.
+	 * @since 7.9.7
+	 */
+	private transient volatile int modifications;
+
 	/**
 	 * Default constructor, shouldn't be used normally.
 	 * present only for subclasses
@@ -96,10 +126,14 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 
 	/**
 	 * Gets the internal List of tags in block.
+	 * <p>Since the list can be modified by the caller the tag indexes of the block are discarded. Changes in the
+	 * returned list or its tags made after other methods of this block have been called, other than adding or removing
+	 * tags, may not be seen by the searches by tag name or number; call this method again before such changes.</p>
 	 * @return a List of Tag
 	 * @see Tag
 	 */
 	public List<Tag> getTags() {
+		resetIndexes();
 		return this.tags;
 	}
 
@@ -112,6 +146,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 */
 	public Tag getTagByName(final String name) {
 		Validate.notNull(name, NAME_VALIDATION_MESSAGE);
+		final int[] positions = positionsByName(name, false);
+		if (positions != null) {
+			return positions.length > 0 ? this.tags.get(positions[0]) : null;
+		}
 		for (Tag tag : this.tags) {
 			if (StringUtils.equals(tag.getName(),  name)) {
 				return tag;
@@ -181,7 +219,9 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	public Tag[] getTagsByName(final String name) {
 		Validate.notNull(name, NAME_VALIDATION_MESSAGE);
 		final List<Tag> l = new ArrayList<Tag>();
-		for (Tag tag : this.tags) {
+		final int[] positions = positionsByName(name, false);
+		for (int i = 0; i < candidateCount(positions); i++) {
+			final Tag tag = candidate(positions, i);
 			if (StringUtils.equals(tag.getName(), name)) {
 				l.add(tag);
 			}
@@ -217,6 +257,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
  	 * @return the first tag with the given number or null if no tag is found.
 	 */
 	public Tag getTagByNumber(final int tagNumber) {
+		final int[] positions = positionsByNumber(tagNumber);
+		if (positions != null) {
+			return positions.length > 0 ? this.tags.get(positions[0]) : null;
+		}
 		for (Tag tag : this.tags) {
 			if (tag.isNumber(tagNumber)) {
 				return tag;
@@ -233,7 +277,9 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 */
 	public List<Tag> getTagsByNumber(final int tagNumber) {
 		final List<Tag> result = new ArrayList<Tag>();
-		for (Tag tag : this.tags) {
+		final int[] positions = positionsByNumber(tagNumber);
+		for (int i = 0; i < candidateCount(positions); i++) {
+			final Tag tag = candidate(positions, i);
 			if (tag.isNumber(tagNumber)) {
 				result.add(tag);
 			}
@@ -351,7 +397,9 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 		Validate.notNull(name, NAME_VALIDATION_MESSAGE);
 		
 		final boolean wildcard = name.endsWith("a");
-		for (Tag tag : this.tags) {
+		final int[] positions = positionsByName(name, wildcard);
+		for (int i = 0; i < candidateCount(positions); i++) {
+			final Tag tag = candidate(positions, i);
 			if (matchesName(wildcard, tag.getName(), name)) {
 				final Field field = tag.getField();
 				if (field == null) {
@@ -378,7 +426,9 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 		
 		final boolean wildcard = name.endsWith("a");
 		final List<Field> l = new ArrayList<Field>();
-		for (Tag tag : this.tags) {
+		final int[] positions = positionsByName(name, wildcard);
+		for (int i = 0; i < candidateCount(positions); i++) {
+			final Tag tag = candidate(positions, i);
 			if (matchesName(wildcard, tag.getName(), name)) {
 				final Field field = tag.getField();
 				if (field == null) {
@@ -391,6 +441,92 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 		return l;
 	}
 
+	/**
+	 * Gets the positions of the tags matching the given name from the tag name index.
+	 * @param name the tag name
+	 * @param wildcard if true the name ends with 'a' and the letter option is ignored
+	 * @return the ascending positions of the matching tags or null if the tags must be searched with a plain scan
+	 * @since 7.9.7
+	 */
+	private int[] positionsByName(final String name, final boolean wildcard) {
+		final TagNameIndex index = tagNameIndex();
+		if (index == null) {
+			return null;
+		}
+		return wildcard ? index.byPrefix(name.substring(0, name.length()-1)) : index.byName(name);
+	}
+
+	/**
+	 * Gets the positions of the tags with the given number from the tag name index.
+	 * @param tagNumber the tag number
+	 * @return the ascending positions of the matching tags or null if the tags must be searched with a plain scan
+	 * @since 7.9.7
+	 */
+	private int[] positionsByNumber(final int tagNumber) {
+		final TagNameIndex index = tagNameIndex();
+		return index != null ? index.byNumber(tagNumber) : null;
+	}
+
+	/**
+	 * Gets the index of tags by name and number, building it when the block is queried for the second time
+	 * since it was created or modified. The first lookup is resolved with a plain scan since many blocks
+	 * are queried only once.<br>
+	 * The index is discarded by the methods in this class that modify the tags or hand out the list of tags,
+	 * and tags added or removed later through a list obtained before are detected by its size, see
+	 * {@link TagNameIndex#isValid(List, int)}. The index is built before it is published, so threads reading a
+	 * block that is not being modified either use a complete index or build their own.
+	 *
+	 * @return the index or null if the tags must be searched with a plain scan
+	 * @since 7.9.7
+	 */
+	private TagNameIndex tagNameIndex() {
+		final List<Tag> current = this.tags;
+		if (current == null) {
+			return null;
+		}
+		final int modifications = this.modifications;
+		TagNameIndex index = this.tagNameIndex;
+		if (index != null && index.isValid(current, modifications)) {
+			return index;
+		}
+		if (!this.tagNameLookup) {
+			this.tagNameLookup = true;
+			return null;
+		}
+		index = TagNameIndex.build(current, modifications);
+		this.tagNameIndex = index;
+		return index;
+	}
+
+	/**
+	 * @param positions tag positions or null
+	 * @return the number of positions or the number of tags in the block if positions is null
+	 */
+	private int candidateCount(final int[] positions) {
+		return positions != null ? positions.length : this.tags.size();
+	}
+
+	/**
+	 * @param positions tag positions or null
+	 * @param i the candidate number, lower than {@link #candidateCount(int[])}
+	 * @return the tag at the given position or the tag at i in the block if positions is null
+	 */
+	private Tag candidate(final int[] positions, final int i) {
+		return this.tags.get(positions != null ? positions[i] : i);
+	}
+
+	/**
+	 * Discards the sub block and tag name indexes after a modification of the tags, the indexes
+	 * are built again on the second search after the modification
+	 */
+	private void resetIndexes() {
+		this.modifications++;
+		this.sequenceIndex = null;
+		this.sequenceLookup = false;
+		this.tagNameIndex = null;
+		this.tagNameLookup = false;
+	}
+
 	/**
 	 * Returns true if the found fieldname matches the expected name
 	 * @param wildcard if true the match will ignore letter options
@@ -548,6 +684,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 			this.tags = new ArrayList<Tag>();
 		}
 		this.tags.add(t);
+		resetIndexes();
 	}
 	/**
 	 * @deprecated use {@link #append(Field)} instead
@@ -578,6 +715,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 */
 	public int countByName(final String name) {
 		Validate.notNull(name, NAME_VALIDATION_MESSAGE);
+		final int[] positions = positionsByName(name, false);
+		if (positions != null) {
+			return positions.length;
+		}
 		int count = 0;
 		for (final Tag tag : this.tags) {
 			if (StringUtils.equals(tag.getName(), name)) {
@@ -616,6 +757,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 			final Tag t = (Tag) it.next();
 			if (StringUtils.equals(t.getName(), name)) {
 				final Tag r = tags.remove(i);
+				resetIndexes();
 				return r.getValue();
 			}
 			i++;
@@ -643,6 +785,9 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 			this.tags.remove(matching[i]);
 			removed++;
 		}
+		if (removed > 0) {
+			resetIndexes();
+		}
 		return removed;
 	}
 
@@ -673,6 +818,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 		Validate.allElementsOfType(tags, Tag.class, "parameter 'tags' may only have Tag elements");
 
 		thisTagsNotNull().addAll(tags);
+		resetIndexes();
 	}
 
     /**
@@ -688,6 +834,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
         // sanity check
         Validate.notNull(tag, TAG_VALIDATION_MESSAGE);
         thisTagsNotNull().add(index,tag);
+        resetIndexes();
     }
 
 	/**
@@ -729,6 +876,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 public Tag setTag(int index, Tag tag) {
          // sanity check
          Validate.notNull(tag, TAG_VALIDATION_MESSAGE);
+		 resetIndexes();
 		 return this.tags.set(index,tag);
 	 }
 
@@ -744,6 +892,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
             Validate.allElementsOfType(tags, Tag.class, "parameter 'tags' may only have Tag elements");
         }
         this.tags = tags;
+        resetIndexes();
     }
 
 	 /**
@@ -858,9 +1007,48 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      * @since 6.0
      */
      public List<SwiftTagListBlock> getSubBlocks(final String blockName) {
-        return getSubBlocks(new Tag("16R", blockName), new Tag("16S", blockName));
+        final SequenceIndex index = sequenceIndex();
+        if (index == null) {
+            return getSubBlocks(new Tag("16R", blockName), new Tag("16S", blockName));
+        }
+        final int[] ranges = index.ranges(blockName);
+        final List<SwiftTagListBlock> result = new ArrayList<SwiftTagListBlock>(ranges.length / 2);
+        for (int i = 0; i < ranges.length; i += 2) {
+            result.add(new SwiftTagListBlock(new ArrayList<Tag>(this.tags.subList(ranges[i], ranges[i + 1]))));
+        }
+        return result;
      }
 
+	/**
+	 * Gets the index of 16R/16S sub blocks, building it when the block is queried by sub block name for
+	 * the second time since it was created or modified. The first lookup is resolved with a plain scan
+	 * since most intermediate blocks are queried only once.<br>
+	 * The index is discarded by the methods in this class that modify the tags or hand out the list of tags,
+	 * and tags added or removed later through a list obtained before are detected by its size, see
+	 * {@link SequenceIndex#isValid(List, int)}. The index is built before it is published, so threads reading
+	 * a block that is not being modified either use a complete index or build their own.
+	 *
+	 * @return the index or null if the sub blocks must be searched with a plain scan
+	 */
+	private SequenceIndex sequenceIndex() {
+		final List<Tag> current = this.tags;
+		if (current == null) {
+			return null;
+		}
+		final int modifications = this.modifications;
+		SequenceIndex index = this.sequenceIndex;
+		if (index != null && index.isValid(current, modifications)) {
+			return index;
+		}
+		if (!this.sequenceLookup) {
+			this.sequenceLookup = true;
+			return null;
+		}
+		index = SequenceIndex.build(current, modifications);
+		this.sequenceIndex = index;
+		return index;
+	}
+
 	 /**
 	  * Get all sub blocks using the starting and ending Tag names as block boundaries (Tag values are ignored).
 	  * The starting and end tags are included in the resulting sub blocks.<br />
@@ -994,7 +1182,15 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      * @since 6.0
      */
     public SwiftTagListBlock getSubBlock(final String blockName) {
-        return getSubBlock(new Tag("16R", blockName), new Tag("16S", blockName));
+        final SequenceIndex index = sequenceIndex();
+        if (index == null) {
+            return getSubBlock(new Tag("16R", blockName), new Tag("16S", blockName));
+        }
+        final int[] ranges = index.ranges(blockName);
+        if (ranges.length == 0) {
+            return new SwiftTagListBlock();
+        }
+        return new SwiftTagListBlock(new ArrayList<Tag>(this.tags.subList(ranges[0], ranges[1])));
     }
 
     /**
@@ -1328,6 +1524,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	  * @return a 0-based index of the found tag or -1 if not found
 	  */
 	 public int indexOfLast(final String tagname) {
+		 final int[] positions = tagname != null ? positionsByName(tagname, false) : null;
+		 if (positions != null) {
+			 return positions.length > 0 ? positions[positions.length-1] : -1;
+		 }
 		 int result = -1;
 		 if (this.tags != null && !this.tags.isEmpty()) {
 
@@ -1416,6 +1616,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 * @return a 0-based index of the found tag or -1 if not found
 	 */
 	public int indexOfFirst(final String tagname) {
+		final int[] positions = tagname != null ? positionsByName(tagname, false) : null;
+		if (positions != null) {
+			return positions.length > 0 ? positions[0] : -1;
+		}
 		if (this.tags != null && !this.tags.isEmpty()) {
 
 			for (int i=0;i<this.tags.size();i++) {
@@ -1630,7 +1834,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 public SwiftTagListBlock filterByNameOrdered(final String ... names) {
 		 String[] tagnames = names;
 		 final SwiftTagListBlock result = new SwiftTagListBlock();
-		 for (final Tag t : getTags()) {
+		 for (final Tag t : this.tags) {
 			 boolean matched = false;
 			 for (int j=0; !matched && j<tagnames.length; j++) {
 				 if (StringUtils.equals(t.getName(), tagnames[j])) {
@@ -1948,31 +2152,35 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 }
 
 	 /**
+	  * Gets the tags as a JSON array of objects with the tag name and value
+	  * @see JSONWriterVisitor#writeTags(JsonWriter, SwiftTagListBlock)
 	  * @since 7.5
 	  */
 	 public String toJson() {
-		 final StringBuilder sb = new StringBuilder();
-		 sb.append("[ \n");
-		 if (this.tags != null && !this.tags.isEmpty()) {
-			 for (int i=0;i<this.tags.size();i++) {
-				 final Tag t = this.tags.get(i);
-				 sb.append("{ \"").append(t.getName()).append("\" : \"").append(escapeJson(t.getValue())).append("\" }");
-				 if (i+1<this.tags.size()) {
-					 sb.append(',');
-				 }
-				 sb.append('\n');
-			 }
-
+		 final StringWriter w = new StringWriter();
+		 try {
+			 JSONWriterVisitor.writeTags(new JsonWriter(w), this);
+		 } catch (final IOException e) {
+			 // not thrown by a StringWriter
+			 throw new IllegalStateException(e);
 		 }
-		 sb.append("]");
-		 return sb.toString();
+		 return w.toString();
 	 }
-	 
-	 private String escapeJson(final String value) {
-		 String tmp = StringUtils.replace(value, "\n", "\\n");
-		 tmp = StringUtils.replace(tmp, "\"", "\\\"");
-		 tmp = StringUtils.remove(tmp, "\r");
-		 return tmp;
+
+	 /**
+	  * Creates a block from the JSON array of tags created by {@link #toJson()}
+	  * @param json the JSON to parse
+	  * @return the parsed block or null if the JSON cannot be parsed
+	  * @since 7.9.7
+	  */
+	 public static SwiftTagListBlock fromJson(final String json) {
+		 Validate.notNull(json);
+		 try {
+			 return new JSONParser().parseTags(new JsonReader(new StringReader(json)));
+		 } catch (final Exception e) {
+			 log.log(Level.WARNING, "Error parsing JSON", e);
+			 return null;
+		 }
 	 }
 
 	 /**
@@ -1983,6 +2191,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 public SwiftTagListBlock append (final SwiftTagListBlock block) {
 		 if ((block!= null) && !block.isEmpty()) {
 			 this.tags.addAll(block.getTags());
+			 resetIndexes();
 		 }
 		 return this;
 	 }
@@ -1999,6 +2208,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 			 for (final SwiftTagListBlock b : blocks) {
 				 this.tags.addAll(b.getTags());
 			}
+			 resetIndexes();
 		 }
 		 return this;
 	 }
@@ -2013,6 +2223,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 public SwiftTagListBlock append(final Tag tag) {
 		 Validate.notNull(tag);
 		 this.tags.add(tag); 
+		 resetIndexes();
 		 return this;
 	 }
 	 
@@ -2027,6 +2238,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 			 for (final Tag t : tags) {
 				 this.tags.add(t); 
 			}
+			 resetIndexes();
 		 }
 		 return this;
 	 }
@@ -2045,6 +2257,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 	 public SwiftTagListBlock append(final Field field) {
 		 Validate.notNull(field);
 		 this.tags.add(field.asTag()); 
+		 resetIndexes();
 		 return this;
 	 }
 	 
@@ -2098,6 +2311,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 		 if (this.tags != null) {
 			 this.tags.clear();
 		 }
+		 resetIndexes();
 		 return this;
 	 }
 
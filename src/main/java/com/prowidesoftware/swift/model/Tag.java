@@ -15,6 +15,8 @@
 package com.prowidesoftware.swift.model;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Level;
 
 import org.apache.commons.lang.StringUtils;
@@ -82,6 +84,15 @@ public class Tag implements Serializable {
 	 * Reference to the sequence node, if any, that this tags belongs to.
 	 */
 	protected transient SequenceNode sequence = null;
+
+	/**
+	 * Read-only field returned by {@link #getCachedField()}, with the name, value and components it was created with.
+	 * For performance reasons, this will be null until really needed.
+	 */
+	private transient Field cachedField = null;
+	private transient String cachedName = null;
+	private transient String cachedValue = null;
+	private transient List<String> cachedComponents = null;
 	
 	/**
 	 * Default constructor
@@ -211,6 +222,7 @@ public class Tag implements Serializable {
 		Validate.notNull(name, "parameter 'name' cannot be null");
 
 		this.name = name;
+		this.cachedField = null;
 	}
 
 	/**
@@ -233,6 +245,7 @@ public class Tag implements Serializable {
 	 */
 	public void setValue(String value) {
 		this.value = value;
+		this.cachedField = null;
 	}
 
 	public String toString() {
@@ -597,5 +610,42 @@ public class Tag implements Serializable {
 		}
 		return null;
 	}
-	
+
+	/**
+	 * Gets a read-only field for this tag, created on the first call and reused by subsequent calls
+	 * until the tag name or value is changed.
+	 *
+	 * <p>This is an alternative to {@link #asField()} for code reading the same field several times,
+	 * such as validation or enrichment rules, avoiding to parse the value on every call. The returned
+	 * instance is shared by all callers so its components list cannot be modified, setting a component
+	 * throws an {@link UnsupportedOperationException}. Use {@link #asField()} or {@link #getField()} to
+	 * get a new field that can be modified.</p>
+	 *
+	 * <p>The cached field is released by {@link #setName(String)}, {@link #setValue(String)} and
+	 * {@link #setNameValue(String, String)}, and it is not serialized. It is also created again if the
+	 * name or value attributes are changed directly or if the components list of the returned field is
+	 * replaced, for example calling its parse method. Like the rest of this class, this method is not
+	 * thread safe.</p>
+	 *
+	 * @return the cached field or <code>null</code> if the tag cannot be converted into a field
+	 * @see #asField()
+	 * @since 7.9.7
+	 */
+	public Field getCachedField() {
+		final Field f = this.cachedField;
+		if (f != null && this.cachedName == this.name && this.cachedValue == this.value && f.getComponents() == this.cachedComponents) {
+			return f;
+		}
+		final Field created = asField();
+		if (created != null) {
+			final List<String> components = created.getComponents() != null ? Collections.unmodifiableList(created.getComponents()) : Collections.<String>emptyList();
+			created.setComponents(components);
+			this.cachedName = this.name;
+			this.cachedValue = this.value;
+			this.cachedComponents = components;
+		}
+		this.cachedField = created;
+		return created;
+	}
+
 }
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Positions of the tags in a list of tags by tag name, by tag name prefix and by tag number, built in a single pass.
+ *
+ * <p>The index is tied to the list it was built from and to the modification count of the block when it
+ * was built; {@link #isValid(List, int)} is a constant time check of the list instance, its size and the
+ * modification count, so the block must count every change it makes or hands out to its callers.</p>
+ *
+ * <p>The index is not modified once built, except for the positions by number that are created on the first
+ * lookup by number and published with a volatile field, so it can be shared by threads reading the same block.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+final class TagNameIndex {
+	private static final int[] NONE = new int[0];
+
+	private final List<Tag> tags;
+	private final int size;
+	private final int modifications;
+
+	/**
+	 * Tag name to ascending positions
+	 */
+	private final Map<String, int[]> byName = new HashMap<String, int[]>();
+
+	/**
+	 * Tag name prefix, including the empty prefix and the whole name, to ascending positions
+	 */
+	private final Map<String, int[]> byPrefix = new HashMap<String, int[]>();
+
+	/**
+	 * Tag number to ascending positions, created on the first lookup by number
+	 */
+	private volatile Map<Integer, int[]> byNumber;
+
+	private TagNameIndex(final List<Tag> tags, final int modifications) {
+		this.tags = tags;
+		this.size = tags.size();
+		this.modifications = modifications;
+	}
+
+	/**
+	 * Scans the list of tags and creates the index
+	 * @param tags the tags to index, must not be null
+	 * @param modifications the modification count of the block owning the tags
+	 * @return the created index
+	 */
+	static TagNameIndex build(final List<Tag> tags, final int modifications) {
+		final TagNameIndex index = new TagNameIndex(tags, modifications);
+		final Map<String, Integer> nameCounts = new HashMap<String, Integer>();
+		final Map<String, Integer> prefixCounts = new HashMap<String, Integer>();
+		for (int i = 0; i < index.size; i++) {
+			final Tag t = tags.get(i);
+			final String name = t != null ? t.getName() : null;
+			if (name != null) {
+				add(index.byName, nameCounts, name, i);
+				for (int length = 0; length <= name.length(); length++) {
+					add(index.byPrefix, prefixCounts, name.substring(0, length), i);
+				}
+			}
+		}
+		trim(index.byName, nameCounts);
+		trim(index.byPrefix, prefixCounts);
+		return index;
+	}
+
+	private static void add(final Map<String, int[]> positions, final Map<String, Integer> counts, final String key, final int i) {
+		final Integer count = counts.get(key);
+		final int n = count == null ? 0 : count.intValue();
+		int[] p = positions.get(key);
+		if (p == null) {
+			p = new int[2];
+			positions.put(key, p);
+		} else if (p.length == n) {
+			p = Arrays.copyOf(p, n * 2);
+			positions.put(key, p);
+		}
+		p[n] = i;
+		counts.put(key, Integer.valueOf(n + 1));
+	}
+
+	private static void trim(final Map<String, int[]> positions, final Map<String, Integer> counts) {
+		for (final Map.Entry<String, int[]> e : positions.entrySet()) {
+			final int used = counts.get(e.getKey()).intValue();
+			if (used < e.getValue().length) {
+				e.setValue(Arrays.copyOf(e.getValue(), used));
+			}
+		}
+	}
+
+	/**
+	 * Tells if this index can be used for the given list of tags.
+	 * @param tags the current tags of the block
+	 * @param modifications the current modification count of the block
+	 * @return true if the list is the indexed one, with the same size, and the block was not modified since the index was built
+	 */
+	boolean isValid(final List<Tag> tags, final int modifications) {
+		return tags == this.tags && modifications == this.modifications && tags.size() == this.size;
+	}
+
+	/**
+	 * Gets the positions of the tags with the given name.
+	 * @param name the exact tag name
+	 * @return the ascending positions or an empty array if none is found
+	 */
+	int[] byName(final String name) {
+		final int[] p = this.byName.get(name);
+		return p == null ? NONE : p;
+	}
+
+	/**
+	 * Gets the positions of the tags whose name starts with the given prefix.
+	 * @param prefix the tag name prefix, for example "50" for the wildcard name "50a"
+	 * @return the ascending positions or an empty array if none is found
+	 */
+	int[] byPrefix(final String prefix) {
+		final int[] p = this.byPrefix.get(prefix);
+		return p == null ? NONE : p;
+	}
+	/**
+	 * Gets the positions of the tags with the given number, regardless of the letter option.
+	 * @param number the tag number as returned by {@link Tag#getNumber()}
+	 * @return the ascending positions, an empty array if none is found, or null if the tag names cannot be
+	 * indexed by number (a numeric part larger than an integer)
+	 */
+	int[] byNumber(final int number) {
+		Map<Integer, int[]> numbers = this.byNumber;
+		if (numbers == null) {
+			numbers = new HashMap<Integer, int[]>();
+			try {
+				for (final Map.Entry<String, int[]> e : this.byName.entrySet()) {
+					final Integer n = new Tag(e.getKey(), "").getNumber();
+					if (n != null) {
+						final int[] p = numbers.get(n);
+						numbers.put(n, p == null ? e.getValue() : merge(p, e.getValue()));
+					}
+				}
+			} catch (final NumberFormatException e) {
+				return null;
+			}
+			this.byNumber = numbers;
+		}
+		final int[] p = numbers.get(Integer.valueOf(number));
+		return p == null ? NONE : p;
+	}
+
+	private static int[] merge(final int[] a, final int[] b) {
+		if (a.length == 0) {
+			return b;
+		}
+		final int[] result = new int[a.length + b.length];
+		System.arraycopy(a, 0, result, 0, a.length);
+		System.arraycopy(b, 0, result, a.length, b.length);
+		Arrays.sort(result);
+		return result;
+	}
+}
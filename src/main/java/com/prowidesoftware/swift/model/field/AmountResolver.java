@@ -61,13 +61,14 @@ public class AmountResolver {
 	public static List<BigDecimal> amounts(final Field f) {
 		Validate.notNull(f);
 		List<BigDecimal> amounts = new ArrayList<BigDecimal>();
-		int i = StringUtils.indexOf(f.componentsPattern(), 'N');
+		final String pattern = f.componentsPattern();
+		int i = StringUtils.indexOf(pattern, 'N');
 		while (i >= 0) {
 			BigDecimal amount = amount(f, i+1);
 			if (amount != null) {
 				amounts.add(amount);
 			}
-			i = StringUtils.indexOf(f.componentsPattern(), 'N', i+1);
+			i = StringUtils.indexOf(pattern, 'N', i+1);
 		}
 		return amounts;
 	}
@@ -109,6 +110,9 @@ public class AmountResolver {
 			log.warning("getComponentAs("+(component)+", Number.class) returned null for field "+f);
 			return null;
 		}
+		if (n instanceof BigDecimal) {
+			return (BigDecimal) n;
+		}
 		return new BigDecimal(n.toString());
 	}
 }
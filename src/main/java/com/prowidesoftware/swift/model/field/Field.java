@@ -30,6 +30,7 @@ import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 
@@ -345,7 +346,9 @@ public abstract class Field implements PatternContainer {
 	public Object getComponentAs(final int component, @SuppressWarnings("rawtypes") final Class c) {
 		try {
 			final String s = getComponent(component);
-			log.finest("converting string value: "+s);
+			if (log.isLoggable(Level.FINEST)) {
+				log.finest("converting string value: "+s);
+			}
 
 			if (c.equals(String.class)) {
 				return s;
@@ -530,17 +533,22 @@ public abstract class Field implements PatternContainer {
 	}
 
 	/**
-	 * Creates a Field instance for the given Tag object, using reflection.
+	 * Creates a Field instance for the given Tag object.
 	 * The created object is populated with parsed components data from the Tag.
 	 * @param t a tag with proper name and value content
 	 * @return a specific field object, ex: Field32A. Or <code>null</code> if exceptions occur during object creation.
+	 * @see #getField(String, String)
 	 */
 	static public Field getField(final Tag t) {
 		return getField(t.getName(), t.getValue());
 	}
 
 	/**
-	 * Creates a Field instance for the given it's name and and optional value, using reflection.
+	 * Creates a Field instance for the given it's name and and optional value.
+	 * 
+	 * <p>Standard fields are created with the {@link FieldFactory} without reflection. For other names
+	 * a field class in this package is looked up by reflection, the result of the lookup is cached for
+	 * subsequent calls, including the names with no matching class.</p>
 	 * 
 	 * @param name a proper field name, ex: 32A, 22F, 20
 	 * @param value an optional field value or <code>null</code> to create the field with no initial content
@@ -548,23 +556,64 @@ public abstract class Field implements PatternContainer {
 	 * @since 7.8
 	 */
 	static public Field getField(final String name, final String value) {
-		Object r = null;
 		try {
-			final Class<?> c = Class.forName("com.prowidesoftware.swift.model.field.Field" + name);
-			@SuppressWarnings("rawtypes")
-			final Class[] argsClass = new Class[] { String.class };
-			@SuppressWarnings("rawtypes")
-			final Constructor ct = c.getConstructor(argsClass);
-			final Object arglist[] = new Object[] { value };
-			r = ct.newInstance(arglist);
-		} catch (final ClassNotFoundException e) {
-			log.log(Level.WARNING, "Field class for Field" + name
-			        + " not found. This is normally caused by an unrecognized field in the message or a malformed message block structure.", e);			
+			if (FieldFactory.contains(name)) {
+				return FieldFactory.create(name, value);
+			}
+			final Constructor<?> ct = customFieldConstructor(name);
+			if (ct != null) {
+				return (Field) ct.newInstance(value);
+			}
 		} catch (final Exception e) {
 			log.log(Level.WARNING, "An error occured while creating an instance of " + name, e);			
 		}
-		return (Field) r;
+		return null;
+	}
+
+	/**
+	 * Maximum number of names kept in the cache of names with no field class
+	 */
+	private static final int UNKNOWN_FIELDS_CACHE_SIZE = 1000;
+
+	/**
+	 * Cache of constructors for field classes not created by {@link FieldFactory}
+	 */
+	private static final Map<String, Constructor<?>> customFieldConstructors = new ConcurrentHashMap<String, Constructor<?>>();
+
+	/**
+	 * Cache of names with no matching field class
+	 */
+	private static final Set<String> unknownFields = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
+	/**
+	 * Finds the constructor with a String value parameter for a field class not supported by the {@link FieldFactory}
+	 * @param name a field name
+	 * @return the found constructor or null if the class does not exist
+	 */
+	private static Constructor<?> customFieldConstructor(final String name) {
+		if (name == null || unknownFields.contains(name)) {
+			return null;
+		}
+		Constructor<?> ct = customFieldConstructors.get(name);
+		if (ct == null) {
+			try {
+				final Class<?> c = Class.forName("com.prowidesoftware.swift.model.field.Field" + name);
+				ct = c.getConstructor(String.class);
+				customFieldConstructors.put(name, ct);
+			} catch (final ClassNotFoundException e) {
+				log.warning("Field class for Field" + name
+				        + " not found. This is normally caused by an unrecognized field in the message or a malformed message block structure.");
+				if (unknownFields.size() < UNKNOWN_FIELDS_CACHE_SIZE) {
+					unknownFields.add(name);
+				}
+			} catch (final NoSuchMethodException e) {
+				log.log(Level.WARNING, "An error occured while creating an instance of " + name, e);
+				if (unknownFields.size() < UNKNOWN_FIELDS_CACHE_SIZE) {
+					unknownFields.add(name);
+				}
+			}
+		}
+		return ct;
 	}
 
 	/**
@@ -679,6 +728,7 @@ public abstract class Field implements PatternContainer {
 	 * <li>50a</li>
 	 * <li>50</li>
 	 * </ul>
+	 * <p>Resolved labels are cached, see {@link FieldLabelCache}.</p>
 	 * 
 	 * @param fieldName field name of the field to retrieve its label, if the combination of number and letter option
 	 * is provided then a specific label is returned; is the letter option is omitted then a more generic label is returned.
@@ -689,7 +739,7 @@ public abstract class Field implements PatternContainer {
 	 * @return a resource bundle based label for the given locale or the tag name, or the resource key if not found
 	 */
 	static public String getLabel(final String fieldName, final String mt, final String sequence, final Locale locale) {
-		return _getLabel(fieldName, mt, sequence, locale, "name");
+		return FieldLabelCache.getLabel(fieldName, mt, sequence, locale);
 	}
 	
 	/**
@@ -697,12 +747,14 @@ public abstract class Field implements PatternContainer {
 	 * @since 7.8.4
 	 */
 	static public String getLabelComponents(final String fieldName, final String mt, final String sequence, final Locale locale) {
-		Locale l = locale != null? locale : Locale.getDefault();
-		return _getLabel(fieldName, mt, sequence, l, "components");
+		return FieldLabelCache.getLabelComponents(fieldName, mt, sequence, locale);
 	}
 	
-	static private String _getLabel(final String fieldName, final String mt, final String sequence, final Locale locale, final String prop) {
-		final String bundle = "pw_swift_labels";
+	/**
+	 * Resolves a label from the bundle without caching, see {@link FieldLabelCache}
+	 */
+	static String _getLabel(final String fieldName, final String mt, final String sequence, final Locale locale, final String prop) {
+		final String bundle = FieldLabelCache.BUNDLE;
 		String key = null;
 		String result = null;
 		//try {
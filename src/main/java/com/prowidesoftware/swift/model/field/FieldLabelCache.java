@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.model.field;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang.Validate;
+
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
+import com.prowidesoftware.swift.model.Tag;
+
+/**
+ * Cache of resolved field labels, used by {@link Field#getLabel(String, String, String, Locale)} and
+ * {@link Field#getLabelComponents(String, String, String, Locale)}.
+ *
+ * <p>Resolving a label checks up to seven keys in the pw_swift_labels resource bundle, from the most specific
+ * (field name, MT and sequence) to the most generic (field number). The result for each combination of field
+ * name, MT, sequence, locale and property is kept in a concurrent map, so subsequent calls are resolved with a
+ * single lookup. The cache can be filled in advance for a locale with {@link #preload(Locale)}, for example
+ * at application startup, to avoid the resolution cost when rendering the first messages.</p>
+ *
+ * <p>The cache is safe for concurrent use and grows with the number of distinct combinations requested.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public final class FieldLabelCache {
+	static final String BUNDLE = "pw_swift_labels";
+	static final String NAME = "name";
+	static final String COMPONENTS = "components";
+
+	private static final ConcurrentMap<Key, String> LABELS = new ConcurrentHashMap<Key, String>();
+
+	// Suppress default constructor for noninstantiability
+	private FieldLabelCache() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Gets the field label, resolving it on the first call for each combination of parameters.
+	 * @see Field#getLabel(String, String, String, Locale)
+	 *
+	 * @param fieldName field name of the field to retrieve its label
+	 * @param mt optional indication of message type or <code>null</code>
+	 * @param sequence optional indication of sequence or <code>null</code>
+	 * @param locale the locale for which a resource bundle is desired
+	 * @return a resource bundle based label for the given locale, or the resource key if not found
+	 */
+	public static String getLabel(final String fieldName, final String mt, final String sequence, final Locale locale) {
+		return get(fieldName, mt, sequence, locale, NAME);
+	}
+
+	/**
+	 * Gets the field components label, resolving it on the first call for each combination of parameters.
+	 * @see Field#getLabelComponents(String, String, String, Locale)
+	 *
+	 * @param fieldName field name of the field to retrieve its label
+	 * @param mt optional indication of message type or <code>null</code>
+	 * @param sequence optional indication of sequence or <code>null</code>
+	 * @param locale the locale for which a resource bundle is desired, the default locale is used if null
+	 * @return a resource bundle based label for the given locale, or the resource key if not found
+	 */
+	public static String getLabelComponents(final String fieldName, final String mt, final String sequence, final Locale locale) {
+		return get(fieldName, mt, sequence, locale != null ? locale : Locale.getDefault(), COMPONENTS);
+	}
+
+	private static String get(final String fieldName, final String mt, final String sequence, final Locale locale, final String prop) {
+		final Key key = new Key(fieldName, mt, sequence, locale, prop);
+		String label = LABELS.get(key);
+		if (label == null) {
+			label = Field._getLabel(fieldName, mt, sequence, locale, prop);
+			if (label != null) {
+				LABELS.putIfAbsent(key, label);
+			}
+		}
+		return label;
+	}
+
+	/**
+	 * Gets the labels for all the tags in a block, in the same order of the tags.
+	 *
+	 * @param block the tags to label
+	 * @param mt optional indication of message type or <code>null</code>
+	 * @param locale the locale for which a resource bundle is desired
+	 * @return a list with the label of each tag (null for tags without name), or an empty list if the block is null or empty
+	 * @see #labels(SwiftTagListBlock, String, String, Locale)
+	 */
+	public static List<String> labels(final SwiftTagListBlock block, final String mt, final Locale locale) {
+		return labels(block, mt, null, locale);
+	}
+
+	/**
+	 * Gets the labels for all the tags in a block, in the same order of the tags, all of them within the
+	 * same sequence, such as the tags of a sequence retrieved from an MT class.
+	 *
+	 * @param block the tags to label
+	 * @param mt optional indication of message type or <code>null</code>
+	 * @param sequence optional indication of sequence or <code>null</code>
+	 * @param locale the locale for which a resource bundle is desired
+	 * @return a list with the label of each tag (null for tags without name), or an empty list if the block is null or empty
+	 */
+	public static List<String> labels(final SwiftTagListBlock block, final String mt, final String sequence, final Locale locale) {
+		if (block == null || block.isEmpty()) {
+			return Collections.emptyList();
+		}
+		final List<Tag> tags = block.getTags();
+		final List<String> result = new ArrayList<String>(tags.size());
+		for (final Tag t : tags) {
+			result.add(t != null && t.getName() != null ? getLabel(t.getName(), mt, sequence, locale) : null);
+		}
+		return result;
+	}
+
+	/**
+	 * Resolves and caches all the labels defined in the bundle for the given locale.
+	 *
+	 * <p>For each field key in the bundle, such as <code>field50K[103][B].name</code>, the label for the field
+	 * name, MT and sequence in the key is resolved and cached. Combinations not defined explicitly in the bundle,
+	 * that resolve to a more generic key, are still resolved on their first call.</p>
+	 *
+	 * @param locale the locale to preload
+	 * @return the number of labels resolved
+	 * @throws IllegalArgumentException if locale is null
+	 */
+	public static int preload(final Locale locale) {
+		Validate.notNull(locale, "locale must not be null");
+		final ResourceBundle bundle = ResourceBundle.getBundle(BUNDLE, locale);
+		int count = 0;
+		for (final String k : bundle.keySet()) {
+			final String[] parsed = parseKey(k);
+			if (parsed != null) {
+				get(parsed[0], parsed[1], parsed[2], locale, parsed[3]);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Splits a bundle key such as <code>field50K[103][B].name</code>
+	 * @return field name, MT, sequence and property, or null if the key is not a field label
+	 */
+	static String[] parseKey(final String key) {
+		if (!key.startsWith("field")) {
+			return null;
+		}
+		final int dot = key.lastIndexOf('.');
+		if (dot < 0) {
+			return null;
+		}
+		final String prop = key.substring(dot + 1);
+		if (!NAME.equals(prop) && !COMPONENTS.equals(prop)) {
+			return null;
+		}
+		final String[] parts = new String[] {null, null, null, prop};
+		int end = key.indexOf('[', 5);
+		if (end < 0 || end > dot) {
+			end = dot;
+		}
+		parts[0] = key.substring(5, end);
+		int i = 1;
+		while (end < dot && key.charAt(end) == '[' && i < 3) {
+			final int close = key.indexOf(']', end);
+			if (close < 0 || close > dot) {
+				return null;
+			}
+			parts[i++] = key.substring(end + 1, close);
+			end = close + 1;
+		}
+		if (end != dot || parts[0].length() == 0) {
+			return null;
+		}
+		return parts;
+	}
+
+	/**
+	 * Removes all cached labels
+	 */
+	public static void clear() {
+		LABELS.clear();
+	}
+
+	/**
+	 * Cache key, with the hash code computed once
+	 */
+	private static final class Key {
+		private final String fieldName;
+		private final String mt;
+		private final String sequence;
+		private final Locale locale;
+		private final String prop;
+		private final int hash;
+
+		Key(final String fieldName, final String mt, final String sequence, final Locale locale, final String prop) {
+			this.fieldName = fieldName;
+			this.mt = mt;
+			this.sequence = sequence;
+			this.locale = locale;
+			this.prop = prop;
+			int h = hash(fieldName);
+			h = 31 * h + hash(mt);
+			h = 31 * h + hash(sequence);
+			h = 31 * h + hash(locale);
+			this.hash = 31 * h + prop.hashCode();
+		}
+
+		private static int hash(final Object o) {
+			return o == null ? 0 : o.hashCode();
+		}
+
+		private static boolean eq(final Object a, final Object b) {
+			return a == null ? b == null : a.equals(b);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return this.hash == other.hash
+					&& this.prop.equals(other.prop)
+					&& eq(this.fieldName, other.fieldName)
+					&& eq(this.mt, other.mt)
+					&& eq(this.sequence, other.sequence)
+					&& eq(this.locale, other.locale);
+		}
+	}
+}
@@ -534,11 +534,7 @@ public abstract class AbstractMT extends AbstractMessage {
 	 * @see #getSequenceList(String)
 	 */
 	public boolean containsSequenceList(final String name) {
-		try {
-			return getClass().getMethod("getSequence"+name+"List") != null;
-		} catch (Exception e) { 
-			return false;
-		}
+		return SequenceAccessors.of(getClass()).find("getSequence"+name+"List", false) != null;
 	}
 	
 	/**
@@ -547,30 +543,27 @@ public abstract class AbstractMT extends AbstractMessage {
 	 * @see #getSequence(String)
 	 */
 	public boolean containsSequence(final String name) {
-		try {
-			return getClass().getMethod("getSequence"+name) != null;
-		} catch (Exception e) {
-			return false;
-		}
+		return SequenceAccessors.of(getClass()).find("getSequence"+name, false) != null;
 	}
 	
 	/**
+	 * The method is resolved once per MT class and then reused from the {@link SequenceAccessors} registry.
+	 * 
 	 * @since 7.6
 	 * @param methodName
 	 * @return result from reflection call
 	 */
 	private Object invokeHere(final String methodName, final Object where, final SwiftTagListBlock argument) {
+		final Method method = SequenceAccessors.of(getClass()).find(methodName, argument != null);
+		if (method == null) {
+			log.log(Level.FINE, "Method "+methodName+" does not exist in "+getClass());
+			return null;
+		}
 		try {
-			final Method method = argument==null ? 
-					getClass().getMethod(methodName)
-					: getClass().getMethod(methodName, SwiftTagListBlock.class) 
-					;
 			if (argument == null) {
 				return method.invoke(where);
 			} 
 			return method.invoke(where, argument);
-		} catch (final NoSuchMethodException e) {
-			log.log(Level.FINE, "Method "+methodName+" does not exist in "+getClass(), e);
 		} catch (Exception e) {
 			log.log(Level.WARNING, "An error occured while invoking " + methodName + " in " + where, e);
 		}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.model.mt;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
+
+/**
+ * Registry of the sequence accessor methods (getSequenceX, getSequenceXList) of the specific MT classes.
+ *
+ * <p>Methods are resolved by name once per MT class and kept for subsequent calls, including names
+ * that do not match any method, so the generic sequence API in {@link AbstractMT} does not need a
+ * reflective lookup on every call.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+final class SequenceAccessors {
+
+	/**
+	 * Maximum number of missing method names remembered per MT class
+	 */
+	private static final int MISSING_LIMIT = 1000;
+
+	/**
+	 * Marker for method names not found in the MT class
+	 */
+	private static final Method MISSING;
+	static {
+		try {
+			MISSING = SequenceAccessors.class.getDeclaredMethod("missing");
+		} catch (final NoSuchMethodException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private static final ConcurrentMap<Class<?>, SequenceAccessors> REGISTRY = new ConcurrentHashMap<Class<?>, SequenceAccessors>();
+
+	private final Class<?> mtClass;
+	private final ConcurrentMap<String, Method> instanceMethods = new ConcurrentHashMap<String, Method>();
+	private final ConcurrentMap<String, Method> staticMethods = new ConcurrentHashMap<String, Method>();
+
+	private SequenceAccessors(final Class<?> mtClass) {
+		this.mtClass = mtClass;
+	}
+
+	/**
+	 * Gets the accessors registry for the given MT class
+	 * @param mtClass the specific MT class
+	 * @return the existing or new registry for the class
+	 */
+	static SequenceAccessors of(final Class<?> mtClass) {
+		SequenceAccessors accessors = REGISTRY.get(mtClass);
+		if (accessors == null) {
+			accessors = new SequenceAccessors(mtClass);
+			final SequenceAccessors existing = REGISTRY.putIfAbsent(mtClass, accessors);
+			if (existing != null) {
+				accessors = existing;
+			}
+		}
+		return accessors;
+	}
+
+	/**
+	 * Finds a public method with the given name, with no parameters or with a single {@link SwiftTagListBlock} parameter.
+	 *
+	 * @param methodName the method name, for example getSequenceA or getSequenceBList
+	 * @param withBlock true to look for the version receiving the block to extract the sequence from
+	 * @return the method found or null if the MT class does not contain such method
+	 */
+	Method find(final String methodName, final boolean withBlock) {
+		final ConcurrentMap<String, Method> cache = withBlock ? this.staticMethods : this.instanceMethods;
+		Method method = cache.get(methodName);
+		if (method == null) {
+			method = lookup(methodName, withBlock);
+			if (method != MISSING || cache.size() < MISSING_LIMIT) {
+				cache.put(methodName, method);
+			}
+		}
+		return method == MISSING ? null : method;
+	}
+
+	private Method lookup(final String methodName, final boolean withBlock) {
+		try {
+			return withBlock ? this.mtClass.getMethod(methodName, SwiftTagListBlock.class) : this.mtClass.getMethod(methodName);
+		} catch (final NoSuchMethodException e) {
+			return MISSING;
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static void missing() {
+	}
+}
@@ -19,11 +19,11 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.StringReader;
-import java.util.HashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
 import javax.xml.bind.annotation.XmlTransient;
 import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMResult;
@@ -330,14 +330,15 @@ public abstract class AbstractMX extends AbstractMessage implements IDocument {
 	}
 
 	public Element element() {
-		final HashMap<String, String> properties = new HashMap<String, String>();
 		// it didn't work as expected
 		// properties.put(JAXBRIContext.DEFAULT_NAMESPACE_REMAP, namespace);
 		try {
-			JAXBContext context = JAXBContext.newInstance(getClasses(), properties);
+			final JAXBContext context = JaxbContextCache.get(getClasses());
+			final Marshaller marshaller = JaxbContextCache.marshaller(context);
+			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.FALSE);
 
 			DOMResult res = new DOMResult();
-			context.createMarshaller().marshal(this, res);
+			marshaller.marshal(this, res);
 			Document doc = (Document) res.getNode();
 
 			return (Element) doc.getFirstChild();
@@ -273,8 +273,8 @@ public class BusinessHeader {
 			return null;
 		}
 		try {
-			JAXBContext context = JAXBContext.newInstance(header.getClass());
-			final Marshaller marshaller = context.createMarshaller();
+			final JAXBContext context = JaxbContextCache.get(header.getClass());
+			final Marshaller marshaller = JaxbContextCache.marshaller(context);
 			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
 			 
 			final StringWriter sw = new StringWriter();
@@ -303,8 +303,8 @@ public class BusinessHeader {
 			return null;
 		}
 		try {
-			JAXBContext context = JAXBContext.newInstance(header.getClass());
-			final Marshaller marshaller = context.createMarshaller();
+			final JAXBContext context = JaxbContextCache.get(header.getClass());
+			final Marshaller marshaller = JaxbContextCache.marshaller(context);
 			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
 			 
 			DOMResult res = new DOMResult();
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as
+ *     published by the Free Software Foundation, either version 3 of the
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.model.mx;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Cache of JAXB contexts for the MX model, with marshallers and unmarshallers reused per thread.
+ *
+ * <p>Creating a {@link JAXBContext} is by far the most expensive step in JAXB, since it introspects all
+ * the bound classes. Contexts are thread safe, so a single instance is kept for each set of classes.
+ * Marshallers and unmarshallers are not thread safe but can be reused sequentially; each thread keeps its
+ * own instances for each context. Properties set on a reused marshaller remain set, so callers must set
+ * all the properties they depend on each time.</p>
+ *
+ * <p>The contexts are kept until {@link #clear()} is called, so the cache grows with the number of distinct
+ * sets of classes requested. Within the library that is one set per MX message type and business header
+ * version used, a bounded number. Each thread keeps the marshallers and unmarshallers of at most
+ * {@value #MAX_PER_THREAD} contexts, discarding the least recently used ones.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public final class JaxbContextCache {
+
+	/**
+	 * Maximum number of contexts for which each thread keeps a marshaller, and an unmarshaller
+	 */
+	public static final int MAX_PER_THREAD = 32;
+
+	private static final ConcurrentMap<List<Class<?>>, JAXBContext> CONTEXTS = new ConcurrentHashMap<List<Class<?>>, JAXBContext>();
+
+	/**
+	 * Incremented by {@link #clear()} to discard the instances kept by every thread
+	 */
+	private static final AtomicInteger GENERATION = new AtomicInteger();
+
+	private static final ThreadLocal<ThreadCache<Marshaller>> MARSHALLERS = new ThreadLocal<ThreadCache<Marshaller>>() {
+		@Override
+		protected ThreadCache<Marshaller> initialValue() {
+			return new ThreadCache<Marshaller>();
+		}
+	};
+
+	private static final ThreadLocal<ThreadCache<Unmarshaller>> UNMARSHALLERS = new ThreadLocal<ThreadCache<Unmarshaller>>() {
+		@Override
+		protected ThreadCache<Unmarshaller> initialValue() {
+			return new ThreadCache<Unmarshaller>();
+		}
+	};
+
+	/**
+	 * Instances kept by a thread, by context identity in access order
+	 */
+	private static final class ThreadCache<T> extends LinkedHashMap<JAXBContext, T> {
+		private static final long serialVersionUID = 1L;
+		private int generation = GENERATION.get();
+
+		ThreadCache() {
+			super(16, 0.75f, true);
+		}
+
+		/**
+		 * Gets the map for lookups, discarding its content first if the cache was cleared since the last call
+		 */
+		ThreadCache<T> current() {
+			final int g = GENERATION.get();
+			if (this.generation != g) {
+				clear();
+				this.generation = g;
+			}
+			return this;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<JAXBContext, T> eldest) {
+			return size() > MAX_PER_THREAD;
+		}
+	}
+	// Suppress default constructor for noninstantiability
+	private JaxbContextCache() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Gets the context for the given classes, creating it on the first call.
+	 *
+	 * @param classes the classes to be recognized by the context, in the same order for every call
+	 * @return the cached or new context
+	 * @throws JAXBException if an error occurs creating the context
+	 * @throws IllegalArgumentException if classes is null or empty
+	 */
+	public static JAXBContext get(final Class<?>... classes) throws JAXBException {
+		Validate.notEmpty(classes, "at least one class is required to create the JAXB context");
+		final List<Class<?>> key = Arrays.<Class<?>>asList(classes.clone());
+		JAXBContext context = CONTEXTS.get(key);
+		if (context == null) {
+			context = JAXBContext.newInstance(classes);
+			final JAXBContext existing = CONTEXTS.putIfAbsent(key, context);
+			if (existing != null) {
+				context = existing;
+			}
+		}
+		return context;
+	}
+
+	/**
+	 * Gets a marshaller for the given context, reused by the current thread.
+	 *
+	 * @param context a context, usually from {@link #get(Class...)}
+	 * @return the marshaller for this thread and context
+	 * @throws JAXBException if an error occurs creating the marshaller
+	 */
+	public static Marshaller marshaller(final JAXBContext context) throws JAXBException {
+		final Map<JAXBContext, Marshaller> marshallers = MARSHALLERS.get().current();
+		Marshaller marshaller = marshallers.get(context);
+		if (marshaller == null) {
+			marshaller = context.createMarshaller();
+			marshallers.put(context, marshaller);
+		}
+		return marshaller;
+	}
+
+	/**
+	 * Gets an unmarshaller for the given context, reused by the current thread.
+	 *
+	 * @param context a context, usually from {@link #get(Class...)}
+	 * @return the unmarshaller for this thread and context
+	 * @throws JAXBException if an error occurs creating the unmarshaller
+	 */
+	public static Unmarshaller unmarshaller(final JAXBContext context) throws JAXBException {
+		final Map<JAXBContext, Unmarshaller> unmarshallers = UNMARSHALLERS.get().current();
+		Unmarshaller unmarshaller = unmarshallers.get(context);
+		if (unmarshaller == null) {
+			unmarshaller = context.createUnmarshaller();
+			unmarshallers.put(context, unmarshaller);
+		}
+		return unmarshaller;
+	}
+
+	/**
+	 * Removes all cached contexts and the marshallers and unmarshallers of the current thread.
+	 * Other threads discard their instances the next time they get a marshaller or unmarshaller from this
+	 * cache; threads that do not use the cache again keep them until the thread ends.
+	 */
+	public static void clear() {
+		GENERATION.incrementAndGet();
+		CONTEXTS.clear();
+		MARSHALLERS.remove();
+		UNMARSHALLERS.remove();
+	}
+}
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.utils;
+
+import java.security.MessageDigest;
+
+/**
+ * MurmurHash3 x64 128 bits, with seed zero, as a {@link MessageDigest}.
+ *
+ * <p>This is a fast non cryptographic hash, suitable for duplicate detection and hash based indexes but
+ * not for integrity against tampering. The digest is the two 64 bits hash values in little endian order,
+ * the same byte sequence produced by other common implementations of the algorithm.</p>
+ *
+ * <p>As any message digest, instances are not thread safe.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+public final class Murmur3Digest extends MessageDigest implements Cloneable {
+	/**
+	 * Name of the algorithm
+	 */
+	public static final String ALGORITHM = "MurmurHash3-128";
+
+	private static final int BLOCK = 16;
+	private static final long C1 = 0x87c37b91114253d5L;
+	private static final long C2 = 0x4cf5ad432745937fL;
+
+	private long h1;
+	private long h2;
+	private long length;
+	private byte[] buffer = new byte[BLOCK];
+	private int buffered;
+
+	public Murmur3Digest() {
+		super(ALGORITHM);
+	}
+
+	@Override
+	protected int engineGetDigestLength() {
+		return BLOCK;
+	}
+
+	@Override
+	protected void engineUpdate(final byte input) {
+		this.buffer[this.buffered++] = input;
+		if (this.buffered == BLOCK) {
+			block(this.buffer, 0);
+			this.buffered = 0;
+		}
+	}
+
+	@Override
+	protected void engineUpdate(final byte[] input, final int offset, final int len) {
+		int i = offset;
+		final int end = offset + len;
+		if (this.buffered > 0) {
+			while (i < end && this.buffered < BLOCK) {
+				this.buffer[this.buffered++] = input[i++];
+			}
+			if (this.buffered < BLOCK) {
+				return;
+			}
+			block(this.buffer, 0);
+			this.buffered = 0;
+		}
+		while (end - i >= BLOCK) {
+			block(input, i);
+			i += BLOCK;
+		}
+		while (i < end) {
+			this.buffer[this.buffered++] = input[i++];
+		}
+	}
+
+	private void block(final byte[] b, final int offset) {
+		long k1 = getLong(b, offset);
+		long k2 = getLong(b, offset + 8);
+		this.length += BLOCK;
+
+		k1 *= C1;
+		k1 = Long.rotateLeft(k1, 31);
+		k1 *= C2;
+		this.h1 ^= k1;
+		this.h1 = Long.rotateLeft(this.h1, 27);
+		this.h1 += this.h2;
+		this.h1 = this.h1 * 5 + 0x52dce729;
+
+		k2 *= C2;
+		k2 = Long.rotateLeft(k2, 33);
+		k2 *= C1;
+		this.h2 ^= k2;
+		this.h2 = Long.rotateLeft(this.h2, 31);
+		this.h2 += this.h1;
+		this.h2 = this.h2 * 5 + 0x38495ab5;
+	}
+
+	@Override
+	protected byte[] engineDigest() {
+		long k1 = 0;
+		long k2 = 0;
+		for (int i = this.buffered - 1; i >= 8; i--) {
+			k2 = (k2 << 8) | (this.buffer[i] & 0xffL);
+		}
+		for (int i = Math.min(this.buffered, 8) - 1; i >= 0; i--) {
+			k1 = (k1 << 8) | (this.buffer[i] & 0xffL);
+		}
+		if (this.buffered > 8) {
+			k2 *= C2;
+			k2 = Long.rotateLeft(k2, 33);
+			k2 *= C1;
+			this.h2 ^= k2;
+		}
+		if (this.buffered > 0) {
+			k1 *= C1;
+			k1 = Long.rotateLeft(k1, 31);
+			k1 *= C2;
+			this.h1 ^= k1;
+		}
+		final long total = this.length + this.buffered;
+		long r1 = this.h1 ^ total;
+		long r2 = this.h2 ^ total;
+		r1 += r2;
+		r2 += r1;
+		r1 = fmix(r1);
+		r2 = fmix(r2);
+		r1 += r2;
+		r2 += r1;
+
+		final byte[] result = new byte[BLOCK];
+		putLong(result, 0, r1);
+		putLong(result, 8, r2);
+		engineReset();
+		return result;
+	}
+
+	@Override
+	protected void engineReset() {
+		this.h1 = 0;
+		this.h2 = 0;
+		this.length = 0;
+		this.buffered = 0;
+	}
+
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		final Murmur3Digest copy = (Murmur3Digest) super.clone();
+		copy.buffer = this.buffer.clone();
+		return copy;
+	}
+
+	private static long fmix(final long value) {
+		long k = value;
+		k ^= k >>> 33;
+		k *= 0xff51afd7ed558ccdL;
+		k ^= k >>> 33;
+		k *= 0xc4ceb9fe1a85ec53L;
+		k ^= k >>> 33;
+		return k;
+	}
+
+	private static long getLong(final byte[] b, final int offset) {
+		long result = 0;
+		for (int i = offset + 7; i >= offset; i--) {
+			result = (result << 8) | (b[i] & 0xffL);
+		}
+		return result;
+	}
+
+	private static void putLong(final byte[] b, final int offset, final long value) {
+		long v = value;
+		for (int i = offset; i < offset + 8; i++) {
+			b[i] = (byte) v;
+			v >>>= 8;
+		}
+	}
+}
@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Parser and formatter for SWIFT amounts: digits with a comma as decimal separator, for example 1234,56 or 1234,
+ *
+ * <p>The amounts are processed by index, without intermediate strings nor number formats, giving the same
+ * results as the {@link java.text.DecimalFormat} based implementation in {@link SwiftFormatUtils}: parsed
+ * values keep as scale the number of digits after the comma, and formatted values have at most ten decimals
+ * rounded half even, no trailing zeros and a mandatory comma.</p>
+ *
+ * <p>The parse methods only accept the plain SWIFT syntax and return a "not handled" value for anything else,
+ * so that callers can fall back to the generic number parsing.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+final class SwiftAmountCodec {
+
+	/**
+	 * Value returned by the long based methods when the amount is not valid or does not fit
+	 */
+	static final long INVALID = Long.MIN_VALUE;
+
+	/**
+	 * Maximum number of decimals written when formatting
+	 */
+	private static final int MAX_DECIMALS = 10;
+
+	private static final long[] POWERS = new long[19];
+	static {
+		POWERS[0] = 1;
+		for (int i = 1; i < POWERS.length; i++) {
+			POWERS[i] = POWERS[i - 1] * 10;
+		}
+	}
+
+	// Suppress default constructor for noninstantiability
+	private SwiftAmountCodec() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Gets the position of the comma, or the length if there is no comma.
+	 * @return the position found or -1 if the value is not made of digits and at most one comma, with at least one digit
+	 */
+	private static int comma(final CharSequence value) {
+		final int length = value.length();
+		int comma = -1;
+		for (int i = 0; i < length; i++) {
+			final char c = value.charAt(i);
+			if (c == ',') {
+				if (comma >= 0) {
+					return -1;
+				}
+				comma = i;
+			} else if (c < '0' || c > '9') {
+				return -1;
+			}
+		}
+		if (comma < 0) {
+			return length == 0 ? -1 : length;
+		}
+		return length == 1 ? -1 : comma;
+	}
+
+	/**
+	 * Parses an amount.
+	 * @param value the amount, must not be null
+	 * @return the amount with the decimals after the comma as scale, or null if the value is not a plain SWIFT amount
+	 */
+	static BigDecimal parse(final CharSequence value) {
+		final int comma = comma(value);
+		if (comma < 0) {
+			return null;
+		}
+		final int length = value.length();
+		final int scale = comma == length ? 0 : length - comma - 1;
+		int start = 0;
+		while (start < comma && value.charAt(start) == '0') {
+			start++;
+		}
+		if (length - start - (comma < length ? 1 : 0) <= 18) {
+			long unscaled = 0;
+			for (int i = start; i < length; i++) {
+				if (i != comma) {
+					unscaled = unscaled * 10 + (value.charAt(i) - '0');
+				}
+			}
+			return BigDecimal.valueOf(unscaled, scale);
+		}
+		final char[] digits = new char[length - start];
+		int n = 0;
+		for (int i = start; i < length; i++) {
+			if (i != comma) {
+				digits[n++] = value.charAt(i);
+			}
+		}
+		return new BigDecimal(new BigInteger(new String(digits, 0, n)), scale);
+	}
+
+	/**
+	 * @param value the amount, must not be null
+	 * @return the number of digits after the comma, or -1 if the value is not a plain SWIFT amount
+	 */
+	static int scale(final CharSequence value) {
+		final int comma = comma(value);
+		if (comma < 0) {
+			return -1;
+		}
+		return comma == value.length() ? 0 : value.length() - comma - 1;
+	}
+
+	/**
+	 * Parses an amount as an unscaled long for the given scale.
+	 * @param value the amount, must not be null
+	 * @param scale the number of decimals of the result, zero or positive
+	 * @return the amount multiplied by ten to the power of scale, or {@link #INVALID} if the value is not a plain
+	 * SWIFT amount, it has non zero decimals beyond the scale, or the result does not fit in a long
+	 */
+	static long unscaled(final CharSequence value, final int scale) {
+		final int comma = comma(value);
+		if (comma < 0 || scale < 0) {
+			return INVALID;
+		}
+		final int length = value.length();
+		final int end = Math.min(length, comma + 1 + scale);
+		long result = 0;
+		for (int i = 0; i < end; i++) {
+			if (i != comma) {
+				final int digit = value.charAt(i) - '0';
+				if (result > (Long.MAX_VALUE - digit) / 10) {
+					return INVALID;
+				}
+				result = result * 10 + digit;
+			}
+		}
+		for (int i = end; i < length; i++) {
+			if (value.charAt(i) != '0') {
+				return INVALID;
+			}
+		}
+		final int decimals = comma == length ? 0 : end - comma - 1;
+		for (int i = decimals; i < scale; i++) {
+			if (result > Long.MAX_VALUE / 10) {
+				return INVALID;
+			}
+			result *= 10;
+		}
+		return result;
+	}
+
+	/**
+	 * Formats an amount.
+	 * @param number the amount, must not be null
+	 * @return the formatted amount, or null if the number is not a BigDecimal, BigInteger, Long, Integer, Short or Byte
+	 */
+	static String format(final Number number) {
+		if (number instanceof BigDecimal) {
+			return format((BigDecimal) number);
+		} else if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+			return format(number.longValue(), 0);
+		} else if (number instanceof BigInteger) {
+			return number.toString() + ',';
+		}
+		return null;
+	}
+
+	/**
+	 * Formats an amount given as an unscaled value and a scale.
+	 * @param unscaled the unscaled value
+	 * @param scale the number of decimals of the unscaled value
+	 * @return the formatted amount
+	 */
+	static String format(final long unscaled, final int scale) {
+		if (scale < 0 || scale > MAX_DECIMALS || unscaled == Long.MIN_VALUE) {
+			return format(BigDecimal.valueOf(unscaled, scale));
+		}
+		final long abs = Math.abs(unscaled);
+		final long integer = abs / POWERS[scale];
+		long decimals = abs % POWERS[scale];
+		int n = scale;
+		while (n > 0 && decimals % 10 == 0) {
+			decimals /= 10;
+			n--;
+		}
+		final StringBuilder result = new StringBuilder(22);
+		if (unscaled < 0) {
+			result.append('-');
+		}
+		result.append(integer).append(',');
+		if (n > 0) {
+			final String digits = Long.toString(decimals);
+			for (int i = digits.length(); i < n; i++) {
+				result.append('0');
+			}
+			result.append(digits);
+		}
+		return result.toString();
+	}
+
+	private static String format(final BigDecimal number) {
+		BigDecimal value = number;
+		if (value.scale() > MAX_DECIMALS) {
+			value = value.setScale(MAX_DECIMALS, RoundingMode.HALF_EVEN);
+		}
+		if (value.signum() == 0) {
+			// the number format keeps the sign of negative values rounded to zero
+			return number.signum() < 0 ? "-0," : "0,";
+		}
+		if (value.scale() >= 0 && value.precision() <= 18) {
+			return format(value.unscaledValue().longValue(), value.scale());
+		}
+		final String plain = value.stripTrailingZeros().toPlainString();
+		final int dot = plain.indexOf('.');
+		if (dot < 0) {
+			return plain + ',';
+		}
+		return plain.substring(0, dot) + ',' + plain.substring(dot + 1);
+	}
+}
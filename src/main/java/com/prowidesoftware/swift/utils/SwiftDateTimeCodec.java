@@ -0,0 +1,518 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Prowide Inc.
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU Lesser General Public License as 
+ *     published by the Free Software Foundation, either version 3 of the 
+ *     License, or (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  
+ *     
+ *     Check the LGPL at <http://www.gnu.org/licenses/> for more details.
+ *******************************************************************************/
+package com.prowidesoftware.swift.utils;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang.time.DateFormatUtils;
+
+/**
+ * Precompiled parser and formatter for one of the fixed length date and time patterns used in SWIFT fields.
+ *
+ * <p>Values made only of ASCII digits are parsed by index and validated with a non lenient calendar reused
+ * per thread, giving the same result as a non lenient {@link SimpleDateFormat} with the same pattern: fields
+ * not present in the pattern default to 1970-01-01 00:00:00 in the default time zone, two digit years are
+ * resolved within 80 years before and 20 years after the current date, and dates or times that do not
+ * exist in the calendar are rejected. Any other value is parsed with a {@link SimpleDateFormat}.</p>
+ *
+ * <p>Calendars are formatted in the default time zone, as {@link DateFormatUtils#format(Date, String)} does.</p>
+ *
+ * <p>The int methods work with the pattern fields as decimal digits, with the year always expanded to
+ * four digits; for example 20170425 for a YYMMDD value 170425, or 1230 for a HHMM value 1230. They do
+ * not involve a calendar nor time zones.</p>
+ *
+ * <p>Instances are immutable and thread safe.</p>
+ *
+ * @author www.prowidesoftware.com
+ * @since 7.9.7
+ */
+final class SwiftDateTimeCodec {
+	private static final Logger log = Logger.getLogger(SwiftDateTimeCodec.class.getName());
+
+	static final SwiftDateTimeCodec DATE1 = new SwiftDateTimeCodec("MMdd");
+	static final SwiftDateTimeCodec DATE2 = new SwiftDateTimeCodec("yyMMdd");
+	static final SwiftDateTimeCodec DATE3 = new SwiftDateTimeCodec("yyMM");
+	static final SwiftDateTimeCodec DATE4 = new SwiftDateTimeCodec("yyyyMMdd");
+	static final SwiftDateTimeCodec YEAR = new SwiftDateTimeCodec("yyyy");
+	static final SwiftDateTimeCodec HOUR = new SwiftDateTimeCodec("HH");
+	static final SwiftDateTimeCodec HHMM = new SwiftDateTimeCodec("HHmm");
+	static final SwiftDateTimeCodec TIME2 = new SwiftDateTimeCodec("HHmmss");
+	static final SwiftDateTimeCodec DAYTIME = new SwiftDateTimeCodec("ddHHmm");
+	static final SwiftDateTimeCodec DATETIME = new SwiftDateTimeCodec("yyyyMMddHHmm");
+	static final SwiftDateTimeCodec DATETIME_SHORT_YEAR = new SwiftDateTimeCodec("yyMMddHHmm");
+
+	private static final int NONE = -1;
+
+	/**
+	 * Non lenient calendar used to validate and compute the parsed values
+	 */
+	private static final ThreadLocal<GregorianCalendar> PARSE_CALENDAR = new ThreadLocal<GregorianCalendar>() {
+		@Override
+		protected GregorianCalendar initialValue() {
+			final GregorianCalendar cal = new GregorianCalendar();
+			cal.setLenient(false);
+			return cal;
+		}
+	};
+
+	/**
+	 * Calendar used to get the fields to format
+	 */
+	private static final ThreadLocal<GregorianCalendar> FORMAT_CALENDAR = new ThreadLocal<GregorianCalendar>() {
+		@Override
+		protected GregorianCalendar initialValue() {
+			return new GregorianCalendar();
+		}
+	};
+
+	private static volatile Century century;
+
+	private final String pattern;
+	private final int length;
+
+	/**
+	 * Pattern letter of each field, in order
+	 */
+	private final char[] letters;
+
+	/**
+	 * Number of digits of each field, in order
+	 */
+	private final int[] widths;
+
+	private final boolean twoDigitYear;
+
+	/**
+	 * Creates a codec for a pattern made of abutting numeric fields
+	 * @param pattern a {@link SimpleDateFormat} pattern with letters y, M, d, H, m and s only
+	 */
+	private SwiftDateTimeCodec(final String pattern) {
+		this.pattern = pattern;
+		this.length = pattern.length();
+		int count = 0;
+		for (int i = 0; i < this.length; i++) {
+			if (i == 0 || pattern.charAt(i) != pattern.charAt(i - 1)) {
+				count++;
+			}
+		}
+		this.letters = new char[count];
+		this.widths = new int[count];
+		int field = -1;
+		for (int i = 0; i < this.length; i++) {
+			if (i == 0 || pattern.charAt(i) != pattern.charAt(i - 1)) {
+				this.letters[++field] = pattern.charAt(i);
+			}
+			this.widths[field]++;
+		}
+		boolean shortYear = false;
+		for (int i = 0; i < count; i++) {
+			if (this.letters[i] == 'y' && this.widths[i] == 2) {
+				shortYear = true;
+			}
+		}
+		this.twoDigitYear = shortYear;
+	}
+
+	/**
+	 * @return the pattern of this codec
+	 */
+	String getPattern() {
+		return this.pattern;
+	}
+
+	/**
+	 * Parses a value into a calendar.
+	 * @param value the value to parse, must have the pattern length
+	 * @return the parsed date and time or <code>null</code> if the value is null or not valid
+	 */
+	Calendar parse(final String value) {
+		if (value == null) {
+			return null;
+		}
+		if (!isDigits(value)) {
+			return parseWithFormat(value);
+		}
+		final GregorianCalendar cal = PARSE_CALENDAR.get();
+		cal.setTimeZone(TimeZone.getDefault());
+		cal.clear();
+		final Century c = this.twoDigitYear ? century() : null;
+		int shortYear = NONE;
+		int offset = 0;
+		for (int i = 0; i < this.letters.length; i++) {
+			final int n = number(value, offset, this.widths[i]);
+			offset += this.widths[i];
+			switch (this.letters[i]) {
+			case 'y':
+				if (this.widths[i] == 2) {
+					shortYear = n;
+					cal.set(Calendar.YEAR, c.resolve(n));
+				} else {
+					cal.set(Calendar.YEAR, n);
+				}
+				break;
+			case 'M':
+				cal.set(Calendar.MONTH, n - 1);
+				break;
+			case 'd':
+				cal.set(Calendar.DAY_OF_MONTH, n);
+				break;
+			case 'H':
+				cal.set(Calendar.HOUR_OF_DAY, n);
+				break;
+			case 'm':
+				cal.set(Calendar.MINUTE, n);
+				break;
+			default:
+				cal.set(Calendar.SECOND, n);
+			}
+		}
+		try {
+			long millis = cal.getTimeInMillis();
+			if (shortYear != NONE) {
+				if (shortYear == c.startYear % 100 && millis < c.start) {
+					cal.set(Calendar.YEAR, cal.get(Calendar.YEAR) + 100);
+					millis = cal.getTimeInMillis();
+				}
+			}
+			final Calendar result = new GregorianCalendar();
+			result.setTimeInMillis(millis);
+			return result;
+		} catch (final IllegalArgumentException e) {
+			logInvalid(value);
+			return null;
+		}
+	}
+
+	/**
+	 * Parses values that are not made only of digits, with the same semantics of the previous implementation
+	 */
+	private Calendar parseWithFormat(final String value) {
+		try {
+			final SimpleDateFormat sdf = new SimpleDateFormat(this.pattern);
+			sdf.setLenient(false);
+			final Date d = sdf.parse(value);
+			final Calendar cal = new GregorianCalendar();
+			cal.setTime(d);
+			return cal;
+		} catch (final ParseException e) {
+			logInvalid(value);
+			return null;
+		}
+	}
+
+	private void logInvalid(final String value) {
+		if (log.isLoggable(Level.FINE)) {
+			log.fine("Could not parse '" + value + "' with pattern '" + this.pattern + "'");
+		}
+	}
+
+	/**
+	 * Formats the calendar in the default time zone.
+	 * @param date the date and time to format
+	 * @return the formatted value or <code>null</code> if the calendar is null
+	 */
+	String format(final Calendar date) {
+		if (date == null) {
+			return null;
+		}
+		final GregorianCalendar cal = FORMAT_CALENDAR.get();
+		cal.setTimeZone(TimeZone.getDefault());
+		cal.setTimeInMillis(date.getTimeInMillis());
+		final int year = cal.get(Calendar.YEAR);
+		if (year > 9999) {
+			return DateFormatUtils.format(date.getTime(), this.pattern);
+		}
+		final char[] result = new char[this.length];
+		int offset = 0;
+		for (int i = 0; i < this.letters.length; i++) {
+			final int n;
+			switch (this.letters[i]) {
+			case 'y':
+				n = this.widths[i] == 2 ? year % 100 : year;
+				break;
+			case 'M':
+				n = cal.get(Calendar.MONTH) + 1;
+				break;
+			case 'd':
+				n = cal.get(Calendar.DAY_OF_MONTH);
+				break;
+			case 'H':
+				n = cal.get(Calendar.HOUR_OF_DAY);
+				break;
+			case 'm':
+				n = cal.get(Calendar.MINUTE);
+				break;
+			default:
+				n = cal.get(Calendar.SECOND);
+			}
+			digits(n, result, offset, this.widths[i]);
+			offset += this.widths[i];
+		}
+		return new String(result);
+	}
+
+	/**
+	 * Parses a value into its int encoding, without creating a calendar.
+	 *
+	 * <p>The value is validated as a date and time regardless of time zones. When the pattern has month
+	 * and day but not a year, February 29 is accepted.</p>
+	 *
+	 * @param value the value to parse
+	 * @return the pattern fields as decimal digits with a four digit year, or -1 if the value is null or not valid
+	 */
+	int parseInt(final CharSequence value) {
+		if (value == null || !isDigits(value)) {
+			return NONE;
+		}
+		int year = NONE, month = NONE, day = NONE, hour = NONE, minute = NONE, second = NONE;
+		int offset = 0;
+		for (int i = 0; i < this.letters.length; i++) {
+			final int n = number(value, offset, this.widths[i]);
+			offset += this.widths[i];
+			switch (this.letters[i]) {
+			case 'y':
+				year = n;
+				break;
+			case 'M':
+				month = n;
+				break;
+			case 'd':
+				day = n;
+				break;
+			case 'H':
+				hour = n;
+				break;
+			case 'm':
+				minute = n;
+				break;
+			default:
+				second = n;
+			}
+		}
+		if (this.twoDigitYear) {
+			year = century().resolve(year, month, day);
+		}
+		if (!isValid(year, month, day, hour, minute, second)) {
+			return NONE;
+		}
+		return encode(year, month, day, hour, minute, second);
+	}
+
+	/**
+	 * Formats an int encoded value.
+	 * @param value the pattern fields as decimal digits with a four digit year, as returned by {@link #parseInt(CharSequence)}
+	 * @return the formatted value or <code>null</code> if the value is not valid for the pattern
+	 */
+	String format(final int value) {
+		if (value < 0) {
+			return null;
+		}
+		int remaining = value;
+		final int[] fields = new int[this.letters.length];
+		for (int i = this.letters.length - 1; i >= 0; i--) {
+			final int divisor = this.letters[i] == 'y' ? 10000 : 100;
+			fields[i] = remaining % divisor;
+			remaining /= divisor;
+		}
+		if (remaining != 0) {
+			return null;
+		}
+		int year = NONE, month = NONE, day = NONE, hour = NONE, minute = NONE, second = NONE;
+		for (int i = 0; i < fields.length; i++) {
+			switch (this.letters[i]) {
+			case 'y':
+				year = fields[i];
+				break;
+			case 'M':
+				month = fields[i];
+				break;
+			case 'd':
+				day = fields[i];
+				break;
+			case 'H':
+				hour = fields[i];
+				break;
+			case 'm':
+				minute = fields[i];
+				break;
+			default:
+				second = fields[i];
+			}
+		}
+		if (!isValid(year, month, day, hour, minute, second)) {
+			return null;
+		}
+		final char[] result = new char[this.length];
+		int offset = 0;
+		for (int i = 0; i < fields.length; i++) {
+			digits(this.letters[i] == 'y' && this.widths[i] == 2 ? fields[i] % 100 : fields[i], result, offset, this.widths[i]);
+			offset += this.widths[i];
+		}
+		return new String(result);
+	}
+
+	private int encode(final int year, final int month, final int day, final int hour, final int minute, final int second) {
+		int result = 0;
+		for (int i = 0; i < this.letters.length; i++) {
+			switch (this.letters[i]) {
+			case 'y':
+				result = result * 10000 + year;
+				break;
+			case 'M':
+				result = result * 100 + month;
+				break;
+			case 'd':
+				result = result * 100 + day;
+				break;
+			case 'H':
+				result = result * 100 + hour;
+				break;
+			case 'm':
+				result = result * 100 + minute;
+				break;
+			default:
+				result = result * 100 + second;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Validates the present fields, absent fields are {@link #NONE}
+	 */
+	private static boolean isValid(final int year, final int month, final int day, final int hour, final int minute, final int second) {
+		if (year != NONE && year < 1) {
+			return false;
+		}
+		if (month != NONE && (month < 1 || month > 12)) {
+			return false;
+		}
+		if (day != NONE && (day < 1 || day > daysInMonth(year, month))) {
+			return false;
+		}
+		return hour <= 23 && minute <= 59 && second <= 59;
+	}
+
+	/**
+	 * @return the number of days of the month in the proleptic Gregorian calendar, or 31 if the month is not known
+	 * and 29 for February if the year is not known
+	 */
+	private static int daysInMonth(final int year, final int month) {
+		switch (month) {
+		case 2:
+			return year == NONE || (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+		case 4:
+		case 6:
+		case 9:
+		case 11:
+			return 30;
+		default:
+			return 31;
+		}
+	}
+
+	private boolean isDigits(final CharSequence value) {
+		if (value.length() != this.length) {
+			return false;
+		}
+		for (int i = 0; i < this.length; i++) {
+			final char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int number(final CharSequence value, final int offset, final int width) {
+		int n = 0;
+		for (int i = offset; i < offset + width; i++) {
+			n = n * 10 + (value.charAt(i) - '0');
+		}
+		return n;
+	}
+
+	/**
+	 * Writes the number zero padded to the given width, keeping the lower digits
+	 */
+	private static void digits(final int number, final char[] target, final int offset, final int width) {
+		int n = number;
+		for (int i = offset + width - 1; i >= offset; i--) {
+			target[i] = (char) ('0' + n % 10);
+			n /= 10;
+		}
+	}
+
+	/**
+	 * Gets the start of the 100 years window to resolve two digit years, refreshed every minute
+	 */
+	private static Century century() {
+		final long now = System.currentTimeMillis();
+		Century c = century;
+		if (c == null || now >= c.expires) {
+			c = new Century(now);
+			century = c;
+		}
+		return c;
+	}
+
+	/**
+	 * Start of the window used by {@link SimpleDateFormat} to resolve two digit years: 80 years before now
+	 */
+	private static final class Century {
+		private final long expires;
+		private final long start;
+		private final int startYear;
+		private final int startDate;
+
+		private Century(final long now) {
+			final Calendar cal = new GregorianCalendar();
+			cal.setTimeInMillis(now);
+			cal.add(Calendar.YEAR, -80);
+			this.expires = now + 60 * 1000;
+			this.start = cal.getTimeInMillis();
+			this.startYear = cal.get(Calendar.YEAR);
+			this.startDate = this.startYear * 10000 + (cal.get(Calendar.MONTH) + 1) * 100 + cal.get(Calendar.DAY_OF_MONTH);
+		}
+
+		/**
+		 * Resolves the year as the first guess of {@link SimpleDateFormat}, to be checked against {@link #start}
+		 */
+		private int resolve(final int shortYear) {
+			return (this.startYear / 100) * 100 + shortYear + (shortYear < this.startYear % 100 ? 100 : 0);
+		}
+
+		/**
+		 * Resolves the year with day precision, absent month and day taken as the first of January
+		 */
+		private int resolve(final int shortYear, final int month, final int day) {
+			final int year = resolve(shortYear);
+			if (shortYear == this.startYear % 100) {
+				final int date = year * 10000 + (month == NONE ? 1 : month) * 100 + (day == NONE ? 1 : day);
+				if (date <= this.startDate) {
+					return year + 100;
+				}
+			}
+			return year;
+		}
+	}
+}
@@ -19,14 +19,10 @@ import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Currency;
-import java.util.Date;
-import java.util.GregorianCalendar;
 
 import org.apache.commons.lang.StringUtils;
-import org.apache.commons.lang.time.DateFormatUtils;
 
 import com.prowidesoftware.swift.model.BIC;
 import com.prowidesoftware.swift.model.LogicalTerminalAddress;
@@ -72,7 +68,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getDate2(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 6)) {
-			return getCalendar(strDate, "yyMMdd");
+			return SwiftDateTimeCodec.DATE2.parse(strDate);
 		} else {
 			return null;
 		}
@@ -84,7 +80,7 @@ public class SwiftFormatUtils {
 	 * @return parsed date or <code>null</code> if the calendar is null
 	 */
 	public static String getDate2(final Calendar date) {
-		return getCalendar(date, "yyMMdd");
+		return SwiftDateTimeCodec.DATE2.format(date);
 	}
 
 	/**
@@ -94,7 +90,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getDate1(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 4)) {
-			return getCalendar(strDate, "MMdd");
+			return SwiftDateTimeCodec.DATE1.parse(strDate);
 		} else {
 			return null;
 		}
@@ -126,7 +122,7 @@ public class SwiftFormatUtils {
 	 * @since 6.4
 	 */
 	public static String getDate1(final Calendar date) {
-		return getCalendar(date, "MMdd");
+		return SwiftDateTimeCodec.DATE1.format(date);
 	}
 
 	/**
@@ -136,7 +132,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getDate3(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 4)) {
-			return getCalendar(strDate, "yyMM");
+			return SwiftDateTimeCodec.DATE3.parse(strDate);
 		} else {
 			return null;
 		}
@@ -149,7 +145,7 @@ public class SwiftFormatUtils {
 	 * @since 6.4
 	 */
 	public static String getDate3(final Calendar date) {
-		return getCalendar(date, "yyMM");
+		return SwiftDateTimeCodec.DATE3.format(date);
 	}
 
 	/**
@@ -159,7 +155,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getDate4(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 8)) {
-			return getCalendar(strDate, "yyyyMMdd");
+			return SwiftDateTimeCodec.DATE4.parse(strDate);
 		} else {
 			return null;
 		}
@@ -172,7 +168,7 @@ public class SwiftFormatUtils {
 	 * @since 6.4
 	 */
 	public static String getDate4(final Calendar date) {
-		return getCalendar(date, "yyyyMMdd");
+		return SwiftDateTimeCodec.DATE4.format(date);
 	}
 
 	/**
@@ -182,7 +178,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getYear(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 4)) {
-			return getCalendar(strDate, "yyyy");
+			return SwiftDateTimeCodec.YEAR.parse(strDate);
 		} else {
 			return null;
 		}
@@ -195,7 +191,7 @@ public class SwiftFormatUtils {
 	 * @since 6.4
 	 */
 	public static String getYear(final Calendar date) {
-		return getCalendar(date, "yyyy");
+		return SwiftDateTimeCodec.YEAR.format(date);
 	}
 
 	/**
@@ -206,6 +202,10 @@ public class SwiftFormatUtils {
 	public static Number getNumber(final String amount) {
 		Number number = null;
 		if (amount != null) {
+			number = SwiftAmountCodec.parse(amount);
+			if (number != null) {
+				return number;
+			}
 			try {
 				final DecimalFormatSymbols symbols = new DecimalFormatSymbols();
 				symbols.setDecimalSeparator(',');
@@ -231,6 +231,10 @@ public class SwiftFormatUtils {
 	 */
 	public static String getNumber(final Number number) {
 		if (number != null) {
+			final String amount = SwiftAmountCodec.format(number);
+			if (amount != null) {
+				return amount;
+			}
 			final DecimalFormatSymbols symbols = new DecimalFormatSymbols();
 			symbols.setDecimalSeparator(',');
 			final DecimalFormat df = new DecimalFormat("0.##########", symbols);
@@ -243,42 +247,169 @@ public class SwiftFormatUtils {
 		return null;
 	}
 
+	/**
+	 * Parses a SWIFT amount into a long for the given number of decimals, without creating a Number.
+	 * This is intended for bulk processing such as summing amounts in the currency minor unit.
+	 * <ul>
+	 * 	<li>Example: "1234,5" with scale 2 -> 123450</li>
+	 * 	<li>Example: "1234," with scale 0 -> 1234</li>
+	 * 	<li>Example: "1234,567" with scale 2 -> Long.MIN_VALUE</li>
+	 * </ul>
+	 * @param amount digits with an optional comma as decimal separator
+	 * @param scale number of decimals of the result, zero or positive
+	 * @return the amount multiplied by ten to the power of scale, or <code>Long.MIN_VALUE</code> if the argument is null
+	 * or not a plain SWIFT amount, if it has non zero decimals beyond the scale, or if the result does not fit in a long
+	 * @see #getAmountScale(CharSequence)
+	 * @since 7.9.7
+	 */
+	public static long getUnscaledAmount(final CharSequence amount, final int scale) {
+		if (amount == null) {
+			return SwiftAmountCodec.INVALID;
+		}
+		return SwiftAmountCodec.unscaled(amount, scale);
+	}
+
+	/**
+	 * Gets the number of decimals of a SWIFT amount, to be used with {@link #getUnscaledAmount(CharSequence, int)}
+	 * to get the amount without loss of precision.
+	 * @param amount digits with an optional comma as decimal separator
+	 * @return the number of digits after the comma, or -1 if the argument is null or not a plain SWIFT amount
+	 * @since 7.9.7
+	 */
+	public static int getAmountScale(final CharSequence amount) {
+		if (amount == null) {
+			return -1;
+		}
+		return SwiftAmountCodec.scale(amount);
+	}
+
+	/**
+	 * Formats an amount given as an unscaled long into a SWIFT string number, with the same rules of {@link #getNumber(Number)}.
+	 * <ul>
+	 * 	<li>Example: 123450 with scale 2 -> 1234,5</li>
+	 * 	<li>Example: 1234 with scale 0 -> 1234,</li>
+	 * </ul>
+	 * @param unscaled the amount multiplied by ten to the power of scale
+	 * @param scale the number of decimals in the unscaled amount
+	 * @return the formatted amount
+	 * @since 7.9.7
+	 */
+	public static String getNumber(final long unscaled, final int scale) {
+		return SwiftAmountCodec.format(unscaled, scale);
+	}
+
 	/**
 	 * @param hhmm hour and minutes
 	 * @return a Calendar set with the given hour and minutes
 	 */
 	public static Calendar getHhmm(final String hhmm) {
 		if ((hhmm != null) && (hhmm.length() == 4)) {
-			return getCalendar(hhmm, "HHmm");
+			return SwiftDateTimeCodec.HHMM.parse(hhmm);
 		} else {
 			return null;
 		}
 	}
 
-	private static Calendar getCalendar(final String value, final String format) {
-		if (value != null) {
-			try {
-				final SimpleDateFormat sdf = new SimpleDateFormat(format);
-				sdf.setLenient(false);
-				final Date d = sdf.parse(value);
-				final Calendar cal = new GregorianCalendar();
-				cal.setTime(d);
-				return cal;
-			} catch (final ParseException e) {
-				log.log(java.util.logging.Level.WARNING, "Could not parse '"+value+"' with pattern '"+format+"'");
-			}
-		}
-		return null;
+	/**
+	 * Parses a DATE2 string (YYMMDD) into an int, without creating a Calendar.
+	 * The two digit year is resolved as in {@link #getDate2(String)}.
+	 * @param strDate string to parse
+	 * @return the date as a YYYYMMDD int, for example 20170425, or -1 if the argument is null or not a valid date
+	 * @since 7.9.7
+	 */
+	public static int parseDate2(final CharSequence strDate) {
+		return SwiftDateTimeCodec.DATE2.parseInt(strDate);
 	}
 
 	/**
-	 * @since 6.4
+	 * Formats a YYYYMMDD int into a DATE2 string.
+	 * @param date the date as a YYYYMMDD int, as returned by {@link #parseDate2(CharSequence)} or {@link #parseDate4(CharSequence)}
+	 * @return the formatted date or <code>null</code> if the argument is not a valid date
+	 * @since 7.9.7
 	 */
-	private static String getCalendar(final Calendar date, final String format) {
-		if (date != null) {
-			return DateFormatUtils.format(date.getTime(), format);
-		}
-		return null;
+	public static String formatDate2(final int date) {
+		return SwiftDateTimeCodec.DATE2.format(date);
+	}
+
+	/**
+	 * Parses a DATE1 string (MMDD) into an int, without creating a Calendar.
+	 * Since there is no year, February 29 is accepted.
+	 * @param strDate string to parse
+	 * @return the date as a MMDD int, for example 425, or -1 if the argument is null or not a valid month and day
+	 * @since 7.9.7
+	 */
+	public static int parseDate1(final CharSequence strDate) {
+		return SwiftDateTimeCodec.DATE1.parseInt(strDate);
+	}
+
+	/**
+	 * Formats a MMDD int into a DATE1 string.
+	 * @param date the month and day as a MMDD int, as returned by {@link #parseDate1(CharSequence)}
+	 * @return the formatted date or <code>null</code> if the argument is not a valid month and day
+	 * @since 7.9.7
+	 */
+	public static String formatDate1(final int date) {
+		return SwiftDateTimeCodec.DATE1.format(date);
+	}
+
+	/**
+	 * Parses a DATE4 string (YYYYMMDD) into an int, without creating a Calendar.
+	 * @param strDate string to parse
+	 * @return the date as a YYYYMMDD int, for example 20170425, or -1 if the argument is null or not a valid date
+	 * @since 7.9.7
+	 */
+	public static int parseDate4(final CharSequence strDate) {
+		return SwiftDateTimeCodec.DATE4.parseInt(strDate);
+	}
+
+	/**
+	 * Formats a YYYYMMDD int into a DATE4 string.
+	 * @param date the date as a YYYYMMDD int, as returned by {@link #parseDate4(CharSequence)} or {@link #parseDate2(CharSequence)}
+	 * @return the formatted date or <code>null</code> if the argument is not a valid date
+	 * @since 7.9.7
+	 */
+	public static String formatDate4(final int date) {
+		return SwiftDateTimeCodec.DATE4.format(date);
+	}
+
+	/**
+	 * Parses a HHMM string, such as a time or a UTC offset, into an int, without creating a Calendar.
+	 * @param hhmm hour and minutes
+	 * @return the time as a HHMM int, for example 1245, or -1 if the argument is null or not a valid time
+	 * @since 7.9.7
+	 */
+	public static int parseHhmm(final CharSequence hhmm) {
+		return SwiftDateTimeCodec.HHMM.parseInt(hhmm);
+	}
+
+	/**
+	 * Formats a HHMM int into a HHMM string.
+	 * @param hhmm the time as a HHMM int, as returned by {@link #parseHhmm(CharSequence)}
+	 * @return the formatted time or <code>null</code> if the argument is not a valid time
+	 * @since 7.9.7
+	 */
+	public static String formatHhmm(final int hhmm) {
+		return SwiftDateTimeCodec.HHMM.format(hhmm);
+	}
+
+	/**
+	 * Parses a TIME2 string (HHMMSS) into an int, without creating a Calendar.
+	 * @param hhmmss hour, minutes and seconds
+	 * @return the time as a HHMMSS int, for example 124530, or -1 if the argument is null or not a valid time
+	 * @since 7.9.7
+	 */
+	public static int parseTime2(final CharSequence hhmmss) {
+		return SwiftDateTimeCodec.TIME2.parseInt(hhmmss);
+	}
+
+	/**
+	 * Formats a HHMMSS int into a TIME2 string.
+	 * @param hhmmss the time as a HHMMSS int, as returned by {@link #parseTime2(CharSequence)}
+	 * @return the formatted time or <code>null</code> if the argument is not a valid time
+	 * @since 7.9.7
+	 */
+	public static String formatTime2(final int hhmmss) {
+		return SwiftDateTimeCodec.TIME2.format(hhmmss);
 	}
 
 	/**
@@ -287,7 +418,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getTime2(final String hhmmss) {
 		if ((hhmmss != null) && (hhmmss.length() == 6)) {
-			return getCalendar(hhmmss, "HHmmss");
+			return SwiftDateTimeCodec.TIME2.parse(hhmmss);
 		} else {
 			return null;
 		}
@@ -300,7 +431,7 @@ public class SwiftFormatUtils {
 	 * @since 6.4
 	 */
 	public static String getTime2(final Calendar date) {
-		return getCalendar(date, "HHmmss");
+		return SwiftDateTimeCodec.TIME2.format(date);
 	}
 
 	/**
@@ -310,9 +441,9 @@ public class SwiftFormatUtils {
 	public static Calendar getTime3(final String hhmmss) {
 		if (hhmmss != null) {
 			if (hhmmss.length() == 2) {
-				return getCalendar(hhmmss, "HH");
+				return SwiftDateTimeCodec.HOUR.parse(hhmmss);
 			} else if (hhmmss.length() == 4) {
-				return getCalendar(hhmmss, "HHmm");
+				return SwiftDateTimeCodec.HHMM.parse(hhmmss);
 			}
 		}
 		return null;
@@ -325,7 +456,7 @@ public class SwiftFormatUtils {
 	 * @since 6.4
 	 */
 	public static String getTime3(final Calendar date) {
-		return getCalendar(date, "HHmm");
+		return SwiftDateTimeCodec.HHMM.format(date);
 	}
 
 	/**
@@ -355,7 +486,7 @@ public class SwiftFormatUtils {
 	 * @since 6.4
 	 */
 	public static String getOffset(final Calendar date) {
-		return getCalendar(date, "HHmm");
+		return SwiftDateTimeCodec.HHMM.format(date);
 	}
 
 	/**
@@ -442,7 +573,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getDateTime(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 12)) {
-			return getCalendar(strDate, "yyyyMMddHHmm");
+			return SwiftDateTimeCodec.DATETIME.parse(strDate);
 		} else {
 			return null;
 		}
@@ -455,7 +586,7 @@ public class SwiftFormatUtils {
 	 * @since 7.4
 	 */
 	public static String getDateTime(final Calendar date) {
-		return getCalendar(date, "yyyyMMddHHmm");
+		return SwiftDateTimeCodec.DATETIME.format(date);
 	}
 
 	/**
@@ -466,7 +597,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getDateTimeShortYear(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 10)) {
-			return getCalendar(strDate, "yyMMddHHmm");
+			return SwiftDateTimeCodec.DATETIME_SHORT_YEAR.parse(strDate);
 		} else {
 			return null;
 		}
@@ -479,7 +610,7 @@ public class SwiftFormatUtils {
 	 * @since 7.4
 	 */
 	public static String getDateTimeShortYear(final Calendar date) {
-		return getCalendar(date, "yyMMddHHmm");
+		return SwiftDateTimeCodec.DATETIME_SHORT_YEAR.format(date);
 	}
 
 	/**
@@ -490,7 +621,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getDayTime(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 6)) {
-			return getCalendar(strDate, "ddHHmm");
+			return SwiftDateTimeCodec.DAYTIME.parse(strDate);
 		} else {
 			return null;
 		}
@@ -503,7 +634,7 @@ public class SwiftFormatUtils {
 	 * @since 7.4
 	 */
 	public static String getDayTime(final Calendar date) {
-		return getCalendar(date, "ddHHmm");
+		return SwiftDateTimeCodec.DAYTIME.format(date);
 	}
 
 	/**
@@ -514,7 +645,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getMonthDay(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 4)) {
-			return getCalendar(strDate, "MMdd");
+			return SwiftDateTimeCodec.DATE1.parse(strDate);
 		} else {
 			return null;
 		}
@@ -527,7 +658,7 @@ public class SwiftFormatUtils {
 	 * @since 7.4
 	 */
 	public static String getMonthDay(final Calendar date) {
-		return getCalendar(date, "MMdd");
+		return SwiftDateTimeCodec.DATE1.format(date);
 	}
 
 	/**
@@ -538,7 +669,7 @@ public class SwiftFormatUtils {
 	 */
 	public static Calendar getHour(final String strDate) {
 		if ((strDate != null) && (strDate.length() == 2)) {
-			return getCalendar(strDate, "HH");
+			return SwiftDateTimeCodec.HOUR.parse(strDate);
 		} else {
 			return null;
 		}
@@ -551,7 +682,7 @@ public class SwiftFormatUtils {
 	 * @since 7.4
 	 */
 	public static String getHour(final Calendar date) {
-		return getCalendar(date, "HH");
+		return SwiftDateTimeCodec.HOUR.format(date);
 	}
 
 	/**
@@ -0,0 +1,146 @@
+/* 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+*/
+package com.prowidesoftware.swift.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.prowidesoftware.swift.io.parser.SwiftParser;
+import com.prowidesoftware.swift.io.parser.SwiftParserConfiguration;
+
+/**
+ * Test for {@link BulkSwiftParser}
+ *
+ * @since 7.9.7
+ */
+public class BulkSwiftParserTest {
+	private static final int COUNT = 500;
+	private static final int INVALID = 123;
+
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() {
+		this.executor = Executors.newFixedThreadPool(4);
+	}
+
+	@After
+	public void tearDown() {
+		this.executor.shutdownNow();
+	}
+
+	private static String rje() {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < COUNT; i++) {
+			if (i > 0) {
+				sb.append('$');
+			}
+			if (i == INVALID) {
+				sb.append("{1:F01BANK}");
+			} else {
+				sb.append("{1:F01AAAABBBBCCCC1234123456}{2:I103BBBBCCCCDDDDN}{4:\n:20:REF" + i + "\n-}");
+			}
+		}
+		return sb.toString();
+	}
+
+	@Test
+	public void testOrdered() {
+		final Iterator<BulkSwiftParser.Result> it = new BulkSwiftParser(this.executor, 16, true).parse(new RJEReader(rje()));
+		int i = 0;
+		while (it.hasNext()) {
+			final BulkSwiftParser.Result r = it.next();
+			assertEquals(i, r.getIndex());
+			if (i == INVALID) {
+				assertNull(r.getMessage());
+				assertTrue(r.getError() instanceof IllegalArgumentException);
+				assertEquals("{1:F01BANK}", r.getContent());
+			} else {
+				assertNull(r.getError());
+				assertEquals("REF" + i, r.getMessage().getBlock4().getTagValue("20"));
+			}
+			i++;
+		}
+		assertEquals(COUNT, i);
+		assertFalse(it.hasNext());
+	}
+
+	@Test
+	public void testUnordered() {
+		final Iterator<BulkSwiftParser.Result> it = new BulkSwiftParser(this.executor, 8, false).parse(new RJEReader(rje()));
+		final Set<Integer> indexes = new HashSet<Integer>();
+		int errors = 0;
+		while (it.hasNext()) {
+			final BulkSwiftParser.Result r = it.next();
+			assertTrue(indexes.add(r.getIndex()));
+			if (r.getError() != null) {
+				errors++;
+			} else {
+				assertEquals("REF" + r.getIndex(), r.getMessage().getBlock4().getTagValue("20"));
+			}
+		}
+		assertEquals(COUNT, indexes.size());
+		assertEquals(1, errors);
+	}
+
+	@Test
+	public void testSameAsSequential() throws Exception {
+		final String rje = rje();
+		final Iterator<BulkSwiftParser.Result> it = new BulkSwiftParser(this.executor).parse(new RJEReader(rje));
+		final RJEReader reader = new RJEReader(rje);
+		while (reader.hasNext()) {
+			final String fin = reader.next();
+			final BulkSwiftParser.Result r = it.next();
+			if (r.getError() == null) {
+				assertEquals(new SwiftParser().parse(fin).getBlock4(), r.getMessage().getBlock4());
+			}
+		}
+		assertFalse(it.hasNext());
+	}
+
+	@Test
+	public void testConfiguration() {
+		final BulkSwiftParser bulk = new BulkSwiftParser(this.executor);
+		final SwiftParserConfiguration conf = new SwiftParserConfiguration();
+		conf.setParseTextBlock(false);
+		bulk.setConfiguration(conf);
+		final BulkSwiftParser.Result r = bulk.parse(new RJEReader("{1:F01AAAABBBBCCCC1234123456}{2:I103BBBBCCCCDDDDN}{4:\n:20:REF\n-}")).next();
+		assertNotNull(r.getMessage());
+		assertTrue(r.getMessage().getBlock4() == null || r.getMessage().getBlock4().getTagByName("20") == null);
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testBlank() {
+		final Iterator<BulkSwiftParser.Result> it = new BulkSwiftParser(this.executor).parse(new RJEReader(" "));
+		while (it.hasNext()) {
+			final BulkSwiftParser.Result r = it.next();
+			assertNull(r.getMessage());
+			assertNull(r.getError());
+		}
+		it.next();
+	}
+
+}
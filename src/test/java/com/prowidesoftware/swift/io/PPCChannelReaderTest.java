@@ -0,0 +1,129 @@
+/* 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+*/
+package com.prowidesoftware.swift.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.junit.Test;
+
+/**
+ * Test for {@link PPCChannelReader}
+ *
+ * @since 7.9.7
+ */
+public class PPCChannelReaderTest {
+	private static final Charset CHARSET = Charset.forName("ISO-8859-1");
+
+	private static final String MSG1 = "{1:F01AAAABBBBAXXX0000000000}{2:I103CCCCDDDDXXXXN}{4:\r\n:20:REF1\r\n-}";
+	private static final String MSG2 = "{1:F01AAAABBBBAXXX0000000000}{2:I202CCCCDDDDXXXXN}{4:\r\n:20:REF2\r\n-}";
+
+	/**
+	 * Creates the content with each message in a 512 bytes sector padded with spaces
+	 */
+	private static String content(final String ... msgs) {
+		final StringBuilder sb = new StringBuilder();
+		for (final String msg : msgs) {
+			final String sector = (char) PPCReader.BEGIN + msg + (char) PPCReader.END;
+			sb.append(StringUtils.rightPad(sector, 512, (char) PPCReader.EMPTY));
+		}
+		return sb.toString();
+	}
+
+	private static List<String> read(final String content, final int bufferSize) {
+		final PPCChannelReader r = new PPCChannelReader(Channels.newChannel(new ByteArrayInputStream(content.getBytes(CHARSET))), CHARSET, bufferSize);
+		final List<String> result = new ArrayList<String>();
+		while (r.hasNext()) {
+			result.add(r.next());
+		}
+		return result;
+	}
+
+	@Test
+	public void testSectors() {
+		final String content = content(MSG1, MSG2);
+		for (int size : new int[] {2, 7, 64, 511, 512, 513, AbstractChannelReader.BUFFER_SIZE}) {
+			final List<String> msgs = read(content, size);
+			assertEquals(2, msgs.size());
+			assertEquals(MSG1, msgs.get(0));
+			assertEquals(MSG2, msgs.get(1));
+		}
+	}
+
+	@Test
+	public void testSameAsPPCReader() {
+		final String content = content(MSG1, MSG2, MSG1);
+		final List<String> expected = new ArrayList<String>();
+		final PPCReader r = new PPCReader(content);
+		while (r.hasNext()) {
+			expected.add(r.next());
+		}
+		assertEquals(expected, read(content, 100));
+	}
+
+	@Test
+	public void testMissingEnd() {
+		final String content = (char) PPCReader.BEGIN + MSG1;
+		assertEquals(MSG1, read(content, 16).get(0));
+		assertTrue(read("   ", 16).isEmpty());
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testNextWithoutHasNext() {
+		final PPCChannelReader r = new PPCChannelReader(Channels.newChannel(new ByteArrayInputStream(new byte[0])), CHARSET);
+		assertFalse(r.hasNext());
+		r.next();
+	}
+
+	@Test
+	public void testSplitFile() throws IOException {
+		final String[] msgs = new String[30];
+		for (int i = 0; i < msgs.length; i++) {
+			msgs[i] = i % 2 == 0 ? MSG1 : MSG2;
+		}
+		// unpadded sectors, so the split points fall anywhere in the messages
+		final String content = content(msgs).replace((char) PPCReader.EMPTY, ' ').replaceAll(" +", "\r\n");
+		final File f = File.createTempFile("ppc", ".dos");
+		f.deleteOnExit();
+		final FileOutputStream out = new FileOutputStream(f);
+		try {
+			out.write(content.getBytes(CHARSET));
+		} finally {
+			out.close();
+		}
+		final List<String> expected = read(content, 100);
+		assertEquals(msgs.length, expected.size());
+		for (final int parts : new int[] {1, 4, 30, 100}) {
+			final List<PPCChannelReader> readers = PPCChannelReader.split(f, CHARSET, parts);
+			assertTrue(readers.size() <= parts);
+			final List<String> result = new ArrayList<String>();
+			for (final PPCChannelReader r : readers) {
+				while (r.hasNext()) {
+					result.add(r.next());
+				}
+			}
+			assertEquals(expected, result);
+		}
+	}
+
+}
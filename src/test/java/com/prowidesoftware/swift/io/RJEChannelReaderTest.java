@@ -0,0 +1,199 @@
+/* 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+*/
+package com.prowidesoftware.swift.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.junit.Test;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.mt.AbstractMT;
+import com.prowidesoftware.swift.model.mt.mt1xx.MT103;
+
+/**
+ * Test for {@link RJEChannelReader}
+ *
+ * @since 7.9.7
+ */
+public class RJEChannelReaderTest {
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private static final String MSG = "{1:F01AAAABBBBAXXX0000000000}{2:I103CCCCDDDDXXXXN}{4:\r\n:20:REF\r\n:23B:CRED\r\n:32A:130204USD1234,56\r\n:50K:/12345\r\nJUAN P\u00C9REZ\r\n:59:/54321\r\nHANS M\u00DCLLER\r\n:71A:OUR\r\n-}";
+
+	private static List<String> read(final String content, final int bufferSize) {
+		final RJEChannelReader r = new RJEChannelReader(Channels.newChannel(new ByteArrayInputStream(content.getBytes(UTF8))), UTF8, bufferSize);
+		final List<String> result = new ArrayList<String>();
+		while (r.hasNext()) {
+			result.add(r.next());
+		}
+		assertNull(r.next());
+		return result;
+	}
+
+	@Test
+	public void testSplit() {
+		final String content = MSG + "\r\n$" + MSG + "$$" + MSG;
+		// small buffers force messages and multi-byte chars to span several loads
+		for (int size = 2; size < 40; size++) {
+			final List<String> msgs = read(content, size);
+			assertEquals(4, msgs.size());
+			assertEquals(MSG + "\r\n", msgs.get(0));
+			assertEquals(MSG, msgs.get(1));
+			assertEquals("", msgs.get(2));
+			assertEquals(MSG, msgs.get(3));
+		}
+		assertEquals(1, read(MSG + "$", 8).size());
+		assertEquals(0, read("", 8).size());
+	}
+
+	@Test
+	public void testSameAsRJEReader() {
+		final String content = MSG + "\r\n$\r\n" + MSG + "\r\n$\r\n" + MSG;
+		final List<String> expected = new ArrayList<String>();
+		for (final String msg : new RJEReader(content)) {
+			expected.add(msg);
+		}
+		assertEquals(expected, read(content, AbstractChannelReader.BUFFER_SIZE));
+	}
+
+	@Test
+	public void testSplitChar() {
+		final RJEChannelReader r = new RJEChannelReader(Channels.newChannel(new ByteArrayInputStream("A#B$C".getBytes(UTF8))), UTF8);
+		r.setSplitChar('#');
+		assertEquals("A", r.next());
+		assertEquals("B$C", r.next());
+		assertFalse(r.hasNext());
+	}
+
+	@Test
+	public void testFile() throws IOException {
+		final File f = File.createTempFile("rje", ".txt");
+		f.deleteOnExit();
+		final FileOutputStream out = new FileOutputStream(f);
+		try {
+			out.write((MSG + "\r\n$\r\n" + new MT103().message()).getBytes(UTF8));
+		} finally {
+			out.close();
+		}
+		final RJEChannelReader r = new RJEChannelReader(f, UTF8);
+		assertTrue(r.hasNext());
+		final AbstractMT mt = r.nextMT();
+		assertNotNull(mt);
+		assertEquals("103", mt.getMessageType());
+		assertEquals("HANS M\u00DCLLER", ((MT103) mt).getField59().getNameAndAddressLine1());
+		assertTrue(r.hasNext());
+		assertNotNull(r.nextMT());
+		assertFalse(r.hasNext());
+		r.close();
+	}
+
+	private static File file(final String content) throws IOException {
+		final File f = File.createTempFile("rje", ".txt");
+		f.deleteOnExit();
+		final FileOutputStream out = new FileOutputStream(f);
+		try {
+			out.write(content.getBytes(UTF8));
+		} finally {
+			out.close();
+		}
+		return f;
+	}
+
+	@Test
+	public void testSplitFile() throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 50; i++) {
+			sb.append(StringUtils.replace(MSG, ":20:REF", ":20:REF" + i)).append("\r\n$");
+		}
+		final File f = file(sb.toString());
+		final List<String> expected = read(sb.toString(), AbstractChannelReader.BUFFER_SIZE);
+		assertEquals(50, expected.size());
+		for (final int parts : new int[] {1, 2, 3, 7, 50, 200}) {
+			final List<RJEChannelReader> readers = RJEChannelReader.split(f, UTF8, parts);
+			assertTrue(readers.size() <= parts);
+			assertTrue(parts == 1 || readers.size() > 1);
+			final List<String> msgs = new ArrayList<String>();
+			for (final RJEChannelReader r : readers) {
+				while (r.hasNext()) {
+					msgs.add(r.next());
+				}
+			}
+			assertEquals(expected, msgs);
+		}
+		assertEquals(1, RJEChannelReader.split(file(""), UTF8, 4).size());
+		assertEquals(1, RJEChannelReader.split(file(MSG), UTF8, 4).size());
+	}
+
+	@Test
+	public void testCloseAll() throws IOException {
+		final ReadableByteChannel c1 = Channels.newChannel(new ByteArrayInputStream(MSG.getBytes("UTF-8")));
+		final ReadableByteChannel failing = new ReadableByteChannel() {
+			public int read(final ByteBuffer dst) throws IOException {
+				return -1;
+			}
+			public boolean isOpen() {
+				return true;
+			}
+			public void close() throws IOException {
+				throw new IOException("close error");
+			}
+		};
+		final ReadableByteChannel c2 = Channels.newChannel(new ByteArrayInputStream(MSG.getBytes("UTF-8")));
+		final List<RJEChannelReader> readers = new ArrayList<RJEChannelReader>();
+		readers.add(new RJEChannelReader(c1, UTF8));
+		readers.add(new RJEChannelReader(failing, UTF8));
+		readers.add(new RJEChannelReader(c2, UTF8));
+		AbstractChannelReader.closeAll(readers);
+		assertFalse(c1.isOpen());
+		assertFalse(c2.isOpen());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSplitCharset() throws IOException {
+		RJEChannelReader.split(file(MSG), Charset.forName("UTF-16"), 2);
+	}
+
+	@Test
+	public void testSwiftMessages() throws IOException {
+		final RJEChannelReader r = new RJEChannelReader(file(MSG + "$ $" + new MT103().message()), UTF8);
+		int count = 0;
+		for (final SwiftMessage m : r.swiftMessages()) {
+			assertEquals("103", m.getType());
+			count++;
+		}
+		assertEquals(2, count);
+
+		count = 0;
+		for (final AbstractMT mt : new RJEReader(MSG + "$" + MSG).mts()) {
+			assertEquals("REF", ((MT103) mt).getField20().getValue());
+			count++;
+		}
+		assertEquals(2, count);
+	}
+
+}
@@ -0,0 +1,124 @@
+/* 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+*/
+package com.prowidesoftware.swift.io.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.prowidesoftware.swift.io.writer.JSONWriterVisitor;
+import com.prowidesoftware.swift.io.writer.SwiftWriter;
+import com.prowidesoftware.swift.model.SwiftBlock2Input;
+import com.prowidesoftware.swift.model.SwiftBlock2Output;
+import com.prowidesoftware.swift.model.SwiftBlockUser;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
+import com.prowidesoftware.swift.model.Tag;
+
+/**
+ * Test for {@link JSONParser}
+ *
+ * @since 7.9.7
+ */
+public class JSONParserTest {
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		final String fin = "{1:F01AAAAUSC0ADDD0344000050}{2:O1031130010103BBBBUSC0AXXX22210000220101031131N}{3:{108:MUR}}{4:\r\n"
+				+ ":20:REF\"\\\r\n"
+				+ ":32A:010103USD1,\r\n"
+				+ ":70:line1\r\nline2\r\n"
+				+ "-}{5:{CHK:1234}}{S:{SAC:}}";
+		final SwiftMessage m = SwiftMessage.parse(fin);
+		final SwiftMessage parsed = SwiftMessage.fromJson(m.toJson());
+		assertNotNull(parsed);
+		assertTrue(parsed.getBlock2() instanceof SwiftBlock2Output);
+		assertEquals(SwiftWriter.writeMessage(m), SwiftWriter.writeMessage(parsed));
+		assertEquals("line1\r\nline2", parsed.getBlock4().getTagValue("70"));
+		assertEquals(1, parsed.getUserBlocks().size());
+
+		final SwiftMessage input = SwiftMessage.parse("{1:F01BANKBEBBAXXX2222123456}{2:I103BANKDEFFXXXXU3003}{4:\r\n:20:REF\r\n-}");
+		final SwiftMessage parsedInput = new JSONParser().parse(input.toJson());
+		assertTrue(parsedInput.getBlock2() instanceof SwiftBlock2Input);
+		assertEquals(SwiftWriter.writeMessage(input), SwiftWriter.writeMessage(parsedInput));
+		assertNull(parsedInput.getBlock3());
+		assertNull(parsedInput.getBlock5());
+	}
+
+	@Test
+	public void testPreviousFormat() {
+		// as written by previous versions of SwiftMessage#toJson()
+		final String json = "{ \"version\" : 1,\n \"timestamp\" : \"2016-08-26T23:57:36Z\",\n \"data\" : { \n"
+				+ "\"block1\" : \n{ \n\"applicationId\" : \"F\", \n\"serviceId\" : \"01\", \n\"logicalTerminal\" : \"FOOSEDR0AXXX\", \n"
+				+ "\"sessionNumber\" : \"0000\", \n\"sequenceNumber\" : \"000000\" \n} ,\n"
+				+ "\"block2\" : \n{ \n \"messageType\" : \"103\", \n \"receiverAddress\" : \"FOORECV0XXXX\", \n \"messagePriority\" : \"N\", \n"
+				+ " \"deliveryMonitoring\" : \"null\", \n \"obsolescencePeriod\" : \"null\" \n} ,\n"
+				+ "\"block3\" : \n{ }\n,\"block4\" : \n[ \n{ \"20\" : \"REFERENCE\" },\n{ \"59\" : \"/12345678901234567890\\nJOE DOE\" }\n]\n,"
+				+ "\"block5\" : \n{ }\n}\n}\n";
+		final SwiftMessage m = new JSONParser().parse(json);
+		assertNotNull(m);
+		assertEquals("FOOSEDR0AXXX", m.getBlock1().getLogicalTerminal());
+		assertNull(((SwiftBlock2Input) m.getBlock2()).getDeliveryMonitoring());
+		assertEquals("/12345678901234567890\r\nJOE DOE", m.getBlock4().getTagValue("59"));
+		assertNull(m.getBlock3());
+	}
+
+	@Test
+	public void testArray() throws Exception {
+		final StringWriter w = new StringWriter();
+		final JsonWriter jw = new JsonWriter(w);
+		final JSONWriterVisitor visitor = new JSONWriterVisitor(jw);
+		jw.beginArray();
+		for (int i = 0; i < 3; i++) {
+			final SwiftMessage m = new SwiftMessage(true);
+			m.getBlock4().append(new Tag("20", "REF" + i));
+			m.visit(visitor);
+		}
+		jw.endArray();
+
+		final JsonReader r = new JsonReader(new StringReader(w.toString()));
+		final JSONParser p = new JSONParser();
+		r.beginArray();
+		int i = 0;
+		while (r.hasNext()) {
+			assertEquals("REF" + i++, p.parseMessage(r).getBlock4().getTagValue("20"));
+		}
+		r.endArray();
+		assertEquals(3, i);
+	}
+
+	@Test
+	public void testTags() {
+		final SwiftBlockUser b = new SwiftBlockUser("S");
+		b.append(new Tag("SAC", ""));
+		b.append(new Tag("COP", "P"));
+		final SwiftTagListBlock parsed = SwiftTagListBlock.fromJson(b.toJson());
+		assertEquals(2, parsed.size());
+		assertEquals("P", parsed.getTagValue("COP"));
+		assertNull(SwiftTagListBlock.fromJson("{"));
+	}
+
+	@Test
+	public void testInvalid() {
+		assertNull(new JSONParser().parse("[1,2]"));
+		assertNull(new JSONParser().parse("{\"data\":{\"block4\":[{\"20\":"));
+		assertNull(SwiftMessage.fromJson(""));
+	}
+}
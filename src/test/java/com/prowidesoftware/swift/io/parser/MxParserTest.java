@@ -457,4 +457,76 @@ public class MxParserTest extends XMLTestCase {
 		assertEquals(8, bah.getCreDt().getMonth());
     }
 
+	private MxMetadata metadataFromSample(final String sample) throws IOException {
+		final InputStream inputStream = getClass().getResourceAsStream("/"+sample);
+		try {
+			return new MxParser(inputStream).metadata();
+		} finally {
+			inputStream.close();
+		}
+	}
+
+	@Test
+	public void testMetadata_sample_header() throws IOException {
+		final MxMetadata md = metadataFromSample("mx_sample_payload.xml");
+		assertSampleApplicationHeader(md.getBusinessHeader());
+		assertNull(md.getGroupHeader());
+		assertEquals(metadataFromSample("mx_sample_request_wrapper.xml").getBusinessHeader().reference(), md.getBusinessHeader().reference());
+	}
+
+	@Test
+	public void testMetadata_sample_document() throws IOException {
+		final MxMetadata md = metadataFromSample("mx_sample_document.xml");
+		assertNull(md.getBusinessHeader());
+		assertNull(md.getGroupHeader());
+		assertMxId(md.getMxId());
+	}
+
+	@Test
+	public void testMetadata_sample_bah() throws IOException {
+		final MxMetadata md = new MxParser(sampleBAH).metadata();
+		assertSampleBusinessApplicationHeader(md.getBusinessHeader());
+	}
+
+	@Test
+	public void testMetadata_groupHeader() {
+		final String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+				+ "<Document xmlns=\"urn:iso:std:iso:20022:tech:xsd:pacs.008.001.02\">"
+				+ "<FIToFICstmrCdtTrf>"
+				+ "<GrpHdr>"
+				+ "<MsgId>MSGID-0001</MsgId>"
+				+ "<InstgAgt><FinInstnId><BIC>KBBECH20DSZ</BIC></FinInstnId></InstgAgt>"
+				+ "<InstdAgt><FinInstnId><BIC>DRESDEF0VNZ</BIC></FinInstnId></InstdAgt>"
+				+ "</GrpHdr>"
+				+ "<CdtTrfTxInf><GrpHdr><MsgId>OTHER</MsgId></GrpHdr></CdtTrfTxInf>"
+				+ "</FIToFICstmrCdtTrf>"
+				+ "</Document>";
+		final MxParser parser = new MxParser(xml);
+		final MxMetadata md = parser.metadata();
+		assertSame(md, parser.metadata());
+		assertNull(md.getBusinessHeader());
+		assertEquals("pacs.008.001.02", md.getMxId().id());
+		assertNotNull(md.getGroupHeader());
+		assertNull(md.getGroupHeader().getParent());
+		assertEquals("MSGID-0001", md.getGroupHeader().findFirst("./MsgId").getValue());
+		assertEquals("KBBECH20DSZ", md.getGroupHeader().findFirst("./InstgAgt/FinInstnId/BIC").getValue());
+		assertEquals("DRESDEF0VNZ", md.getGroupHeader().findFirst("./InstdAgt/FinInstnId/BIC").getValue());
+		assertEquals(parser.parse().findFirstByName("GrpHdr").findFirst("./MsgId").getValue(), md.getGroupHeader().findFirst("./MsgId").getValue());
+	}
+
+	@Test
+	public void testMetadata_empty() {
+		final MxMetadata md = new MxParser("").metadata();
+		assertNull(md.getMxId());
+		assertNull(md.getBusinessHeader());
+		assertNull(md.getGroupHeader());
+	}
+
+	@Test
+	public void testMetadata_truncated() {
+		final String xml ="<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+				+ "<Doc:Document xmlns:Doc=\"urn:swift:xsd:camt.003.001.04\">";
+		assertMxId(new MxParser(xml).metadata().getMxId());
+	}
+
 }
@@ -18,6 +18,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.lang.reflect.Method;
 import java.util.Calendar;
@@ -30,6 +31,7 @@ import org.xml.sax.SAXException;
 
 import com.prowidesoftware.swift.Constants;
 import com.prowidesoftware.swift.io.writer.FINWriterVisitor;
+import com.prowidesoftware.swift.model.LazySwiftMessage;
 import com.prowidesoftware.swift.model.SwiftBlock;
 import com.prowidesoftware.swift.model.SwiftBlock1;
 import com.prowidesoftware.swift.model.SwiftBlock2;
@@ -1432,4 +1434,74 @@ public class SwiftParserTest {
 		assertEquals("DG942_171206-004", msg.getBlock4().getFieldByName("20").getValue());
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Text block larger than the parser read window, read from a reader returning small chunks
+	 */
+	@Test
+	public void testParseLargeBlockChunkedReader() throws IOException {
+		final StringBuilder fin = new StringBuilder("{1:F01TESTAR00AXXX7607663781}{2:I103BBBBCCCCXXXXN}{3:{108:REF}}{4:\r\n");
+		for (int i = 0; i < 2000; i++) {
+			fin.append(":20:REFERENCE").append(i).append("\r\n");
+			fin.append(":79:FOO{BAR}\r\n");
+		}
+		fin.append("-}{5:{CHK:B3BF0D846AFD}}");
+		final Reader chunked = new StringReader(fin.toString()) {
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				return super.read(cbuf, off, Math.min(len, 7));
+			}
+		};
+		final SwiftMessage msg = new SwiftParser(chunked).message();
+		assertEquals("REF", msg.getBlock3().getTagValue("108"));
+		assertEquals(4000, msg.getBlock4().size());
+		assertEquals("REFERENCE0", msg.getBlock4().getTag(0).getValue());
+		assertEquals("FOO{BAR}", msg.getBlock4().getTag(3999).getValue());
+		assertEquals("B3BF0D846AFD", msg.getBlock5().getTagValue("CHK"));
+	}
+
+	/**
+	 * Same parser and target message reused for several messages
+	 */
+	@Test
+	public void testParseIntoTarget() throws IOException {
+		final SwiftParser p = new SwiftParser();
+		final SwiftMessage target = new SwiftMessage(false);
+		final StringBuilder fin = new StringBuilder("{1:F01TESTAR00AXXX7607663781}{2:I103BBBBCCCCXXXXN}{3:{108:REF}}{4:\r\n:20:FIRST\r\n-}{S:{SAC:}}");
+		assertTrue(target == p.parse(fin, target));
+		assertEquals("103", target.getType());
+		assertEquals("REF", target.getBlock3().getTagValue("108"));
+		assertEquals("FIRST", target.getBlock4().getTagValue("20"));
+		assertEquals(1, target.getUserBlocks().size());
+
+		fin.setLength(0);
+		fin.append("{1:F01TESTAR00AXXX7607663781}{2:O1010824170510TESTAR00AXXX94149133901705101425N}{4:\r\n:20:SECOND\r\n-}");
+		assertTrue(target == p.parse(fin, target));
+		assertEquals("101", target.getType());
+		assertNull(target.getBlock3());
+		assertEquals("SECOND", target.getBlock4().getTagValue("20"));
+		assertNull(target.getBlock5());
+		assertTrue(target.getUserBlocks() == null || target.getUserBlocks().isEmpty());
+
+		p.parse("{1:F01TESTAR00AXXX7607663781}{2:I202BBBBCCCCXXXXN}{4:\r\n:20:THIRD\r\n-}", target);
+		assertEquals("202", target.getType());
+		assertEquals("THIRD", target.getBlock4().getTagValue("20"));
+		assertEquals("THIRD", p.parse("{1:F01TESTAR00AXXX7607663781}{2:I202BBBBCCCCXXXXN}{4:\r\n:20:THIRD\r\n-}").getBlock4().getTagValue("20"));
+	}
+
+	@Test
+	public void testParseIntoLazyTarget() throws IOException {
+		final SwiftParser p = new SwiftParser();
+		final LazySwiftMessage target = new LazySwiftMessage();
+		p.parse(new StringBuilder("{1:F01TESTAR00AXXX7607663781}{2:I103BBBBCCCCXXXXN}{3:{108:REF}}{4:\r\n:20:FIRST\r\n-}{5:{CHK:B3BF0D846AFD}}"), target);
+		assertFalse(target.isParsed(4));
+		assertEquals("FIRST", target.getBlock4().getTagValue("20"));
+
+		p.parse("{1:F01TESTAR00AXXX7607663781}{2:I202BBBBCCCCXXXXN}{4:\r\n:20:SECOND\r\n-}", target);
+		assertTrue(target.isParsed(3));
+		assertTrue(target.isParsed(5));
+		assertNull(target.getBlock3());
+		assertNull(target.getBlock5());
+		assertEquals("SECOND", target.getBlock4().getTagValue("20"));
+	}
+
+}
@@ -11,16 +11,24 @@
 */
 package com.prowidesoftware.swift.io.parser;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.apache.commons.lang.StringUtils;
 import org.junit.Test;
@@ -29,7 +37,10 @@ import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 
 import com.prowidesoftware.swift.io.writer.FINWriterVisitor;
+import com.prowidesoftware.swift.io.writer.XMLWriterVisitor;
+import com.prowidesoftware.swift.model.SwiftBlock4;
 import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.Tag;
 import com.prowidesoftware.swift.model.mt.mt1xx.MT103;
 
 /**
@@ -433,5 +444,53 @@ public class XMLParserTest {
 		assertNotNull("SHA", mt.getField71A().getComponent1());
 	}
 
-}
+	/**
+	 * @since 7.9.7
+	 */
+	@Test
+	public void testParseReader() {
+		final SwiftMessage m = new XMLParser().parse(new StringReader("<?xml version=\"1.0\"?>\n<message><block4>\n\t<tag>\n\t\t<name>70</name>"
+				+ "\n\t\t<value>A &amp; B\r\n<![CDATA[<C>]]></value>\n\t</tag>\n</block4>\n</message>"));
+		assertNotNull(m);
+		assertEquals("A & B" + FINWriterVisitor.SWIFT_EOL + "<C>", m.getBlock4().getTagValue("70"));
+
+		assertNull(new XMLParser().parse("<foo/>"));
+		assertNull(new XMLParser().parse("<root><message/><message/></root>"));
+		assertNull(new XMLParser().parse("<message><block4>"));
+		assertNull(new XMLParser().parse("<message><unknown/></message>"));
+	}
 
+	/**
+	 * @since 7.9.7
+	 */
+	@Test
+	public void testParseMessages() throws Exception {
+		final StringWriter out = new StringWriter();
+		final XMLStreamWriter w = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+		w.writeStartDocument();
+		w.writeStartElement("messages");
+		final XMLWriterVisitor visitor = new XMLWriterVisitor(w, false);
+		for (int i = 0; i < 3; i++) {
+			final SwiftMessage m = new SwiftMessage(true);
+			m.getBlock4().append(new Tag("20", "REF" + i));
+			m.getBlock4().append(new Tag("70", "x < y & z\r\nline2"));
+			m.visit(visitor);
+		}
+		w.writeEndElement();
+		w.writeEndDocument();
+		w.close();
+
+		final XMLStreamReader r = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(out.toString()));
+		final XMLParser p = new XMLParser();
+		for (int i = 0; i < 3; i++) {
+			final SwiftMessage m = p.parseMessage(r);
+			assertNotNull(m);
+			final SwiftBlock4 b4 = m.getBlock4();
+			assertEquals("REF" + i, b4.getTagValue("20"));
+			assertEquals("x < y & z" + FINWriterVisitor.SWIFT_EOL + "line2", b4.getTagValue("70"));
+			assertEquals("F", m.getBlock1().getApplicationId());
+		}
+		assertNull(p.parseMessage(r));
+	}
+
+}
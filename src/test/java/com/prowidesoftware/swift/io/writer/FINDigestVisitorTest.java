@@ -0,0 +1,93 @@
+/* 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+*/
+package com.prowidesoftware.swift.io.writer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.junit.Test;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+
+/**
+ * Test for {@link FINDigestVisitor}
+ *
+ * @since 7.9.7
+ */
+public class FINDigestVisitorTest {
+
+	@Test
+	public void testSameAsSwiftWriter() throws IOException, NoSuchAlgorithmException {
+		final String[] messages = {
+			"{1:F01BANKBEBBAXXX2222123456}{2:I103BANKDEFFXXXXU3003}{3:{108:MUR1}}{4:\n:20:REF1\n:70:LINE1 é\nLINE2\n-}{5:{CHK:ABCDEF123456}}{S:{SAC:}}",
+			"{1:F01BANKBEBBAXXX2222123456}{2:I096BANKDEFFXXXXN}{4:{20:REF2}{108:MUR2}}",
+			"{1:F21BANKBEBBAXXX2222123456}{4:{177:1704181245}{451:0}}{1:F01BANKBEBBAXXX2222123456}{2:I103BANKDEFFXXXXN}{4:\n:20:REF3\n-}",
+		};
+		final MessageDigest message = MessageDigest.getInstance("MD5");
+		final MessageDigest block4 = MessageDigest.getInstance("MD5");
+		final FINDigestVisitor visitor = new FINDigestVisitor(message, block4);
+		final MessageDigest expected = MessageDigest.getInstance("MD5");
+		for (final String fin : messages) {
+			final SwiftMessage m = SwiftMessage.parse(fin);
+			m.visit(visitor);
+
+			SwiftWriter.digestMessage(m, expected);
+			assertArrayEquals(fin, expected.digest(), message.digest());
+			SwiftWriter.digestBlock4(m.getBlock4(), expected);
+			assertArrayEquals(fin, expected.digest(), block4.digest());
+		}
+	}
+
+	@Test
+	public void testMessageOnly() throws IOException, NoSuchAlgorithmException {
+		final SwiftMessage m = SwiftMessage.parse("{1:F01BANKBEBBAXXX2222123456}{2:I103BANKDEFFXXXXN}{4:\n:20:REF1\n-}");
+		final MessageDigest message = MessageDigest.getInstance("SHA-256");
+		m.visit(new FINDigestVisitor(message, null));
+		final MessageDigest expected = MessageDigest.getInstance("SHA-256");
+		assertArrayEquals(expected.digest(SwiftWriter.writeMessage(m).getBytes("UTF-8")), message.digest());
+	}
+
+	/**
+	 * Content buffered by a failed visit is not fed into the digest of the next message
+	 */
+	@Test
+	public void testReuseAfterError() throws IOException, NoSuchAlgorithmException {
+		final MessageDigest message = MessageDigest.getInstance("MD5");
+		final FINDigestVisitor visitor = new FINDigestVisitor(message, null);
+		final SwiftMessage broken = SwiftMessage.parse("{1:F01BANKBEBBAXXX2222123456}{2:I103BANKDEFFXXXXN}{4:\n:20:REF1\n-}");
+		broken.getBlock4().getTags().add(null);
+		try {
+			broken.visit(visitor);
+			fail("expected an exception writing a null tag");
+		} catch (final RuntimeException e) {
+			// expected
+		}
+		message.reset();
+
+		final SwiftMessage m = SwiftMessage.parse("{1:F01BANKBEBBAXXX2222123456}{2:I103BANKDEFFXXXXN}{4:\n:20:REF2\n-}");
+		m.visit(visitor);
+		final MessageDigest expected = MessageDigest.getInstance("MD5");
+		SwiftWriter.digestMessage(m, expected);
+		assertArrayEquals(expected.digest(), message.digest());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSameDigest() throws NoSuchAlgorithmException {
+		final MessageDigest d = MessageDigest.getInstance("MD5");
+		new FINDigestVisitor(d, d);
+	}
+
+}
@@ -0,0 +1,145 @@
+/* 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+*/
+package com.prowidesoftware.swift.io.writer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import com.prowidesoftware.swift.model.SwiftBlock1;
+import com.prowidesoftware.swift.model.SwiftBlock2Input;
+import com.prowidesoftware.swift.model.SwiftBlock2Output;
+import com.prowidesoftware.swift.model.SwiftBlockUser;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.Tag;
+
+/**
+ * Test for {@link JSONWriterVisitor}
+ *
+ * @since 7.9.7
+ */
+public class JSONWriterVisitorTest {
+
+	private static SwiftMessage message() {
+		final SwiftMessage m = new SwiftMessage(true);
+		m.getBlock1().setValue("F01BANKBEBBAXXX2222123456");
+		m.getBlock2().setValue("I103BANKDEFFXXXXU3003");
+		m.getBlock3().append(new Tag("108", "MUR"));
+		m.getBlock4().append(new Tag("20", "REF\"\\1"));
+		m.getBlock4().append(new Tag("70", "LINE1\r\nLINE2 é"));
+		return m;
+	}
+
+	@Test
+	public void testMessage() {
+		final SwiftMessage m = message();
+		m.setBlock5(null);
+		final SwiftBlockUser ub = new SwiftBlockUser("S");
+		ub.append(new Tag("SAC", ""));
+		m.addUserBlock(ub);
+
+		final StringBuilder sb = new StringBuilder();
+		m.visit(new JSONWriterVisitor(sb));
+		final JsonObject o = new JsonParser().parse(sb.toString()).getAsJsonObject();
+		assertEquals(1, o.get("version").getAsInt());
+		assertTrue(o.get("timestamp").getAsString().endsWith("Z"));
+		final JsonObject data = o.getAsJsonObject("data");
+
+		final JsonObject b1 = data.getAsJsonObject("block1");
+		assertEquals("BANKBEBBAXXX", b1.get("logicalTerminal").getAsString());
+		final JsonObject b2 = data.getAsJsonObject("block2");
+		assertEquals("BANKDEFFXXXX", b2.get("receiverAddress").getAsString());
+		assertEquals("003", b2.get("obsolescencePeriod").getAsString());
+		assertTrue(data.getAsJsonObject("block1").has("sessionNumber"));
+
+		assertEquals("MUR", data.getAsJsonArray("block3").get(0).getAsJsonObject().get("108").getAsString());
+		final JsonArray b4 = data.getAsJsonArray("block4");
+		assertEquals("REF\"\\1", b4.get(0).getAsJsonObject().get("20").getAsString());
+		assertEquals("LINE1\nLINE2 é", b4.get(1).getAsJsonObject().get("70").getAsString());
+		assertEquals(0, data.getAsJsonObject("block5").entrySet().size());
+
+		final JsonObject u = data.getAsJsonArray("userblocks").get(0).getAsJsonObject();
+		assertEquals("S", u.get("name").getAsString());
+		assertEquals("", u.getAsJsonArray("tags").get(0).getAsJsonObject().get("SAC").getAsString());
+
+		assertEquals(sb.toString().replaceAll("\"timestamp\":\"[^\"]*\"", ""), m.toJson().replaceAll("\"timestamp\":\"[^\"]*\"", ""));
+	}
+
+	@Test
+	public void testMissingBlocks() {
+		final SwiftMessage m = new SwiftMessage(false);
+		final StringWriter w = new StringWriter();
+		m.visit(new JSONWriterVisitor(w));
+		final JsonObject data = new JsonParser().parse(w.toString()).getAsJsonObject().getAsJsonObject("data");
+		for (int i = 1; i <= 5; i++) {
+			assertTrue(data.get("block" + i).isJsonObject());
+		}
+		assertFalse(data.has("userblocks"));
+	}
+
+	@Test
+	public void testArray() throws Exception {
+		final StringWriter w = new StringWriter();
+		final JsonWriter jw = new JsonWriter(w);
+		final JSONWriterVisitor visitor = new JSONWriterVisitor(jw);
+		jw.beginArray();
+		for (int i = 0; i < 3; i++) {
+			message().visit(visitor);
+		}
+		jw.endArray();
+		jw.close();
+		final JsonArray a = new JsonParser().parse(w.toString()).getAsJsonArray();
+		assertEquals(3, a.size());
+	}
+
+	@Test
+	public void testOutputStream() throws Exception {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		message().visit(new JSONWriterVisitor(out));
+		final String json = new String(out.toByteArray(), "UTF-8");
+		assertTrue(json.contains("LINE2 é"));
+	}
+
+	@Test
+	public void testTagListBlockToJson() {
+		final JsonArray a = new JsonParser().parse(message().getBlock4().toJson()).getAsJsonArray();
+		assertEquals(2, a.size());
+		assertEquals("LINE1\nLINE2 é", a.get(1).getAsJsonObject().get("70").getAsString());
+	}
+
+	/**
+	 * Header blocks toJson write the same objects as the message toJson
+	 */
+	@Test
+	public void testHeaderBlocksToJson() {
+		final SwiftMessage m = message();
+		m.setBlock2(new SwiftBlock2Output("O1031200010103BANKBEBBAXXX22221234560101031201N"));
+		final JsonObject data = new JsonParser().parse(m.toJson()).getAsJsonObject().getAsJsonObject("data");
+		assertEquals(data.get("block1"), new JsonParser().parse(m.getBlock1().toJson()));
+		assertEquals(data.get("block2"), new JsonParser().parse(m.getBlock2().toJson()));
+		assertEquals("BANKBEBBAXXX", data.getAsJsonObject("block2").get("MIRLogicalTerminal").getAsString());
+
+		final JsonObject o = new JsonParser().parse(new SwiftBlock1().toJson()).getAsJsonObject();
+		assertTrue(o.get("logicalTerminal").isJsonNull());
+		assertEquals("F", o.get("applicationId").getAsString());
+		assertTrue(new JsonParser().parse(new SwiftBlock2Input().toJson()).getAsJsonObject().get("messageType").isJsonNull());
+	}
+}
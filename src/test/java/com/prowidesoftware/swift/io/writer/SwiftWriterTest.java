@@ -12,11 +12,14 @@
 package com.prowidesoftware.swift.io.writer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.charset.Charset;
 
 import org.junit.Test;
 
@@ -104,6 +107,50 @@ public class SwiftWriterTest {
 		}
 	}
 
+	@Test
+	public void testWriteToAppendableAndStream() throws IOException {
+		SwiftMessage m = new SwiftMessage(true);
+		m.getBlock1().setValue(Constants.B1_DATA);
+		m.getBlock2().setValue(Constants.B2_INPUT);
+		m.getBlock3().append(new Tag("108", " REF "));
+		m.getBlock4().append(new Tag("20", "REFERENCE"));
+		m.getBlock4().append(new Tag("70", "Caf\u00E9 \u20AC\r\n"));
+		m.getBlock5().append(new Tag("CHK", "ABC"));
+
+		StringWriter buf = new StringWriter();
+		SwiftWriter.writeMessage(m, buf);
+		final String expected = buf.toString();
+		assertEquals("{1:"+Constants.B1_DATA+"}{2:"+Constants.B2_INPUT+"}{3:{108:REF}}{4:\r\n" +
+				":20:REFERENCE\r\n:70:Caf\u00E9 \u20AC\r\n-}{5:{CHK:ABC}}", expected);
+
+		StringBuilder sb = new StringBuilder();
+		SwiftWriter.writeMessage(m, sb);
+		assertEquals(expected, sb.toString());
+		assertEquals(expected, SwiftWriter.writeMessage(m));
+		assertTrue(SwiftWriter.estimatedLength(m) >= expected.length());
+
+		for (final String charset : new String[] {"UTF-8", "ISO-8859-1", "US-ASCII", "UTF-16"}) {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			SwiftWriter.writeMessage(m, out, Charset.forName(charset));
+			assertEquals(charset, new String(expected.getBytes(charset), charset), out.toString(charset));
+		}
+	}
+
+	@Test
+	public void testWriteLargeToStream() throws IOException {
+		SwiftMessage m = new SwiftMessage(true);
+		final StringBuilder value = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			value.append(i % 7 == 0 ? '\u00F1' : 'a');
+		}
+		for (int i = 0; i < 5; i++) {
+			m.getBlock4().append(new Tag("79", value.toString()));
+		}
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SwiftWriter.writeMessage(m, out, Charset.forName("UTF-8"));
+		assertEquals(SwiftWriter.writeMessage(m), out.toString("UTF-8"));
+	}
+
 	/**
 	 * Parse the given message and write it using FIN Writer
 	 */
@@ -277,4 +277,39 @@ public class XMLWriterVisitorTest extends XMLTestCase {
 		assertXMLEqual(xml, getResult("testWithTags"));
 	}
 
+	/**
+	 * @since 7.9.7
+	 */
+	@Test 
+	public void testEscapedContent() throws SAXException, IOException {
+		String xml = "<message>" +
+				"\n<block4>" +
+				"\n\t<tag>" +
+				"\n\t\t<name>70</name>" +
+				"\n\t\t<value>A &amp; B &lt;C&gt;</value>"+
+				"\n\t</tag>"+
+				"\n</block4>"+
+				"\n</message>";
+		msg.clear();
+		SwiftBlock4 b4 = new SwiftBlock4();
+		b4.append(new Tag("70", "A & B <C>"));
+		msg.setBlock4(b4);
+		assertEquals(xml.replace("\n", System.getProperty("line.separator")), getResult("testEscapedContent"));
+	}
+
+	/**
+	 * @since 7.9.7
+	 */
+	@Test 
+	public void testReuseVisitor() {
+		msg.clear();
+		SwiftBlock4 b4 = new SwiftBlock4();
+		b4.append(new Tag("20", "REF"));
+		msg.setBlock4(b4);
+		msg.visit(visitor);
+		final String one = this.io.toString();
+		msg.visit(visitor);
+		assertEquals(one + one, this.io.toString());
+	}
+
 }
@@ -97,6 +97,17 @@ public class ConversionServiceTest extends XMLTestCase {
 	}
 
 
+	@Test
+	public void testGetFINFixesEols() {
+		msg.clear();
+		msg.addBlock(new SwiftBlock1("F01BICFOOYYAXXX8669486759"));
+		msg.addBlock(new SwiftBlock2Output("O1030831051017CRESLULLCXXX10194697810510170831N"));
+		msg.addBlock(new SwiftBlock4());
+		msg.getBlock4().append(new Tag("79", "line1\nline2\rline3\r\nline4"));
+		String fin = srv.getFIN(msg);
+		assertEquals("{1:F01BICFOOYYAXXX8669486759}{2:O1030831051017CRESLULLCXXX10194697810510170831N}{4:\r\n:79:line1\r\nline2\r\nline3\r\nline4\r\n-}", fin);
+	}
+
 	/**
 	 * Test method for {@link net.sourceforge.wife.services.ConversionService#getFIN(net.sourceforge.wife.swift.model.SwiftMessage)}.
 	 */
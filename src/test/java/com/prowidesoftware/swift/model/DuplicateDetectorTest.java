@@ -0,0 +1,190 @@
+/* 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+*/
+package com.prowidesoftware.swift.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.prowidesoftware.swift.model.DuplicateDetector.Key;
+
+/**
+ * Test for {@link DuplicateDetector}
+ *
+ * @since 7.9.7
+ */
+public class DuplicateDetectorTest {
+
+	private static MtSwiftMessage mt(final String ref, final String text) {
+		final MtSwiftMessage m = new MtSwiftMessage("{1:F01AAAAUSC0ADDD0344000050}{2:I103BBBBUSC0XCCCN}{3:{108:MUR" + ref + "}}{4:\n"
+				+ ":20:" + ref + "\n"
+				+ ":70:" + text + "\n"
+				+ "-}");
+		return m;
+	}
+
+	/**
+	 * Detector with a manual clock
+	 */
+	private static class TestDetector extends DuplicateDetector {
+		long now = 1000000L;
+
+		TestDetector(final int maxEntries, final int longTail, final EnumSet<Key> keys) {
+			super(maxEntries, 10, TimeUnit.SECONDS, longTail, keys);
+		}
+
+		@Override
+		long currentTimeMillis() {
+			return this.now;
+		}
+	}
+
+	@Test
+	public void testRegisterAndCheck() {
+		final DuplicateDetector d = new DuplicateDetector(1000, 1, TimeUnit.HOURS);
+		final MtSwiftMessage m1 = mt("REF1", "FOO");
+		m1.setId(1L);
+		assertFalse(d.check(m1).isDuplicate());
+		assertFalse(d.register(m1).isPossibleDuplicate());
+		assertEquals(5, d.size());
+
+		// exact same content
+		final DuplicateDetector.Result r = d.check(mt("REF1", "FOO"));
+		assertTrue(r.isDuplicate());
+		assertEquals(EnumSet.allOf(Key.class), r.getMatches());
+		assertEquals(Long.valueOf(1L), r.getOriginalId(Key.CHECKSUM));
+		assertTrue(r.getPossibleMatches().isEmpty());
+
+		// same reference with a different body
+		final DuplicateDetector.Result r2 = d.register(mt("REF1", "BAR"));
+		assertEquals(EnumSet.of(Key.UUID, Key.MUR, Key.REFERENCE), r2.getMatches());
+		assertNull(r2.getOriginalId(Key.CHECKSUM));
+
+		assertFalse(d.check(mt("REF2", "FOO")).isDuplicate());
+		assertTrue(d.contains(Key.MUR, "MURREF1"));
+		assertFalse(d.contains(Key.MUR, "MURREF2"));
+		assertFalse(d.check(null).isDuplicate());
+
+		d.clear();
+		assertEquals(0, d.size());
+		assertFalse(d.check(m1).isDuplicate());
+	}
+
+	@Test
+	public void testSelectedKeys() {
+		final DuplicateDetector d = new DuplicateDetector(10, 1, TimeUnit.HOURS, 0, EnumSet.of(Key.CHECKSUM_BODY));
+		d.register(mt("REF1", "FOO"));
+		assertEquals(1, d.size());
+		assertFalse(d.check(mt("REF1", "BAR")).isDuplicate());
+		assertTrue(d.check(mt("REF1", "FOO")).isDuplicate());
+	}
+
+	@Test
+	public void testWindow() {
+		final TestDetector d = new TestDetector(100, 0, EnumSet.of(Key.MUR));
+		d.register(mt("A", "X"));
+		d.now += 5000;
+		d.register(mt("B", "X"));
+		d.now += 5000;
+		assertTrue(d.check(mt("A", "X")).isDuplicate());
+		d.now += 1;
+		assertFalse(d.check(mt("A", "X")).isDuplicate());
+		assertTrue(d.check(mt("B", "X")).isDuplicate());
+		d.now += 5000;
+		assertFalse(d.check(mt("B", "X")).isDuplicate());
+	}
+
+	@Test
+	public void testCapacityAndLongTail() {
+		final TestDetector d = new TestDetector(DuplicateDetector.SHARDS, 1000, EnumSet.of(Key.MUR));
+		for (int i = 0; i < 200; i++) {
+			d.register(mt("R" + i, "X"));
+		}
+		assertTrue(d.size() <= DuplicateDetector.SHARDS);
+		int evicted = 0;
+		for (int i = 0; i < 200; i++) {
+			final DuplicateDetector.Result r = d.check(mt("R" + i, "X"));
+			assertTrue(r.isPossibleDuplicate());
+			if (!r.isDuplicate()) {
+				evicted++;
+				assertTrue(r.getPossibleMatches().contains(Key.MUR));
+				assertTrue(d.mightContain(Key.MUR, "MURR" + i));
+			}
+		}
+		assertTrue(evicted >= 200 - DuplicateDetector.SHARDS);
+		int falsePositives = 0;
+		for (int i = 0; i < 1000; i++) {
+			if (d.mightContain(Key.MUR, "OTHER" + i)) {
+				falsePositives++;
+			}
+		}
+		assertTrue("false positives " + falsePositives, falsePositives < 50);
+	}
+
+	@Test
+	public void testLongTailFilterGenerations() {
+		final DuplicateDetector.LongTailFilter f = new DuplicateDetector.LongTailFilter(10);
+		for (int i = 0; i < 10; i++) {
+			f.add("K" + i);
+		}
+		for (int i = 10; i < 20; i++) {
+			f.add("K" + i);
+		}
+		// both generations are kept
+		for (int i = 0; i < 20; i++) {
+			assertTrue(f.mightContain("K" + i));
+		}
+		f.add("K20");
+		// the first generation was discarded; only allow the odd false positive
+		int found = 0;
+		for (int i = 0; i < 10; i++) {
+			if (f.mightContain("K" + i)) {
+				found++;
+			}
+		}
+		assertTrue(found < 5);
+		f.clear();
+		assertFalse(f.mightContain("K20"));
+	}
+
+	@Test
+	public void testConcurrentRegister() throws InterruptedException {
+		final DuplicateDetector d = new DuplicateDetector(100000, 1, TimeUnit.HOURS, 0, EnumSet.of(Key.MUR));
+		final AtomicInteger firsts = new AtomicInteger();
+		final Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < 500; i++) {
+						if (!d.register(mt("C" + i, "X")).isDuplicate()) {
+							firsts.incrementAndGet();
+						}
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for (final Thread t : threads) {
+			t.join();
+		}
+		assertEquals(500, firsts.get());
+		assertEquals(500, d.size());
+	}
+}
@@ -0,0 +1,154 @@
+/* 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+*/
+package com.prowidesoftware.swift.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Test for {@link IbanValidator}
+ *
+ * @since 7.9.7
+ */
+public class IbanValidatorTest {
+
+    private static final String[] IBANS = {
+        "AT611904300234573201", "IT40S0542811101000000123456", "BE62510007547061", "LU280019400644750000",
+        "DK5000400440116243", "NL39RABO0300065264", "FR1420041010050500013M02606", "DE89370400440532013000",
+        " GB51 LOYD 3092 0700 7195 88.", "  G B 3 4 T U B A 4 0 5 19800027060", "GB97CHAS60924232684106*&^%()!@",
+        "", "fooo", "fo00", "IE99", "IE991234567890123456789012345678901", "AT32010000000173363",
+        "aa17002001280000001200527600", "ZZ17002001280000001200527600", "AT1", "A", "DK5000400T40116243",
+        "GI75NWBK00000000709t453", "GI75nWBK000000007099453", "DE99370400440532013000", "DE8937040044053201300\u00DF",
+        "XK051212012345678906", "DEx9370400440532013000", "\u00C9S0700120345030000067890", "ES0700120345030000067890"
+    };
+
+    private final IbanValidator validator = new IbanValidator();
+
+    private static void assertSameAsIBAN(final IbanValidation validation, final String iban) {
+        final IbanValidationResult expected = new IBAN(iban).validate();
+        assertSame(iban, expected, validation.getResult());
+        assertEquals(iban, expected.message(), validation.message());
+        assertEquals(validation.isValid(), new IBAN(iban).isValid());
+    }
+
+    @Test
+    public void testSameAsIBAN() {
+        for (final String iban : IBANS) {
+            assertSameAsIBAN(this.validator.validate(iban), iban);
+            assertSameAsIBAN(this.validator.validate(new StringBuilder(iban)), iban);
+            final char[] chars = ("##" + iban + "##").toCharArray();
+            assertSameAsIBAN(this.validator.validate(chars, 2, iban.length()), iban);
+        }
+    }
+
+    @Test
+    public void testRandomVariants() {
+        final Random random = new Random(7);
+        final String chars = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabc -./\u00DF";
+        for (int i = 0; i < 2000; i++) {
+            final StringBuilder sb = new StringBuilder(IBANS[random.nextInt(11)]);
+            final int changes = random.nextInt(3);
+            for (int j = 0; j < changes && sb.length() > 0; j++) {
+                sb.setCharAt(random.nextInt(sb.length()), chars.charAt(random.nextInt(chars.length())));
+            }
+            assertSameAsIBAN(this.validator.validate(sb), sb.toString());
+        }
+    }
+
+    @Test
+    public void testNull() {
+        assertEquals(IbanValidationResult.IBAN_IS_NULL, this.validator.validate((CharSequence) null).getResult());
+        assertEquals(IbanValidationResult.IBAN_IS_NULL, this.validator.validate(null, 0, 0).getResult());
+    }
+
+    @Test
+    public void testVars() {
+        final IbanValidation v = this.validator.validate("DE99370400440532013000");
+        assertFalse(v.isValid());
+        assertEquals(IbanValidationResult.IVALID_CHECK_DIGITS, v.getResult());
+        assertEquals("89", v.vars().get("expectedCheckDigit"));
+        assertEquals("99", v.vars().get("found"));
+        assertSame(IbanValidation.OK, this.validator.validate("DE89370400440532013000"));
+    }
+
+    @Test(expected=UnsupportedOperationException.class)
+    public void testImmutable() {
+        this.validator.validate("DE99370400440532013000").vars().put("found", "00");
+    }
+
+    @Test
+    public void testCustomStructures() {
+        final BbanStructureEntryDTO entry = new BbanStructureEntryDTO();
+        entry.setEntryType("account_number");
+        entry.setCharacterType(SwiftCharset.n);
+        entry.setLength(18);
+        final BbanStructureDTO structure = new BbanStructureDTO();
+        structure.setCountry_coode("DE");
+        structure.setValidation_rules(Arrays.asList(entry));
+        final IbanValidator custom = new IbanValidator(Arrays.asList(structure));
+        assertTrue(custom.validate("DE89370400440532013000").isValid());
+        assertEquals(IbanValidationResult.MISSING_BBAN_CONFIGURATION, custom.validate("ES0700120345030000067890").getResult());
+        assertEquals(IbanValidationResult.MISSING_BBAN_CONFIGURATION, new IbanValidator(null).validate("DE89370400440532013000").getResult());
+    }
+
+    @Test
+    public void testValidateAll() {
+        final List<IbanValidation> result = this.validator.validateAll(Arrays.asList(IBANS));
+        assertEquals(IBANS.length, result.size());
+        for (int i = 0; i < IBANS.length; i++) {
+            assertSameAsIBAN(result.get(i), IBANS[i]);
+        }
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        final List<String> ibans = new ArrayList<String>();
+        for (int i = 0; i < 200; i++) {
+            ibans.addAll(Arrays.asList(IBANS));
+        }
+        final List<IbanValidation> expected = this.validator.validateAll(ibans);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<List<IbanValidation>>> futures = new ArrayList<Future<List<IbanValidation>>>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(new java.util.concurrent.Callable<List<IbanValidation>>() {
+                    public List<IbanValidation> call() {
+                        return validator.validateAll(ibans);
+                    }
+                }));
+            }
+            for (final Future<List<IbanValidation>> future : futures) {
+                final List<IbanValidation> result = future.get();
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).getResult(), result.get(i).getResult());
+                    assertEquals(new HashMap<String, String>(expected.get(i).vars()), new HashMap<String, String>(result.get(i).vars()));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
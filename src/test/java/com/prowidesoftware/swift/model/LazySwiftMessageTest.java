@@ -0,0 +1,130 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+*/
+package com.prowidesoftware.swift.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import com.prowidesoftware.swift.WifeException;
+import com.prowidesoftware.swift.io.ConversionService;
+import com.prowidesoftware.swift.io.parser.SwiftParser;
+
+/**
+ * Tests for {@link LazySwiftMessage}
+ *
+ * @since 7.9.7
+ */
+public class LazySwiftMessageTest {
+
+	private static final String FIN = "{1:F01AAAAUSC0ADDD0344000050}{2:I103BBBBUSC0XXXXN}{3:{108:MUR123}{119:STP}}{4:\r\n" +
+			":20:REFERENCE\r\n" +
+			":23B:CRED\r\n" +
+			":32A:180201USD1234,56\r\n" +
+			":50K:/12345678901234567890\r\n" +
+			"FOOBAR\r\n" +
+			":59:/12345678901234567890\r\n" +
+			"JOE DOE\r\n" +
+			":71A:OUR\r\n" +
+			"-}{5:{CHK:E0E1E2E3E4E5}}{S:{SAC:}{COP:P}}";
+
+	private static SwiftMessage parse(final SwiftParser parser) throws IOException {
+		parser.getConfiguration().setLazy(true);
+		return parser.message();
+	}
+
+	@Test
+	public void testHeadersParsed() throws IOException {
+		final LazySwiftMessage m = (LazySwiftMessage) parse(new SwiftParser(FIN));
+		assertEquals("103", m.getType());
+		assertEquals("BBBBUSC0XXXX", m.getReceiver());
+		assertFalse(m.isParsed(3));
+		assertFalse(m.isParsed(4));
+		assertFalse(m.isParsed(5));
+		assertFalse(m.isUserBlocksParsed());
+
+		assertEquals("MUR123", m.getBlock3().getTagValue("108"));
+		assertTrue(m.isParsed(3));
+		assertFalse(m.isParsed(4));
+		assertFalse(m.isParsed(5));
+	}
+
+	@Test
+	public void testSameAsEagerParse() throws IOException {
+		final SwiftMessage eager = new SwiftParser(FIN).message();
+		final SwiftMessage lazy = parse(new SwiftParser(FIN));
+		assertEquals(eager.getBlock3(), lazy.getBlock3());
+		assertEquals(eager.getBlock4(), lazy.getBlock4());
+		assertEquals(eager.getBlock5(), lazy.getBlock5());
+		assertEquals(eager.getUserBlocks(), lazy.getUserBlocks());
+		assertEquals(FIN, new ConversionService().getFIN(lazy));
+	}
+
+	@Test
+	public void testReaderInput() throws IOException {
+		final SwiftMessage m = parse(new SwiftParser(new StringReader(FIN)));
+		assertEquals("REFERENCE", m.getBlock4().getTagValue("20"));
+		assertEquals(6, m.getBlock4().size());
+		assertEquals("P", m.getUserBlock("S").getTagValue("COP"));
+		assertEquals(FIN, new ConversionService().getFIN(m));
+	}
+
+	@Test
+	public void testSetBlockDiscardsPending() throws IOException {
+		final LazySwiftMessage m = (LazySwiftMessage) parse(new SwiftParser(FIN));
+		m.setBlock4(null);
+		assertTrue(m.isParsed(4));
+		assertNull(m.getBlock4());
+
+		m.clear();
+		assertNull(m.getBlock3());
+		assertNull(m.getBlock5());
+		assertNull(m.getUserBlocks());
+	}
+
+	@Test
+	public void testConfigurationFlags() throws IOException {
+		final SwiftParser parser = new SwiftParser(FIN);
+		parser.getConfiguration().setParseTextBlock(false);
+		final LazySwiftMessage m = (LazySwiftMessage) parse(parser);
+		assertTrue(m.isParsed(4));
+		assertTrue(m.getBlock4().isEmpty());
+		assertFalse(m.isParsed(5));
+	}
+
+	/**
+	 * A block that cannot be parsed fails on every access instead of being silently dropped
+	 */
+	@Test
+	public void testParseErrorKept() {
+		final LazySwiftMessage m = new LazySwiftMessage();
+		m.addBlockSlice('4', "{#:X}", 1, 4);
+		for (int i = 0; i < 2; i++) {
+			try {
+				m.getBlock4();
+				fail("the block cannot be identified");
+			} catch (final WifeException e) {
+				assertFalse(m.isParsed(4));
+			}
+		}
+		m.setBlock4(new SwiftBlock4());
+		assertTrue(m.getBlock4().isEmpty());
+	}
+
+}
@@ -0,0 +1,119 @@
+/* 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+*/
+package com.prowidesoftware.swift.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * Test for {@link MtMetadataExtractor}
+ *
+ * @since 7.9.7
+ */
+public class MtMetadataExtractorTest {
+
+	private static final String[] MESSAGES = {
+		"{1:F01BANKBEBBAXXX2222123456}{2:I103BANKDEFFXXXXU3003}{3:{108:MUR1}{119:STP}}{4:\n:20:REF1\n:23B:CRED\n:32A:170418USD1234,56\n:50K:/123\nJOHN\n:59:/456\nJANE\n:71A:SHA\n-}{5:{PDE:}{CHK:ABCDEF123456}}",
+		"{1:F01BANKBEBBAXXX2222123456}{2:O2021245170418BANKDEFFAXXX22221234561704181245N}{3:{119:COV}}{4:\n:20:REF2\n:21:RELREF\n:32A:170418EUR1,\n:58A:BANKBEBB\n-}{5:{PDM:1234}{CHK:ABCDEF123456}}",
+		"{1:F01BANKBEBBAXXX2222123456}{2:I540BANKDEFFXXXXN}{4:\n:16R:GENL\n:20C::PREP//PREP1\n:20C::SEME//SEMEREF\n:23G:NEWM\n:16S:GENL\n:16R:TRADDET\n:16S:TRADDET\n-}",
+		"{1:F01BANKBEBBAXXX2222123456}{2:I199BANKDEFFXXXXN}{3:{108:MUR3}}{4:\n:79:NO REFERENCE\n-}",
+		"{1:F01BANKBEBBAXXX2222123456}{2:I101BANKDEFFXXXXN}{4:\n:20:REF5\n:28D:1/1\n:30:170418\n:21:T1\n:32B:USD10,\n:59:/1\nA\n:71A:SHA\n:21:T2\n:32B:USD5,5\n:59:/2\nB\n:71A:SHA\n-}",
+		"{1:F21BANKBEBBAXXX2222123456}{4:{177:1704181245}{451:1}{405:T27}}{1:F01BANKBEBBAXXX2222123456}{2:I103BANKDEFFXXXXN}{4:\n:20:REF6\n-}",
+		"{1:F01BANKBEBBAXXX2222123456}{2:I103BANKDEFFXXXXN}",
+	};
+
+	@Test
+	public void testSameAsMessageMethods() throws IOException {
+		final MtMetadataExtractor extractor = new MtMetadataExtractor();
+		for (final String fin : MESSAGES) {
+			final SwiftMessage m = SwiftMessage.parse(fin);
+			m.visit(extractor);
+			assertEquals(fin, m.isServiceMessage21(), extractor.isServiceMessage21());
+			assertEquals(fin, m.isAck(), extractor.isAck());
+			assertEquals(fin, m.isNack(), extractor.isNack());
+			assertEquals(fin, m.getMtId() == null ? null : m.getMtId().id(), extractor.getMtId() == null ? null : extractor.getMtId().id());
+			assertEquals(fin, m.getDirection(), extractor.getDirection());
+			assertEquals(fin, m.getSender(), extractor.getSender());
+			assertEquals(fin, m.getReceiver(), extractor.getReceiver());
+			assertEquals(fin, SwiftMessageUtils.reference(m), extractor.getReference());
+			final CurrencyAmount ca = SwiftMessageUtils.currencyAmount(m);
+			assertEquals(fin, ca == null ? null : ca.getCurrency(), extractor.getCurrency());
+			assertEquals(fin, ca == null ? null : ca.getAmount(), extractor.getAmount());
+			assertEquals(fin, m.getPDE(), extractor.getPDE());
+			assertEquals(fin, m.getPDM(), extractor.getPDM());
+			assertEquals(fin, m.getMIR(), extractor.getMIR());
+			assertEquals(fin, m.getMUR(), extractor.getMUR());
+			assertEquals(fin, m.getUUID(), extractor.getUUID());
+			assertEquals(fin, SwiftMessageUtils.calculateChecksum(m), extractor.getChecksum());
+			assertEquals(fin, SwiftMessageUtils.calculateChecksum(m.getBlock4()), extractor.getChecksumBody());
+		}
+	}
+
+	@Test
+	public void testValues() throws IOException {
+		MtMetadataExtractor e = MtMetadataExtractor.extract(SwiftMessage.parse(MESSAGES[0]));
+		assertEquals("fin.103.STP", e.getMtId().id());
+		assertEquals("REF1", e.getReference());
+		assertEquals("USD", e.getCurrency());
+		assertEquals("MUR1", e.getMUR());
+
+		e = MtMetadataExtractor.extract(SwiftMessage.parse(MESSAGES[2]));
+		assertEquals("SEMEREF", e.getReference());
+
+		e = MtMetadataExtractor.extract(SwiftMessage.parse(MESSAGES[3]));
+		assertNull(e.getReference());
+
+		e = MtMetadataExtractor.extract(SwiftMessage.parse(MESSAGES[5]));
+		assertTrue(e.isNack());
+		assertNull(e.getMtId());
+	}
+
+	/**
+	 * An extractor returned by extract does not keep the digests of the thread
+	 */
+	@Test
+	public void testReuseExtracted() throws IOException {
+		final SwiftMessage m0 = SwiftMessage.parse(MESSAGES[0]);
+		final SwiftMessage m1 = SwiftMessage.parse(MESSAGES[1]);
+		final MtMetadataExtractor e = MtMetadataExtractor.extract(m0);
+		final String checksum = e.getChecksum();
+		assertEquals(SwiftMessageUtils.calculateChecksum(m0), checksum);
+		m1.visit(e);
+		assertEquals(SwiftMessageUtils.calculateChecksum(m1), e.getChecksum());
+		assertEquals(SwiftMessageUtils.calculateChecksum(m1.getBlock4()), e.getChecksumBody());
+		assertEquals(checksum, MtMetadataExtractor.extract(m0).getChecksum());
+	}
+
+	@Test
+	public void testWithoutChecksums() throws IOException {
+		final MtMetadataExtractor e = new MtMetadataExtractor(null);
+		SwiftMessage.parse(MESSAGES[0]).visit(e);
+		assertEquals("REF1", e.getReference());
+		assertNull(e.getChecksum());
+		assertNull(e.getChecksumBody());
+	}
+
+	@Test
+	public void testOtherAlgorithm() throws IOException {
+		final SwiftMessage m = SwiftMessage.parse(MESSAGES[1]);
+		final MtMetadataExtractor e = new MtMetadataExtractor(ChecksumAlgorithm.SHA_256);
+		m.visit(e);
+		assertEquals(SwiftMessageUtils.calculateChecksum(m, ChecksumAlgorithm.SHA_256), e.getChecksum());
+		assertEquals(SwiftMessageUtils.calculateChecksum(m.getBlock4(), ChecksumAlgorithm.SHA_256), e.getChecksumBody());
+	}
+
+}
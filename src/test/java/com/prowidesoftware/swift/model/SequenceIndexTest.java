@@ -0,0 +1,145 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ */
+package com.prowidesoftware.swift.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.prowidesoftware.swift.model.mt.mt5xx.MT564;
+
+/**
+ * Test for {@link SequenceIndex} and the indexed sub block search in {@link SwiftTagListBlock}
+ *
+ * @since 7.9.7
+ */
+public class SequenceIndexTest {
+
+	private static SwiftTagListBlock block(final String... tags) {
+		final SwiftTagListBlock b = new SwiftTagListBlock();
+		for (final String t : tags) {
+			b.append(new Tag(t));
+		}
+		return b;
+	}
+
+	@Test
+	public void testRanges() {
+		final SwiftTagListBlock b = block("16R:A", "20:X", "16R:B", "16S:B", "16R:B", "21:Y", "16S:B", "16S:A", "16R:C", "22:Z");
+		final SequenceIndex index = SequenceIndex.build(b.getTags(), 5);
+		assertArrayEquals(new int[] {0, 8}, index.ranges("A"));
+		assertArrayEquals(new int[] {2, 4, 4, 7}, index.ranges("B"));
+		assertArrayEquals(new int[] {8, 10}, index.ranges("C"));
+		assertArrayEquals(new int[0], index.ranges("D"));
+		assertTrue(index.isValid(b.getTags(), 5));
+		assertFalse(index.isValid(b.getTags(), 6));
+
+		b.getTags().remove(0);
+		assertFalse(index.isValid(b.getTags(), 5));
+	}
+
+	@Test
+	public void testCarriageReturn() {
+		final SwiftTagListBlock b = block("16R:A\r", "20:X", "16S:A");
+		assertEquals(3, b.getSubBlock("A").size());
+		assertEquals(3, b.getSubBlock("A").size());
+		assertEquals(3, b.getSubBlocks("A\r").get(0).size());
+	}
+
+	@Test
+	public void testSameAsScan() {
+		final Random r = new Random(17);
+		final String[] names = {"A", "B", "C"};
+		for (int n = 0; n < 500; n++) {
+			final SwiftTagListBlock b = new SwiftTagListBlock();
+			final int size = r.nextInt(30);
+			for (int i = 0; i < size; i++) {
+				final int k = r.nextInt(5);
+				final String name = names[r.nextInt(names.length)];
+				b.append(k == 0 ? new Tag("16R", name) : k == 1 ? new Tag("16S", name) : new Tag("20", name + i));
+			}
+			for (int pass = 0; pass < 2; pass++) {
+				for (final String name : names) {
+					final List<SwiftTagListBlock> expected = b.getSubBlocks(new Tag("16R", name), new Tag("16S", name));
+					assertEquals(expected, b.getSubBlocks(name));
+					assertEquals(expected.isEmpty() ? new SwiftTagListBlock() : expected.get(0), b.getSubBlock(name));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testMutation() {
+		final SwiftTagListBlock b = block("16R:A", "20:X", "16S:A");
+		assertEquals(1, b.getSubBlocks("A").size());
+		assertEquals(1, b.getSubBlocks("A").size());
+
+		b.append(new Tag("16R:A")).append(new Tag("16S:A"));
+		assertEquals(2, b.getSubBlocks("A").size());
+
+		b.setTag(1, new Tag("16S:A"));
+		assertEquals(2, b.getSubBlock("A").size());
+
+		// modification through the backing list
+		b.getTags().add(0, new Tag("16R:B"));
+		assertEquals(1, b.getSubBlocks("B").size());
+		assertEquals(new Tag("16R:A"), b.getSubBlock("A").getTag(0));
+
+		// same size modifications of boundary fields through the backing list
+		final SwiftTagListBlock c = block("16R:A", "20:X", "16S:A", "16R:A", "21:Y", "16S:A");
+		assertEquals(2, c.getSubBlocks("A").size());
+		assertEquals(2, c.getSubBlocks("A").size());
+		c.getTags().get(2).setValue("B");
+		assertEquals(6, c.getSubBlock("A").size());
+		assertEquals(6, c.getSubBlock("A").size());
+		c.getTags().get(4).setName("16S");
+		c.getTags().get(4).setValue("A");
+		assertEquals(5, c.getSubBlock("A").size());
+		c.getTags().set(1, new Tag("16R", "C"));
+		assertEquals(scan(c, "A"), c.getSubBlocks("A"));
+		assertEquals(scan(c, "C"), c.getSubBlocks("C"));
+		assertEquals(1, c.getSubBlocks("C").size());
+		c.getTags().get(3).setValue("C");
+		assertEquals(scan(c, "C"), c.getSubBlocks("C"));
+		assertEquals(scan(c, "C"), c.getSubBlocks("C"));
+		assertEquals(5, c.getSubBlock("C").size());
+
+		final List<Tag> tags = new ArrayList<Tag>();
+		b.setTags(tags);
+		assertTrue(b.getSubBlocks("A").isEmpty());
+	}
+
+	private List<SwiftTagListBlock> scan(final SwiftTagListBlock b, final String name) {
+		return b.getSubBlocks(new Tag("16R", name), new Tag("16S", name));
+	}
+
+	@Test
+	public void testMT564Sequences() {
+		final MT564 mt = new MT564();
+		mt.append(MT564.SequenceA.newInstance(new Tag("20C", ":CORP//1"), new Tag("23G", "NEWM")));
+		mt.append(MT564.SequenceE.newInstance(new Tag("13A", ":CAON//001")));
+		mt.append(MT564.SequenceE.newInstance(new Tag("13A", ":CAON//002")));
+		for (int i = 0; i < 3; i++) {
+			assertEquals(4, mt.getSequenceA().size());
+			assertEquals(2, mt.getSequenceEList().size());
+			assertEquals(":CAON//002", mt.getSequenceEList().get(1).getTagValue("13A"));
+		}
+	}
+
+}
@@ -331,4 +331,76 @@ public class SwiftCharsetUtilsTest {
 		log.info("y" +SwiftCharsetUtils.getAsString(SwiftCharset.y));
 		log.info("z" +SwiftCharsetUtils.getAsString(SwiftCharset.z));
 	}
+
+	@Test
+	public void testTablesSameAsCharsets() throws Exception {
+		for (final SwiftCharset charset : SwiftCharset.values()) {
+			final String chars = SwiftCharsetUtils.getAsString(charset);
+			for (char c = 0; c < 300; c++) {
+				final boolean expected = org.apache.commons.lang.ArrayUtils.contains(charArray(charset), c);
+				assertEquals(charset + " " + (int) c + " " + chars, expected, SwiftCharsetUtils.is(c, charset));
+			}
+		}
+		// getters return copies
+		SwiftCharsetUtils.get_n()[0] = 'X';
+		assertEquals('0', SwiftCharsetUtils.get_n()[0]);
+	}
+
+	private static char[] charArray(final SwiftCharset charset) {
+		switch (charset) {
+			case n: return SwiftCharsetUtils.get_n();
+			case a: return SwiftCharsetUtils.get_a();
+			case A: return SwiftCharsetUtils.get_A();
+			case x: return SwiftCharsetUtils.get_x();
+			case y: return SwiftCharsetUtils.get_y();
+			case z: return SwiftCharsetUtils.get_z();
+			case c: return SwiftCharsetUtils.get_c();
+			default: return SwiftCharsetUtils.get_B();
+		}
+	}
+
+	@Test
+	public void testRegion() throws Exception {
+		final StringBuilder sb = new StringBuilder("abc123$%4");
+		assertEquals(SwiftCharsetUtils.OK, SwiftCharsetUtils.is(sb, 3, 6, SwiftCharset.n));
+		assertEquals(6, SwiftCharsetUtils.is(sb, 3, 9, SwiftCharset.n));
+		assertEquals(0, SwiftCharsetUtils.is(sb, 0, 9, SwiftCharset.n));
+		assertEquals(SwiftCharsetUtils.OK, SwiftCharsetUtils.is(sb, 4, 4, SwiftCharset.a));
+		assertEquals(6, SwiftCharsetUtils.is(sb, 0, 9, SwiftCharset.x));
+	}
+
+	@Test(expected=IndexOutOfBoundsException.class)
+	public void testRegionOutOfBounds() throws Exception {
+		SwiftCharsetUtils.is("abc", 1, 4, SwiftCharset.x);
+	}
+
+	@Test
+	public void testFilter() throws Exception {
+		assertEquals("123", SwiftCharsetUtils.filter("123", SwiftCharset.n));
+		assertEquals("1234", SwiftCharsetUtils.filter("a1b2$3\u00F14", SwiftCharset.n));
+		assertEquals("", SwiftCharsetUtils.filter("abc", SwiftCharset.n));
+		assertEquals("ABC", SwiftCharsetUtils.filter("A_B@C", SwiftCharset.a));
+	}
+
+	@Test
+	public void testBlock4() throws Exception {
+		final SwiftBlock4 b4 = new SwiftBlock4();
+		b4.append(new Tag("20", "REF-1"));
+		b4.append(new Tag("70", "PAYMENT \u00D1 REF_9"));
+		b4.append(new Tag("79", "LINE 1\r\nLINE 2"));
+
+		final int[] result = SwiftCharsetUtils.is(b4, SwiftCharset.x);
+		assertEquals(3, result.length);
+		assertEquals(SwiftCharsetUtils.OK, result[0]);
+		assertEquals(8, result[1]);
+		assertEquals(SwiftCharsetUtils.OK, result[2]);
+
+		assertEquals(1, SwiftCharsetUtils.filter(b4, SwiftCharset.x));
+		assertEquals("PAYMENT  REF9", b4.getTagValue("70"));
+		assertEquals("REF-1", b4.getTagValue("20"));
+		for (final int i : SwiftCharsetUtils.is(b4, SwiftCharset.x)) {
+			assertEquals(SwiftCharsetUtils.OK, i);
+		}
+	}
+
 }
@@ -18,11 +18,13 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.security.MessageDigest;
 import java.util.List;
 import java.util.Map;
 
 import org.junit.Test;
 
+import com.prowidesoftware.swift.io.writer.SwiftWriter;
 import com.prowidesoftware.swift.model.field.Field13A;
 import com.prowidesoftware.swift.model.field.Field13B;
 import com.prowidesoftware.swift.model.field.Field13C;
@@ -257,4 +259,41 @@ public class SwiftMessageUtilsTest {
 		assertNull(ca);
 	}
 
+	@Test
+	public void testChecksum() throws Exception {
+		final SwiftMessage m = new SwiftMessage(true);
+		m.getBlock1().setValue("F01BANKBEBBAXXX2222123456");
+		m.getBlock2().setValue("I103BANKDEFFXXXXU3003");
+		m.getBlock3().append(new Tag("108", "REF"));
+		m.getBlock4().append(new Tag("20", "REFERENCE"));
+		m.getBlock4().append(new Tag("70", "Caf\u00E9 \u20AC \uD83D\uDE00"));
+
+		final String fin = SwiftWriter.writeMessage(m);
+		final String expected = hex(MessageDigest.getInstance("MD5").digest(fin.getBytes("UTF-8")));
+		assertEquals(32, expected.length());
+		assertEquals(expected, SwiftMessageUtils.calculateChecksum(m));
+		assertEquals(expected, SwiftMessageUtils.calculateChecksum(m, ChecksumAlgorithm.MD5));
+		// stable across calls
+		assertEquals(expected, SwiftMessageUtils.calculateChecksum(m));
+
+		final String sha = hex(MessageDigest.getInstance("SHA-256").digest(fin.getBytes("UTF-8")));
+		assertEquals(sha, SwiftMessageUtils.calculateChecksum(m, ChecksumAlgorithm.SHA_256));
+		assertEquals(32, SwiftMessageUtils.calculateChecksum(m, ChecksumAlgorithm.MURMUR3_128).length());
+
+		final String b4 = SwiftWriter.writeBlock4(m.getBlock4());
+		assertEquals(hex(MessageDigest.getInstance("MD5").digest(b4.getBytes("UTF-8"))), SwiftMessageUtils.calculateChecksum(m.getBlock4()));
+		assertEquals(16, SwiftMessageUtils.digest(m.getBlock4(), ChecksumAlgorithm.MURMUR3_128).length);
+
+		assertNull(SwiftMessageUtils.calculateChecksum((SwiftMessage) null));
+		assertNull(SwiftMessageUtils.calculateChecksum((SwiftBlock4) null));
+	}
+
+	private static String hex(final byte[] bytes) {
+		final StringBuilder sb = new StringBuilder();
+		for (final byte b : bytes) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+
 }
@@ -0,0 +1,216 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ */
+package com.prowidesoftware.swift.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.prowidesoftware.swift.model.field.Field;
+
+/**
+ * Test for {@link TagNameIndex} and the indexed tag searches in {@link SwiftTagListBlock}
+ *
+ * @since 7.9.7
+ */
+public class TagNameIndexTest {
+
+	@Test
+	public void testIndex() {
+		final List<Tag> tags = new ArrayList<Tag>();
+		for (final String t : new String[] {"20:A", "50K:B", "21:C", "50A:D", "20:E", "502:F"}) {
+			tags.add(new Tag(t));
+		}
+		final TagNameIndex index = TagNameIndex.build(tags, 3);
+		assertArrayEquals(new int[] {0, 4}, index.byName("20"));
+		assertArrayEquals(new int[0], index.byName("32A"));
+		assertArrayEquals(new int[] {1, 3, 5}, index.byPrefix("50"));
+		assertArrayEquals(new int[] {1, 3, 5}, index.byPrefix("5"));
+		assertArrayEquals(new int[] {3}, index.byPrefix("50A"));
+		assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5}, index.byPrefix(""));
+		assertArrayEquals(new int[0], index.byPrefix("32"));
+		assertArrayEquals(new int[] {1, 3}, index.byNumber(50));
+		assertArrayEquals(new int[] {2}, index.byNumber(21));
+		assertTrue(index.isValid(tags, 3));
+
+		assertFalse(index.isValid(tags, 4));
+		assertFalse(index.isValid(new ArrayList<Tag>(tags), 3));
+		tags.add(new Tag("20:G"));
+		assertFalse(index.isValid(tags, 3));
+	}
+
+	/**
+	 * Compares indexed lookups, from the second query on, against the results before any index is built
+	 */
+	@Test
+	public void testSameAsScan() {
+		final Random r = new Random(23);
+		final String[] names = {"20", "20C", "21", "50A", "50K", "59", "71A", "71F", "16R"};
+		final String[] queries = {"20", "20C", "21", "50a", "50K", "59", "59a", "71F", "32A", "a"};
+		for (int n = 0; n < 300; n++) {
+			final List<Tag> tags = new ArrayList<Tag>();
+			final int size = r.nextInt(25);
+			for (int i = 0; i < size; i++) {
+				tags.add(new Tag(names[r.nextInt(names.length)], ":QUAL//V" + r.nextInt(3)));
+			}
+			final SwiftTagListBlock plain = new SwiftTagListBlock(new ArrayList<Tag>(tags));
+			final SwiftTagListBlock indexed = new SwiftTagListBlock(new ArrayList<Tag>(tags));
+			indexed.getTagByName("XX");
+			for (final String q : queries) {
+				if (!q.endsWith("a")) {
+					assertEquals(plain.getTagByName(q), indexed.getTagByName(q));
+					assertEquals(Arrays.asList(plain.getTagsByName(q)), Arrays.asList(indexed.getTagsByName(q)));
+					assertEquals(plain.countByName(q), indexed.countByName(q));
+					assertEquals(plain.indexOfFirst(q), indexed.indexOfFirst(q));
+					assertEquals(plain.indexOfLast(q), indexed.indexOfLast(q));
+					assertEquals(plain.containsTag(q), indexed.containsTag(q));
+				}
+				assertFieldsEquals(plain.getFieldByName(q), indexed.getFieldByName(q));
+				assertEquals(plain.getFieldsByName(q, "QUAL").size(), indexed.getFieldsByName(q, "QUAL").size());
+				assertEquals(plain.getFieldsByName(q).length, indexed.getFieldsByName(q).length);
+			}
+			for (final int number : new int[] {20, 50, 71, 32}) {
+				assertEquals(plain.getTagByNumber(number), indexed.getTagByNumber(number));
+				assertEquals(plain.getTagsByNumber(number), indexed.getTagsByNumber(number));
+			}
+		}
+	}
+
+	private static void assertFieldsEquals(final Field expected, final Field actual) {
+		if (expected == null) {
+			assertNull(actual);
+		} else {
+			assertEquals(expected.getName(), actual.getName());
+			assertEquals(expected.getValue(), actual.getValue());
+		}
+	}
+
+	@Test
+	public void testMutation() {
+		final SwiftTagListBlock b = new SwiftTagListBlock();
+		b.append(new Tag("20:A")).append(new Tag("21:B"));
+		assertEquals("A", b.getTagValue("20"));
+		assertEquals("A", b.getTagValue("20"));
+
+		b.append(new Tag("20:C"));
+		assertEquals(2, b.countByName("20"));
+
+		b.removeTag("20");
+		assertEquals("C", b.getTagValue("20"));
+
+		b.setTag(0, new Tag("20:D"));
+		assertEquals(2, b.countByName("20"));
+		assertEquals(0, b.indexOfFirst("20"));
+
+		b.removeAll("20");
+		assertNull(b.getTagByName("20"));
+
+		b.addTag(0, new Tag("32A:E"));
+		assertEquals(0, b.indexOfFirst("32A"));
+		assertEquals(32, b.getFieldByNumber(32).asTag().getNumber().intValue());
+
+		b.setTags(new Tag[] {new Tag("59:F")});
+		assertNull(b.getTagByName("32A"));
+		assertEquals("F", b.getTagValue("59"));
+
+		// modifications through the backing list
+		b.getTags().add(new Tag("59:G"));
+		assertEquals(2, b.getTagsByName("59").length);
+		b.getTags().get(0).setName("58");
+		assertEquals("G", b.getTagValue("59"));
+
+		// same size modifications introducing a new name
+		b.getTags().get(1).setName("XX");
+		assertEquals("G", b.getTagValue("XX"));
+		assertTrue(b.containsTag("XX"));
+		assertNull(b.getTagByName("59"));
+		b.getTags().set(0, new Tag("YY", "H"));
+		assertEquals("H", b.getTagValue("YY"));
+		assertEquals(1, b.getTagsByName("YY").length);
+		assertNull(b.getTagByName("58"));
+		b.getTags().set(1, new Tag("50K", "I"));
+		assertEquals("I", b.getFieldByName("50a").getValue());
+		assertEquals("I", b.getTagByNumber(50).getValue());
+	}
+
+	/**
+	 * Tags added or removed through a list obtained before the index is built
+	 */
+	@Test
+	public void testRetainedList() {
+		final SwiftTagListBlock b = new SwiftTagListBlock();
+		final List<Tag> tags = b.getTags();
+		tags.add(new Tag("20:A"));
+		tags.add(new Tag("21:B"));
+		assertEquals("A", b.getTagValue("20"));
+		assertEquals("A", b.getTagValue("20"));
+
+		tags.add(0, new Tag("20:C"));
+		assertEquals("C", b.getTagValue("20"));
+		assertEquals(2, b.countByName("20"));
+		tags.remove(0);
+		assertEquals("A", b.getTagValue("20"));
+		assertEquals(1, b.countByName("20"));
+		assertEquals(1, b.indexOfFirst("21"));
+
+		final Iterator<Tag> it = b.iterator();
+		it.next();
+		it.remove();
+		assertNull(b.getTagByName("20"));
+		assertEquals(0, b.indexOfFirst("21"));
+	}
+
+	/**
+	 * Concurrent reads of a shared block
+	 */
+	@Test
+	public void testConcurrentReads() throws InterruptedException {
+		final SwiftTagListBlock b = new SwiftTagListBlock();
+		for (int i = 0; i < 200; i++) {
+			b.append(new Tag(String.valueOf(20 + i % 50), "V" + i));
+		}
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+		final Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						for (int i = 0; i < 500; i++) {
+							assertEquals(4, b.getTagsByName(String.valueOf(20 + i % 50)).length);
+							assertEquals(4, b.getTagsByNumber(20 + i % 50).size());
+						}
+					} catch (final Throwable e) {
+						errors.add(e);
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(errors.toString(), errors.isEmpty());
+	}
+
+}
@@ -14,11 +14,17 @@ package com.prowidesoftware.swift.model;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.junit.Test;
 
+import com.prowidesoftware.swift.model.field.Field;
+import com.prowidesoftware.swift.model.field.Field32A;
+
 /**
  * Tag tests.
  * 
@@ -149,4 +155,44 @@ public class TagTest {
 		assertFalse((new Tag("50K:FOO1\nFOO2")).equalsIgnoreCR(new Tag("50K:FOO1\nFOO3")));
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testCachedField() {
+		final Tag t = new Tag("32A", "170418USD1234,56");
+		final Field f = t.getCachedField();
+		assertTrue(f instanceof Field32A);
+		assertEquals("USD", f.getComponent(2));
+		assertSame(f, t.getCachedField());
+		assertNotSame(f, t.getField());
+
+		// read-only
+		try {
+			f.setComponent(2, "EUR");
+			fail("cached field must be read-only");
+		} catch (final UnsupportedOperationException e) {
+			// expected
+		}
+		assertEquals("USD", t.getCachedField().getComponent(2));
+
+		// invalidation
+		t.setValue("170418EUR1,");
+		final Field f2 = t.getCachedField();
+		assertNotSame(f, f2);
+		assertEquals("EUR", f2.getComponent(2));
+		t.setNameValue("20", "REF");
+		assertEquals("REF", t.getCachedField().getValue());
+		t.value = "REF2";
+		assertEquals("REF2", t.getCachedField().getValue());
+
+		// replaced components are not reused
+		final Field f3 = t.getCachedField();
+		f3.parse("OTHER");
+		assertEquals("REF2", t.getCachedField().getValue());
+		assertNotSame(f3, t.getCachedField());
+	}
+
+	@Test
+	public void testCachedFieldInvalid() {
+		assertNull(new Tag("FOO", "bar").getCachedField());
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ */
+package com.prowidesoftware.swift.model.field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.prowidesoftware.swift.model.Tag;
+
+/**
+ * Test for {@link FieldFactory}
+ *
+ * @since 7.9.7
+ */
+public class FieldFactoryTest {
+
+	@Test
+	public void testCreate() {
+		Field f = FieldFactory.create("32A", "180201USD1234,56");
+		assertEquals(Field32A.class, f.getClass());
+		assertEquals("USD", f.getComponent(2));
+
+		f = FieldFactory.create("20", null);
+		assertEquals(Field20.class, f.getClass());
+		assertNull(f.getComponent(1));
+
+		assertEquals(Field108.class, FieldFactory.create("108", "FOO").getClass());
+		assertEquals(Field98C.class, FieldFactory.create("98C", ":PREP//20180101120000").getClass());
+	}
+
+	@Test
+	public void testUnknown() {
+		assertFalse(FieldFactory.contains(null));
+		assertFalse(FieldFactory.contains("50a"));
+		assertFalse(FieldFactory.contains("XYZ"));
+		assertNull(FieldFactory.create(null, "FOO"));
+		assertNull(FieldFactory.create("50a", "FOO"));
+		assertNull(FieldFactory.create("XYZ", "FOO"));
+	}
+
+	@Test
+	public void testSameAsGetField() {
+		for (final String name : new String[] {"20", "32A", "50K", "59", "71A", "16R", "35B", "77E", "108", "121"}) {
+			assertTrue(name, FieldFactory.contains(name));
+			final String value = "FOO";
+			assertEquals(Field.getField(name, value), FieldFactory.create(name, value));
+			assertEquals(Field.getField(new Tag(name, value)).getValue(), FieldFactory.create(name, value).getValue());
+		}
+	}
+
+	@Test
+	public void testGetFieldUnknown() {
+		assertNull(Field.getField("XYZ", "FOO"));
+		// second call is answered from the cache of unknown names
+		assertNull(Field.getField("XYZ", "FOO"));
+	}
+
+}
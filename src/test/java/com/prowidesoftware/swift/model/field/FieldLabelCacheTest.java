@@ -0,0 +1,85 @@
+/* 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+*/
+package com.prowidesoftware.swift.model.field;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
+import com.prowidesoftware.swift.model.Tag;
+
+/**
+ * Test for {@link FieldLabelCache}
+ *
+ * @since 7.9.7
+ */
+public class FieldLabelCacheTest {
+	private static final Locale EN = new Locale("en");
+
+	@Test
+	public void testGetLabel() {
+		FieldLabelCache.clear();
+		assertEquals("Ordering Customer", FieldLabelCache.getLabel("50K", "103", null, EN));
+		assertEquals("Ordering Customer", FieldLabelCache.getLabel("50K", "103", "B", EN));
+		assertEquals("Account - Name and Address", FieldLabelCache.getLabelComponents("50K", "103", null, EN));
+		assertEquals(Field._getLabel("20", "199", null, EN, "name"), FieldLabelCache.getLabel("20", "199", null, EN));
+		// cached result is the same instance
+		assertTrue(FieldLabelCache.getLabel("50K", "103", null, EN) == FieldLabelCache.getLabel("50K", "103", null, EN));
+		assertEquals("Ordering Customer", Field.getLabel("50K", "103", null, EN));
+	}
+
+	@Test
+	public void testNotFound() {
+		assertEquals("field99999.name", FieldLabelCache.getLabel("99999", "103", null, EN));
+	}
+
+	@Test
+	public void testLabels() {
+		final SwiftTagListBlock b = new SwiftTagListBlock();
+		b.append(new Tag("20", "REF"));
+		b.append(new Tag("32A", "180101USD1,"));
+		b.append(new Tag("50K", "FOO"));
+		final List<String> labels = FieldLabelCache.labels(b, "103", EN);
+		assertEquals(3, labels.size());
+		assertEquals(Field.getLabel("20", "103", null, EN), labels.get(0));
+		assertEquals("Value Date/Currency/Interbank Settled Amount", labels.get(1));
+		assertEquals("Ordering Customer", labels.get(2));
+
+		assertTrue(FieldLabelCache.labels(null, "103", EN).isEmpty());
+		assertTrue(FieldLabelCache.labels(new SwiftTagListBlock(), "103", EN).isEmpty());
+	}
+
+	@Test
+	public void testPreload() {
+		FieldLabelCache.clear();
+		assertTrue(FieldLabelCache.preload(EN) > 1000);
+		assertEquals("Ordering Customer", FieldLabelCache.getLabel("50a", "103", null, EN));
+	}
+
+	@Test
+	public void testParseKey() {
+		assertArrayEquals(new String[] {"50K", "103", "B", "name"}, FieldLabelCache.parseKey("field50K[103][B].name"));
+		assertArrayEquals(new String[] {"50a", "103", null, "name"}, FieldLabelCache.parseKey("field50a[103].name"));
+		assertArrayEquals(new String[] {"50", null, null, "components"}, FieldLabelCache.parseKey("field50.components"));
+		assertNull(FieldLabelCache.parseKey("field50.other"));
+		assertNull(FieldLabelCache.parseKey("foo.name"));
+		assertNull(FieldLabelCache.parseKey("field.name"));
+		assertNull(FieldLabelCache.parseKey("field50[103.name"));
+	}
+}
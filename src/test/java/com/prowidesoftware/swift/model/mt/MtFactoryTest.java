@@ -0,0 +1,78 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ */
+package com.prowidesoftware.swift.model.mt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.prowidesoftware.swift.model.MtId;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.Tag;
+import com.prowidesoftware.swift.model.mt.mt1xx.MT103;
+import com.prowidesoftware.swift.model.mt.mt1xx.MT103_REMIT;
+import com.prowidesoftware.swift.model.mt.mt1xx.MT103_STP;
+import com.prowidesoftware.swift.model.mt.mt2xx.MT202COV;
+import com.prowidesoftware.swift.model.mt.mt5xx.MT564;
+import com.prowidesoftware.swift.model.mt.mt9xx.MT940_RUR6;
+
+/**
+ * Test for {@link MtFactory}
+ *
+ * @since 7.9.7
+ */
+public class MtFactoryTest {
+
+	@Test
+	public void testCreate() {
+		final SwiftMessage m = new SwiftMessage(true);
+		assertEquals(MT103.class, MtFactory.create("103", null, m).getClass());
+		assertEquals(MT103_STP.class, MtFactory.create("103", MTVariant.STP.name(), m).getClass());
+		assertEquals(MT103_REMIT.class, MtFactory.create(new MtId("103", MTVariant.REMIT), m).getClass());
+		assertEquals(MT202COV.class, MtFactory.create(new MtId("202", MTVariant.COV), m).getClass());
+		assertEquals(MT940_RUR6.class, MtFactory.create("940", "RUR6", m).getClass());
+		assertEquals(MT564.class, MtFactory.create(new MtId("564"), m).getClass());
+	}
+
+	@Test
+	public void testUnknown() {
+		final SwiftMessage m = new SwiftMessage(true);
+		assertFalse(MtFactory.contains(null, null));
+		assertFalse(MtFactory.contains("000", null));
+		assertFalse(MtFactory.contains(new MtId("202", MTVariant.STP)));
+		assertTrue(MtFactory.contains(new MtId("202", MTVariant.COV)));
+		assertNull(MtFactory.create("000", null, m));
+		assertNull(MtFactory.create((MtId) null, m));
+	}
+
+	@Test
+	public void testToMT() {
+		AbstractMT mt = AbstractMT.create(103);
+		assertEquals(MT103.class, mt.getClass());
+
+		mt.getSwiftMessage().getBlock3().append(new Tag("119", "STP"));
+		assertEquals(MT103_STP.class, mt.getSwiftMessage().toMT().getClass());
+
+		mt = AbstractMT.create(202);
+		mt.getSwiftMessage().getBlock3().append(new Tag("119", "COV"));
+		assertEquals(MT202COV.class, mt.getSwiftMessage().toMT().getClass());
+
+		// unexpected variant flag is ignored
+		mt = AbstractMT.create(564);
+		mt.getSwiftMessage().getBlock3().append(new Tag("119", "STP"));
+		assertEquals(MT564.class, mt.getSwiftMessage().toMT().getClass());
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ */
+package com.prowidesoftware.swift.model.mt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.junit.Test;
+
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
+import com.prowidesoftware.swift.model.mt.mt1xx.MT102;
+import com.prowidesoftware.swift.model.mt.mt5xx.MT564;
+
+/**
+ * Test for {@link SequenceAccessors}
+ *
+ * @since 7.9.7
+ */
+public class SequenceAccessorsTest {
+
+	@Test
+	public void testFind() {
+		final SequenceAccessors accessors = SequenceAccessors.of(MT564.class);
+		assertSame(accessors, SequenceAccessors.of(MT564.class));
+
+		final Method m = accessors.find("getSequenceA", false);
+		assertNotNull(m);
+		assertEquals(0, m.getParameterTypes().length);
+		assertSame(m, accessors.find("getSequenceA", false));
+
+		final Method s = accessors.find("getSequenceA", true);
+		assertNotNull(s);
+		assertTrue(Modifier.isStatic(s.getModifiers()));
+		assertEquals(SwiftTagListBlock.class, s.getParameterTypes()[0]);
+
+		assertNotNull(accessors.find("getSequenceEList", false));
+	}
+
+	@Test
+	public void testMissing() {
+		final SequenceAccessors accessors = SequenceAccessors.of(MT102.class);
+		assertNull(accessors.find("getSequenceZ", false));
+		// second call answered from the cache
+		assertNull(accessors.find("getSequenceZ", false));
+		assertNull(accessors.find("getSequenceZ", true));
+	}
+
+	@Test
+	public void testAbstractMTContains() {
+		final AbstractMT mt = new MT102();
+		assertTrue(mt.containsSequence("A"));
+		assertTrue(mt.containsSequenceList("B"));
+		assertFalse(mt.containsSequence("Z"));
+		assertFalse(mt.containsSequenceList("Z"));
+		assertNull(mt.getSequence("Z"));
+		assertNull(mt.getSequenceList("Z"));
+		assertTrue(mt.getSequenceList("B").isEmpty());
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ */
+package com.prowidesoftware.swift.model.mx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import org.junit.Test;
+
+import com.prowidesoftware.swift.model.mx.dic.ApplicationHeader;
+import com.prowidesoftware.swift.model.mx.dic.BusinessApplicationHeaderV01;
+
+/**
+ * Test for {@link JaxbContextCache}
+ *
+ * @since 7.9.7
+ */
+public class JaxbContextCacheTest {
+
+	@Test
+	public void testContext() throws JAXBException {
+		final JAXBContext ctx = JaxbContextCache.get(ApplicationHeader.class);
+		assertSame(ctx, JaxbContextCache.get(ApplicationHeader.class));
+		assertNotSame(ctx, JaxbContextCache.get(BusinessApplicationHeaderV01.class));
+		assertNotSame(ctx, JaxbContextCache.get(ApplicationHeader.class, BusinessApplicationHeaderV01.class));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoClasses() throws JAXBException {
+		JaxbContextCache.get();
+	}
+
+	@Test
+	public void testMarshallerPerThread() throws Exception {
+		final JAXBContext ctx = JaxbContextCache.get(ApplicationHeader.class);
+		final Marshaller m = JaxbContextCache.marshaller(ctx);
+		assertSame(m, JaxbContextCache.marshaller(ctx));
+		assertSame(JaxbContextCache.unmarshaller(ctx), JaxbContextCache.unmarshaller(ctx));
+
+		final Marshaller[] other = new Marshaller[1];
+		final Thread t = new Thread() {
+			@Override
+			public void run() {
+				try {
+					other[0] = JaxbContextCache.marshaller(ctx);
+				} catch (final JAXBException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		};
+		t.start();
+		t.join();
+		assertNotNull(other[0]);
+		assertNotSame(m, other[0]);
+	}
+
+	/**
+	 * Instances kept by other threads are discarded after a clear
+	 */
+	@Test
+	public void testClearOtherThreads() throws Exception {
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			final Callable<Marshaller> task = new Callable<Marshaller>() {
+				@Override
+				public Marshaller call() throws JAXBException {
+					return JaxbContextCache.marshaller(JaxbContextCache.get(ApplicationHeader.class));
+				}
+			};
+			final Marshaller m = executor.submit(task).get();
+			assertSame(m, executor.submit(task).get());
+			JaxbContextCache.clear();
+			assertNotSame(m, executor.submit(task).get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testHeaderSerializedTwice() {
+		final ApplicationHeader ah = new ApplicationHeader();
+		ah.setMsgRef("REF");
+		final BusinessHeader header = new BusinessHeader(ah);
+		final String xml = header.xml();
+		assertNotNull(xml);
+		assertEquals(xml, header.xml());
+		assertNotNull(header.element());
+		assertEquals(xml, header.xml());
+	}
+
+}
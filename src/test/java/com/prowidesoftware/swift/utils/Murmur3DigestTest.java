@@ -0,0 +1,78 @@
+/* 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+*/
+package com.prowidesoftware.swift.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test for {@link Murmur3Digest}
+ *
+ * @since 7.9.7
+ */
+public class Murmur3DigestTest {
+
+	private static String hex(final byte[] bytes) {
+		final StringBuilder sb = new StringBuilder();
+		for (final byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+		return sb.toString();
+	}
+
+	private static String hash(final String text) throws UnsupportedEncodingException {
+		return hex(new Murmur3Digest().digest(text.getBytes("UTF-8")));
+	}
+
+	@Test
+	public void testKnownValues() throws UnsupportedEncodingException {
+		assertEquals("00000000000000000000000000000000", hash(""));
+		assertEquals("897859f6655555855a890e51483ab5e6", hash("a"));
+		assertEquals("23b74c22a33ccac41aeb31b395d63343", hash("abcdefghijklmnop"));
+		assertEquals("57a6bd887f746475e40d11a19d49daec", hash("abcdefghijklmnopq"));
+		assertEquals("6c1b07bc7bbc4be347939ac4a93c437a", hash("The quick brown fox jumps over the lazy dog"));
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			sb.append((char) ('a' + i % 26));
+		}
+		assertEquals("ab5c816d7f54bf30959a058e44e5fef5", hash(sb.toString()));
+	}
+
+	@Test
+	public void testIncrementalUpdates() {
+		final Random random = new Random(42);
+		final byte[] data = new byte[777];
+		random.nextBytes(data);
+		final Murmur3Digest digest = new Murmur3Digest();
+		final byte[] expected = digest.digest(data);
+		assertEquals(16, expected.length);
+		assertEquals(16, digest.getDigestLength());
+		for (int chunk = 1; chunk < 40; chunk += 3) {
+			int i = 0;
+			while (i < data.length) {
+				final int len = Math.min(chunk, data.length - i);
+				if (len == 1) {
+					digest.update(data[i]);
+				} else {
+					digest.update(data, i, len);
+				}
+				i += len;
+			}
+			assertArrayEquals("chunk " + chunk, expected, digest.digest());
+		}
+	}
+}
@@ -0,0 +1,158 @@
+/* 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+*/
+package com.prowidesoftware.swift.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test for {@link SwiftAmountCodec}
+ *
+ * @since 7.9.7
+ */
+public class SwiftAmountCodecTest {
+
+	private static Number parseWithFormat(final String value) {
+		final DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+		symbols.setDecimalSeparator(',');
+		final DecimalFormat df = new DecimalFormat("00.##", symbols);
+		df.setParseBigDecimal(true);
+		try {
+			return df.parse(value);
+		} catch (final ParseException e) {
+			return null;
+		}
+	}
+
+	private static String formatWithFormat(final Number number) {
+		final DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+		symbols.setDecimalSeparator(',');
+		final DecimalFormat df = new DecimalFormat("0.##########", symbols);
+		df.setDecimalSeparatorAlwaysShown(true);
+		return df.format(number);
+	}
+
+	private static void assertSameAsFormat(final String value) {
+		final BigDecimal parsed = SwiftAmountCodec.parse(value);
+		assertEquals(value, parseWithFormat(value), parsed);
+		if (parsed != null) {
+			assertEquals(value, formatWithFormat(parsed), SwiftAmountCodec.format(parsed));
+		}
+	}
+
+	@Test
+	public void testParse() {
+		final String[] values = { "0", "0,", "0,000", "123", "123,", "12,30", "100,", "100,00", "00012,5", ",5",
+				"123456789012345678", "1234567890123456789", "99999999999999999999999,99", "0,00000000000000000001",
+				"000000000000000000000000001,1" };
+		for (final String v : values) {
+			assertSameAsFormat(v);
+		}
+		assertEquals(2, SwiftAmountCodec.parse("12,30").scale());
+		assertEquals(0, SwiftAmountCodec.parse("100,").scale());
+	}
+
+	@Test
+	public void testParseNotHandled() {
+		assertNull(SwiftAmountCodec.parse(""));
+		assertNull(SwiftAmountCodec.parse(","));
+		assertNull(SwiftAmountCodec.parse("1,2,3"));
+		assertNull(SwiftAmountCodec.parse("-12,5"));
+		assertNull(SwiftAmountCodec.parse("12.5"));
+		assertNull(SwiftAmountCodec.parse("12a"));
+		assertNull(SwiftAmountCodec.parse(" 12"));
+	}
+
+	@Test
+	public void testParseRandom() {
+		final Random random = new Random(5678);
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			sb.setLength(0);
+			final int length = 1 + random.nextInt(24);
+			final int comma = random.nextInt(length + 3);
+			for (int j = 0; j < length; j++) {
+				sb.append(j == comma ? ',' : (char) ('0' + random.nextInt(10)));
+			}
+			assertSameAsFormat(sb.toString());
+		}
+	}
+
+	@Test
+	public void testFormat() {
+		final Number[] numbers = { new BigDecimal("-0.00000000001"), new BigDecimal("-0.0"), new BigDecimal("0E-5"),
+				new BigDecimal("0.00000000005"), new BigDecimal("0.00000000015"), new BigDecimal("0.000000000250001"),
+				new BigDecimal("-1.00000000005"), new BigDecimal("1E+30"), new BigDecimal("12.3450"), new BigDecimal("-5.5"),
+				new BigDecimal("123456789012345678901234567890.123"), new BigDecimal("999999999999999999.9999999999"),
+				Long.valueOf(Long.MIN_VALUE), Long.valueOf(Long.MAX_VALUE), Integer.valueOf(-3), Short.valueOf((short) 7),
+				Byte.valueOf((byte) 0), new BigInteger("-123456789012345678901234") };
+		for (final Number n : numbers) {
+			assertEquals(n.toString(), formatWithFormat(n), SwiftAmountCodec.format(n));
+		}
+		assertNull(SwiftAmountCodec.format(Double.valueOf(1.5)));
+	}
+
+	@Test
+	public void testFormatRandom() {
+		final Random random = new Random(91011);
+		for (int i = 0; i < 5000; i++) {
+			final BigDecimal n = new BigDecimal(BigInteger.valueOf(random.nextLong()).shiftRight(random.nextInt(64)), random.nextInt(16) - 2);
+			assertEquals(n.toString(), formatWithFormat(n), SwiftAmountCodec.format(n));
+		}
+	}
+
+	@Test
+	public void testUnscaled() {
+		assertEquals(123450, SwiftAmountCodec.unscaled("1234,5", 2));
+		assertEquals(123450, SwiftAmountCodec.unscaled("1234,50", 2));
+		assertEquals(123450, SwiftAmountCodec.unscaled("1234,5000", 2));
+		assertEquals(123400, SwiftAmountCodec.unscaled("1234,", 2));
+		assertEquals(123400, SwiftAmountCodec.unscaled("1234", 2));
+		assertEquals(1234, SwiftAmountCodec.unscaled("1234,", 0));
+		assertEquals(5, SwiftAmountCodec.unscaled(",05", 2));
+		assertEquals(Long.MAX_VALUE, SwiftAmountCodec.unscaled("9223372036854775807", 0));
+		assertEquals(SwiftAmountCodec.INVALID, SwiftAmountCodec.unscaled("9223372036854775808", 0));
+		assertEquals(SwiftAmountCodec.INVALID, SwiftAmountCodec.unscaled("92233720368547758,07", 3));
+		assertEquals(SwiftAmountCodec.INVALID, SwiftAmountCodec.unscaled("1234,567", 2));
+		assertEquals(SwiftAmountCodec.INVALID, SwiftAmountCodec.unscaled("12a", 2));
+		assertEquals(SwiftAmountCodec.INVALID, SwiftAmountCodec.unscaled("12", -1));
+	}
+
+	@Test
+	public void testScale() {
+		assertEquals(0, SwiftAmountCodec.scale("1234"));
+		assertEquals(0, SwiftAmountCodec.scale("1234,"));
+		assertEquals(3, SwiftAmountCodec.scale("1234,500"));
+		assertEquals(-1, SwiftAmountCodec.scale("1234.5"));
+	}
+
+	@Test
+	public void testFormatUnscaled() {
+		assertEquals("1234,5", SwiftAmountCodec.format(123450, 2));
+		assertEquals("1234,", SwiftAmountCodec.format(1234, 0));
+		assertEquals("0,05", SwiftAmountCodec.format(5, 2));
+		assertEquals("-0,05", SwiftAmountCodec.format(-5, 2));
+		assertEquals("0,", SwiftAmountCodec.format(0, 3));
+		assertEquals("12000,", SwiftAmountCodec.format(12, -3));
+		assertEquals("0,0000000001", SwiftAmountCodec.format(12, 11));
+		assertEquals("-9223372036854775808,", SwiftAmountCodec.format(Long.MIN_VALUE, 0));
+	}
+}
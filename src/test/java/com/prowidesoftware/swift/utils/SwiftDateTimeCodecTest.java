@@ -0,0 +1,158 @@
+/* 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+*/
+package com.prowidesoftware.swift.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.junit.Test;
+
+/**
+ * Test for {@link SwiftDateTimeCodec}
+ *
+ * @since 7.9.7
+ */
+public class SwiftDateTimeCodecTest {
+
+	private static final SwiftDateTimeCodec[] CODECS = { SwiftDateTimeCodec.DATE1, SwiftDateTimeCodec.DATE2,
+			SwiftDateTimeCodec.DATE3, SwiftDateTimeCodec.DATE4, SwiftDateTimeCodec.YEAR, SwiftDateTimeCodec.HOUR,
+			SwiftDateTimeCodec.HHMM, SwiftDateTimeCodec.TIME2, SwiftDateTimeCodec.DAYTIME, SwiftDateTimeCodec.DATETIME,
+			SwiftDateTimeCodec.DATETIME_SHORT_YEAR };
+
+	private static Calendar parseWithFormat(final String value, final String pattern) {
+		try {
+			final SimpleDateFormat sdf = new SimpleDateFormat(pattern);
+			sdf.setLenient(false);
+			final Calendar cal = new GregorianCalendar();
+			cal.setTime(sdf.parse(value));
+			return cal;
+		} catch (final ParseException e) {
+			return null;
+		}
+	}
+
+	private static void assertSameAsFormat(final SwiftDateTimeCodec codec, final String value) {
+		final Calendar expected = parseWithFormat(value, codec.getPattern());
+		final Calendar actual = codec.parse(value);
+		assertEquals(codec.getPattern() + " " + value, expected, actual);
+		if (actual != null) {
+			assertEquals(codec.getPattern() + " " + value, DateFormatUtils.format(actual.getTime(), codec.getPattern()), codec.format(actual));
+		}
+	}
+
+	@Test
+	public void testParseSameAsSimpleDateFormat() {
+		final String[] values = { "0000000000000", "0101010101010", "1231235959590", "0229000000000", "0230000000000",
+				"0431000000000", "1301000000000", "0132000000000", "9912312400000", "2000022923590", "1900022912000",
+				"2016022912590", "1702291260000", "1709310159590", "4601010000000", "4612312359000", "0010200000000" };
+		for (final SwiftDateTimeCodec codec : CODECS) {
+			final int length = codec.getPattern().length();
+			for (final String v : values) {
+				assertSameAsFormat(codec, v.substring(0, length));
+				assertSameAsFormat(codec, v.substring(v.length() - length));
+			}
+		}
+	}
+
+	@Test
+	public void testParseRandomSameAsSimpleDateFormat() {
+		final Random random = new Random(1234);
+		for (final SwiftDateTimeCodec codec : CODECS) {
+			final char[] value = new char[codec.getPattern().length()];
+			for (int i = 0; i < 2000; i++) {
+				for (int j = 0; j < value.length; j++) {
+					// mostly low digits to produce valid values often
+					value[j] = (char) ('0' + (j % 2 == 0 ? random.nextInt(4) : random.nextInt(10)));
+				}
+				assertSameAsFormat(codec, new String(value));
+			}
+		}
+	}
+
+	@Test
+	public void testParseNonDigits() {
+		assertNull(SwiftDateTimeCodec.DATE2.parse("17O425"));
+		assertNull(SwiftDateTimeCodec.DATE2.parse(""));
+		assertNull(SwiftDateTimeCodec.DATE2.parse(null));
+		assertNull(SwiftDateTimeCodec.HHMM.parse("12:3"));
+		// same lenient whitespace handling of the format for the last field
+		assertSameAsFormat(SwiftDateTimeCodec.DATE2, "1704 5");
+	}
+
+	@Test
+	public void testTwoDigitYear() {
+		final int current = Calendar.getInstance().get(Calendar.YEAR);
+		final int yy = (current + 21) % 100;
+		final String value = (yy < 10 ? "0" : "") + yy + "0101";
+		assertEquals(current - 79, SwiftDateTimeCodec.DATE2.parse(value).get(Calendar.YEAR));
+		assertEquals((current - 79) * 10000 + 101, SwiftDateTimeCodec.DATE2.parseInt(value));
+		final int next = (current + 19) % 100;
+		final String value2 = (next < 10 ? "0" : "") + next + "1231";
+		assertEquals(current + 19, SwiftDateTimeCodec.DATE2.parse(value2).get(Calendar.YEAR));
+		assertEquals((current + 19) * 10000 + 1231, SwiftDateTimeCodec.DATE2.parseInt(value2));
+	}
+
+	@Test
+	public void testParseInt() {
+		assertEquals(20170425, SwiftDateTimeCodec.DATE4.parseInt("20170425"));
+		assertEquals(20160229, SwiftDateTimeCodec.DATE4.parseInt("20160229"));
+		assertEquals(-1, SwiftDateTimeCodec.DATE4.parseInt("20170229"));
+		assertEquals(-1, SwiftDateTimeCodec.DATE4.parseInt("00000101"));
+		assertEquals(-1, SwiftDateTimeCodec.DATE4.parseInt("2017042"));
+		assertEquals(-1, SwiftDateTimeCodec.DATE4.parseInt("2017042A"));
+		assertEquals(-1, SwiftDateTimeCodec.DATE4.parseInt(null));
+		assertEquals(229, SwiftDateTimeCodec.DATE1.parseInt("0229"));
+		assertEquals(-1, SwiftDateTimeCodec.DATE1.parseInt("0230"));
+		assertEquals(1230, SwiftDateTimeCodec.HHMM.parseInt("1230"));
+		assertEquals(0, SwiftDateTimeCodec.HHMM.parseInt("0000"));
+		assertEquals(-1, SwiftDateTimeCodec.HHMM.parseInt("2400"));
+		assertEquals(-1, SwiftDateTimeCodec.HHMM.parseInt("1260"));
+		assertEquals(235959, SwiftDateTimeCodec.TIME2.parseInt("235959"));
+		assertEquals(-1, SwiftDateTimeCodec.TIME2.parseInt("235960"));
+		assertEquals(201704, SwiftDateTimeCodec.DATE3.parseInt("1704"));
+		assertEquals(-1, SwiftDateTimeCodec.DATE3.parseInt("1700"));
+		assertEquals(311259, SwiftDateTimeCodec.DAYTIME.parseInt("311259"));
+	}
+
+	@Test
+	public void testFormatInt() {
+		assertEquals("170425", SwiftDateTimeCodec.DATE2.format(20170425));
+		assertEquals("20170425", SwiftDateTimeCodec.DATE4.format(20170425));
+		assertEquals("00010101", SwiftDateTimeCodec.DATE4.format(10101));
+		assertNull(SwiftDateTimeCodec.DATE4.format(20170229));
+		assertNull(SwiftDateTimeCodec.DATE4.format(120170425));
+		assertNull(SwiftDateTimeCodec.DATE4.format(-1));
+		assertEquals("0229", SwiftDateTimeCodec.DATE1.format(229));
+		assertEquals("0005", SwiftDateTimeCodec.HHMM.format(5));
+		assertNull(SwiftDateTimeCodec.HHMM.format(2400));
+		assertEquals("000000", SwiftDateTimeCodec.TIME2.format(0));
+		assertNull(SwiftDateTimeCodec.TIME2.format(126000));
+	}
+
+	@Test
+	public void testFormatOtherTimeZone() {
+		final Calendar cal = new GregorianCalendar(java.util.TimeZone.getTimeZone("Pacific/Kiritimati"));
+		cal.set(2017, Calendar.APRIL, 25, 23, 30, 0);
+		for (final SwiftDateTimeCodec codec : CODECS) {
+			assertEquals(DateFormatUtils.format(cal.getTime(), codec.getPattern()), codec.format(cal));
+		}
+		assertNull(SwiftDateTimeCodec.DATE4.format((Calendar) null));
+	}
+
+}
@@ -157,4 +157,21 @@ public class SwiftFormatUtilsTest {
 		assertEquals(4, SwiftFormatUtils.decimalsInAmount(new BigDecimal("112789.2189")));
 	}
 	
+	@Test
+	public void testIntDates() {
+		assertEquals(20170425, SwiftFormatUtils.parseDate2("170425"));
+		assertEquals("170425", SwiftFormatUtils.formatDate2(20170425));
+		assertEquals(20170425, SwiftFormatUtils.parseDate4("20170425"));
+		assertEquals("20170425", SwiftFormatUtils.formatDate4(20170425));
+		assertEquals(-1, SwiftFormatUtils.parseDate4("20170431"));
+		assertEquals(1231, SwiftFormatUtils.parseDate1("1231"));
+		assertEquals("0101", SwiftFormatUtils.formatDate1(101));
+		assertEquals(1245, SwiftFormatUtils.parseHhmm("1245"));
+		assertEquals("0030", SwiftFormatUtils.formatHhmm(30));
+		assertEquals(-1, SwiftFormatUtils.parseHhmm("0060"));
+		assertEquals(124530, SwiftFormatUtils.parseTime2("124530"));
+		assertEquals("001500", SwiftFormatUtils.formatTime2(1500));
+		assertNull(SwiftFormatUtils.formatTime2(240000));
+	}
+
 }